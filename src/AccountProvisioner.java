@@ -0,0 +1,289 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * AccountProvisioner creates student accounts in bulk from CSV
+ *
+ * Expected columns (header row optional, any order when present):
+ *   student_id, full_name, email, major, enrollment_year, password
+ * The password column is optional; rows without one get a generated
+ * initial password that is returned in the result.
+ *
+ * The caller must be able to manage users before anything is read. Rows are
+ * validated and checked for duplicates first, then only the valid rows have
+ * their passwords hashed, in parallel, since hashing dominates the cost.
+ * User rows are then written in batched transactions and
+ * the matching Student records are added with a single save. If a student
+ * record cannot be added after its account was created, the account is
+ * deactivated and the row is reported as an error.
+ */
+public class AccountProvisioner {
+    public static final List<String> COLUMNS =
+        List.of("student_id", "full_name", "email", "major", "enrollment_year", "password");
+
+    private static final int BATCH_SIZE = 500;
+    private static final int PROGRESS_STEP = 100;
+    private static final int GENERATED_PASSWORD_LENGTH = 12;
+    private static final String PASSWORD_ALPHABET =
+        "ABCDEFGHJKLMNPQRSTUVWXYZabcdefghijkmnopqrstuvwxyz23456789";
+
+    /**
+     * Receives progress updates; may be called from worker threads
+     */
+    public interface ProgressListener {
+        void onProgress(String stage, int processed, int total);
+    }
+
+    private final AuthenticationService authService;
+    private final StudentService studentService;
+    private final int parallelism;
+    private final SecureRandom random;
+
+    public AccountProvisioner(AuthenticationService authService, StudentService studentService) {
+        this(authService, studentService, Runtime.getRuntime().availableProcessors());
+    }
+
+    public AccountProvisioner(AuthenticationService authService, StudentService studentService, int parallelism) {
+        this.authService = authService;
+        this.studentService = studentService;
+        this.parallelism = Math.max(1, parallelism);
+        this.random = new SecureRandom();
+    }
+
+    /**
+     * Provisions student accounts from CSV input
+     *
+     * @param input - CSV source; it is read fully but not closed
+     * @param listener - progress listener, may be null
+     * @return summary with created counts, per-row errors and generated passwords
+     * @throws IOException if the input cannot be read
+     * @throws IllegalStateException if the current user cannot manage users
+     */
+    public ProvisioningResult provisionStudents(Reader input, ProgressListener listener) throws IOException {
+        Session session = authService.getCurrentSession();
+        if (session == null || !session.canManageUsers()) {
+            throw new IllegalStateException("Only system administrators can provision accounts");
+        }
+
+        long start = System.currentTimeMillis();
+        ProvisioningResult result = new ProvisioningResult();
+        List<Row> rows = readRows(input);
+        result.setTotalRows(rows.size());
+
+        Set<String> existingUsernames = authService.getExistingUsernames();
+        for (int i = 0; i < rows.size(); i++) {
+            rows.get(i).build(this);
+            if ((i + 1) % PROGRESS_STEP == 0 || i + 1 == rows.size()) {
+                notify(listener, "Validating", i + 1, rows.size());
+            }
+        }
+
+        // Duplicate checks run in input order so the first occurrence wins
+        List<Row> valid = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (Row row : rows) {
+            if (row.error == null && (!seen.add(row.student.getStudentId())
+                    || existingUsernames.contains(row.student.getStudentId())
+                    || studentService.getStudent(row.student.getStudentId()) != null)) {
+                row.error = "Student ID " + row.student.getStudentId() + " already exists";
+            }
+            if (row.error != null) {
+                result.addError(row.lineNumber, row.error);
+            } else {
+                valid.add(row);
+                if (row.generatedPassword != null) {
+                    result.addGeneratedPassword(row.student.getStudentId(), row.generatedPassword);
+                }
+            }
+        }
+        hashPasswords(valid, listener);
+
+        List<Student> createdStudents = new ArrayList<>();
+        for (int from = 0; from < valid.size(); from += BATCH_SIZE) {
+            List<Row> batch = valid.subList(from, Math.min(valid.size(), from + BATCH_SIZE));
+            List<User> users = batch.stream().map(row -> row.user).collect(Collectors.toList());
+            Set<String> registered = authService.registerUsers(users);
+            if (registered == null) {
+                throw new IllegalStateException("Only system administrators can provision accounts");
+            }
+            for (Row row : batch) {
+                if (registered.contains(row.user.getUsername())) {
+                    createdStudents.add(row.student);
+                } else {
+                    result.addError(row.lineNumber, "Could not create user " + row.user.getUsername());
+                    result.removeGeneratedPassword(row.user.getUsername());
+                }
+            }
+            notify(listener, "Saving accounts", from + batch.size(), valid.size());
+        }
+
+        List<Student> added = studentService.addStudents(createdStudents);
+        if (added.size() < createdStudents.size()) {
+            rollBackMissingStudents(valid, added, result);
+        }
+        result.addCreated(added.size());
+        result.setElapsedMillis(System.currentTimeMillis() - start);
+        return result;
+    }
+
+    /**
+     * Deactivates the accounts whose student record was not added, so no
+     * login is left without a student behind it
+     */
+    private void rollBackMissingStudents(List<Row> valid, List<Student> added, ProvisioningResult result) {
+        Set<String> addedIds = added.stream().map(Student::getStudentId).collect(Collectors.toSet());
+        for (Row row : valid) {
+            String studentId = row.student.getStudentId();
+            if (addedIds.contains(studentId) || authService.getUser(studentId) == null) {
+                continue;
+            }
+            authService.deactivateUser(studentId);
+            result.addError(row.lineNumber, "Student " + studentId
+                            + " was added elsewhere during the import; the new account was deactivated");
+            result.removeGeneratedPassword(studentId);
+        }
+    }
+
+    private List<Row> readRows(Reader input) throws IOException {
+        List<Row> rows = new ArrayList<>();
+        BufferedReader reader = input instanceof BufferedReader ? (BufferedReader) input : new BufferedReader(input);
+        Map<String, Integer> columns = defaultColumns();
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            if (lineNumber == 1 && line.toLowerCase(Locale.ROOT).startsWith(COLUMNS.get(0))) {
+                columns = headerColumns(line);
+                continue;
+            }
+            rows.add(new Row(lineNumber, line, columns));
+        }
+        return rows;
+    }
+
+    private static Map<String, Integer> defaultColumns() {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            columns.put(COLUMNS.get(i), i);
+        }
+        return columns;
+    }
+
+    private static Map<String, Integer> headerColumns(String header) {
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = CsvFormat.parseLine(header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        return columns;
+    }
+
+    private void hashPasswords(List<Row> rows, ProgressListener listener) {
+        AtomicInteger processed = new AtomicInteger();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.submit(() -> rows.parallelStream().forEach(row -> {
+                row.hash();
+                int done = processed.incrementAndGet();
+                if (done % PROGRESS_STEP == 0 || done == rows.size()) {
+                    notify(listener, "Hashing passwords", done, rows.size());
+                }
+            })).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Provisioning was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Provisioning failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private String generatePassword() {
+        StringBuilder password = new StringBuilder(GENERATED_PASSWORD_LENGTH);
+        for (int i = 0; i < GENERATED_PASSWORD_LENGTH; i++) {
+            password.append(PASSWORD_ALPHABET.charAt(random.nextInt(PASSWORD_ALPHABET.length())));
+        }
+        return password.toString();
+    }
+
+    private static void notify(ProgressListener listener, String stage, int processed, int total) {
+        if (listener != null) {
+            listener.onProgress(stage, processed, total);
+        }
+    }
+
+    /**
+     * One input row and what was built from it
+     */
+    private static final class Row {
+        final int lineNumber;
+        final String line;
+        final Map<String, Integer> columns;
+        Student student;
+        User user;
+        String password;
+        String generatedPassword;
+        String error;
+
+        Row(int lineNumber, String line, Map<String, Integer> columns) {
+            this.lineNumber = lineNumber;
+            this.line = line;
+            this.columns = columns;
+        }
+
+        void build(AccountProvisioner provisioner) {
+            try {
+                List<String> fields = CsvFormat.parseLine(line);
+                String studentId = field(fields, "student_id");
+                String fullName = field(fields, "full_name");
+                String yearText = field(fields, "enrollment_year");
+                if (studentId.isEmpty() || fullName.isEmpty() || yearText.isEmpty()) {
+                    error = "student_id, full_name and enrollment_year are required";
+                    return;
+                }
+
+                student = new Student(studentId, fullName, field(fields, "email"),
+                                      field(fields, "major"), Integer.parseInt(yearText));
+                User.validateUsername(studentId);
+                password = field(fields, "password");
+                if (password.isEmpty()) {
+                    password = provisioner.generatePassword();
+                    generatedPassword = password;
+                }
+                User.validatePassword(password);
+            } catch (NumberFormatException e) {
+                error = "Invalid enrollment year";
+            } catch (IllegalArgumentException e) {
+                error = e.getMessage();
+            }
+        }
+
+        void hash() {
+            user = User.fromStoredCredential(student.getStudentId(), PasswordHasher.getDefault().hash(password),
+                                             UserRole.STUDENT, student.getFullName());
+            password = null;
+        }
+
+        private String field(List<String> fields, String name) {
+            Integer index = columns.get(name);
+            return index != null && index < fields.size() ? fields.get(index).trim() : "";
+        }
+    }
+}
@@ -24,6 +24,7 @@ public class AdminPanel extends JPanel {
     private JTable facultyTable;
     private JTable coursesTable;
     private JTextArea reportsTextArea;
+    private ReportPreviewPanel reportPreview;
     private JTextArea statisticsTextArea;
     
     public AdminPanel(AuthenticationService authService, StudentService studentService,
@@ -56,6 +57,8 @@ public class AdminPanel extends JPanel {
         reportsTextArea = new JTextArea();
         reportsTextArea.setFont(new Font("Monospaced", Font.PLAIN, 12));
         reportsTextArea.setEditable(false);
+        reportPreview = new ReportPreviewPanel(reportsTextArea, adminService, studentService, courseService,
+                                               facultyService, mainFrame);
         
         statisticsTextArea = new JTextArea();
         statisticsTextArea.setFont(new Font("Monospaced", Font.PLAIN, 12));
@@ -190,16 +193,19 @@ public class AdminPanel extends JPanel {
         JButton addButton = new JButton("Add Course");
         JButton editButton = new JButton("Edit Selected");
         JButton deleteButton = new JButton("Delete Selected");
+        JButton regradeButton = new JButton("Re-grade Selected");
         JButton refreshButton = new JButton("Refresh");
         
         addButton.addActionListener(e -> showAddCourseDialog());
         editButton.addActionListener(e -> showEditCourseDialog());
         deleteButton.addActionListener(e -> deleteSelectedCourse());
+        regradeButton.addActionListener(e -> regradeSelectedCourse());
         refreshButton.addActionListener(e -> refreshCoursesData());
         
         buttonPanel.add(addButton);
         buttonPanel.add(editButton);
         buttonPanel.add(deleteButton);
+        buttonPanel.add(regradeButton);
         buttonPanel.add(refreshButton);
         
         panel.add(scrollPane, BorderLayout.CENTER);
@@ -215,23 +221,26 @@ public class AdminPanel extends JPanel {
         JPanel panel = new JPanel(new BorderLayout());
         panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
         
-        JScrollPane scrollPane = new JScrollPane(reportsTextArea);
-        scrollPane.setBorder(BorderFactory.createTitledBorder("Reports"));
-        
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
         JButton systemReportButton = new JButton("Generate System Report");
         JButton studentReportButton = new JButton("Generate Student Report");
         JButton facultyReportButton = new JButton("Generate Faculty Report");
+        JButton allStudentsReportButton = new JButton("All Student Reports");
+        JButton exportTranscriptsButton = new JButton("Export Transcripts...");
         
         systemReportButton.addActionListener(e -> generateSystemReport());
         studentReportButton.addActionListener(e -> showStudentReportDialog());
         facultyReportButton.addActionListener(e -> showFacultyReportDialog());
+        allStudentsReportButton.addActionListener(e -> generateAllStudentReports());
+        exportTranscriptsButton.addActionListener(e -> reportPreview.exportTranscripts());
         
         buttonPanel.add(systemReportButton);
         buttonPanel.add(studentReportButton);
         buttonPanel.add(facultyReportButton);
+        buttonPanel.add(allStudentsReportButton);
+        buttonPanel.add(exportTranscriptsButton);
         
-        panel.add(scrollPane, BorderLayout.CENTER);
+        panel.add(reportPreview, BorderLayout.CENTER);
         panel.add(buttonPanel, BorderLayout.SOUTH);
         
         return panel;
@@ -899,13 +908,45 @@ public class AdminPanel extends JPanel {
         }
     }
     
+    /**
+     * Re-grades all students in the selected course under its grading scale
+     */
+    private void regradeSelectedCourse() {
+        int selectedRow = coursesTable.getSelectedRow();
+        if (selectedRow == -1) {
+            mainFrame.showError("Please select a course to re-grade.");
+            return;
+        }
+        
+        String courseId = (String) coursesTable.getValueAt(selectedRow, 0);
+        String courseName = (String) coursesTable.getValueAt(selectedRow, 1);
+        
+        if (mainFrame.showConfirmation("Re-evaluate all grades in " + courseName + " using its grading scale?")) {
+            int regraded = adminService.regradeCourse(studentService, facultyService, courseService, courseId);
+            if (regraded >= 0) {
+                mainFrame.showSuccess("Re-graded " + regraded + " student(s) in " + courseName + ".");
+                refreshStudentsData();
+            } else {
+                mainFrame.showError("Failed to re-grade course.");
+            }
+        }
+    }
+    
     /**
      * Generates system report
      */
     private void generateSystemReport() {
-        String report = adminService.generateSystemReport(studentService, facultyService, courseService, authService);
-        reportsTextArea.setText(report);
-        reportsTextArea.setCaretPosition(0);
+        reportPreview.showReport("System Report",
+            data -> out -> adminService.writeSystemReport(out, data.getStudentService(), data.getFacultyService(),
+                                                          data.getCourseService(), authService));
+    }
+    
+    /**
+     * Generates the academic report of every student
+     */
+    private void generateAllStudentReports() {
+        reportPreview.showReport("All Student Reports",
+            data -> out -> adminService.writeAllStudentReports(out, data.getStudentService(), data.getCourseService()));
     }
     
     /**
@@ -914,9 +955,10 @@ public class AdminPanel extends JPanel {
     private void showStudentReportDialog() {
         String studentId = JOptionPane.showInputDialog(this, "Enter Student ID:", "Generate Student Report", JOptionPane.QUESTION_MESSAGE);
         if (studentId != null && !studentId.trim().isEmpty()) {
-            String report = adminService.generateStudentReport(studentService, courseService, studentId.trim());
-            reportsTextArea.setText(report);
-            reportsTextArea.setCaretPosition(0);
+            String id = studentId.trim();
+            reportPreview.showReport("Student Report " + id,
+                data -> out -> adminService.writeStudentReport(out, data.getStudentService(),
+                                                               data.getCourseService(), id));
         }
     }
     
@@ -926,9 +968,10 @@ public class AdminPanel extends JPanel {
     private void showFacultyReportDialog() {
         String facultyId = JOptionPane.showInputDialog(this, "Enter Faculty ID:", "Generate Faculty Report", JOptionPane.QUESTION_MESSAGE);
         if (facultyId != null && !facultyId.trim().isEmpty()) {
-            String report = adminService.generateFacultyReport(facultyService, courseService, facultyId.trim());
-            reportsTextArea.setText(report);
-            reportsTextArea.setCaretPosition(0);
+            String id = facultyId.trim();
+            reportPreview.showReport("Faculty Report " + id,
+                data -> out -> adminService.writeFacultyReport(out, data.getFacultyService(),
+                                                               data.getCourseService(), id));
         }
     }
     
@@ -1,7 +1,16 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.HashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -12,6 +21,21 @@ import java.time.format.DateTimeFormatter;
  * for the university management system.
  */
 public class AdminService {
+    private static final int PARALLEL_AGGREGATION_THRESHOLD = 20_000;
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final String STUDENT_REPORT_TITLE = "         STUDENT ACADEMIC REPORT\n";
+    
+    // Rendered report bodies and aggregates, reused until the services they read from change
+    private final ReportCache reportCache = new ReportCache();
+    
+    /**
+     * Gets the cache of rendered reports and aggregates
+     * 
+     * @return report cache
+     */
+    public ReportCache getReportCache() {
+        return reportCache;
+    }
     
     /**
      * Generates a comprehensive system report
@@ -26,82 +50,112 @@ public class AdminService {
                                      FacultyService facultyService,
                                      CourseService courseService,
                                      AuthenticationService authService) {
-        
-        StringBuilder report = new StringBuilder();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-        
-        report.append("========================================\n");
-        report.append("   ALAMEIN INTERNATIONAL UNIVERSITY\n");
-        report.append("        SYSTEM REPORT\n");
-        report.append("========================================\n");
-        report.append("Generated: ").append(LocalDateTime.now().format(formatter)).append("\n\n");
+        return render(out -> writeSystemReport(out, studentService, facultyService, courseService, authService));
+    }
+    
+    /**
+     * Writes a comprehensive system report
+     * 
+     * @param report - destination of the report text
+     * @param studentService - student service instance
+     * @param facultyService - faculty service instance
+     * @param courseService - course service instance
+     * @param authService - authentication service instance
+     * @throws IOException if the destination cannot be written
+     */
+    public void writeSystemReport(Appendable report,
+                                  StudentService studentService, 
+                                  FacultyService facultyService,
+                                  CourseService courseService,
+                                  AuthenticationService authService) throws IOException {
+        // Role counts are only shown to user managers, so they get their own entry
+        Session session = authService.getCurrentSession();
+        String key = "system:" + (session != null && session.canManageUsers());
+        writeHeader(report, "   ALAMEIN INTERNATIONAL UNIVERSITY\n        SYSTEM REPORT\n");
+        reportCache.write(key, List.of(studentService, facultyService, courseService, authService), report,
+            out -> renderSystemReport(out, studentService, facultyService, courseService, authService));
+    }
+    
+    private void renderSystemReport(Appendable report,
+                                    StudentService studentService, 
+                                    FacultyService facultyService,
+                                    CourseService courseService,
+                                    AuthenticationService authService) throws IOException {
+        
+        // Each collection is aggregated in one pass; large ones are aggregated concurrently
+        boolean parallel = studentService.getStudentCount() + facultyService.getFacultyCount()
+                + courseService.getCourseCount() >= PARALLEL_AGGREGATION_THRESHOLD;
+        CompletableFuture<StudentStatistics> studentFuture = aggregate(
+            () -> reportCache.get("stats:students", List.of(studentService), studentService::getStatistics), parallel);
+        CompletableFuture<FacultyStatistics> facultyFuture = aggregate(
+            () -> reportCache.get("stats:faculty", List.of(facultyService), facultyService::getStatistics), parallel);
+        CompletableFuture<CourseStatistics> courseFuture = aggregate(
+            () -> reportCache.get("stats:courses", List.of(courseService), courseService::getStatistics), parallel);
+        UserStatistics userStats = authService.getUserStatistics();
+        StudentStatistics studentStats = studentFuture.join();
+        FacultyStatistics facultyStats = facultyFuture.join();
+        CourseStatistics courseStats = courseFuture.join();
         
         // User Statistics
         report.append("USER STATISTICS:\n");
-        report.append("- Total Users: ").append(authService.getUserCount()).append("\n");
-        report.append("- Active Users: ").append(authService.getActiveUserCount()).append("\n");
-        
-        Map<String, User> allUsers = authService.getAllUsers();
-        if (allUsers != null) {
-            Map<UserRole, Long> usersByRole = allUsers.values().stream()
-                    .collect(Collectors.groupingBy(User::getRole, Collectors.counting()));
-            
-            for (Map.Entry<UserRole, Long> entry : usersByRole.entrySet()) {
-                report.append("- ").append(entry.getKey().getDisplayName())
-                      .append(": ").append(entry.getValue()).append("\n");
-            }
+        report.append("- Total Users: ").append(String.valueOf(userStats.getTotalUsers())).append("\n");
+        report.append("- Active Users: ").append(String.valueOf(userStats.getActiveUsers())).append("\n");
+        for (Map.Entry<UserRole, Integer> entry : userStats.getUsersByRole().entrySet()) {
+            report.append("- ").append(entry.getKey().getDisplayName())
+                  .append(": ").append(String.valueOf(entry.getValue())).append("\n");
         }
         report.append("\n");
         
         // Student Statistics
         report.append("STUDENT STATISTICS:\n");
-        report.append("- Total Students: ").append(studentService.getStudentCount()).append("\n");
-        report.append("- Active Students: ").append(studentService.getActiveStudentCount()).append("\n");
-        report.append("- Average GPA: ").append(String.format("%.2f", studentService.getAverageGpa())).append("\n");
-        
-        List<Student> probationStudents = studentService.getStudentsOnProbation();
-        report.append("- Students on Probation: ").append(probationStudents.size()).append("\n");
-        
-        // Students by major
-        Map<String, Long> studentsByMajor = studentService.getAllStudents().stream()
-                .collect(Collectors.groupingBy(Student::getMajor, Collectors.counting()));
+        report.append("- Total Students: ").append(String.valueOf(studentStats.getTotalStudents())).append("\n");
+        report.append("- Active Students: ").append(String.valueOf(studentStats.getActiveStudents())).append("\n");
+        report.append("- Average GPA: ").append(String.format("%.2f", studentStats.getAverageGpa())).append("\n");
+        report.append("- Students on Probation: ").append(String.valueOf(studentStats.getProbationStudents())).append("\n");
         
         report.append("- Students by Major:\n");
-        for (Map.Entry<String, Long> entry : studentsByMajor.entrySet()) {
-            report.append("  * ").append(entry.getKey()).append(": ").append(entry.getValue()).append("\n");
+        for (Map.Entry<String, Integer> entry : studentStats.getStudentsByMajor().entrySet()) {
+            report.append("  * ").append(entry.getKey()).append(": ").append(String.valueOf(entry.getValue())).append("\n");
         }
         report.append("\n");
         
         // Faculty Statistics
         report.append("FACULTY STATISTICS:\n");
-        report.append("- Total Faculty: ").append(facultyService.getFacultyCount()).append("\n");
-        report.append("- Average Course Load: ").append(String.format("%.1f", facultyService.getAverageCourseLoad())).append("\n");
-        report.append("- Total Courses Assigned: ").append(facultyService.getTotalCoursesAssigned()).append("\n");
+        report.append("- Total Faculty: ").append(String.valueOf(facultyStats.getTotalFaculty())).append("\n");
+        report.append("- Average Course Load: ").append(String.format("%.1f", facultyStats.getAverageCourseLoad())).append("\n");
+        report.append("- Total Courses Assigned: ").append(String.valueOf(facultyStats.getTotalCoursesAssigned())).append("\n");
         
-        Map<String, Integer> facultyByDept = facultyService.getFacultyStatsByDepartment();
         report.append("- Faculty by Department:\n");
-        for (Map.Entry<String, Integer> entry : facultyByDept.entrySet()) {
-            report.append("  * ").append(entry.getKey()).append(": ").append(entry.getValue()).append("\n");
+        for (Map.Entry<String, Integer> entry : facultyStats.getFacultyByDepartment().entrySet()) {
+            report.append("  * ").append(entry.getKey()).append(": ").append(String.valueOf(entry.getValue())).append("\n");
         }
         report.append("\n");
         
         // Course Statistics
         report.append("COURSE STATISTICS:\n");
-        Map<String, Object> courseStats = courseService.getCourseStatistics();
-        report.append("- Total Courses: ").append(courseStats.get("totalCourses")).append("\n");
-        report.append("- Active Courses: ").append(courseStats.get("activeCourses")).append("\n");
-        report.append("- Available Courses: ").append(courseStats.get("availableCourses")).append("\n");
-        report.append("- Full Courses: ").append(courseStats.get("fullCourses")).append("\n");
-        report.append("- Total Enrollments: ").append(courseStats.get("totalEnrollments")).append("\n");
-        report.append("- Average Enrollment: ").append(String.format("%.1f", (Double) courseStats.get("averageEnrollment"))).append("\n");
-        
-        List<Course> availableCourses = courseService.getAvailableCourses();
+        report.append("- Total Courses: ").append(String.valueOf(courseStats.getTotalCourses())).append("\n");
+        report.append("- Active Courses: ").append(String.valueOf(courseStats.getActiveCourses())).append("\n");
+        report.append("- Available Courses: ").append(String.valueOf(courseStats.getAvailableCourseCount())).append("\n");
+        report.append("- Full Courses: ").append(String.valueOf(courseStats.getFullCourses())).append("\n");
+        report.append("- Total Enrollments: ").append(String.valueOf(courseStats.getTotalEnrollments())).append("\n");
+        report.append("- Average Enrollment: ").append(String.format("%.1f", courseStats.getAverageEnrollment())).append("\n");
+        
+        List<Course> availableCourses = courseStats.getAvailableCourses();
         if (!availableCourses.isEmpty()) {
             report.append("- Courses with Available Spots:\n");
             for (Course course : availableCourses) {
                 report.append("  * ").append(course.getCourseId()).append(" - ")
                       .append(course.getCourseName()).append(" (")
-                      .append(course.getAvailableSpots()).append(" spots)\n");
+                      .append(String.valueOf(course.getAvailableSpots())).append(" spots)\n");
+            }
+        }
+        
+        List<Object[]> coEnrolledPairs = courseService.getTopCoEnrolledPairs(5);
+        if (!coEnrolledPairs.isEmpty()) {
+            report.append("- Most Co-enrolled Courses:\n");
+            for (Object[] pair : coEnrolledPairs) {
+                report.append("  * ").append(String.valueOf(pair[0])).append(" & ").append(String.valueOf(pair[1]))
+                      .append(": ").append(String.valueOf(pair[2])).append(" shared students\n");
             }
         }
         report.append("\n");
@@ -115,8 +169,28 @@ public class AdminService {
         report.append("\n========================================\n");
         report.append("End of Report\n");
         report.append("========================================\n");
+    }
+    
+    /**
+     * Re-grades every student in a course under the course's grading scale
+     * 
+     * @param studentService - student service instance
+     * @param facultyService - faculty service instance
+     * @param courseService - course service instance
+     * @param courseId - ID of course
+     * @return number of grades re-evaluated, or -1 if the course does not exist
+     */
+    public int regradeCourse(StudentService studentService,
+                             FacultyService facultyService,
+                             CourseService courseService,
+                             String courseId) {
+        Course course = courseService.getCourse(courseId);
+        if (course == null) {
+            return -1;
+        }
         
-        return report.toString();
+        GradingScale scale = courseService.getGradingScale(courseId, facultyService);
+        return studentService.regradeCourse(courseId, scale);
     }
     
     /**
@@ -130,44 +204,107 @@ public class AdminService {
     public String generateStudentReport(StudentService studentService, 
                                       CourseService courseService, 
                                       String studentId) {
+        return render(out -> writeStudentReport(out, studentService, courseService, studentId));
+    }
+    
+    /**
+     * Writes a student academic report
+     * 
+     * @param report - destination of the report text
+     * @param studentService - student service instance
+     * @param courseService - course service instance
+     * @param studentId - ID of student
+     * @return true if the student exists, false if a not-found message was written instead
+     * @throws IOException if the destination cannot be written
+     */
+    public boolean writeStudentReport(Appendable report,
+                                      StudentService studentService, 
+                                      CourseService courseService, 
+                                      String studentId) throws IOException {
         
         Student student = studentService.getStudent(studentId);
         if (student == null) {
-            return "Student not found: " + studentId;
+            report.append("Student not found: ").append(studentId);
+            return false;
         }
         
-        StringBuilder report = new StringBuilder();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-        
-        report.append("========================================\n");
-        report.append("         STUDENT ACADEMIC REPORT\n");
-        report.append("========================================\n");
-        report.append("Generated: ").append(LocalDateTime.now().format(formatter)).append("\n\n");
+        writeHeader(report, STUDENT_REPORT_TITLE);
+        reportCache.write("student:" + studentId, List.of(studentService, courseService), report,
+            out -> renderStudentReport(out, student, courseService.getCourses(student.getReferencedCourses())::get));
+        return true;
+    }
+    
+    /**
+     * Writes the academic report of every student, one after another
+     * 
+     * Reports are written as they are produced, so a file destination never
+     * holds more than one student's report in memory.
+     * 
+     * @param report - destination of the report text
+     * @param studentService - student service instance
+     * @param courseService - course service instance
+     * @return number of student reports written
+     * @throws IOException if the destination cannot be written
+     */
+    public int writeAllStudentReports(Appendable report,
+                                      StudentService studentService,
+                                      CourseService courseService) throws IOException {
+        Map<String, Course> courses = new HashMap<>();
+        for (Course course : courseService.getAllCourses()) {
+            courses.put(course.getCourseId(), course);
+        }
         
+        int written = 0;
+        for (Student student : studentService.getAllStudents()) {
+            if (written > 0) {
+                report.append("\n");
+            }
+            writeStudentReport(report, student, courses::get);
+            written++;
+        }
+        return written;
+    }
+    
+    /**
+     * Writes one student's academic report
+     * 
+     * @param report - destination of the report text
+     * @param student - student to report on
+     * @param courseLookup - resolves course IDs to courses; must be thread-safe if reports are written concurrently
+     * @throws IOException if the destination cannot be written
+     */
+    public void writeStudentReport(Appendable report, Student student,
+                                   Function<String, Course> courseLookup) throws IOException {
+        writeHeader(report, STUDENT_REPORT_TITLE);
+        renderStudentReport(report, student, courseLookup);
+    }
+    
+    private void renderStudentReport(Appendable report, Student student,
+                                     Function<String, Course> courseLookup) throws IOException {
         // Student Information
         report.append("STUDENT INFORMATION:\n");
         report.append("- Student ID: ").append(student.getStudentId()).append("\n");
         report.append("- Name: ").append(student.getFullName()).append("\n");
         report.append("- Email: ").append(student.getEmail()).append("\n");
         report.append("- Major: ").append(student.getMajor()).append("\n");
-        report.append("- Enrollment Year: ").append(student.getEnrollmentYear()).append("\n");
-        report.append("- Status: ").append(student.getStatus()).append("\n");
+        report.append("- Enrollment Year: ").append(String.valueOf(student.getEnrollmentYear())).append("\n");
+        report.append("- Status: ").append(String.valueOf(student.getStatus())).append("\n");
         report.append("- GPA: ").append(String.format("%.2f", student.getGpa())).append("\n");
         report.append("- Academic Standing: ").append(student.getAcademicStanding()).append("\n\n");
         
         // Current Enrollments
-        List<String> enrolledCourses = student.getEnrolledCourses();
-        report.append("CURRENT ENROLLMENTS (").append(enrolledCourses.size()).append(" courses):\n");
+        Set<String> enrolledCourses = student.getEnrolledCourses();
+        report.append("CURRENT ENROLLMENTS (").append(String.valueOf(enrolledCourses.size())).append(" courses):\n");
         
         if (enrolledCourses.isEmpty()) {
             report.append("- No current enrollments\n");
         } else {
             for (String courseId : enrolledCourses) {
-                Course course = courseService.getCourse(courseId);
+                Course course = courseLookup.apply(courseId);
                 if (course != null) {
                     report.append("- ").append(courseId).append(" - ")
                           .append(course.getCourseName()).append(" (")
-                          .append(course.getCreditHours()).append(" credits)\n");
+                          .append(String.valueOf(course.getCreditHours())).append(" credits)\n");
                 }
             }
         }
@@ -175,7 +312,7 @@ public class AdminService {
         
         // Grades and Completed Courses
         Map<String, Grade> grades = student.getGrades();
-        report.append("COMPLETED COURSES (").append(grades.size()).append(" courses):\n");
+        report.append("COMPLETED COURSES (").append(String.valueOf(grades.size())).append(" courses):\n");
         
         if (grades.isEmpty()) {
             report.append("- No completed courses\n");
@@ -184,7 +321,7 @@ public class AdminService {
             for (Map.Entry<String, Grade> entry : grades.entrySet()) {
                 String courseId = entry.getKey();
                 Grade grade = entry.getValue();
-                Course course = courseService.getCourse(courseId);
+                Course course = courseLookup.apply(courseId);
                 
                 if (course != null) {
                     totalCredits += course.getCreditHours();
@@ -192,17 +329,15 @@ public class AdminService {
                           .append(course.getCourseName()).append(" | Grade: ")
                           .append(grade.getLetterGrade()).append(" (")
                           .append(String.format("%.1f", grade.getPercentage())).append("%) | ")
-                          .append(course.getCreditHours()).append(" credits\n");
+                          .append(String.valueOf(course.getCreditHours())).append(" credits\n");
                 }
             }
-            report.append("- Total Completed Credits: ").append(totalCredits).append("\n");
+            report.append("- Total Completed Credits: ").append(String.valueOf(totalCredits)).append("\n");
         }
         
         report.append("\n========================================\n");
         report.append("End of Student Report\n");
         report.append("========================================\n");
-        
-        return report.toString();
     }
     
     /**
@@ -216,20 +351,37 @@ public class AdminService {
     public String generateFacultyReport(FacultyService facultyService, 
                                       CourseService courseService, 
                                       String facultyId) {
+        return render(out -> writeFacultyReport(out, facultyService, courseService, facultyId));
+    }
+    
+    /**
+     * Writes a faculty workload report
+     * 
+     * @param report - destination of the report text
+     * @param facultyService - faculty service instance
+     * @param courseService - course service instance
+     * @param facultyId - ID of faculty member
+     * @return true if the faculty member exists, false if a not-found message was written instead
+     * @throws IOException if the destination cannot be written
+     */
+    public boolean writeFacultyReport(Appendable report,
+                                      FacultyService facultyService, 
+                                      CourseService courseService, 
+                                      String facultyId) throws IOException {
         
         Faculty faculty = facultyService.getFaculty(facultyId);
         if (faculty == null) {
-            return "Faculty member not found: " + facultyId;
+            report.append("Faculty member not found: ").append(facultyId);
+            return false;
         }
         
-        StringBuilder report = new StringBuilder();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-        
-        report.append("========================================\n");
-        report.append("         FACULTY WORKLOAD REPORT\n");
-        report.append("========================================\n");
-        report.append("Generated: ").append(LocalDateTime.now().format(formatter)).append("\n\n");
-        
+        writeHeader(report, "         FACULTY WORKLOAD REPORT\n");
+        reportCache.write("faculty:" + facultyId, List.of(facultyService, courseService), report,
+            out -> renderFacultyReport(out, faculty, courseService));
+        return true;
+    }
+    
+    private void renderFacultyReport(Appendable report, Faculty faculty, CourseService courseService) throws IOException {
         // Faculty Information
         report.append("FACULTY INFORMATION:\n");
         report.append("- Faculty ID: ").append(faculty.getFacultyId()).append("\n");
@@ -238,21 +390,22 @@ public class AdminService {
         report.append("- Department: ").append(faculty.getDepartment()).append("\n");
         report.append("- Position: ").append(faculty.getPosition()).append("\n");
         
-        report.append("- Current Course Load: ").append(faculty.getCoursesTaught().size()).append(" courses\n\n");
+        report.append("- Current Course Load: ").append(String.valueOf(faculty.getCoursesTaught().size())).append(" courses\n\n");
         
         // Courses Taught
         List<String> coursesTaught = faculty.getCoursesTaught();
-        report.append("COURSES TAUGHT (").append(coursesTaught.size()).append(" courses):\n");
+        report.append("COURSES TAUGHT (").append(String.valueOf(coursesTaught.size())).append(" courses):\n");
         
         if (coursesTaught.isEmpty()) {
             report.append("- No courses currently assigned\n");
         } else {
+            Map<String, Course> courses = courseService.getCourses(coursesTaught);
             for (String courseId : coursesTaught) {
-                Course course = courseService.getCourse(courseId);
+                Course course = courses.get(courseId);
                 if (course != null) {
                     report.append("- ").append(courseId).append(" - ")
                           .append(course.getCourseName()).append(" (")
-                          .append(course.getEnrollmentCount()).append(" students)\n");
+                          .append(String.valueOf(course.getEnrollmentCount())).append(" students)\n");
                 }
             }
         }
@@ -260,7 +413,55 @@ public class AdminService {
         report.append("\n========================================\n");
         report.append("End of Faculty Report\n");
         report.append("========================================\n");
-        
+    }
+    
+    /**
+     * Renders a report to a file
+     * 
+     * The report is streamed through a buffered writer, so its size is not
+     * limited by memory. Callers on the event dispatch thread should run this
+     * in the background.
+     * 
+     * @param file - file to write; it is replaced if it exists
+     * @param writer - report to render
+     * @return size of the rendered file in bytes
+     * @throws IOException if the file cannot be written
+     */
+    public long renderToFile(Path file, ReportWriter writer) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(out);
+        }
+        return Files.size(file);
+    }
+    
+    private static <T> CompletableFuture<T> aggregate(Supplier<T> collector, boolean parallel) {
+        return parallel ? CompletableFuture.supplyAsync(collector) : CompletableFuture.completedFuture(collector.get());
+    }
+    
+    /**
+     * Writes a report's banner and generation time
+     * 
+     * The time is stamped when the report is written, so it stays current
+     * when the rest of the report comes from the cache.
+     * 
+     * @param report - destination of the report text
+     * @param title - title lines inside the banner
+     * @throws IOException if the destination cannot be written
+     */
+    private static void writeHeader(Appendable report, String title) throws IOException {
+        report.append("========================================\n");
+        report.append(title);
+        report.append("========================================\n");
+        report.append("Generated: ").append(LocalDateTime.now().format(TIMESTAMP_FORMAT)).append("\n\n");
+    }
+    
+    private static String render(ReportWriter writer) {
+        StringBuilder report = new StringBuilder();
+        try {
+            writer.write(report);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringBuilder does not throw
+        }
         return report.toString();
     }
 }
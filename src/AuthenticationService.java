@@ -1,23 +1,66 @@
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.List;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * AuthenticationService handles user authentication and session management
  * 
  * This service provides secure login functionality, user registration,
- * and password management with proper validation.
+ * and password management with proper validation. Logged-in users are
+ * tracked as sessions in a SessionManager, so one process can serve many
+ * users; the "current" methods refer to this client's own session.
  * Now uses SQLite database instead of file storage.
+ * 
+ * Users are cached in memory and logins are served from the cache. Every
+ * change made through this service writes to the database and updates the
+ * cached user, so the cache stays coherent with the users table; users
+ * missing from the cache are loaded from the database on demand.
  */
-public class AuthenticationService {
+public class AuthenticationService implements Versioned {
     private Map<String, User> users;
-    private User currentUser;
+    private SessionManager sessions;
+    // Session of this client; other clients pass their own tokens
+    private volatile String currentToken;
     private DatabaseHandler dbHandler;
+    private CredentialService credentials;
+    private LoginAuditWriter auditWriter;
+    private LoginRateLimiter rateLimiter;
+    private final EventBus events;
+    private final AtomicLong version = new AtomicLong();
     
     public AuthenticationService() {
+        this(new SessionManager());
+    }
+    
+    /**
+     * Creates the service with a shared session registry
+     * 
+     * @param sessions - session manager holding all logged-in users
+     */
+    public AuthenticationService(SessionManager sessions) {
+        this(sessions, new EventBus());
+    }
+    
+    /**
+     * Creates the service with a shared session registry and event bus
+     * 
+     * @param sessions - session manager holding all logged-in users
+     * @param events - event bus shared with the other services
+     */
+    public AuthenticationService(SessionManager sessions, EventBus events) {
+        this.events = events;
         this.dbHandler = new DatabaseHandler();
+        this.credentials = new CredentialService();
+        this.sessions = sessions;
+        this.auditWriter = new LoginAuditWriter(new DatabaseHandler());
+        this.rateLimiter = new LoginRateLimiter();
         this.users = loadUsers();
-        this.currentUser = null;
+        this.currentToken = null;
         
         // Initialize sample data if database is empty
         if (users.isEmpty()) {
@@ -32,55 +75,226 @@ public class AuthenticationService {
     private Map<String, User> loadUsers() {
         try {
             List<User> userList = dbHandler.getAllUsers();
-            Map<String, User> userMap = new HashMap<>();
+            Map<String, User> userMap = new ConcurrentHashMap<>();
             for (User user : userList) {
                 userMap.put(user.getUsername(), user);
             }
             return userMap;
         } catch (Exception e) {
             System.err.println("Warning: Could not load users from database. Starting with empty user collection.");
-            return new HashMap<>();
+            return new ConcurrentHashMap<>();
         }
     }
     
     /**
-     * Saves user to database
+     * Gets a user from the cache, loading it from the database on a miss
      */
-    private void saveUser(User user) {
-        try {
-            dbHandler.insertUser(user);
-        } catch (Exception e) {
-            System.err.println("Error: Could not save user to database: " + e.getMessage());
+    private User findUser(String username) {
+        User user = users.get(username);
+        if (user == null) {
+            user = dbHandler.findUserByUsername(username);
+            if (user != null) {
+                User cached = users.putIfAbsent(username, user);
+                if (cached != null) {
+                    return cached;
+                }
+                version.incrementAndGet();
+                return user;
+            }
+        }
+        return user;
+    }
+    
+    /**
+     * Gets the data version, increased by every change to users
+     * 
+     * @return version number
+     */
+    @Override
+    public long getVersion() {
+        return version.get();
+    }
+    
+    /**
+     * Gets the event bus this service publishes account changes on
+     * 
+     * @return event bus
+     */
+    public EventBus getEventBus() {
+        return events;
+    }
+    
+    /**
+     * Reloads a cached user from the database
+     * 
+     * Only needed when the users table was changed outside this service.
+     * 
+     * @param username - username to reload
+     */
+    public void refreshUser(String username) {
+        if (username == null) {
+            return;
         }
+        User user = dbHandler.findUserByUsername(username);
+        if (user != null) {
+            users.put(username, user);
+        } else {
+            users.remove(username);
+        }
+        version.incrementAndGet();
     }
     
     /**
      * Authenticates a user with username and password
      * 
+     * On success the new session becomes this client's current session.
+     * 
      * @param username - user's username
      * @param password - user's password
      * @return true if authentication successful, false otherwise
      */
     public boolean login(String username, String password) {
-        if (username == null || password == null) {
+        String token = authenticate(username, password);
+        if (token == null) {
             return false;
         }
         
-        User user = dbHandler.findUserByCredentials(username, password);
-        if (user != null && user.isActive()) {
-            currentUser = user;
+        String previous = currentToken;
+        currentToken = token;
+        sessions.invalidate(previous);
+        return true;
+    }
+    
+    /**
+     * Authenticates a user and opens a session without changing the current session
+     * 
+     * @param username - user's username
+     * @param password - user's password
+     * @return session token, or null if authentication failed
+     */
+    public String authenticate(String username, String password) {
+        return authenticate(username, password, null);
+    }
+    
+    /**
+     * Authenticates a user on behalf of a client and opens a session
+     * 
+     * Attempts are rate limited per username and per client, and repeated
+     * failures lock the username out for a while; throttled attempts fail
+     * without looking the user up.
+     * 
+     * @param username - user's username
+     * @param password - user's password
+     * @param client - identifier of the client (e.g. remote address), may be null
+     * @return session token, or null if authentication failed or was throttled
+     */
+    public String authenticate(String username, String password, String client) {
+        if (username == null || password == null) {
+            return null;
+        }
+        if (!rateLimiter.tryAcquire(username, client)) {
+            auditWriter.record(new LoginEvent(username, false, client, LocalDateTime.now()));
+            return null;
+        }
+        
+        User user = findUser(username);
+        if (user != null && user.isActive() && credentials.verify(user, password)) {
+            rateLimiter.recordSuccess(username);
+            rehashIfNeeded(user, password);
             user.updateLastLogin();
-            return true;
+            auditWriter.record(new LoginEvent(username, true, client, user.getLastLogin()));
+            return sessions.createSession(user).getToken();
         }
         
-        return false;
+        rateLimiter.recordFailure(username);
+        auditWriter.record(new LoginEvent(username, false, client, LocalDateTime.now()));
+        return null;
+    }
+    
+    /**
+     * Gets how long login attempts for a username are currently blocked
+     * 
+     * @param username - username being logged in to
+     * @return seconds to wait before the next attempt, 0 if attempts are allowed
+     */
+    public long getLoginRetryAfterSeconds(String username) {
+        long millis = rateLimiter.getRetryAfterMillis(username, null);
+        return (millis + 999) / 1000;
+    }
+    
+    /**
+     * Upgrades a plaintext or low-cost stored credential after a successful login
+     */
+    private void rehashIfNeeded(User user, String password) {
+        if (!credentials.needsRehash(user)) {
+            return;
+        }
+        
+        String hash = credentials.hash(password);
+        if (hash != null) {
+            user.setPasswordHash(hash);
+            dbHandler.updatePasswordHash(user.getUsername(), hash);
+        }
+    }
+    
+    /**
+     * Validates a new password and hashes it on the credential pool
+     * 
+     * @return the hash, or null if the password is invalid or hashing was rejected
+     */
+    private String hashNewPassword(String password) {
+        try {
+            User.validatePassword(password);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return credentials.hash(password);
     }
     
     /**
      * Logs out the current user
      */
     public void logout() {
-        currentUser = null;
+        String token = currentToken;
+        currentToken = null;
+        sessions.invalidate(token);
+    }
+    
+    /**
+     * Ends a session
+     * 
+     * @param token - session token
+     */
+    public void logout(String token) {
+        sessions.invalidate(token);
+    }
+    
+    /**
+     * Gets a live session by token
+     * 
+     * @param token - session token
+     * @return session or null if unknown or expired
+     */
+    public Session getSession(String token) {
+        return sessions.getSession(token);
+    }
+    
+    /**
+     * Gets this client's current session
+     * 
+     * @return current session or null if not logged in
+     */
+    public Session getCurrentSession() {
+        return sessions.getSession(currentToken);
+    }
+    
+    /**
+     * Flushes pending login events and stops background work
+     */
+    public void shutdown() {
+        auditWriter.shutdown();
+        credentials.shutdown();
+        sessions.shutdown();
     }
     
     /**
@@ -90,17 +304,79 @@ public class AuthenticationService {
      * @return true if registration successful, false if username already exists
      */
     public boolean registerUser(User user) {
-        if (user == null || users.containsKey(user.getUsername())) {
+        if (user == null || findUser(user.getUsername()) != null) {
             return false;
         }
         
         boolean success = dbHandler.insertUser(user);
         if (success) {
             users.put(user.getUsername(), user);
+            version.incrementAndGet();
+            events.publish(new DomainEvent(DomainEventType.USER_REGISTERED, user.getUsername()));
         }
         return success;
     }
     
+    /**
+     * Creates and registers a user, hashing the password on the credential pool
+     * 
+     * The username is checked before hashing, so an existing user costs no
+     * hash.
+     * 
+     * @param username - unique username (minimum 3 characters)
+     * @param password - plaintext password (minimum 6 characters)
+     * @param role - user role in the system
+     * @param fullName - full name of the user
+     * @return true if the user was registered, false if the username exists or hashing was rejected
+     * @throws IllegalArgumentException if the username or password is invalid
+     */
+    public boolean createUser(String username, String password, UserRole role, String fullName) {
+        User.validateUsername(username);
+        User.validatePassword(password);
+        if (findUser(username) != null) {
+            return false;
+        }
+        
+        String hash = credentials.hash(password);
+        return hash != null && registerUser(User.fromStoredCredential(username, hash, role, fullName));
+    }
+    
+    /**
+     * Registers many new users in one batched transaction (admin function)
+     * 
+     * @param newUsers - users to register
+     * @return usernames that were registered, or null if not authorized
+     */
+    public Set<String> registerUsers(List<User> newUsers) {
+        Session session = getCurrentSession();
+        if (session == null || !session.canManageUsers()) {
+            return null;
+        }
+        
+        Set<String> registered = dbHandler.insertUsers(newUsers);
+        List<DomainEvent> changes = new ArrayList<>();
+        for (User user : newUsers) {
+            if (registered.contains(user.getUsername())) {
+                users.put(user.getUsername(), user);
+                changes.add(new DomainEvent(DomainEventType.USER_REGISTERED, user.getUsername()));
+            }
+        }
+        version.incrementAndGet();
+        events.publishAll(changes);
+        return registered;
+    }
+    
+    /**
+     * Gets every username known to the system, cached or not
+     * 
+     * @return set of usernames
+     */
+    public Set<String> getExistingUsernames() {
+        Set<String> usernames = dbHandler.getAllUsernames();
+        usernames.addAll(users.keySet());
+        return usernames;
+    }
+    
     /**
      * Changes the current user's password
      * 
@@ -109,17 +385,18 @@ public class AuthenticationService {
      * @return true if password change successful, false otherwise
      */
     public boolean changePassword(String oldPassword, String newPassword) {
-        if (currentUser == null) {
+        User currentUser = getCurrentUser();
+        if (currentUser == null || !credentials.verify(currentUser, oldPassword)) {
             return false;
         }
         
-        if (currentUser.changePassword(oldPassword, newPassword)) {
-            // Update user in database
-            dbHandler.insertUser(currentUser);
-            return true;
+        String hash = hashNewPassword(newPassword);
+        if (hash == null) {
+            return false;
         }
-        
-        return false;
+        currentUser.setPasswordHash(hash);
+        dbHandler.updatePasswordHash(currentUser.getUsername(), hash);
+        return true;
     }
     
     /**
@@ -130,22 +407,21 @@ public class AuthenticationService {
      * @return true if reset successful, false otherwise
      */
     public boolean resetPassword(String username, String newPassword) {
-        if (currentUser == null || !currentUser.getRole().canManageUsers()) {
+        Session session = getCurrentSession();
+        if (session == null || !session.canManageUsers()) {
             return false; // Only system admins can reset passwords
         }
         
         User user = users.get(username);
         if (user != null) {
-            try {
-                // Create a new user with updated password
-                User updatedUser = new User(user.getUsername(), newPassword, user.getRole(), user.getFullName());
-                updatedUser.setActive(user.isActive());
-                users.put(username, updatedUser);
-                dbHandler.insertUser(updatedUser);
-                return true;
-            } catch (IllegalArgumentException e) {
-                return false; // Invalid password format
+            String hash = hashNewPassword(newPassword);
+            if (hash == null) {
+                return false; // Invalid password format or hashing rejected
             }
+            user.setPasswordHash(hash);
+            dbHandler.updatePasswordHash(username, hash);
+            sessions.invalidateUser(username);
+            return true;
         }
         
         return false;
@@ -158,14 +434,18 @@ public class AuthenticationService {
      * @return true if deactivation successful, false otherwise
      */
     public boolean deactivateUser(String username) {
-        if (currentUser == null || !currentUser.getRole().canManageUsers()) {
+        Session session = getCurrentSession();
+        if (session == null || !session.canManageUsers()) {
             return false;
         }
         
         User user = users.get(username);
-        if (user != null && !user.equals(currentUser)) { // Can't deactivate self
+        if (user != null && !user.equals(session.getUser())) { // Can't deactivate self
             user.setActive(false);
-            dbHandler.insertUser(user);
+            dbHandler.setActive(username, false);
+            version.incrementAndGet();
+            sessions.invalidateUser(username);
+            events.publish(new DomainEvent(DomainEventType.USER_DEACTIVATED, username));
             return true;
         }
         
@@ -179,20 +459,57 @@ public class AuthenticationService {
      * @return true if activation successful, false otherwise
      */
     public boolean activateUser(String username) {
-        if (currentUser == null || !currentUser.getRole().canManageUsers()) {
+        Session session = getCurrentSession();
+        if (session == null || !session.canManageUsers()) {
             return false;
         }
         
         User user = users.get(username);
         if (user != null) {
             user.setActive(true);
-            dbHandler.insertUser(user);
+            dbHandler.setActive(username, true);
+            version.incrementAndGet();
+            events.publish(new DomainEvent(DomainEventType.USER_ACTIVATED, username));
             return true;
         }
         
         return false;
     }
     
+    /**
+     * Activates or deactivates every account with a role in one update (admin function)
+     * 
+     * The acting administrator's own account is never changed.
+     * 
+     * @param role - role whose accounts are updated
+     * @param active - true to activate, false to deactivate
+     * @return number of accounts changed, or -1 if not authorized or on error
+     */
+    public int setActiveForRole(UserRole role, boolean active) {
+        Session session = getCurrentSession();
+        if (session == null || !session.canManageUsers() || role == null) {
+            return -1;
+        }
+        
+        int updated = dbHandler.setActiveByRole(role, active, session.getUsername());
+        if (updated > 0) {
+            DomainEventType type = active ? DomainEventType.USER_ACTIVATED : DomainEventType.USER_DEACTIVATED;
+            List<DomainEvent> changes = new ArrayList<>();
+            for (User user : users.values()) {
+                if (user.getRole() == role && !user.equals(session.getUser()) && user.isActive() != active) {
+                    user.setActive(active);
+                    version.incrementAndGet();
+                    if (!active) {
+                        sessions.invalidateUser(user.getUsername());
+                    }
+                    changes.add(new DomainEvent(type, user.getUsername()));
+                }
+            }
+            events.publishAll(changes);
+        }
+        return updated;
+    }
+    
     /**
      * Gets a user by username (admin function)
      * 
@@ -200,7 +517,8 @@ public class AuthenticationService {
      * @return User object or null if not found
      */
     public User getUser(String username) {
-        if (currentUser == null || (!currentUser.getRole().isAdmin() && !currentUser.getUsername().equals(username))) {
+        Session session = getCurrentSession();
+        if (session == null || (!session.isAdmin() && !session.getUsername().equals(username))) {
             return null; // Only admins can view other users, users can view themselves
         }
         
@@ -213,7 +531,8 @@ public class AuthenticationService {
      * @return Map of all users or null if not authorized
      */
     public Map<String, User> getAllUsers() {
-        if (currentUser == null || !currentUser.getRole().canManageUsers()) {
+        Session session = getCurrentSession();
+        if (session == null || !session.canManageUsers()) {
             return null;
         }
         
@@ -226,7 +545,7 @@ public class AuthenticationService {
      * @return true if user is logged in, false otherwise
      */
     public boolean isLoggedIn() {
-        return currentUser != null;
+        return getCurrentSession() != null;
     }
     
     /**
@@ -235,7 +554,8 @@ public class AuthenticationService {
      * @return current user or null if not logged in
      */
     public User getCurrentUser() {
-        return currentUser;
+        Session session = getCurrentSession();
+        return session != null ? session.getUser() : null;
     }
     
     /**
@@ -245,7 +565,8 @@ public class AuthenticationService {
      * @return true if user has the role, false otherwise
      */
     public boolean hasRole(UserRole role) {
-        return currentUser != null && currentUser.getRole() == role;
+        Session session = getCurrentSession();
+        return session != null && session.hasRole(role);
     }
     
     /**
@@ -254,7 +575,8 @@ public class AuthenticationService {
      * @return true if user is admin, false otherwise
      */
     public boolean isAdmin() {
-        return currentUser != null && currentUser.getRole().isAdmin();
+        Session session = getCurrentSession();
+        return session != null && session.isAdmin();
     }
     
     /**
@@ -274,4 +596,19 @@ public class AuthenticationService {
     public int getActiveUserCount() {
         return (int) users.values().stream().filter(User::isActive).count();
     }
+    
+    /**
+     * Computes user aggregates in a single pass
+     * 
+     * @return user counts; counts per role are only included for users who can manage users
+     */
+    public UserStatistics getUserStatistics() {
+        Session session = getCurrentSession();
+        boolean includeRoles = session != null && session.canManageUsers();
+        UserStatistics statistics = new UserStatistics(includeRoles);
+        for (User user : users.values()) {
+            statistics.add(user);
+        }
+        return statistics;
+    }
 }
@@ -0,0 +1,92 @@
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * ChangeCoalescer collects domain events for a Swing panel and hands them
+ * over on the event dispatch thread in one batch
+ *
+ * The first event after a quiet period starts a short timer; everything that
+ * arrives before it fires is delivered together, so a burst of changes leads
+ * to one table update and one repaint.
+ */
+public class ChangeCoalescer implements DomainEventListener {
+    public static final int DEFAULT_DELAY_MILLIS = 150;
+
+    private final Consumer<List<DomainEvent>> handler;
+    private final DomainEventType[] types;
+    private final Timer timer;
+    private final List<EventBus> buses = new ArrayList<>();
+    private List<DomainEvent> pending = new ArrayList<>();
+    private boolean scheduled;
+
+    /**
+     * Creates a coalescer
+     *
+     * @param delayMillis - how long to collect events before handling them
+     * @param handler - called on the event dispatch thread with the collected events
+     * @param types - event types to collect; none means every type
+     */
+    public ChangeCoalescer(int delayMillis, Consumer<List<DomainEvent>> handler, DomainEventType... types) {
+        this.handler = handler;
+        this.types = types;
+        this.timer = new Timer(delayMillis, e -> flush());
+        this.timer.setRepeats(false);
+    }
+
+    /**
+     * Starts collecting events from a bus; a bus already listened to is ignored
+     *
+     * @param bus - event bus to subscribe to
+     */
+    public synchronized void listenTo(EventBus bus) {
+        if (!buses.contains(bus)) {
+            buses.add(bus);
+            bus.subscribe(this, types);
+        }
+    }
+
+    /**
+     * Stops collecting events and drops those not yet handled
+     */
+    public synchronized void close() {
+        for (EventBus bus : buses) {
+            bus.unsubscribe(this);
+        }
+        buses.clear();
+        pending = new ArrayList<>();
+        scheduled = false;
+        SwingUtilities.invokeLater(timer::stop);
+    }
+
+    @Override
+    public void onEvents(List<DomainEvent> events) {
+        synchronized (this) {
+            pending.addAll(events);
+            if (scheduled) {
+                return;
+            }
+            scheduled = true;
+        }
+        SwingUtilities.invokeLater(timer::start);
+    }
+
+    private void flush() {
+        List<DomainEvent> batch;
+        synchronized (this) {
+            batch = pending;
+            pending = new ArrayList<>();
+            scheduled = false;
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            handler.accept(batch);
+        } catch (RuntimeException e) {
+            System.err.println("Error applying changes to the display: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,118 @@
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * CheckpointScheduler writes the changes held by checkpointable stores in
+ * the background
+ *
+ * Registered stores stop writing on every change and only track what is
+ * dirty. A daemon thread flushes them at a fixed interval, or sooner once
+ * a store has collected enough dirty entities. At most one interval of
+ * changes can be lost in a crash; shutting down flushes everything and
+ * returns the stores to writing every change.
+ */
+public class CheckpointScheduler {
+    public static final int DEFAULT_DIRTY_THRESHOLD = 1_000;
+
+    private final long intervalMillis;
+    private final int dirtyThreshold;
+    private final List<Checkpointable> stores = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean checkpointRequested = new AtomicBoolean();
+    private final AtomicLong checkpointCount = new AtomicLong();
+    private final ScheduledExecutorService executor;
+
+    /**
+     * Creates and starts a scheduler
+     *
+     * @param intervalMillis - longest time a change stays unwritten
+     * @param dirtyThreshold - dirty entities in one store that trigger an early checkpoint
+     */
+    public CheckpointScheduler(long intervalMillis, int dirtyThreshold) {
+        this.intervalMillis = Math.max(1, intervalMillis);
+        this.dirtyThreshold = Math.max(1, dirtyThreshold);
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "checkpoint-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::checkpoint, this.intervalMillis, this.intervalMillis,
+                                        TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Defers a store's writes to this scheduler's checkpoints
+     *
+     * Call it on the thread that changes the store's entities.
+     *
+     * @param store - store to checkpoint
+     */
+    public void register(Checkpointable store) {
+        // The checkpoint thread writes copies taken on save, not the entities the UI changes
+        store.trackSavedCopies();
+        stores.add(store);
+        store.deferWrites(this::onDirty);
+    }
+
+    public long getCheckpointCount() {
+        return checkpointCount.get();
+    }
+
+    /**
+     * Gets the number of changes not written yet
+     *
+     * @return dirty entities across all stores
+     */
+    public int getDirtyCount() {
+        int dirty = 0;
+        for (Checkpointable store : stores) {
+            dirty += store.getDirtyCount();
+        }
+        return dirty;
+    }
+
+    /**
+     * Writes every store's pending changes now, on the calling thread
+     */
+    public void checkpoint() {
+        checkpointRequested.set(false);
+        for (Checkpointable store : stores) {
+            if (store.getDirtyCount() > 0) {
+                store.flush();
+            }
+        }
+        checkpointCount.incrementAndGet();
+    }
+
+    /**
+     * Stops the background thread, writes pending changes and returns the
+     * stores to writing every change
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Checkpointable store : stores) {
+            store.deferWrites(null);
+        }
+        stores.clear();
+    }
+
+    private void onDirty(int dirtyCount) {
+        if (dirtyCount >= dirtyThreshold && checkpointRequested.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::checkpoint);
+            } catch (RuntimeException e) {
+                // Shutting down; the final flush writes the changes
+                checkpointRequested.set(false);
+            }
+        }
+    }
+}
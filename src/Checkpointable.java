@@ -0,0 +1,37 @@
+import java.util.function.IntConsumer;
+
+/**
+ * Checkpointable is a store that can hold changes in memory and write them
+ * later, when a CheckpointScheduler asks it to
+ */
+public interface Checkpointable {
+    
+    /**
+     * Starts keeping a private copy of each entity as it is saved, and
+     * writes the copies instead of the entities from then on
+     * 
+     * Call it on the thread that changes the entities before writes move to
+     * another thread, so that thread never serializes an entity mid-change.
+     */
+    void trackSavedCopies();
+    
+    /**
+     * Switches between deferred and immediate writes
+     * 
+     * @param dirtyListener - told the number of unwritten changes after each
+     *                        change; null writes every change immediately
+     */
+    void deferWrites(IntConsumer dirtyListener);
+    
+    /**
+     * Gets the number of entities changed since they were last written
+     * 
+     * @return number of dirty entities
+     */
+    int getDirtyCount();
+    
+    /**
+     * Writes every change not written yet
+     */
+    void flush();
+}
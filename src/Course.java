@@ -1,6 +1,13 @@
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Course class representing a university course
@@ -11,12 +18,30 @@ import java.util.List;
 public class Course implements Serializable {
     private static final long serialVersionUID = 1L;
     
+    // Serialized form uses external IDs and predates the surrogate-based roster; kept for existing data files
+    private static final ObjectStreamField[] serialPersistentFields = {
+        new ObjectStreamField("courseId", String.class),
+        new ObjectStreamField("courseName", String.class),
+        new ObjectStreamField("description", String.class),
+        new ObjectStreamField("creditHours", int.class),
+        new ObjectStreamField("instructorId", String.class),
+        new ObjectStreamField("enrolledStudents", List.class),
+        new ObjectStreamField("prerequisites", List.class),
+        new ObjectStreamField("maxCapacity", int.class),
+        new ObjectStreamField("schedule", String.class),
+        new ObjectStreamField("classroom", String.class),
+        new ObjectStreamField("status", CourseStatus.class),
+        new ObjectStreamField("semester", String.class),
+        new ObjectStreamField("year", int.class)
+    };
+    
     private String courseId;
     private String courseName;
     private String description;
     private int creditHours;
     private String instructorId;
-    private List<String> enrolledStudents;
+    private int courseKey;
+    private OrderedIntSet enrolledStudents;
     private List<String> prerequisites;
     private int maxCapacity;
     private String schedule;
@@ -38,12 +63,13 @@ public class Course implements Serializable {
         validateCourseId(courseId);
         validateCreditHours(creditHours);
         
-        this.courseId = courseId;
+        this.courseKey = IdRegistry.COURSES.intern(courseId);
+        this.courseId = IdRegistry.COURSES.externalId(courseKey);
         this.courseName = courseName;
         this.description = description;
         this.creditHours = creditHours;
         this.instructorId = instructorId;
-        this.enrolledStudents = new ArrayList<>();
+        this.enrolledStudents = new OrderedIntSet();
         this.prerequisites = new ArrayList<>();
         this.maxCapacity = 30; // Default capacity
         this.status = CourseStatus.OPEN;
@@ -78,9 +104,7 @@ public class Course implements Serializable {
             return false; // Course is at capacity
         }
         
-        if (!enrolledStudents.contains(studentId)) {
-            enrolledStudents.add(studentId);
-            
+        if (studentId != null && enrolledStudents.add(IdRegistry.STUDENTS.intern(studentId))) {
             // Close course if at capacity
             if (enrolledStudents.size() >= maxCapacity) {
                 status = CourseStatus.FULL;
@@ -99,7 +123,8 @@ public class Course implements Serializable {
      * @return true if drop was successful, false otherwise
      */
     public boolean dropStudent(String studentId) {
-        if (enrolledStudents.remove(studentId)) {
+        int studentKey = IdRegistry.STUDENTS.lookup(studentId);
+        if (studentKey >= 0 && enrolledStudents.remove(studentKey)) {
             // Reopen course if it was full
             if (status == CourseStatus.FULL) {
                 status = CourseStatus.OPEN;
@@ -109,6 +134,26 @@ public class Course implements Serializable {
         return false;
     }
     
+    /**
+     * Records a stored enrollment without capacity or status checks, used when loading saved data
+     * 
+     * @param studentId - ID of the enrolled student
+     */
+    void restoreEnrollment(String studentId) {
+        enrolledStudents.add(IdRegistry.STUDENTS.intern(studentId));
+    }
+    
+    /**
+     * Checks if a student is enrolled in the course
+     * 
+     * @param studentId - ID of the student
+     * @return true if the student is enrolled
+     */
+    public boolean isStudentEnrolled(String studentId) {
+        int studentKey = IdRegistry.STUDENTS.lookup(studentId);
+        return studentKey >= 0 && enrolledStudents.contains(studentKey);
+    }
+    
     /**
      * Adds a prerequisite course
      * 
@@ -163,6 +208,10 @@ public class Course implements Serializable {
         return courseId;
     }
     
+    public int getCourseKey() {
+        return courseKey;
+    }
+    
     public String getCourseName() {
         return courseName;
     }
@@ -196,8 +245,26 @@ public class Course implements Serializable {
         this.instructorId = instructorId;
     }
     
-    public List<String> getEnrolledStudents() {
-        return new ArrayList<>(enrolledStudents);
+    /**
+     * Gets the enrolled students in the order they were enrolled
+     * 
+     * @return read-only copy of the enrolled student IDs
+     */
+    public Set<String> getEnrolledStudents() {
+        Set<String> ids = new LinkedHashSet<>();
+        for (int key : enrolledStudents.toInsertionOrderArray()) {
+            ids.add(IdRegistry.STUDENTS.externalId(key));
+        }
+        return Collections.unmodifiableSet(ids);
+    }
+    
+    /**
+     * Gets the enrolled students as student surrogate IDs
+     * 
+     * @return copy of the enrolled student surrogates in ascending order
+     */
+    public int[] getEnrolledStudentKeys() {
+        return enrolledStudents.toArray();
     }
     
     public List<String> getPrerequisites() {
@@ -266,6 +333,50 @@ public class Course implements Serializable {
         return enrolledStudents.size();
     }
     
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("courseId", courseId);
+        fields.put("courseName", courseName);
+        fields.put("description", description);
+        fields.put("creditHours", creditHours);
+        fields.put("instructorId", instructorId);
+        fields.put("enrolledStudents", new ArrayList<>(getEnrolledStudents()));
+        fields.put("prerequisites", prerequisites);
+        fields.put("maxCapacity", maxCapacity);
+        fields.put("schedule", schedule);
+        fields.put("classroom", classroom);
+        fields.put("status", status);
+        fields.put("semester", semester);
+        fields.put("year", year);
+        out.writeFields();
+    }
+    
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        courseKey = IdRegistry.COURSES.intern((String) fields.get("courseId", null));
+        courseId = IdRegistry.COURSES.externalId(courseKey);
+        courseName = (String) fields.get("courseName", null);
+        description = (String) fields.get("description", null);
+        creditHours = fields.get("creditHours", 0);
+        instructorId = (String) fields.get("instructorId", null);
+        enrolledStudents = new OrderedIntSet();
+        List<String> students = (List<String>) fields.get("enrolledStudents", null);
+        if (students != null) {
+            for (String studentId : students) {
+                enrolledStudents.add(IdRegistry.STUDENTS.intern(studentId));
+            }
+        }
+        List<String> savedPrerequisites = (List<String>) fields.get("prerequisites", null);
+        prerequisites = savedPrerequisites != null ? savedPrerequisites : new ArrayList<>();
+        maxCapacity = fields.get("maxCapacity", 30);
+        schedule = (String) fields.get("schedule", null);
+        classroom = (String) fields.get("classroom", null);
+        status = (CourseStatus) fields.get("status", CourseStatus.OPEN);
+        semester = (String) fields.get("semester", null);
+        year = fields.get("year", 0);
+    }
+    
     @Override
     public String toString() {
         return String.format("Course{id='%s', name='%s', credits=%d, enrolled=%d/%d, status=%s}", 
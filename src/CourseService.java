@@ -1,8 +1,11 @@
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * CourseService handles all course-related operations
@@ -10,39 +13,139 @@ import java.util.stream.Collectors;
  * This service provides functionality for course management,
  * enrollment, and course information.
  */
-public class CourseService {
-    private Map<String, Course> courses;
-    private FileManager<Map<String, Course>> fileManager;
-    private static final String COURSES_FILE = "data/courses.dat";
+public class CourseService implements Versioned {
+    private final Repository<Course> courses;
+    private GradingScaleRegistry gradingScales;
+    private EnrollmentStore enrollments;
+    private final EventBus events;
+    private final AtomicLong version = new AtomicLong();
+    private static final String GRADING_SCALES_FILE = "data/grading_scales.properties";
     
     public CourseService() {
-        this.fileManager = new FileManager<>();
-        this.courses = loadCourses();
+        this(new EnrollmentStore());
     }
     
     /**
-     * Loads courses from file or creates empty collection
+     * Creates the service recording enrollments into a shared store
+     * 
+     * @param enrollments - enrollment store shared with StudentService
+     */
+    public CourseService(EnrollmentStore enrollments) {
+        this(enrollments, new EventBus());
+    }
+    
+    /**
+     * Creates the service publishing its changes on an event bus
+     * 
+     * @param enrollments - enrollment store shared with StudentService
+     * @param events - event bus shared with the other services
      */
-    @SuppressWarnings("unchecked")
-    private Map<String, Course> loadCourses() {
+    public CourseService(EnrollmentStore enrollments, EventBus events) {
+        this(PersistenceBackend.configured().courses(), enrollments, events);
+    }
+    
+    /**
+     * Creates the service storing courses in a repository
+     * 
+     * @param courses - repository holding the courses
+     * @param enrollments - enrollment store shared with StudentService
+     * @param events - event bus shared with the other services
+     */
+    public CourseService(Repository<Course> courses, EnrollmentStore enrollments, EventBus events) {
+        this(courses, enrollments, events, loadGradingScales());
+    }
+    
+    private CourseService(Repository<Course> courses, EnrollmentStore enrollments, EventBus events,
+                          GradingScaleRegistry gradingScales) {
+        this.courses = courses;
+        this.enrollments = enrollments;
+        this.events = events;
+        this.gradingScales = gradingScales;
+        enrollments.indexCourses(courses.getAll());
+    }
+    
+    /**
+     * Loads grading scales from file or falls back to the default scale only
+     */
+    private static GradingScaleRegistry loadGradingScales() {
         try {
-            Map<String, Course> loadedCourses = fileManager.loadFromFile(COURSES_FILE);
-            return loadedCourses != null ? loadedCourses : new HashMap<>();
+            return GradingScaleRegistry.loadFromFile(GRADING_SCALES_FILE);
         } catch (Exception e) {
-            System.err.println("Warning: Could not load courses from file. Starting with empty course collection.");
-            return new HashMap<>();
+            System.err.println("Warning: Could not load grading scales from file. Using the default grading scale.");
+            return new GradingScaleRegistry();
         }
     }
     
     /**
-     * Saves courses to file
+     * Stores a changed course
      */
-    private void saveCourses() {
-        try {
-            fileManager.saveToFile(courses, COURSES_FILE);
-        } catch (Exception e) {
-            System.err.println("Error: Could not save courses to file: " + e.getMessage());
+    private void saveCourse(Course course) {
+        version.incrementAndGet();
+        courses.save(course);
+    }
+    
+    /**
+     * Gets the repository the courses are stored in
+     * 
+     * @return course repository
+     */
+    public Repository<Course> getRepository() {
+        return courses;
+    }
+    
+    /**
+     * Creates a read-only service over a snapshot of a course repository
+     * 
+     * The service reports the version the snapshot was taken at, so cached
+     * reports stay valid for it and for the service it was taken from.
+     * 
+     * @param snapshot - snapshot of a course repository
+     * @param version - version of the snapshot's service when it was taken
+     * @param enrollments - enrollment store for the copy, shared with its StudentService
+     * @param gradingScales - grading scales of the snapshot's service
+     * @return service reading the snapshot
+     */
+    public static CourseService ofSnapshot(Repository<Course> snapshot, long version, EnrollmentStore enrollments,
+                                           GradingScaleRegistry gradingScales) {
+        CourseService copy = new CourseService(snapshot, enrollments, new EventBus(), gradingScales);
+        copy.version.set(version);
+        return copy;
+    }
+    
+    /**
+     * Gets the data version, increased by every change to courses
+     * 
+     * @return version number
+     */
+    @Override
+    public long getVersion() {
+        return version.get();
+    }
+    
+    /**
+     * Gets the event bus this service publishes course changes on
+     * 
+     * @return event bus
+     */
+    public EventBus getEventBus() {
+        return events;
+    }
+    
+    /**
+     * Publishes an update of a course, and a status change if its status moved
+     */
+    private void publishCourseUpdate(String courseId, String studentId, CourseStatus previousStatus,
+                                     CourseStatus currentStatus) {
+        if (!events.hasSubscribers()) {
+            return;
         }
+        List<DomainEvent> changes = new ArrayList<>(2);
+        changes.add(new DomainEvent(DomainEventType.COURSE_UPDATED, courseId, studentId));
+        if (previousStatus != currentStatus) {
+            changes.add(new DomainEvent(DomainEventType.COURSE_STATUS_CHANGED, courseId, null,
+                                        currentStatus.name()));
+        }
+        events.publishAll(changes);
     }
     
     /**
@@ -52,15 +155,44 @@ public class CourseService {
      * @return true if course was added successfully, false if course ID already exists
      */
     public boolean addCourse(Course course) {
-        if (course == null || courses.containsKey(course.getCourseId())) {
+        if (course == null || courses.contains(course.getCourseId())) {
             return false;
         }
         
-        courses.put(course.getCourseId(), course);
-        saveCourses();
+        enrollments.indexCourses(List.of(course));
+        saveCourse(course);
+        events.publish(new DomainEvent(DomainEventType.COURSE_ADDED, course.getCourseId()));
         return true;
     }
     
+    /**
+     * Adds many courses and saves once
+     * 
+     * @param newCourses - courses to add
+     * @return courses that were added (existing IDs are skipped)
+     */
+    public List<Course> addCourses(Collection<Course> newCourses) {
+        Map<String, Course> batch = new LinkedHashMap<>();
+        for (Course course : newCourses) {
+            if (course != null && !courses.contains(course.getCourseId())) {
+                batch.putIfAbsent(course.getCourseId(), course);
+            }
+        }
+        
+        List<Course> added = new ArrayList<>(batch.values());
+        if (!added.isEmpty()) {
+            enrollments.indexCourses(added);
+            version.incrementAndGet();
+            courses.saveAll(added);
+            if (events.hasSubscribers()) {
+                events.publishAll(added.stream()
+                    .map(course -> new DomainEvent(DomainEventType.COURSE_ADDED, course.getCourseId()))
+                    .collect(Collectors.toList()));
+            }
+        }
+        return added;
+    }
+    
     /**
      * Updates an existing course's information
      * 
@@ -69,12 +201,15 @@ public class CourseService {
      * @return true if update was successful, false if course not found
      */
     public boolean updateCourse(String courseId, Course updatedCourse) {
-        if (courseId == null || updatedCourse == null || !courses.containsKey(courseId)) {
+        if (courseId == null || updatedCourse == null || !courses.contains(courseId)
+                || !courseId.equals(updatedCourse.getCourseId())) {
             return false;
         }
         
-        courses.put(courseId, updatedCourse);
-        saveCourses();
+        Course previous = courses.get(courseId);
+        enrollments.indexCourses(List.of(updatedCourse));
+        saveCourse(updatedCourse);
+        publishCourseUpdate(courseId, null, previous.getStatus(), updatedCourse.getStatus());
         return true;
     }
     
@@ -91,7 +226,9 @@ public class CourseService {
         
         Course removed = courses.remove(courseId);
         if (removed != null) {
-            saveCourses();
+            enrollments.removeCourse(courseId);
+            version.incrementAndGet();
+            events.publish(new DomainEvent(DomainEventType.COURSE_REMOVED, courseId));
             return true;
         }
         
@@ -108,13 +245,32 @@ public class CourseService {
         return courses.get(courseId);
     }
     
+    /**
+     * Gets many courses in one call
+     * 
+     * Screens and reports use this instead of calling getCourse once per ID.
+     * 
+     * @param courseIds - IDs of courses to find
+     * @return Map of course IDs to courses in the order given; unknown IDs are left out
+     */
+    public Map<String, Course> getCourses(Collection<String> courseIds) {
+        Map<String, Course> found = new LinkedHashMap<>();
+        for (String courseId : courseIds) {
+            Course course = courses.get(courseId);
+            if (course != null) {
+                found.put(courseId, course);
+            }
+        }
+        return found;
+    }
+    
     /**
      * Gets all courses
      * 
      * @return List of all courses
      */
     public List<Course> getAllCourses() {
-        return new ArrayList<>(courses.values());
+        return new ArrayList<>(courses.getAll());
     }
     
     /**
@@ -123,7 +279,7 @@ public class CourseService {
      * @return List of courses with status OPEN
      */
     public List<Course> getAvailableCourses() {
-        return courses.values().stream()
+        return courses.getAll().stream()
                 .filter(course -> course.getStatus() == CourseStatus.OPEN)
                 .collect(Collectors.toList());
     }
@@ -135,7 +291,7 @@ public class CourseService {
      * @return List of courses with the specified status
      */
     public List<Course> getCoursesByStatus(CourseStatus status) {
-        return courses.values().stream()
+        return courses.getAll().stream()
                 .filter(course -> course.getStatus() == status)
                 .collect(Collectors.toList());
     }
@@ -147,7 +303,7 @@ public class CourseService {
      * @return List of courses taught by the instructor
      */
     public List<Course> getCoursesByInstructor(String instructorId) {
-        return courses.values().stream()
+        return courses.getAll().stream()
                 .filter(course -> instructorId.equals(course.getInstructorId()))
                 .collect(Collectors.toList());
     }
@@ -159,7 +315,7 @@ public class CourseService {
      * @return List of courses with the specified credit hours
      */
     public List<Course> getCoursesByCreditHours(int creditHours) {
-        return courses.values().stream()
+        return courses.getAll().stream()
                 .filter(course -> course.getCreditHours() == creditHours)
                 .collect(Collectors.toList());
     }
@@ -176,7 +332,7 @@ public class CourseService {
         }
         
         String searchTerm = name.toLowerCase().trim();
-        return courses.values().stream()
+        return courses.getAll().stream()
                 .filter(course -> course.getCourseName().toLowerCase().contains(searchTerm))
                 .collect(Collectors.toList());
     }
@@ -191,8 +347,11 @@ public class CourseService {
     public boolean enrollStudent(String courseId, String studentId) {
         Course course = courses.get(courseId);
         if (course != null) {
+            CourseStatus previousStatus = course.getStatus();
             if (course.enrollStudent(studentId)) {
-                saveCourses();
+                enrollments.enroll(studentId, courseId);
+                saveCourse(course);
+                publishCourseUpdate(courseId, studentId, previousStatus, course.getStatus());
                 return true;
             }
         }
@@ -209,8 +368,11 @@ public class CourseService {
     public boolean dropStudent(String courseId, String studentId) {
         Course course = courses.get(courseId);
         if (course != null) {
+            CourseStatus previousStatus = course.getStatus();
             if (course.dropStudent(studentId)) {
-                saveCourses();
+                enrollments.drop(studentId, courseId);
+                saveCourse(course);
+                publishCourseUpdate(courseId, studentId, previousStatus, course.getStatus());
                 return true;
             }
         }
@@ -223,24 +385,120 @@ public class CourseService {
      * @return Map containing various course statistics
      */
     public Map<String, Object> getCourseStatistics() {
+        CourseStatistics statistics = getStatistics();
         Map<String, Object> stats = new HashMap<>();
         
-        stats.put("totalCourses", courses.size());
-        stats.put("activeCourses", getCoursesByStatus(CourseStatus.IN_PROGRESS).size());
-        stats.put("availableCourses", getCoursesByStatus(CourseStatus.OPEN).size());
-        stats.put("fullCourses", getCoursesByStatus(CourseStatus.FULL).size());
-        
-        int totalEnrollments = courses.values().stream()
-                .mapToInt(Course::getEnrollmentCount)
-                .sum();
-        stats.put("totalEnrollments", totalEnrollments);
-        
-        double averageEnrollment = courses.isEmpty() ? 0.0 : (double) totalEnrollments / courses.size();
-        stats.put("averageEnrollment", averageEnrollment);
+        stats.put("totalCourses", statistics.getTotalCourses());
+        stats.put("activeCourses", statistics.getActiveCourses());
+        stats.put("availableCourses", statistics.getAvailableCourseCount());
+        stats.put("fullCourses", statistics.getFullCourses());
+        stats.put("totalEnrollments", statistics.getTotalEnrollments());
+        stats.put("averageEnrollment", statistics.getAverageEnrollment());
         
         return stats;
     }
     
+    /**
+     * Computes course aggregates in a single pass
+     * 
+     * @return counts by status, enrollment totals and the open courses
+     */
+    public CourseStatistics getStatistics() {
+        CourseStatistics statistics = new CourseStatistics();
+        for (Course course : courses.getAll()) {
+            statistics.add(course);
+        }
+        return statistics;
+    }
+    
+    /**
+     * Counts the students enrolled in both of two courses
+     * 
+     * @param courseA - ID of first course
+     * @param courseB - ID of second course
+     * @return number of shared students
+     */
+    public int getCoEnrollmentCount(String courseA, String courseB) {
+        return enrollments.getCoEnrollmentCount(courseA, courseB);
+    }
+    
+    /**
+     * Gets how many students a course shares with each other course
+     * 
+     * @param courseId - ID of course
+     * @return Map of course IDs to shared student counts
+     */
+    public Map<String, Integer> getCoEnrollmentCounts(String courseId) {
+        return enrollments.getCoEnrollmentCounts(courseId);
+    }
+    
+    /**
+     * Gets the course pairs that share the most students
+     * 
+     * @param limit - maximum number of pairs
+     * @return pairs as {courseA, courseB, sharedCount} rows, most shared first
+     */
+    public List<Object[]> getTopCoEnrolledPairs(int limit) {
+        return enrollments.getTopCoEnrolledPairs(limit);
+    }
+    
+    public EnrollmentStore getEnrollmentStore() {
+        return enrollments;
+    }
+    
+    /**
+     * Gets the grading scale that applies to a course
+     * 
+     * @param courseId - ID of course
+     * @param department - department of the course's instructor, may be null
+     * @return grading scale for the course
+     */
+    public GradingScale getGradingScale(String courseId, String department) {
+        return gradingScales.resolve(courseId, department);
+    }
+    
+    /**
+     * Gets the grading scale that applies to a course, using its instructor's department
+     * 
+     * Grading and re-grading both resolve scales here, so a course is graded
+     * under the same scale whoever enters the grades.
+     * 
+     * @param courseId - ID of course
+     * @param facultyService - faculty service used to look up the instructor
+     * @return grading scale for the course
+     */
+    public GradingScale getGradingScale(String courseId, FacultyService facultyService) {
+        Course course = courses.get(courseId);
+        Faculty instructor = course != null && course.getInstructorId() != null
+                ? facultyService.getFaculty(course.getInstructorId()) : null;
+        return gradingScales.resolve(courseId, instructor != null ? instructor.getDepartment() : null);
+    }
+    
+    /**
+     * Adds the grading scales and assignments stored in the database
+     * 
+     * They take precedence over the ones from the grading scales file.
+     * Nothing is loaded if the database could not be opened.
+     * 
+     * @param database - database holding the grading scale tables
+     */
+    public void loadGradingScales(DatabaseHandler database) {
+        if (!database.isConnected()) {
+            return;
+        }
+        gradingScales.merge(GradingScaleRegistry.loadFromDatabase(database));
+    }
+    
+    public GradingScaleRegistry getGradingScales() {
+        return gradingScales;
+    }
+    
+    public void setGradingScales(GradingScaleRegistry gradingScales) {
+        if (gradingScales != null) {
+            this.gradingScales = gradingScales;
+        }
+    }
+    
     /**
      * Gets total number of courses
      * 
@@ -0,0 +1,67 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * CourseStatistics holds aggregates computed in one pass over all courses
+ */
+public class CourseStatistics {
+    private int totalCourses;
+    private int activeCourses;
+    private int fullCourses;
+    private int totalEnrollments;
+    private final List<Course> availableCourses;
+
+    CourseStatistics() {
+        this.availableCourses = new ArrayList<>();
+    }
+
+    /**
+     * Adds one course to the aggregates
+     *
+     * @param course - course to count
+     */
+    void add(Course course) {
+        totalCourses++;
+        totalEnrollments += course.getEnrollmentCount();
+        switch (course.getStatus()) {
+            case IN_PROGRESS: activeCourses++; break;
+            case OPEN: availableCourses.add(course); break;
+            case FULL: fullCourses++; break;
+            default: break;
+        }
+    }
+
+    public int getTotalCourses() {
+        return totalCourses;
+    }
+
+    public int getActiveCourses() {
+        return activeCourses;
+    }
+
+    public int getAvailableCourseCount() {
+        return availableCourses.size();
+    }
+
+    public int getFullCourses() {
+        return fullCourses;
+    }
+
+    public int getTotalEnrollments() {
+        return totalEnrollments;
+    }
+
+    public double getAverageEnrollment() {
+        return totalCourses == 0 ? 0.0 : (double) totalEnrollments / totalCourses;
+    }
+
+    /**
+     * Gets the courses open for enrollment
+     *
+     * @return list of open courses
+     */
+    public List<Course> getAvailableCourses() {
+        return Collections.unmodifiableList(availableCourses);
+    }
+}
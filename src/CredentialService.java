@@ -0,0 +1,120 @@
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * CredentialService runs password hashing and verification off the caller's thread
+ *
+ * Hashing is deliberately expensive, so it runs on a small dedicated pool
+ * with a bounded queue. When many users log in at once, excess requests are
+ * rejected quickly instead of queueing without limit and tying up the rest
+ * of the application.
+ */
+public class CredentialService {
+    private static final int DEFAULT_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    private static final int DEFAULT_QUEUE_CAPACITY = 256;
+    private static final long VERIFY_TIMEOUT_SECONDS = 10;
+
+    private final PasswordHasher hasher;
+    private final ThreadPoolExecutor executor;
+
+    public CredentialService() {
+        this(PasswordHasher.getDefault(), DEFAULT_THREADS, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Creates a credential service with its own verification pool
+     *
+     * @param hasher - hasher used for new hashes and cost checks
+     * @param threads - number of verification threads
+     * @param queueCapacity - maximum number of waiting requests
+     */
+    public CredentialService(PasswordHasher hasher, int threads, int queueCapacity) {
+        this.hasher = hasher;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new VerifierThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Verifies a user's password on the verification pool
+     *
+     * @param user - user whose stored credential is checked
+     * @param password - plaintext password
+     * @return true if the password matches, false if it doesn't or the pool is saturated
+     */
+    public boolean verify(User user, String password) {
+        if (user == null || password == null) {
+            return false;
+        }
+        Boolean result = runOnPool(() -> hasher.verify(password, user.getPasswordHash()));
+        return result != null && result;
+    }
+
+    /**
+     * Hashes a password on the verification pool
+     *
+     * @param password - plaintext password
+     * @return encoded hash, or null if the pool is saturated
+     */
+    public String hash(String password) {
+        return runOnPool(() -> hasher.hash(password));
+    }
+
+    /**
+     * Checks whether a user's stored credential should be re-hashed
+     *
+     * @param user - user to check
+     * @return true if the credential is plaintext or below the current cost
+     */
+    public boolean needsRehash(User user) {
+        return user != null && hasher.needsRehash(user.getPasswordHash());
+    }
+
+    /**
+     * Stops the verification pool
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T runOnPool(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            System.err.println("Warning: Credential verification is saturated, request rejected.");
+            return null;
+        }
+        
+        try {
+            return future.get(VERIFY_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            System.err.println("Warning: Credential verification timed out.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.err.println("Error during credential verification: " + e.getCause().getMessage());
+        }
+        return null;
+    }
+
+    private static class VerifierThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "credential-verifier-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
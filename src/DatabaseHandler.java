@@ -9,6 +9,19 @@ import java.time.LocalDateTime;
  */
 public class DatabaseHandler {
     private static final String DB_URL = "jdbc:sqlite:university.db";
+    // Value written by earlier versions of insertUser instead of the real password
+    private static final String LEGACY_PASSWORD_PLACEHOLDER = "placeholder";
+    private static final Map<String, String> SAMPLE_PASSWORDS = Map.of(
+        "admin", "admin123",
+        "sysadmin", "sysadmin123",
+        "F2024001", "faculty123",
+        "F2024002", "faculty123",
+        "S2023001", "student123",
+        "S2023002", "student123",
+        "S2023003", "student123"
+    );
+    // Stays below SQLite's default limit of 999 parameters per statement
+    private static final int MAX_QUERY_PARAMETERS = 500;
     private Connection connection;
     
     // Constructor - initialize database and create tables
@@ -26,7 +39,12 @@ public class DatabaseHandler {
     private void initializeDatabase() {
         try {
             connection = DriverManager.getConnection(DB_URL);
+            // Several handlers (e.g. background writers) may share the file; wait for locks instead of failing
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("PRAGMA busy_timeout = 5000");
+            }
             createTables();
+            migrateLegacyPasswords();
             System.out.println("Database initialized successfully.");
         } catch (SQLException e) {
             System.err.println("Database initialization error: " + e.getMessage());
@@ -42,6 +60,11 @@ public class DatabaseHandler {
         createStudentEnrollmentsTable();
         createStudentGradesTable();
         createDepartmentsTable();
+        createGradingScaleTables();
+        createLoginAuditTable();
+        createFacultyCoursesTable();
+        addEntityColumns();
+        createEntityIndexes();
     }
     
     private void createUsersTable() throws SQLException {
@@ -167,6 +190,168 @@ public class DatabaseHandler {
         }
     }
     
+    private void createGradingScaleTables() throws SQLException {
+        // Tables are stored from A+ to F as comma separated lists
+        String scalesSql = """
+            CREATE TABLE IF NOT EXISTS grading_scales (
+                scale_id TEXT PRIMARY KEY,
+                name TEXT NOT NULL,
+                cutoffs TEXT NOT NULL,
+                points TEXT NOT NULL,
+                percentages TEXT
+            )
+        """;
+        
+        String assignmentsSql = """
+            CREATE TABLE IF NOT EXISTS grading_scale_assignments (
+                target_type TEXT NOT NULL,
+                target_id TEXT NOT NULL,
+                scale_id TEXT NOT NULL,
+                PRIMARY KEY (target_type, target_id),
+                FOREIGN KEY (scale_id) REFERENCES grading_scales(scale_id)
+            )
+        """;
+        
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute(scalesSql);
+            stmt.execute(assignmentsSql);
+        }
+    }
+    
+    private void createLoginAuditTable() throws SQLException {
+        String sql = """
+            CREATE TABLE IF NOT EXISTS login_audit (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                username TEXT NOT NULL,
+                successful BOOLEAN NOT NULL,
+                client TEXT,
+                occurred_at TEXT NOT NULL
+            )
+        """;
+        
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+    
+    private void createFacultyCoursesTable() throws SQLException {
+        String sql = """
+            CREATE TABLE IF NOT EXISTS faculty_courses (
+                faculty_id TEXT,
+                course_id TEXT,
+                PRIMARY KEY (faculty_id, course_id),
+                FOREIGN KEY (faculty_id) REFERENCES faculty(faculty_id),
+                FOREIGN KEY (course_id) REFERENCES courses(course_id)
+            )
+        """;
+        
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+    
+    /**
+     * Adds the columns needed to store complete students, courses and faculty
+     * to tables created by earlier versions
+     */
+    private void addEntityColumns() throws SQLException {
+        addMissingColumns("student_grades", Map.of("percentage", "REAL"));
+        addMissingColumns("courses", Map.of("schedule", "TEXT", "classroom", "TEXT",
+                                            "year", "INTEGER", "prerequisites", "TEXT"));
+        addMissingColumns("faculty", Map.of("office_location", "TEXT", "phone_number", "TEXT"));
+    }
+    
+    /**
+     * Indexes the columns the services filter on, so those lookups do not
+     * scan whole tables
+     */
+    private void createEntityIndexes() throws SQLException {
+        String[] indexes = {
+            "CREATE INDEX IF NOT EXISTS idx_students_major ON students(major COLLATE NOCASE)",
+            "CREATE INDEX IF NOT EXISTS idx_students_year ON students(enrollment_year)",
+            "CREATE INDEX IF NOT EXISTS idx_students_status ON students(status)",
+            "CREATE INDEX IF NOT EXISTS idx_students_gpa ON students(gpa)",
+            "CREATE INDEX IF NOT EXISTS idx_enrollments_course ON student_enrollments(course_id)",
+            "CREATE INDEX IF NOT EXISTS idx_courses_instructor ON courses(instructor_id)",
+            "CREATE INDEX IF NOT EXISTS idx_courses_status ON courses(status)",
+            "CREATE INDEX IF NOT EXISTS idx_courses_credit_hours ON courses(credit_hours)",
+            "CREATE INDEX IF NOT EXISTS idx_faculty_department ON faculty(department COLLATE NOCASE)",
+            "CREATE INDEX IF NOT EXISTS idx_faculty_courses_course ON faculty_courses(course_id)"
+        };
+        try (Statement stmt = connection.createStatement()) {
+            for (String index : indexes) {
+                stmt.execute(index);
+            }
+        }
+    }
+    
+    private void addMissingColumns(String table, Map<String, String> columns) throws SQLException {
+        Set<String> existing = new HashSet<>();
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA table_info(" + table + ")")) {
+            while (rs.next()) {
+                existing.add(rs.getString("name"));
+            }
+        }
+        
+        try (Statement stmt = connection.createStatement()) {
+            for (Map.Entry<String, String> column : columns.entrySet()) {
+                if (!existing.contains(column.getKey())) {
+                    stmt.execute("ALTER TABLE " + table + " ADD COLUMN " + column.getKey() + " " + column.getValue());
+                }
+            }
+        }
+    }
+    
+    /**
+     * Replaces plaintext passwords left by earlier versions with hashes
+     * 
+     * Rows holding the old "placeholder" value never had a usable password;
+     * sample accounts get their sample password back, every other such row
+     * is left without a password until an administrator resets it.
+     */
+    private void migrateLegacyPasswords() throws SQLException {
+        Map<String, String> legacyPasswords = new HashMap<>();
+        // Rows already left without a password are not legacy and stay as they are
+        String selectSql = "SELECT username, password FROM users WHERE password NOT LIKE ? AND password <> ?";
+        try (PreparedStatement pstmt = connection.prepareStatement(selectSql)) {
+            pstmt.setString(1, PasswordHasher.SCHEME + "$%");
+            pstmt.setString(2, PasswordHasher.UNSET);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    legacyPasswords.put(rs.getString("username"), rs.getString("password"));
+                }
+            }
+        }
+        if (legacyPasswords.isEmpty()) {
+            return;
+        }
+        
+        String updateSql = "UPDATE users SET password = ? WHERE username = ?";
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (PreparedStatement pstmt = connection.prepareStatement(updateSql)) {
+            for (Map.Entry<String, String> entry : legacyPasswords.entrySet()) {
+                String password = entry.getValue();
+                if (LEGACY_PASSWORD_PLACEHOLDER.equals(password)) {
+                    password = SAMPLE_PASSWORDS.get(entry.getKey());
+                }
+                boolean usable = password != null && !password.isEmpty() && !PasswordHasher.UNSET.equals(password);
+                pstmt.setString(1, usable ? PasswordHasher.getDefault().hash(password) : PasswordHasher.UNSET);
+                pstmt.setString(2, entry.getKey());
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+            connection.commit();
+            System.out.println("Migrated " + legacyPasswords.size() + " legacy password(s) to hashed storage.");
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+    
     // User operations
     public boolean insertUser(User user) {
         String sql = """
@@ -176,7 +361,7 @@ public class DatabaseHandler {
         
         try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, user.getUsername());
-            pstmt.setString(2, "placeholder"); // Password will be set properly when registerUser is called
+            pstmt.setString(2, user.getPasswordHash() != null ? user.getPasswordHash() : PasswordHasher.UNSET);
             pstmt.setString(3, user.getRole().name());
             pstmt.setString(4, user.getFullName());
             pstmt.setString(5, user.getCreatedAt() != null ? user.getCreatedAt().toString() : LocalDateTime.now().toString());
@@ -191,22 +376,81 @@ public class DatabaseHandler {
         }
     }
     
-    // Student operations
-    public boolean insertStudent(Student student) {
+    /**
+     * Inserts new users in a single transaction
+     * 
+     * Usernames that already exist are skipped rather than replaced.
+     * 
+     * @param users - users to insert
+     * @return usernames that were inserted
+     */
+    public Set<String> insertUsers(List<User> users) {
+        Set<String> inserted = new HashSet<>();
+        if (users.isEmpty()) {
+            return inserted;
+        }
+        
         String sql = """
-            INSERT OR REPLACE INTO students (student_id, full_name, email, major, enrollment_year, status, gpa)
+            INSERT OR IGNORE INTO users (username, password, role, full_name, created_at, last_login, is_active)
             VALUES (?, ?, ?, ?, ?, ?, ?)
         """;
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setString(1, student.getStudentId());
-            pstmt.setString(2, student.getFullName());
-            pstmt.setString(3, student.getEmail());
-            pstmt.setString(4, student.getMajor());
-            pstmt.setInt(5, student.getEnrollmentYear());
-            pstmt.setString(6, student.getStatus().toString());
-            pstmt.setDouble(7, student.getGpa());
-            
+        // Shares the transaction lock with the other batched writes on this connection
+        boolean written = inTransaction("users", () -> {
+            try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+                for (User user : users) {
+                    pstmt.setString(1, user.getUsername());
+                    pstmt.setString(2, user.getPasswordHash() != null ? user.getPasswordHash() : PasswordHasher.UNSET);
+                    pstmt.setString(3, user.getRole().name());
+                    pstmt.setString(4, user.getFullName());
+                    pstmt.setString(5, user.getCreatedAt() != null ? user.getCreatedAt().toString() : LocalDateTime.now().toString());
+                    pstmt.setString(6, user.getLastLogin() != null ? user.getLastLogin().toString() : null);
+                    pstmt.setBoolean(7, user.isActive());
+                    pstmt.addBatch();
+                }
+                int[] counts = pstmt.executeBatch();
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                        inserted.add(users.get(i).getUsername());
+                    }
+                }
+            }
+        });
+        if (!written) {
+            inserted.clear();
+        }
+        return inserted;
+    }
+    
+    /**
+     * Gets every username in the users table
+     * 
+     * @return set of usernames
+     */
+    public Set<String> getAllUsernames() {
+        Set<String> usernames = new HashSet<>();
+        String sql = "SELECT username FROM users";
+        
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                usernames.add(rs.getString("username"));
+            }
+        } catch (SQLException e) {
+            System.err.println("Error retrieving usernames: " + e.getMessage());
+        }
+        return usernames;
+    }
+    
+    // Student operations
+    private static final String INSERT_STUDENT_SQL = """
+        INSERT OR REPLACE INTO students (student_id, full_name, email, major, enrollment_year, status, gpa)
+        VALUES (?, ?, ?, ?, ?, ?, ?)
+    """;
+    
+    public boolean insertStudent(Student student) {
+        try (PreparedStatement pstmt = connection.prepareStatement(INSERT_STUDENT_SQL)) {
+            bindStudent(pstmt, student);
             pstmt.executeUpdate();
             return true;
         } catch (SQLException e) {
@@ -215,20 +459,26 @@ public class DatabaseHandler {
         }
     }
     
+    private static void bindStudent(PreparedStatement pstmt, Student student) throws SQLException {
+        pstmt.setString(1, student.getStudentId());
+        pstmt.setString(2, student.getFullName());
+        pstmt.setString(3, student.getEmail());
+        pstmt.setString(4, student.getMajor());
+        pstmt.setInt(5, student.getEnrollmentYear());
+        pstmt.setString(6, student.getStatus().name());
+        pstmt.setDouble(7, student.getGpa());
+    }
+    
     // Faculty operations
+    private static final String INSERT_FACULTY_SQL = """
+        INSERT OR REPLACE INTO faculty (faculty_id, full_name, email, department, position,
+                                        office_location, phone_number)
+        VALUES (?, ?, ?, ?, ?, ?, ?)
+    """;
+    
     public boolean insertFaculty(Faculty faculty) {
-        String sql = """
-            INSERT OR REPLACE INTO faculty (faculty_id, full_name, email, department, position)
-            VALUES (?, ?, ?, ?, ?)
-        """;
-        
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setString(1, faculty.getFacultyId());
-            pstmt.setString(2, faculty.getFullName());
-            pstmt.setString(3, faculty.getEmail());
-            pstmt.setString(4, faculty.getDepartment());
-            pstmt.setString(5, faculty.getPosition());
-            
+        try (PreparedStatement pstmt = connection.prepareStatement(INSERT_FACULTY_SQL)) {
+            bindFaculty(pstmt, faculty);
             pstmt.executeUpdate();
             return true;
         } catch (SQLException e) {
@@ -237,6 +487,16 @@ public class DatabaseHandler {
         }
     }
     
+    private static void bindFaculty(PreparedStatement pstmt, Faculty faculty) throws SQLException {
+        pstmt.setString(1, faculty.getFacultyId());
+        pstmt.setString(2, faculty.getFullName());
+        pstmt.setString(3, faculty.getEmail());
+        pstmt.setString(4, faculty.getDepartment());
+        pstmt.setString(5, faculty.getPosition());
+        pstmt.setString(6, faculty.getOfficeLocation());
+        pstmt.setString(7, faculty.getPhoneNumber());
+    }
+    
     public List<User> getAllUsers() {
         List<User> users = new ArrayList<>();
         String sql = "SELECT * FROM users";
@@ -257,23 +517,161 @@ public class DatabaseHandler {
         return users;
     }
 
-    public User findUserByCredentials(String username, String password) {
-        String sql = "SELECT * FROM users WHERE username = ? AND password = ?";
+    /**
+     * Sets whether a user account is active
+     * 
+     * @param username - username to update
+     * @param active - new active flag
+     * @return true if a row was updated
+     */
+    public boolean setActive(String username, boolean active) {
+        String sql = "UPDATE users SET is_active = ? WHERE username = ?";
+        
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setBoolean(1, active);
+            pstmt.setString(2, username);
+            return pstmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            System.err.println("Error updating user status: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Sets the active flag of every account with a role
+     * 
+     * @param role - role whose accounts are updated
+     * @param active - new active flag
+     * @param excludedUsername - account to leave untouched (e.g. the acting admin), may be null
+     * @return number of accounts updated, or -1 on error
+     */
+    public int setActiveByRole(UserRole role, boolean active, String excludedUsername) {
+        // Older rows store the role's display name instead of its constant name
+        String sql = "UPDATE users SET is_active = ? WHERE role IN (?, ?) AND is_active <> ? AND username IS NOT ?";
+        
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setBoolean(1, active);
+            pstmt.setString(2, role.name());
+            pstmt.setString(3, role.getDisplayName());
+            pstmt.setBoolean(4, active);
+            pstmt.setString(5, excludedUsername);
+            return pstmt.executeUpdate();
+        } catch (SQLException e) {
+            System.err.println("Error updating user status by role: " + e.getMessage());
+            return -1;
+        }
+    }
+    
+    /**
+     * Replaces a user's stored password hash
+     * 
+     * @param username - username to update
+     * @param passwordHash - encoded password hash
+     * @return true if a row was updated
+     */
+    public boolean updatePasswordHash(String username, String passwordHash) {
+        String sql = "UPDATE users SET password = ? WHERE username = ?";
+        
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, passwordHash);
+            pstmt.setString(2, username);
+            return pstmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            System.err.println("Error updating password: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Records a user's last login time
+     * 
+     * @param username - username to update
+     * @param lastLogin - time of the login
+     * @return true if a row was updated
+     */
+    public boolean touchLastLogin(String username, LocalDateTime lastLogin) {
+        String sql = "UPDATE users SET last_login = ? WHERE username = ?";
+        
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, lastLogin.toString());
+            pstmt.setString(2, username);
+            return pstmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            System.err.println("Error updating last login: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Records a batch of login events in a single transaction
+     * 
+     * Every event is appended to login_audit, and successful logins also
+     * update the user's last_login column.
+     * 
+     * @param events - login events to record
+     * @return true if the batch was committed
+     */
+    public boolean recordLoginEvents(List<LoginEvent> events) {
+        if (events.isEmpty()) {
+            return true;
+        }
+        
+        String auditSql = "INSERT INTO login_audit (username, successful, client, occurred_at) VALUES (?, ?, ?, ?)";
+        String lastLoginSql = "UPDATE users SET last_login = ? WHERE username = ?";
+        
+        try {
+            connection.setAutoCommit(false);
+            try (PreparedStatement auditStmt = connection.prepareStatement(auditSql);
+                 PreparedStatement lastLoginStmt = connection.prepareStatement(lastLoginSql)) {
+                for (LoginEvent event : events) {
+                    auditStmt.setString(1, event.getUsername());
+                    auditStmt.setBoolean(2, event.isSuccessful());
+                    auditStmt.setString(3, event.getClient());
+                    auditStmt.setString(4, event.getOccurredAt().toString());
+                    auditStmt.addBatch();
+                    
+                    if (event.isSuccessful()) {
+                        lastLoginStmt.setString(1, event.getOccurredAt().toString());
+                        lastLoginStmt.setString(2, event.getUsername());
+                        lastLoginStmt.addBatch();
+                    }
+                }
+                auditStmt.executeBatch();
+                lastLoginStmt.executeBatch();
+                connection.commit();
+                return true;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            System.err.println("Error recording login events: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Finds a user by username
+     * 
+     * Passwords are checked by the caller against the stored hash.
+     * 
+     * @param username - username to look up
+     * @return user with the stored credential, or null if not found
+     */
+    public User findUserByUsername(String username) {
+        String sql = "SELECT * FROM users WHERE username = ?";
         try (PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, username);
-            stmt.setString(2, password);
 
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                return new User(
-                        rs.getString("username"),
-                        rs.getString("password"),
-                        UserRole.valueOf(rs.getString("role")),
-                        rs.getString("full_name")
-                );
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return createUserFromResultSet(rs);
+                }
             }
         } catch (Exception e) {
-            System.err.println("Error in findUserByCredentials: " + e.getMessage());
+            System.err.println("Error in findUserByUsername: " + e.getMessage());
         }
         return null;
     }
@@ -301,36 +699,42 @@ public class DatabaseHandler {
                     role = UserRole.STUDENT; // Default fallback
             }
         }
-        User user = new User(username, password, role, fullName);
+        User user = User.fromStoredCredential(username, password, role, fullName);
         
         // Set additional fields if available
         String createdAtStr = rs.getString("created_at");
         String lastLoginStr = rs.getString("last_login");
         boolean isActive = rs.getBoolean("is_active");
         
+        user.setCreatedAt(parseTimestamp(createdAtStr));
+        user.setLastLogin(parseTimestamp(lastLoginStr));
         user.setActive(isActive);
         
         return user;
     }
     
+    private LocalDateTime parseTimestamp(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value);
+        } catch (java.time.format.DateTimeParseException e) {
+            return null; // Unreadable timestamps are treated as missing
+        }
+    }
+    
     // Course operations
+    private static final String INSERT_COURSE_SQL = """
+        INSERT OR REPLACE INTO courses (course_id, course_name, description, credit_hours, 
+                            instructor_id, max_students, status, semester,
+                            schedule, classroom, year, prerequisites)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+    """;
+    
     public boolean insertCourse(Course course) {
-        String sql = """
-            INSERT OR REPLACE INTO courses (course_id, course_name, description, credit_hours, 
-                                instructor_id, max_students, status, semester)
-            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
-        """;
-        
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setString(1, course.getCourseId());
-            pstmt.setString(2, course.getCourseName());
-            pstmt.setString(3, course.getDescription());
-            pstmt.setInt(4, course.getCreditHours());
-            pstmt.setString(5, course.getInstructorId());
-            pstmt.setInt(6, course.getMaxCapacity());
-            pstmt.setString(7, course.getStatus().toString());
-            pstmt.setString(8, course.getSemester());
-            
+        try (PreparedStatement pstmt = connection.prepareStatement(INSERT_COURSE_SQL)) {
+            bindCourse(pstmt, course);
             pstmt.executeUpdate();
             return true;
         } catch (SQLException e) {
@@ -339,6 +743,21 @@ public class DatabaseHandler {
         }
     }
     
+    private static void bindCourse(PreparedStatement pstmt, Course course) throws SQLException {
+        pstmt.setString(1, course.getCourseId());
+        pstmt.setString(2, course.getCourseName());
+        pstmt.setString(3, course.getDescription());
+        pstmt.setInt(4, course.getCreditHours());
+        pstmt.setString(5, course.getInstructorId());
+        pstmt.setInt(6, course.getMaxCapacity());
+        pstmt.setString(7, course.getStatus().name());
+        pstmt.setString(8, course.getSemester());
+        pstmt.setString(9, course.getSchedule());
+        pstmt.setString(10, course.getClassroom());
+        pstmt.setInt(11, course.getYear());
+        pstmt.setString(12, String.join(",", course.getPrerequisites()));
+    }
+    
     public List<Course> getAllCourses() {
         List<Course> courses = new ArrayList<>();
         String sql = "SELECT * FROM courses";
@@ -347,27 +766,7 @@ public class DatabaseHandler {
              ResultSet rs = stmt.executeQuery(sql)) {
             
             while (rs.next()) {
-                Course course = new Course(
-                    rs.getString("course_id"),
-                    rs.getString("course_name"),
-                    rs.getString("description"),
-                    rs.getInt("credit_hours"),
-                    rs.getString("instructor_id")
-                );
-                
-                course.setMaxCapacity(rs.getInt("max_students"));
-                course.setSemester(rs.getString("semester"));
-                // Set status if available
-                String statusStr = rs.getString("status");
-                if (statusStr != null) {
-                    try {
-                        course.setStatus(CourseStatus.valueOf(statusStr));
-                    } catch (IllegalArgumentException e) {
-                        course.setStatus(CourseStatus.OPEN); // Default fallback
-                    }
-                }
-                
-                courses.add(course);
+                courses.add(readCourse(rs));
             }
         } catch (SQLException e) {
             System.err.println("Error retrieving courses: " + e.getMessage());
@@ -384,28 +783,7 @@ public class DatabaseHandler {
             
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    Course course = new Course(
-                        rs.getString("course_id"),
-                        rs.getString("course_name"),
-                        rs.getString("description"),
-                        rs.getInt("credit_hours"),
-                        rs.getString("instructor_id")
-                    );
-                    
-                    course.setMaxCapacity(rs.getInt("max_students"));
-                    course.setSemester(rs.getString("semester"));
-                    
-                    // Set status if available
-                    String statusStr = rs.getString("status");
-                    if (statusStr != null) {
-                        try {
-                            course.setStatus(CourseStatus.valueOf(statusStr));
-                        } catch (IllegalArgumentException e) {
-                            course.setStatus(CourseStatus.OPEN); // Default fallback
-                        }
-                    }
-                    
-                    return course;
+                    return readCourse(rs);
                 }
             }
         } catch (SQLException e) {
@@ -415,6 +793,74 @@ public class DatabaseHandler {
         return null;
     }
     
+    /**
+     * Finds many courses with one query per 500 IDs
+     * 
+     * @param courseIds - IDs of courses to find
+     * @return Map of course IDs to courses, with their rosters; IDs without a course are left out
+     */
+    public Map<String, Course> findCoursesByIds(Collection<String> courseIds) {
+        Map<String, Course> courses = new HashMap<>();
+        List<String> ids = new ArrayList<>(new LinkedHashSet<>(courseIds));
+        
+        for (int from = 0; from < ids.size(); from += MAX_QUERY_PARAMETERS) {
+            List<String> chunk = ids.subList(from, Math.min(from + MAX_QUERY_PARAMETERS, ids.size()));
+            courses.putAll(findCourses("c.course_id IN (" + placeholders(chunk.size()) + ")", chunk.toArray()));
+        }
+        
+        return courses;
+    }
+    
+    private Course readCourse(ResultSet rs) throws SQLException {
+        Course course = new Course(
+            rs.getString("course_id"),
+            rs.getString("course_name"),
+            rs.getString("description"),
+            rs.getInt("credit_hours"),
+            rs.getString("instructor_id")
+        );
+        
+        course.setMaxCapacity(rs.getInt("max_students"));
+        course.setSemester(rs.getString("semester"));
+        course.setSchedule(rs.getString("schedule"));
+        course.setClassroom(rs.getString("classroom"));
+        int year = rs.getInt("year");
+        if (!rs.wasNull()) {
+            course.setYear(year);
+        }
+        String prerequisites = rs.getString("prerequisites");
+        if (prerequisites != null && !prerequisites.isEmpty()) {
+            for (String prerequisite : prerequisites.split(",")) {
+                course.addPrerequisite(prerequisite);
+            }
+        }
+        
+        // Set status if available
+        course.setStatus(parseStatus(CourseStatus.class, rs.getString("status"), CourseStatus.OPEN));
+        
+        return course;
+    }
+    
+    /**
+     * Reads a stored status, written either as the constant name or, by
+     * earlier versions, as its display name
+     */
+    private static <E extends Enum<E>> E parseStatus(Class<E> type, String value, E fallback) {
+        if (value == null) {
+            return fallback;
+        }
+        for (E constant : type.getEnumConstants()) {
+            if (constant.name().equalsIgnoreCase(value) || constant.toString().equalsIgnoreCase(value)) {
+                return constant;
+            }
+        }
+        return fallback;
+    }
+    
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+    
     // Student enrollment operations using the new table structure
     public boolean enrollStudentInCourse(String studentId, String courseId) {
         String sql = """
@@ -508,6 +954,498 @@ public class DatabaseHandler {
         }
     }
     
+    // Grading scale operations
+    public Map<String, GradingScale> getAllGradingScales() {
+        Map<String, GradingScale> scales = new HashMap<>();
+        String sql = "SELECT * FROM grading_scales";
+        
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            
+            while (rs.next()) {
+                String scaleId = rs.getString("scale_id");
+                try {
+                    scales.put(scaleId, GradingScaleRegistry.parseScale(
+                        rs.getString("name"),
+                        rs.getString("cutoffs"),
+                        rs.getString("points"),
+                        rs.getString("percentages")));
+                } catch (IllegalArgumentException e) {
+                    System.err.println("Skipping invalid grading scale " + scaleId + ": " + e.getMessage());
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error retrieving grading scales: " + e.getMessage());
+        }
+        
+        return scales;
+    }
+    
+    public Map<String, String> getGradingScaleAssignments(String targetType) {
+        Map<String, String> assignments = new HashMap<>();
+        String sql = "SELECT target_id, scale_id FROM grading_scale_assignments WHERE target_type = ?";
+        
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, targetType);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    assignments.put(rs.getString("target_id"), rs.getString("scale_id"));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error retrieving grading scale assignments: " + e.getMessage());
+        }
+        
+        return assignments;
+    }
+    
+    // Complete student, course and faculty records, used by the SQLite repositories
+    
+    /**
+     * Loads every student with their enrollments and grades
+     * 
+     * @return Map of student IDs to students
+     */
+    public Map<String, Student> loadStudents() {
+        return findStudents("1 = 1");
+    }
+    
+    /**
+     * Loads the students matching a condition, with their enrollments and grades
+     * 
+     * Each of the three tables is read with a single query.
+     * 
+     * @param condition - SQL condition on the students table, aliased s
+     * @param params - values for the condition's placeholders
+     * @return Map of student IDs to students, ordered by student ID
+     */
+    Map<String, Student> findStudents(String condition, Object... params) {
+        Map<String, Student> students = new LinkedHashMap<>();
+        String studentsSql = "SELECT * FROM students s WHERE " + condition + " ORDER BY s.student_id";
+        String enrollmentsSql = "SELECT e.student_id, e.course_id FROM student_enrollments e "
+                              + "JOIN students s ON s.student_id = e.student_id WHERE " + condition;
+        String gradesSql = "SELECT g.student_id, g.course_id, g.letter_grade, g.points, g.percentage "
+                         + "FROM student_grades g JOIN students s ON s.student_id = g.student_id WHERE " + condition;
+        
+        try {
+            query(studentsSql, params, rs -> {
+                try {
+                    Student student = new Student(
+                        rs.getString("student_id"),
+                        rs.getString("full_name"),
+                        rs.getString("email"),
+                        rs.getString("major"),
+                        rs.getInt("enrollment_year")
+                    );
+                    student.setStatus(parseStatus(StudentStatus.class, rs.getString("status"), StudentStatus.ACTIVE));
+                    students.put(student.getStudentId(), student);
+                } catch (IllegalArgumentException e) {
+                    System.err.println("Warning: Skipping invalid student " + rs.getString("student_id") + ": " + e.getMessage());
+                }
+            });
+            query(enrollmentsSql, params, rs -> {
+                Student student = students.get(rs.getString("student_id"));
+                if (student != null) {
+                    student.restoreEnrollment(rs.getString("course_id"));
+                }
+            });
+            query(gradesSql, params, rs -> {
+                Student student = students.get(rs.getString("student_id"));
+                if (student != null) {
+                    student.restoreGrade(rs.getString("course_id"), readGrade(rs));
+                }
+            });
+        } catch (SQLException e) {
+            System.err.println("Error loading students: " + e.getMessage());
+        }
+        
+        return students;
+    }
+    
+    private static Grade readGrade(ResultSet rs) throws SQLException {
+        String letterGrade = rs.getString("letter_grade");
+        double percentage = rs.getDouble("percentage");
+        if (rs.wasNull()) {
+            // Rows written without a percentage only know the letter
+            return Grade.of(letterGrade);
+        }
+        return new Grade(percentage, letterGrade, rs.getDouble("points"));
+    }
+    
+    /**
+     * Writes students with their enrollments and grades in a single transaction
+     * 
+     * Only the given students' rows are touched, so the cost does not depend
+     * on how many students are stored.
+     * 
+     * @param students - students to insert or replace
+     * @return true if every student was written
+     */
+    public boolean saveStudents(Collection<Student> students) {
+        if (students.isEmpty()) {
+            return true;
+        }
+        
+        String deleteEnrollmentsSql = "DELETE FROM student_enrollments WHERE student_id = ?";
+        String insertEnrollmentSql = "INSERT OR IGNORE INTO student_enrollments (student_id, course_id) VALUES (?, ?)";
+        // Keeps the semester recorded by earlier imports of the same grade
+        String upsertGradeSql = """
+            INSERT OR REPLACE INTO student_grades (student_id, course_id, letter_grade, points, percentage, semester)
+            VALUES (?, ?, ?, ?, ?, (SELECT semester FROM student_grades WHERE student_id = ? AND course_id = ?))
+        """;
+        
+        return inTransaction("students", () -> {
+            try (PreparedStatement upsertStudent = connection.prepareStatement(INSERT_STUDENT_SQL);
+                 PreparedStatement deleteEnrollments = connection.prepareStatement(deleteEnrollmentsSql);
+                 PreparedStatement insertEnrollment = connection.prepareStatement(insertEnrollmentSql);
+                 PreparedStatement upsertGrade = connection.prepareStatement(upsertGradeSql)) {
+                for (Student student : students) {
+                    String studentId = student.getStudentId();
+                    bindStudent(upsertStudent, student);
+                    upsertStudent.addBatch();
+                    deleteEnrollments.setString(1, studentId);
+                    deleteEnrollments.addBatch();
+                    for (String courseId : student.getEnrolledCourses()) {
+                        insertEnrollment.setString(1, studentId);
+                        insertEnrollment.setString(2, courseId);
+                        insertEnrollment.addBatch();
+                    }
+                    
+                    Map<String, Grade> grades = student.getGrades();
+                    deleteGradesExcept(studentId, grades.keySet());
+                    for (Map.Entry<String, Grade> entry : grades.entrySet()) {
+                        Grade grade = entry.getValue();
+                        upsertGrade.setString(1, studentId);
+                        upsertGrade.setString(2, entry.getKey());
+                        upsertGrade.setString(3, grade.getLetterGrade());
+                        upsertGrade.setDouble(4, grade.getGradePoints());
+                        upsertGrade.setDouble(5, grade.getPercentage());
+                        upsertGrade.setString(6, studentId);
+                        upsertGrade.setString(7, entry.getKey());
+                        upsertGrade.addBatch();
+                    }
+                }
+                upsertStudent.executeBatch();
+                deleteEnrollments.executeBatch();
+                insertEnrollment.executeBatch();
+                upsertGrade.executeBatch();
+            }
+        });
+    }
+    
+    private void deleteGradesExcept(String studentId, Collection<String> courseIds) throws SQLException {
+        String sql = "DELETE FROM student_grades WHERE student_id = ?"
+                   + (courseIds.isEmpty() ? "" : " AND course_id NOT IN (" + placeholders(courseIds.size()) + ")");
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, studentId);
+            int index = 2;
+            for (String courseId : courseIds) {
+                pstmt.setString(index++, courseId);
+            }
+            pstmt.executeUpdate();
+        }
+    }
+    
+    /**
+     * Deletes a student with their enrollments and grades
+     * 
+     * @param studentId - ID of student to delete
+     * @return true if the transaction succeeded
+     */
+    public boolean deleteStudent(String studentId) {
+        return inTransaction("student", () -> {
+            for (String table : List.of("student_enrollments", "student_grades", "students")) {
+                try (PreparedStatement pstmt = connection.prepareStatement("DELETE FROM " + table + " WHERE student_id = ?")) {
+                    pstmt.setString(1, studentId);
+                    pstmt.executeUpdate();
+                }
+            }
+        });
+    }
+    
+    /**
+     * Loads every course with its enrolled students
+     * 
+     * @return Map of course IDs to courses
+     */
+    public Map<String, Course> loadCourses() {
+        return findCourses("1 = 1");
+    }
+    
+    /**
+     * Loads the courses matching a condition, with their enrolled students
+     * 
+     * @param condition - SQL condition on the courses table, aliased c
+     * @param params - values for the condition's placeholders
+     * @return Map of course IDs to courses, ordered by course ID
+     */
+    Map<String, Course> findCourses(String condition, Object... params) {
+        Map<String, Course> courses = new LinkedHashMap<>();
+        String coursesSql = "SELECT * FROM courses c WHERE " + condition + " ORDER BY c.course_id";
+        String enrollmentsSql = "SELECT e.course_id, e.student_id FROM student_enrollments e "
+                              + "JOIN courses c ON c.course_id = e.course_id WHERE " + condition;
+        
+        try {
+            query(coursesSql, params, rs -> {
+                try {
+                    Course course = readCourse(rs);
+                    courses.put(course.getCourseId(), course);
+                } catch (IllegalArgumentException e) {
+                    System.err.println("Warning: Skipping invalid course " + rs.getString("course_id") + ": " + e.getMessage());
+                }
+            });
+            query(enrollmentsSql, params, rs -> {
+                Course course = courses.get(rs.getString("course_id"));
+                if (course != null) {
+                    course.restoreEnrollment(rs.getString("student_id"));
+                }
+            });
+        } catch (SQLException e) {
+            System.err.println("Error loading courses: " + e.getMessage());
+        }
+        
+        return courses;
+    }
+    
+    /**
+     * Writes courses in a single transaction
+     * 
+     * Enrollments are written with the students that own them.
+     * 
+     * @param courses - courses to insert or replace
+     * @return true if every course was written
+     */
+    public boolean saveCourses(Collection<Course> courses) {
+        if (courses.isEmpty()) {
+            return true;
+        }
+        
+        return inTransaction("courses", () -> {
+            try (PreparedStatement pstmt = connection.prepareStatement(INSERT_COURSE_SQL)) {
+                for (Course course : courses) {
+                    bindCourse(pstmt, course);
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+            }
+        });
+    }
+    
+    /**
+     * Deletes a course
+     * 
+     * @param courseId - ID of course to delete
+     * @return true if the statement succeeded
+     */
+    public boolean deleteCourse(String courseId) {
+        return inTransaction("course", () -> {
+            try (PreparedStatement pstmt = connection.prepareStatement("DELETE FROM courses WHERE course_id = ?")) {
+                pstmt.setString(1, courseId);
+                pstmt.executeUpdate();
+            }
+        });
+    }
+    
+    /**
+     * Loads every faculty member with their course assignments
+     * 
+     * @return Map of faculty IDs to faculty members
+     */
+    public Map<String, Faculty> loadFaculty() {
+        return findFaculty("1 = 1");
+    }
+    
+    /**
+     * Loads the faculty members matching a condition, with their course assignments
+     * 
+     * @param condition - SQL condition on the faculty table, aliased f
+     * @param params - values for the condition's placeholders
+     * @return Map of faculty IDs to faculty members, ordered by faculty ID
+     */
+    Map<String, Faculty> findFaculty(String condition, Object... params) {
+        Map<String, Faculty> faculty = new LinkedHashMap<>();
+        String facultySql = "SELECT * FROM faculty f WHERE " + condition + " ORDER BY f.faculty_id";
+        String coursesSql = "SELECT fc.faculty_id, fc.course_id FROM faculty_courses fc "
+                          + "JOIN faculty f ON f.faculty_id = fc.faculty_id WHERE " + condition;
+        
+        try {
+            query(facultySql, params, rs -> {
+                try {
+                    Faculty member = new Faculty(
+                        rs.getString("faculty_id"),
+                        rs.getString("full_name"),
+                        rs.getString("email"),
+                        rs.getString("department"),
+                        rs.getString("position")
+                    );
+                    member.setOfficeLocation(rs.getString("office_location"));
+                    member.setPhoneNumber(rs.getString("phone_number"));
+                    faculty.put(member.getFacultyId(), member);
+                } catch (IllegalArgumentException e) {
+                    System.err.println("Warning: Skipping invalid faculty member " + rs.getString("faculty_id") + ": " + e.getMessage());
+                }
+            });
+            query(coursesSql, params, rs -> {
+                Faculty member = faculty.get(rs.getString("faculty_id"));
+                if (member != null) {
+                    member.assignCourse(rs.getString("course_id"));
+                }
+            });
+        } catch (SQLException e) {
+            System.err.println("Error loading faculty: " + e.getMessage());
+        }
+        
+        return faculty;
+    }
+    
+    /**
+     * Writes faculty members with their course assignments in a single transaction
+     * 
+     * @param facultyMembers - faculty members to insert or replace
+     * @return true if every faculty member was written
+     */
+    public boolean saveFacultyMembers(Collection<Faculty> facultyMembers) {
+        if (facultyMembers.isEmpty()) {
+            return true;
+        }
+        
+        return inTransaction("faculty", () -> {
+            try (PreparedStatement upsertFaculty = connection.prepareStatement(INSERT_FACULTY_SQL);
+                 PreparedStatement deleteCourses = connection.prepareStatement("DELETE FROM faculty_courses WHERE faculty_id = ?");
+                 PreparedStatement insertCourse = connection.prepareStatement(
+                     "INSERT OR IGNORE INTO faculty_courses (faculty_id, course_id) VALUES (?, ?)")) {
+                for (Faculty member : facultyMembers) {
+                    bindFaculty(upsertFaculty, member);
+                    upsertFaculty.addBatch();
+                    deleteCourses.setString(1, member.getFacultyId());
+                    deleteCourses.addBatch();
+                    for (String courseId : member.getCoursesTaught()) {
+                        insertCourse.setString(1, member.getFacultyId());
+                        insertCourse.setString(2, courseId);
+                        insertCourse.addBatch();
+                    }
+                }
+                upsertFaculty.executeBatch();
+                deleteCourses.executeBatch();
+                insertCourse.executeBatch();
+            }
+        });
+    }
+    
+    /**
+     * Deletes a faculty member with their course assignments
+     * 
+     * @param facultyId - ID of faculty member to delete
+     * @return true if the transaction succeeded
+     */
+    public boolean deleteFaculty(String facultyId) {
+        return inTransaction("faculty member", () -> {
+            for (String table : List.of("faculty_courses", "faculty")) {
+                try (PreparedStatement pstmt = connection.prepareStatement("DELETE FROM " + table + " WHERE faculty_id = ?")) {
+                    pstmt.setString(1, facultyId);
+                    pstmt.executeUpdate();
+                }
+            }
+        });
+    }
+    
+    /**
+     * Gets the IDs of the rows matching a condition
+     * 
+     * @param table - table to query, aliased by its first letter in the condition
+     * @param idColumn - column holding the ID
+     * @param condition - SQL condition on the table
+     * @param params - values for the condition's placeholders
+     * @return matching IDs, ordered by ID
+     */
+    List<String> findIds(String table, String idColumn, String condition, Object... params) {
+        String alias = table.substring(0, 1);
+        String sql = "SELECT " + alias + "." + idColumn + " FROM " + table + " " + alias
+                   + " WHERE " + condition + " ORDER BY " + alias + "." + idColumn;
+        List<String> ids = new ArrayList<>();
+        try {
+            query(sql, params, rs -> ids.add(rs.getString(1)));
+        } catch (SQLException e) {
+            System.err.println("Error querying " + table + ": " + e.getMessage());
+        }
+        return ids;
+    }
+    
+    /**
+     * Counts the rows of a table
+     * 
+     * @param table - table to count
+     * @return number of rows, or 0 if the query fails
+     */
+    int countRows(String table) {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        } catch (SQLException e) {
+            System.err.println("Error counting " + table + ": " + e.getMessage());
+            return 0;
+        }
+    }
+    
+    /**
+     * Handles one row of a query result
+     */
+    private interface RowHandler {
+        void handle(ResultSet rs) throws SQLException;
+    }
+    
+    /**
+     * Work done inside a transaction
+     */
+    private interface TransactionWork {
+        void run() throws SQLException;
+    }
+    
+    private void query(String sql, Object[] params, RowHandler handler) throws SQLException {
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                pstmt.setObject(i + 1, params[i]);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    handler.handle(rs);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Runs work in a transaction, rolling back if any statement fails
+     * 
+     * @param label - what is being written, for error messages
+     * @param work - statements to run
+     * @return true if the transaction was committed
+     */
+    private synchronized boolean inTransaction(String label, TransactionWork work) {
+        try {
+            connection.setAutoCommit(false);
+            try {
+                work.run();
+                connection.commit();
+                return true;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            System.err.println("Error writing " + label + ": " + e.getMessage());
+            return false;
+        }
+    }
+    
+    private static User sampleUser(String username, UserRole role, String fullName) {
+        String hash = PasswordHasher.getDefault().hash(SAMPLE_PASSWORDS.get(username));
+        return User.fromStoredCredential(username, hash, role, fullName);
+    }
+    
     // Initialize sample data
     public void initializeSampleData() {
         // Check if data already exists
@@ -515,14 +1453,14 @@ public class DatabaseHandler {
             return; // Data already exists
         }
         
-        // Create sample users with correct constructors
-        User adminUser = new User("admin", "admin123", UserRole.ADMIN_STAFF, "Admin User");
-        User sysAdminUser = new User("sysadmin", "sysadmin123", UserRole.SYSTEM_ADMIN, "System Administrator");
-        User faculty1User = new User("F2024001", "faculty123", UserRole.FACULTY, "Dr. John Smith");
-        User faculty2User = new User("F2024002", "faculty123", UserRole.FACULTY, "Prof. Jane Doe");
-        User student1User = new User("S2023001", "student123", UserRole.STUDENT, "Alice Johnson");
-        User student2User = new User("S2023002", "student123", UserRole.STUDENT, "Bob Wilson");
-        User student3User = new User("S2023003", "student123", UserRole.STUDENT, "Carol Brown");
+        // Create sample users; this runs once, on an empty database at startup
+        User adminUser = sampleUser("admin", UserRole.ADMIN_STAFF, "Admin User");
+        User sysAdminUser = sampleUser("sysadmin", UserRole.SYSTEM_ADMIN, "System Administrator");
+        User faculty1User = sampleUser("F2024001", UserRole.FACULTY, "Dr. John Smith");
+        User faculty2User = sampleUser("F2024002", UserRole.FACULTY, "Prof. Jane Doe");
+        User student1User = sampleUser("S2023001", UserRole.STUDENT, "Alice Johnson");
+        User student2User = sampleUser("S2023002", UserRole.STUDENT, "Bob Wilson");
+        User student3User = sampleUser("S2023003", UserRole.STUDENT, "Carol Brown");
         
         insertUser(adminUser);
         insertUser(sysAdminUser);
@@ -560,6 +1498,15 @@ public class DatabaseHandler {
         System.out.println("Sample data initialized in database.");
     }
     
+    /**
+     * Checks whether the database was opened
+     * 
+     * @return false if the driver or the database file could not be opened
+     */
+    public boolean isConnected() {
+        return connection != null;
+    }
+    
     // Close database connection
     public void closeConnection() {
         try {
@@ -0,0 +1,80 @@
+/**
+ * DomainEvent describes one change made by a service
+ *
+ * Events only carry identifiers; consumers look up the current state from
+ * the service that published them.
+ */
+public class DomainEvent {
+    private final DomainEventType type;
+    private final String entityId;
+    private final String relatedId;
+    private final String detail;
+    private final long timestamp;
+    
+    /**
+     * Creates an event about a single entity
+     * 
+     * @param type - kind of change
+     * @param entityId - ID of the changed student, course, faculty member or user
+     */
+    public DomainEvent(DomainEventType type, String entityId) {
+        this(type, entityId, null, null);
+    }
+    
+    /**
+     * Creates an event that links two entities
+     * 
+     * @param type - kind of change
+     * @param entityId - ID of the changed entity
+     * @param relatedId - ID of the other entity, e.g. the course of an enrollment
+     */
+    public DomainEvent(DomainEventType type, String entityId, String relatedId) {
+        this(type, entityId, relatedId, null);
+    }
+    
+    /**
+     * Creates an event with extra detail
+     * 
+     * @param type - kind of change
+     * @param entityId - ID of the changed entity
+     * @param relatedId - ID of the other entity, may be null
+     * @param detail - new value of the changed field, e.g. a course status, may be null
+     */
+    public DomainEvent(DomainEventType type, String entityId, String relatedId, String detail) {
+        this.type = type;
+        this.entityId = entityId;
+        this.relatedId = relatedId;
+        this.detail = detail;
+        this.timestamp = System.currentTimeMillis();
+    }
+    
+    public DomainEventType getType() {
+        return type;
+    }
+    
+    public String getEntityId() {
+        return entityId;
+    }
+    
+    public String getRelatedId() {
+        return relatedId;
+    }
+    
+    public String getDetail() {
+        return detail;
+    }
+    
+    public long getTimestamp() {
+        return timestamp;
+    }
+    
+    @Override
+    public String toString() {
+        return "DomainEvent{" +
+                "type=" + type.name() +
+                ", entityId='" + entityId + '\'' +
+                (relatedId != null ? ", relatedId='" + relatedId + '\'' : "") +
+                (detail != null ? ", detail='" + detail + '\'' : "") +
+                '}';
+    }
+}
@@ -0,0 +1,16 @@
+import java.util.List;
+
+/**
+ * DomainEventListener receives batches of events from the EventBus
+ *
+ * Batches are delivered on the bus's dispatcher thread, in publication order.
+ * Swing consumers must move work to the event dispatch thread themselves.
+ */
+public interface DomainEventListener {
+    /**
+     * Handles events published since the previous batch
+     * 
+     * @param events - events matching the subscription, never empty
+     */
+    void onEvents(List<DomainEvent> events);
+}
@@ -0,0 +1,37 @@
+/**
+ * DomainEventType lists the changes services announce on the EventBus
+ */
+public enum DomainEventType {
+    STUDENT_ADDED("Student Added"),
+    STUDENT_UPDATED("Student Updated"),
+    STUDENT_REMOVED("Student Removed"),
+    ENROLLED("Enrolled"),
+    DROPPED("Dropped"),
+    GRADE_ADDED("Grade Added"),
+    GRADE_UPDATED("Grade Updated"),
+    COURSE_ADDED("Course Added"),
+    COURSE_UPDATED("Course Updated"),
+    COURSE_REMOVED("Course Removed"),
+    COURSE_STATUS_CHANGED("Course Status Changed"),
+    FACULTY_ADDED("Faculty Added"),
+    FACULTY_UPDATED("Faculty Updated"),
+    FACULTY_REMOVED("Faculty Removed"),
+    USER_REGISTERED("User Registered"),
+    USER_ACTIVATED("User Activated"),
+    USER_DEACTIVATED("User Deactivated");
+    
+    private final String displayName;
+    
+    DomainEventType(String displayName) {
+        this.displayName = displayName;
+    }
+    
+    public String getDisplayName() {
+        return displayName;
+    }
+    
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -0,0 +1,276 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * EnrollmentStore indexes enrollments as sorted surrogate ID sets
+ *
+ * Every course has a set of student surrogates and every student has a set
+ * of course surrogates, both keyed by IdRegistry IDs. Set operations are
+ * linear merges over the sorted arrays, so joins such as "students in X who
+ * are also in Y" never touch the entity objects.
+ *
+ * StudentService and CourseService share one store and both record into it,
+ * so it reflects the latest enroll or drop made through either service.
+ * Once a student has been indexed, the student's own course list is the
+ * record of their current enrollments: course rosters, which keep students
+ * after they are graded, no longer add to it.
+ */
+public class EnrollmentStore {
+    private final IntObjectMap<IntSet> studentsByCourse;
+    private final IntObjectMap<IntSet> coursesByStudent;
+    private final IntSet indexedStudents;
+
+    public EnrollmentStore() {
+        this.studentsByCourse = new IntObjectMap<>();
+        this.coursesByStudent = new IntObjectMap<>();
+        this.indexedStudents = new IntSet();
+    }
+
+    /**
+     * Replaces the enrollments of students with the courses they are enrolled in
+     *
+     * @param students - students to index
+     */
+    public synchronized void indexStudents(Collection<Student> students) {
+        for (Student student : students) {
+            int studentKey = student.getStudentKey();
+            removeStudentKey(studentKey);
+            for (int courseKey : student.getEnrolledCourseKeys()) {
+                add(studentKey, courseKey);
+            }
+            indexedStudents.add(studentKey);
+        }
+    }
+
+    /**
+     * Records the enrollments held by loaded courses, for students not
+     * indexed from their own records
+     *
+     * @param courses - courses to index
+     */
+    public synchronized void indexCourses(Collection<Course> courses) {
+        for (Course course : courses) {
+            int courseKey = course.getCourseKey();
+            for (int studentKey : course.getEnrolledStudentKeys()) {
+                if (!indexedStudents.contains(studentKey)) {
+                    add(studentKey, courseKey);
+                }
+            }
+        }
+    }
+
+    /**
+     * Records an enrollment
+     *
+     * @param studentId - ID of student
+     * @param courseId - ID of course
+     * @return true if the enrollment was new
+     */
+    public synchronized boolean enroll(String studentId, String courseId) {
+        if (studentId == null || courseId == null) {
+            return false;
+        }
+        return add(IdRegistry.STUDENTS.intern(studentId), IdRegistry.COURSES.intern(courseId));
+    }
+
+    /**
+     * Removes an enrollment
+     *
+     * @param studentId - ID of student
+     * @param courseId - ID of course
+     * @return true if the enrollment existed
+     */
+    public synchronized boolean drop(String studentId, String courseId) {
+        int studentKey = IdRegistry.STUDENTS.lookup(studentId);
+        int courseKey = IdRegistry.COURSES.lookup(courseId);
+        if (studentKey < 0 || courseKey < 0) {
+            return false;
+        }
+
+        IntSet students = studentsByCourse.get(courseKey);
+        IntSet courses = coursesByStudent.get(studentKey);
+        boolean removed = students != null && students.remove(studentKey);
+        if (courses != null) {
+            courses.remove(courseKey);
+        }
+        return removed;
+    }
+
+    /**
+     * Removes every enrollment of a student
+     *
+     * @param studentId - ID of student
+     */
+    public synchronized void removeStudent(String studentId) {
+        int studentKey = IdRegistry.STUDENTS.lookup(studentId);
+        if (studentKey >= 0) {
+            removeStudentKey(studentKey);
+            indexedStudents.remove(studentKey);
+        }
+    }
+
+    private void removeStudentKey(int studentKey) {
+        IntSet courses = coursesByStudent.remove(studentKey);
+        if (courses != null) {
+            courses.forEach(courseKey -> studentsByCourse.get(courseKey).remove(studentKey));
+        }
+    }
+
+    /**
+     * Removes every enrollment in a course
+     *
+     * @param courseId - ID of course
+     */
+    public synchronized void removeCourse(String courseId) {
+        int courseKey = IdRegistry.COURSES.lookup(courseId);
+        IntSet students = courseKey >= 0 ? studentsByCourse.remove(courseKey) : null;
+        if (students != null) {
+            students.forEach(studentKey -> coursesByStudent.get(studentKey).remove(courseKey));
+        }
+    }
+
+    public synchronized boolean isEnrolled(String studentId, String courseId) {
+        IntSet students = studentsOf(courseId);
+        int studentKey = IdRegistry.STUDENTS.lookup(studentId);
+        return studentKey >= 0 && students.contains(studentKey);
+    }
+
+    /**
+     * Gets the students enrolled in a course
+     *
+     * @param courseId - ID of course
+     * @return snapshot of the enrolled student IDs
+     */
+    public synchronized Set<String> getStudentsInCourse(String courseId) {
+        return new IdSetView(IdRegistry.STUDENTS, studentsOf(courseId).copy());
+    }
+
+    /**
+     * Gets the courses a student is enrolled in
+     *
+     * @param studentId - ID of student
+     * @return snapshot of the enrolled course IDs
+     */
+    public synchronized Set<String> getCoursesForStudent(String studentId) {
+        return new IdSetView(IdRegistry.COURSES, coursesOf(studentId).copy());
+    }
+
+    public synchronized int getEnrollmentCount(String courseId) {
+        return studentsOf(courseId).size();
+    }
+
+    /**
+     * Gets the students enrolled in both courses
+     *
+     * @param courseA - ID of first course
+     * @param courseB - ID of second course
+     * @return snapshot of the student IDs in both courses
+     */
+    public synchronized Set<String> getStudentsInBoth(String courseA, String courseB) {
+        return new IdSetView(IdRegistry.STUDENTS, IntSet.intersection(studentsOf(courseA), studentsOf(courseB)));
+    }
+
+    /**
+     * Gets the students enrolled in at least one of the courses
+     *
+     * @param courseIds - IDs of courses
+     * @return snapshot of the student IDs in any of the courses
+     */
+    public synchronized Set<String> getStudentsInAny(Collection<String> courseIds) {
+        IntSet result = new IntSet();
+        for (String courseId : courseIds) {
+            result = IntSet.union(result, studentsOf(courseId));
+        }
+        return new IdSetView(IdRegistry.STUDENTS, result);
+    }
+
+    /**
+     * Counts the students enrolled in both courses
+     *
+     * @param courseA - ID of first course
+     * @param courseB - ID of second course
+     * @return number of students in both courses
+     */
+    public synchronized int getCoEnrollmentCount(String courseA, String courseB) {
+        return IntSet.intersectionSize(studentsOf(courseA), studentsOf(courseB));
+    }
+
+    /**
+     * Counts, for every other course, how many students it shares with a course
+     *
+     * @param courseId - ID of course
+     * @return Map of course IDs to shared student counts (courses sharing none are omitted)
+     */
+    public synchronized Map<String, Integer> getCoEnrollmentCounts(String courseId) {
+        Map<String, Integer> counts = new HashMap<>();
+        int courseKey = IdRegistry.COURSES.lookup(courseId);
+        IntSet students = studentsOf(courseId);
+        for (int i = 0; i < studentsByCourse.size(); i++) {
+            int otherKey = studentsByCourse.keyAt(i);
+            if (otherKey == courseKey) {
+                continue;
+            }
+            int shared = IntSet.intersectionSize(students, studentsByCourse.valueAt(i));
+            if (shared > 0) {
+                counts.put(IdRegistry.COURSES.externalId(otherKey), shared);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Gets the course pairs that share the most students
+     *
+     * @param limit - maximum number of pairs to return
+     * @return pairs as {courseA, courseB, sharedCount} rows, most shared first
+     */
+    public synchronized List<Object[]> getTopCoEnrolledPairs(int limit) {
+        List<Object[]> pairs = new ArrayList<>();
+        for (int i = 0; i < studentsByCourse.size(); i++) {
+            IntSet first = studentsByCourse.valueAt(i);
+            for (int j = i + 1; j < studentsByCourse.size(); j++) {
+                int shared = IntSet.intersectionSize(first, studentsByCourse.valueAt(j));
+                if (shared > 0) {
+                    pairs.add(new Object[]{
+                        IdRegistry.COURSES.externalId(studentsByCourse.keyAt(i)),
+                        IdRegistry.COURSES.externalId(studentsByCourse.keyAt(j)),
+                        shared
+                    });
+                }
+            }
+        }
+        pairs.sort((a, b) -> Integer.compare((Integer) b[2], (Integer) a[2]));
+        return pairs.size() > limit ? new ArrayList<>(pairs.subList(0, limit)) : pairs;
+    }
+
+    private boolean add(int studentKey, int courseKey) {
+        IntSet students = studentsByCourse.get(courseKey);
+        if (students == null) {
+            students = new IntSet();
+            studentsByCourse.put(courseKey, students);
+        }
+        IntSet courses = coursesByStudent.get(studentKey);
+        if (courses == null) {
+            courses = new IntSet();
+            coursesByStudent.put(studentKey, courses);
+        }
+        courses.add(courseKey);
+        return students.add(studentKey);
+    }
+
+    private IntSet studentsOf(String courseId) {
+        int courseKey = IdRegistry.COURSES.lookup(courseId);
+        IntSet students = courseKey >= 0 ? studentsByCourse.get(courseKey) : null;
+        return students != null ? students : new IntSet();
+    }
+
+    private IntSet coursesOf(String studentId) {
+        int studentKey = IdRegistry.STUDENTS.lookup(studentId);
+        IntSet courses = studentKey >= 0 ? coursesByStudent.get(studentKey) : null;
+        return courses != null ? courses : new IntSet();
+    }
+}
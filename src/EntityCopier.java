@@ -0,0 +1,46 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
+/**
+ * EntityCopier makes deep copies of serializable entities
+ *
+ * Background writers use the copies, so they never serialize an entity
+ * while the services are changing it on another thread.
+ */
+public final class EntityCopier {
+
+    private EntityCopier() {
+    }
+
+    /**
+     * Copies an object and everything it references through serialization
+     *
+     * @param original - object to copy; it and its fields must be serializable
+     * @return independent copy
+     * @throws IllegalStateException if the object cannot be serialized
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T copy(T original) {
+        if (original == null) {
+            return null;
+        }
+        if (!(original instanceof Serializable)) {
+            throw new IllegalStateException("Cannot copy " + original.getClass().getName() + ": not serializable");
+        }
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(original);
+            }
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                return (T) in.readObject();
+            }
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Cannot copy " + original.getClass().getName() + ": " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * EventBus delivers domain events from services to interested listeners
+ *
+ * Publishing only queues the event, so services never wait for consumers.
+ * A single dispatcher thread collects whatever has been queued, waiting a
+ * few milliseconds for a burst to settle, and hands each listener one list
+ * with the events it subscribed to. A bulk import therefore reaches a
+ * listener as a few large batches instead of thousands of calls. While no
+ * listener is subscribed, publishing does nothing.
+ */
+public class EventBus {
+    public static final long BATCH_WINDOW_MILLIS = 25;
+    public static final int MAX_BATCH_SIZE = 10_000;
+
+    private static final AtomicInteger BUS_COUNTER = new AtomicInteger();
+
+    private final List<Subscription> subscriptions;
+    private final BlockingQueue<DomainEvent> queue;
+    private final long batchWindowMillis;
+    private Thread dispatcher;
+    private volatile boolean running;
+
+    public EventBus() {
+        this(BATCH_WINDOW_MILLIS);
+    }
+
+    /**
+     * Creates an event bus
+     *
+     * @param batchWindowMillis - how long to wait for more events before delivering a batch
+     */
+    public EventBus(long batchWindowMillis) {
+        this.subscriptions = new CopyOnWriteArrayList<>();
+        this.queue = new LinkedBlockingQueue<>();
+        this.batchWindowMillis = Math.max(0, batchWindowMillis);
+        this.running = true;
+    }
+
+    /**
+     * Subscribes a listener to some or all event types
+     *
+     * @param listener - listener to add
+     * @param types - event types to receive; none means every type
+     */
+    public void subscribe(DomainEventListener listener, DomainEventType... types) {
+        Set<DomainEventType> filter = types.length == 0
+            ? EnumSet.allOf(DomainEventType.class)
+            : EnumSet.copyOf(List.of(types));
+        subscriptions.add(new Subscription(listener, filter));
+        startDispatcher();
+    }
+
+    /**
+     * Removes every subscription of a listener
+     *
+     * @param listener - listener to remove
+     */
+    public void unsubscribe(DomainEventListener listener) {
+        subscriptions.removeIf(subscription -> subscription.listener == listener);
+    }
+
+    /**
+     * Queues an event for delivery
+     *
+     * @param event - event to publish
+     */
+    public void publish(DomainEvent event) {
+        if (running && !subscriptions.isEmpty()) {
+            queue.offer(event);
+        }
+    }
+
+    /**
+     * Queues several events for delivery
+     *
+     * @param events - events to publish, in order
+     */
+    public void publishAll(Collection<DomainEvent> events) {
+        if (running && !subscriptions.isEmpty() && !events.isEmpty()) {
+            queue.addAll(events);
+        }
+    }
+
+    /**
+     * Checks whether anyone is listening
+     *
+     * Services use this to skip building events in bulk operations.
+     *
+     * @return true if at least one listener is subscribed
+     */
+    public boolean hasSubscribers() {
+        return !subscriptions.isEmpty();
+    }
+
+    /**
+     * Delivers the events still queued and stops the dispatcher
+     */
+    public void shutdown() {
+        Thread thread;
+        synchronized (this) {
+            running = false;
+            thread = dispatcher;
+        }
+        if (thread == null) {
+            return;
+        }
+        thread.interrupt();
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private synchronized void startDispatcher() {
+        if (dispatcher != null || !running) {
+            return;
+        }
+        dispatcher = new Thread(this::dispatchLoop, "domain-event-dispatcher-" + BUS_COUNTER.incrementAndGet());
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    private void dispatchLoop() {
+        List<DomainEvent> batch = new ArrayList<>();
+        while (running) {
+            try {
+                DomainEvent first = queue.take();
+                batch.add(first);
+                if (batchWindowMillis > 0) {
+                    // Let a burst of related changes arrive before delivering
+                    Thread.sleep(batchWindowMillis);
+                }
+            } catch (InterruptedException e) {
+                if (running) {
+                    continue;
+                }
+            }
+            queue.drainTo(batch, MAX_BATCH_SIZE - batch.size());
+            deliver(batch);
+            batch.clear();
+        }
+        while (queue.drainTo(batch, MAX_BATCH_SIZE) > 0) {
+            deliver(batch);
+            batch.clear();
+        }
+    }
+
+    private void deliver(List<DomainEvent> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        for (Subscription subscription : subscriptions) {
+            List<DomainEvent> matching = subscription.select(batch);
+            if (matching.isEmpty()) {
+                continue;
+            }
+            try {
+                subscription.listener.onEvents(matching);
+            } catch (RuntimeException e) {
+                System.err.println("Error delivering domain events: " + e.getMessage());
+            }
+        }
+    }
+
+    private static final class Subscription {
+        final DomainEventListener listener;
+        final Set<DomainEventType> types;
+        final boolean allTypes;
+
+        Subscription(DomainEventListener listener, Set<DomainEventType> types) {
+            this.listener = listener;
+            this.types = types;
+            this.allTypes = types.size() == DomainEventType.values().length;
+        }
+
+        List<DomainEvent> select(List<DomainEvent> batch) {
+            if (allTypes) {
+                return List.copyOf(batch);
+            }
+            List<DomainEvent> matching = new ArrayList<>();
+            for (DomainEvent event : batch) {
+                if (types.contains(event.getType())) {
+                    matching.add(event);
+                }
+            }
+            return matching;
+        }
+    }
+}
@@ -1,3 +1,7 @@
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
@@ -11,12 +15,24 @@ import java.util.List;
 public class Faculty implements Serializable {
     private static final long serialVersionUID = 1L;
     
+    // Serialized form uses external IDs and predates the surrogate-based fields; kept for existing data files
+    private static final ObjectStreamField[] serialPersistentFields = {
+        new ObjectStreamField("facultyId", String.class),
+        new ObjectStreamField("fullName", String.class),
+        new ObjectStreamField("email", String.class),
+        new ObjectStreamField("department", String.class),
+        new ObjectStreamField("position", String.class),
+        new ObjectStreamField("coursesTaught", List.class),
+        new ObjectStreamField("officeLocation", String.class),
+        new ObjectStreamField("phoneNumber", String.class)
+    };
+    
     private String facultyId;
     private String fullName;
     private String email;
     private String department;
     private String position;
-    private List<String> coursesTaught;
+    private IntSet coursesTaught;
     private String officeLocation;
     private String phoneNumber;
     
@@ -33,12 +49,12 @@ public class Faculty implements Serializable {
         validateFacultyId(facultyId);
         validateEmail(email);
         
-        this.facultyId = facultyId;
+        this.facultyId = IdRegistry.FACULTY.canonical(facultyId);
         this.fullName = fullName;
         this.email = email;
         this.department = department;
         this.position = position;
-        this.coursesTaught = new ArrayList<>();
+        this.coursesTaught = new IntSet();
     }
     
     // Validation methods
@@ -61,11 +77,7 @@ public class Faculty implements Serializable {
      * @return true if assignment was successful
      */
     public boolean assignCourse(String courseId) {
-        if (courseId != null && !coursesTaught.contains(courseId)) {
-            coursesTaught.add(courseId);
-            return true;
-        }
-        return false;
+        return courseId != null && coursesTaught.add(IdRegistry.COURSES.intern(courseId));
     }
     
     /**
@@ -75,7 +87,19 @@ public class Faculty implements Serializable {
      * @return true if removal was successful
      */
     public boolean removeCourseAssignment(String courseId) {
-        return coursesTaught.remove(courseId);
+        int courseKey = IdRegistry.COURSES.lookup(courseId);
+        return courseKey >= 0 && coursesTaught.remove(courseKey);
+    }
+    
+    /**
+     * Checks if the faculty member teaches a course
+     * 
+     * @param courseId - ID of the course
+     * @return true if the course is assigned to the faculty member
+     */
+    public boolean teachesCourse(String courseId) {
+        int courseKey = IdRegistry.COURSES.lookup(courseId);
+        return courseKey >= 0 && coursesTaught.contains(courseKey);
     }
     
     /**
@@ -126,7 +150,11 @@ public class Faculty implements Serializable {
     }
     
     public List<String> getCoursesTaught() {
-        return new ArrayList<>(coursesTaught);
+        List<String> courseIds = new ArrayList<>(coursesTaught.size());
+        for (int i = 0; i < coursesTaught.size(); i++) {
+            courseIds.add(IdRegistry.COURSES.externalId(coursesTaught.get(i)));
+        }
+        return courseIds;
     }
     
     public String getOfficeLocation() {
@@ -145,6 +173,38 @@ public class Faculty implements Serializable {
         this.phoneNumber = phoneNumber;
     }
     
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("facultyId", facultyId);
+        fields.put("fullName", fullName);
+        fields.put("email", email);
+        fields.put("department", department);
+        fields.put("position", position);
+        fields.put("coursesTaught", getCoursesTaught());
+        fields.put("officeLocation", officeLocation);
+        fields.put("phoneNumber", phoneNumber);
+        out.writeFields();
+    }
+    
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        facultyId = IdRegistry.FACULTY.canonical((String) fields.get("facultyId", null));
+        fullName = (String) fields.get("fullName", null);
+        email = (String) fields.get("email", null);
+        department = (String) fields.get("department", null);
+        position = (String) fields.get("position", null);
+        coursesTaught = new IntSet();
+        List<String> courses = (List<String>) fields.get("coursesTaught", null);
+        if (courses != null) {
+            for (String courseId : courses) {
+                coursesTaught.add(IdRegistry.COURSES.intern(courseId));
+            }
+        }
+        officeLocation = (String) fields.get("officeLocation", null);
+        phoneNumber = (String) fields.get("phoneNumber", null);
+    }
+    
     @Override
     public String toString() {
         return String.format("Faculty{id='%s', name='%s', department='%s', position='%s', courses=%d}", 
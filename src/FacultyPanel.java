@@ -1,15 +1,20 @@
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * FacultyPanel provides the faculty interface
  * 
  * This panel allows faculty to view their profile, courses they teach,
- * students in their courses, and add grades.
+ * students in their courses, and add grades. After the initial load, the
+ * tables follow the events published by the services and only affected
+ * rows change.
  */
 public class FacultyPanel extends JPanel {
     private AuthenticationService authService;
@@ -24,6 +29,12 @@ public class FacultyPanel extends JPanel {
     private JTable allStudentsTable;
     private JLabel facultyInfoLabel;
     
+    private KeyedTableModel myCoursesModel;
+    private KeyedTableModel courseStudentsModel;
+    private KeyedTableModel allStudentsModel;
+    private String selectedCourseId;
+    private ChangeCoalescer changes;
+    
     public FacultyPanel(AuthenticationService authService, FacultyService facultyService,
                        CourseService courseService, StudentService studentService,
                        UniversityManagementGUI mainFrame) {
@@ -45,9 +56,12 @@ public class FacultyPanel extends JPanel {
         tabbedPane = new JTabbedPane();
         
         // Initialize tables
-        myCoursesTable = new JTable();
-        courseStudentsTable = new JTable();
-        allStudentsTable = new JTable();
+        myCoursesModel = new KeyedTableModel(new String[]{"Course ID", "Course Name", "Credits", "Enrolled Students", "Max Capacity", "Status"});
+        courseStudentsModel = new KeyedTableModel(new String[]{"Student ID", "Name", "Email", "Major", "GPA", "Status"});
+        allStudentsModel = new KeyedTableModel(new String[]{"Student ID", "Name", "Email", "Major", "Enrollment Year", "GPA", "Status"});
+        myCoursesTable = new JTable(myCoursesModel);
+        courseStudentsTable = new JTable(courseStudentsModel);
+        allStudentsTable = new JTable(allStudentsModel);
         
         facultyInfoLabel = new JLabel();
         facultyInfoLabel.setFont(new Font("Arial", Font.PLAIN, 14));
@@ -187,22 +201,156 @@ public class FacultyPanel extends JPanel {
      * Sets up event listeners
      */
     private void setupEventListeners() {
-        // Tab change listener to refresh data
-        tabbedPane.addChangeListener(e -> {
-            int selectedIndex = tabbedPane.getSelectedIndex();
-            switch (selectedIndex) {
-                case 0: refreshProfileData(); break;
-                case 1: refreshMyCoursesData(); break;
-                case 2: refreshCourseStudentsTab(); break;
-                case 3: refreshAllStudentsData(); break;
+        // Keep the tables current from service changes instead of reloading on tab switches
+        changes = new ChangeCoalescer(ChangeCoalescer.DEFAULT_DELAY_MILLIS, this::applyChanges);
+    }
+    
+    /**
+     * Stops following service changes until the panel is refreshed again, e.g. on logout
+     */
+    public void stopListening() {
+        changes.close();
+    }
+    
+    /**
+     * Updates the rows affected by a batch of service changes
+     */
+    private void applyChanges(List<DomainEvent> events) {
+        User currentUser = authService.getCurrentUser();
+        if (currentUser == null || facultyService.getFaculty(currentUser.getUsername()) == null) {
+            return;
+        }
+        
+        String facultyId = currentUser.getUsername();
+        boolean profileChanged = false;
+        Set<String> courseChanges = new LinkedHashSet<>();
+        Set<String> studentChanges = new LinkedHashSet<>();
+        Set<String> rosterChanges = new LinkedHashSet<>();
+        for (DomainEvent event : events) {
+            switch (event.getType()) {
+                case FACULTY_UPDATED:
+                case FACULTY_REMOVED:
+                    profileChanged |= facultyId.equals(event.getEntityId());
+                    break;
+                case COURSE_ADDED:
+                case COURSE_UPDATED:
+                case COURSE_STATUS_CHANGED:
+                case COURSE_REMOVED:
+                    courseChanges.add(event.getEntityId());
+                    break;
+                case STUDENT_ADDED:
+                case STUDENT_UPDATED:
+                case STUDENT_REMOVED:
+                case GRADE_ADDED:
+                case GRADE_UPDATED:
+                    studentChanges.add(event.getEntityId());
+                    break;
+                case ENROLLED:
+                case DROPPED:
+                    if (event.getRelatedId().equals(selectedCourseId)) {
+                        rosterChanges.add(event.getEntityId());
+                    }
+                    break;
+                default:
+                    break;
             }
-        });
+        }
+        
+        if (profileChanged) {
+            refreshProfileData();
+        }
+        
+        if (!courseChanges.isEmpty()) {
+            List<Object[]> rows = new ArrayList<>();
+            List<String> removed = new ArrayList<>();
+            boolean courseListChanged = false;
+            Map<String, Course> courses = courseService.getCourses(courseChanges);
+            for (String courseId : courseChanges) {
+                Course course = courses.get(courseId);
+                boolean mine = course != null && facultyId.equals(course.getInstructorId());
+                courseListChanged |= mine != myCoursesModel.containsKey(courseId);
+                if (mine) {
+                    rows.add(myCourseRow(course));
+                } else {
+                    removed.add(courseId);
+                }
+            }
+            myCoursesModel.applyChanges(rows, removed);
+            if (courseListChanged) {
+                syncCourseChoices();
+            }
+        }
+        
+        if (!studentChanges.isEmpty()) {
+            List<Object[]> rows = new ArrayList<>();
+            List<String> removed = new ArrayList<>();
+            for (String studentId : studentChanges) {
+                Student student = studentService.getStudent(studentId);
+                if (student != null) {
+                    rows.add(studentRow(student));
+                } else {
+                    removed.add(studentId);
+                }
+            }
+            allStudentsModel.applyChanges(rows, removed);
+        }
+        
+        rosterChanges.addAll(studentChanges);
+        if (selectedCourseId != null && !rosterChanges.isEmpty()) {
+            List<Object[]> rows = new ArrayList<>();
+            List<String> removed = new ArrayList<>();
+            for (String studentId : rosterChanges) {
+                Student student = studentService.getStudent(studentId);
+                if (student != null && student.isEnrolledIn(selectedCourseId)) {
+                    rows.add(courseStudentRow(student));
+                } else {
+                    removed.add(studentId);
+                }
+            }
+            courseStudentsModel.applyChanges(rows, removed);
+        }
+    }
+    
+    /**
+     * Gets the course selector of the course students tab
+     */
+    @SuppressWarnings("unchecked")
+    private JComboBox<String> getCourseComboBox() {
+        JPanel courseStudentsTab = (JPanel) tabbedPane.getComponentAt(2);
+        return (JComboBox<String>) courseStudentsTab.getClientProperty("courseComboBox");
+    }
+    
+    /**
+     * Adds and removes course choices to match the courses table, keeping the selection if possible
+     */
+    private void syncCourseChoices() {
+        JComboBox<String> courseComboBox = getCourseComboBox();
+        if (courseComboBox == null) {
+            return;
+        }
+        for (int i = courseComboBox.getItemCount() - 1; i >= 0; i--) {
+            if (!myCoursesModel.containsKey(courseComboBox.getItemAt(i))) {
+                courseComboBox.removeItemAt(i);
+            }
+        }
+        for (int row = 0; row < myCoursesModel.getRowCount(); row++) {
+            String courseId = (String) myCoursesModel.getValueAt(row, 0);
+            if (((DefaultComboBoxModel<String>) courseComboBox.getModel()).getIndexOf(courseId) < 0) {
+                courseComboBox.addItem(courseId);
+            }
+        }
+        if (courseComboBox.getItemCount() == 0) {
+            refreshCourseStudentsData(null);
+        }
     }
     
     /**
      * Refreshes all data when panel becomes visible
      */
     public void refreshData() {
+        changes.listenTo(facultyService.getEventBus());
+        changes.listenTo(courseService.getEventBus());
+        changes.listenTo(studentService.getEventBus());
         refreshProfileData();
         refreshMyCoursesData();
         refreshCourseStudentsTab();
@@ -247,22 +395,13 @@ public class FacultyPanel extends JPanel {
         User currentUser = authService.getCurrentUser();
         if (currentUser != null) {
             List<Course> courses = courseService.getCoursesByInstructor(currentUser.getUsername());
-            
-            String[] columns = {"Course ID", "Course Name", "Credits", "Enrolled Students", "Max Capacity", "Status"};
-            DefaultTableModel model = new DefaultTableModel(columns, 0);
+            List<Object[]> rows = new ArrayList<>();
             
             for (Course course : courses) {
-                model.addRow(new Object[]{
-                    course.getCourseId(),
-                    course.getCourseName(),
-                    course.getCreditHours(),
-                    course.getEnrollmentCount(),
-                    course.getMaxCapacity(),
-                    course.getStatus()
-                });
+                rows.add(myCourseRow(course));
             }
             
-            myCoursesTable.setModel(model);
+            myCoursesModel.setRows(rows);
         }
     }
     
@@ -272,10 +411,7 @@ public class FacultyPanel extends JPanel {
     private void refreshCourseStudentsTab() {
         User currentUser = authService.getCurrentUser();
         if (currentUser != null) {
-            // Get the course students tab panel
-            JPanel courseStudentsTab = (JPanel) tabbedPane.getComponentAt(2);
-            @SuppressWarnings("unchecked")
-            JComboBox<String> courseComboBox = (JComboBox<String>) courseStudentsTab.getClientProperty("courseComboBox");
+            JComboBox<String> courseComboBox = getCourseComboBox();
             
             if (courseComboBox != null) {
                 courseComboBox.removeAllItems();
@@ -289,6 +425,8 @@ public class FacultyPanel extends JPanel {
                 if (courseComboBox.getItemCount() > 0) {
                     courseComboBox.setSelectedIndex(0);
                     refreshCourseStudentsData((String) courseComboBox.getSelectedItem());
+                } else {
+                    refreshCourseStudentsData(null);
                 }
             }
         }
@@ -298,28 +436,20 @@ public class FacultyPanel extends JPanel {
      * Refreshes course students data for selected course
      */
     private void refreshCourseStudentsData(String courseId) {
+        selectedCourseId = courseId;
         if (courseId == null) {
-            courseStudentsTable.setModel(new DefaultTableModel());
+            courseStudentsModel.setRows(List.of());
             return;
         }
         
         List<Student> students = studentService.getStudentsInCourse(courseId);
-        
-        String[] columns = {"Student ID", "Name", "Email", "Major", "GPA", "Status"};
-        DefaultTableModel model = new DefaultTableModel(columns, 0);
+        List<Object[]> rows = new ArrayList<>();
         
         for (Student student : students) {
-            model.addRow(new Object[]{
-                student.getStudentId(),
-                student.getFullName(),
-                student.getEmail(),
-                student.getMajor(),
-                String.format("%.2f", student.getGpa()),
-                student.getStatus()
-            });
+            rows.add(courseStudentRow(student));
         }
         
-        courseStudentsTable.setModel(model);
+        courseStudentsModel.setRows(rows);
     }
     
     /**
@@ -327,23 +457,47 @@ public class FacultyPanel extends JPanel {
      */
     private void refreshAllStudentsData() {
         List<Student> students = studentService.getAllStudents();
-        
-        String[] columns = {"Student ID", "Name", "Email", "Major", "Enrollment Year", "GPA", "Status"};
-        DefaultTableModel model = new DefaultTableModel(columns, 0);
+        List<Object[]> rows = new ArrayList<>(students.size());
         
         for (Student student : students) {
-            model.addRow(new Object[]{
-                student.getStudentId(),
-                student.getFullName(),
-                student.getEmail(),
-                student.getMajor(),
-                student.getEnrollmentYear(),
-                String.format("%.2f", student.getGpa()),
-                student.getStatus()
-            });
+            rows.add(studentRow(student));
         }
         
-        allStudentsTable.setModel(model);
+        allStudentsModel.setRows(rows);
+    }
+    
+    private Object[] myCourseRow(Course course) {
+        return new Object[]{
+            course.getCourseId(),
+            course.getCourseName(),
+            course.getCreditHours(),
+            course.getEnrollmentCount(),
+            course.getMaxCapacity(),
+            course.getStatus()
+        };
+    }
+    
+    private Object[] courseStudentRow(Student student) {
+        return new Object[]{
+            student.getStudentId(),
+            student.getFullName(),
+            student.getEmail(),
+            student.getMajor(),
+            String.format("%.2f", student.getGpa()),
+            student.getStatus()
+        };
+    }
+    
+    private Object[] studentRow(Student student) {
+        return new Object[]{
+            student.getStudentId(),
+            student.getFullName(),
+            student.getEmail(),
+            student.getMajor(),
+            student.getEnrollmentYear(),
+            String.format("%.2f", student.getGpa()),
+            student.getStatus()
+        };
     }
     
     /**
@@ -420,16 +574,15 @@ public class FacultyPanel extends JPanel {
                 Grade grade;
                 if (percentageRadio.isSelected()) {
                     double percentage = Double.parseDouble(percentageField.getText().trim());
-                    grade = new Grade(percentage);
+                    grade = new Grade(percentage, getGradingScale(courseId));
                 } else {
                     String letterGrade = (String) letterComboBox.getSelectedItem();
-                    grade = new Grade(letterGrade);
+                    grade = getGradingScale(courseId).gradeFor(LetterGrade.fromSymbol(letterGrade));
                 }
                 
                 if (studentService.addGrade(studentId, courseId, grade)) {
                     mainFrame.showSuccess("Grade added successfully for " + studentName);
                     dialog.dispose();
-                    refreshCourseStudentsData(courseId);
                 } else {
                     mainFrame.showError("Failed to add grade. Student may not be enrolled in this course.");
                 }
@@ -454,6 +607,13 @@ public class FacultyPanel extends JPanel {
         dialog.setVisible(true);
     }
     
+    /**
+     * Resolves the grading scale for a course from its instructor's department
+     */
+    private GradingScale getGradingScale(String courseId) {
+        return courseService.getGradingScale(courseId, facultyService);
+    }
+    
     /**
      * Shows change password dialog
      */
@@ -492,6 +652,11 @@ public class FacultyPanel extends JPanel {
         JButton cancelButton = new JButton("Cancel");
         
         changeButton.addActionListener(e -> {
+            if (authService.getCurrentUser() == null) {
+                dialog.dispose();
+                mainFrame.handleSessionExpired();
+                return;
+            }
             String oldPassword = new String(oldPasswordField.getPassword());
             String newPassword = new String(newPasswordField.getPassword());
             String confirmPassword = new String(confirmPasswordField.getPassword());
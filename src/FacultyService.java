@@ -1,8 +1,11 @@
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * FacultyService handles all faculty-related operations
@@ -10,39 +13,85 @@ import java.util.stream.Collectors;
  * This service provides functionality for faculty management,
  * course assignments, and faculty information.
  */
-public class FacultyService {
-    private Map<String, Faculty> faculty;
-    private FileManager<Map<String, Faculty>> fileManager;
-    private static final String FACULTY_FILE = "data/faculty.dat";
+public class FacultyService implements Versioned {
+    private final Repository<Faculty> faculty;
+    private final EventBus events;
+    private final AtomicLong version = new AtomicLong();
     
     public FacultyService() {
-        this.fileManager = new FileManager<>();
-        this.faculty = loadFaculty();
+        this(new EventBus());
     }
     
     /**
-     * Loads faculty from file or creates empty collection
+     * Creates the service publishing its changes on an event bus
+     * 
+     * @param events - event bus shared with the other services
      */
-    @SuppressWarnings("unchecked")
-    private Map<String, Faculty> loadFaculty() {
-        try {
-            Map<String, Faculty> loadedFaculty = fileManager.loadFromFile(FACULTY_FILE);
-            return loadedFaculty != null ? loadedFaculty : new HashMap<>();
-        } catch (Exception e) {
-            System.err.println("Warning: Could not load faculty from file. Starting with empty faculty collection.");
-            return new HashMap<>();
-        }
+    public FacultyService(EventBus events) {
+        this(PersistenceBackend.configured().faculty(), events);
     }
     
     /**
-     * Saves faculty to file
+     * Creates the service storing faculty in a repository
+     * 
+     * @param faculty - repository holding the faculty
+     * @param events - event bus shared with the other services
      */
-    private void saveFaculty() {
-        try {
-            fileManager.saveToFile(faculty, FACULTY_FILE);
-        } catch (Exception e) {
-            System.err.println("Error: Could not save faculty to file: " + e.getMessage());
-        }
+    public FacultyService(Repository<Faculty> faculty, EventBus events) {
+        this.faculty = faculty;
+        this.events = events;
+    }
+    
+    /**
+     * Stores a changed faculty member
+     */
+    private void saveFaculty(Faculty facultyMember) {
+        version.incrementAndGet();
+        faculty.save(facultyMember);
+    }
+    
+    /**
+     * Gets the repository the faculty are stored in
+     * 
+     * @return faculty repository
+     */
+    public Repository<Faculty> getRepository() {
+        return faculty;
+    }
+    
+    /**
+     * Creates a read-only service over a snapshot of a faculty repository
+     * 
+     * The service reports the version the snapshot was taken at, so cached
+     * reports stay valid for it and for the service it was taken from.
+     * 
+     * @param snapshot - snapshot of a faculty repository
+     * @param version - version of the snapshot's service when it was taken
+     * @return service reading the snapshot
+     */
+    public static FacultyService ofSnapshot(Repository<Faculty> snapshot, long version) {
+        FacultyService copy = new FacultyService(snapshot, new EventBus());
+        copy.version.set(version);
+        return copy;
+    }
+    
+    /**
+     * Gets the data version, increased by every change to faculty
+     * 
+     * @return version number
+     */
+    @Override
+    public long getVersion() {
+        return version.get();
+    }
+    
+    /**
+     * Gets the event bus this service publishes faculty changes on
+     * 
+     * @return event bus
+     */
+    public EventBus getEventBus() {
+        return events;
     }
     
     /**
@@ -52,15 +101,42 @@ public class FacultyService {
      * @return true if faculty was added successfully, false if faculty ID already exists
      */
     public boolean addFaculty(Faculty facultyMember) {
-        if (facultyMember == null || faculty.containsKey(facultyMember.getFacultyId())) {
+        if (facultyMember == null || faculty.contains(facultyMember.getFacultyId())) {
             return false;
         }
         
-        faculty.put(facultyMember.getFacultyId(), facultyMember);
-        saveFaculty();
+        saveFaculty(facultyMember);
+        events.publish(new DomainEvent(DomainEventType.FACULTY_ADDED, facultyMember.getFacultyId()));
         return true;
     }
     
+    /**
+     * Adds many faculty members and saves once
+     * 
+     * @param newFaculty - faculty members to add
+     * @return faculty members that were added (existing IDs are skipped)
+     */
+    public List<Faculty> addFacultyMembers(Collection<Faculty> newFaculty) {
+        Map<String, Faculty> batch = new LinkedHashMap<>();
+        for (Faculty facultyMember : newFaculty) {
+            if (facultyMember != null && !faculty.contains(facultyMember.getFacultyId())) {
+                batch.putIfAbsent(facultyMember.getFacultyId(), facultyMember);
+            }
+        }
+        
+        List<Faculty> added = new ArrayList<>(batch.values());
+        if (!added.isEmpty()) {
+            version.incrementAndGet();
+            faculty.saveAll(added);
+            if (events.hasSubscribers()) {
+                events.publishAll(added.stream()
+                    .map(member -> new DomainEvent(DomainEventType.FACULTY_ADDED, member.getFacultyId()))
+                    .collect(Collectors.toList()));
+            }
+        }
+        return added;
+    }
+    
     /**
      * Updates an existing faculty member's information
      * 
@@ -69,12 +145,13 @@ public class FacultyService {
      * @return true if update was successful, false if faculty not found
      */
     public boolean updateFaculty(String facultyId, Faculty updatedFaculty) {
-        if (facultyId == null || updatedFaculty == null || !faculty.containsKey(facultyId)) {
+        if (facultyId == null || updatedFaculty == null || !faculty.contains(facultyId)
+                || !facultyId.equals(updatedFaculty.getFacultyId())) {
             return false;
         }
         
-        faculty.put(facultyId, updatedFaculty);
-        saveFaculty();
+        saveFaculty(updatedFaculty);
+        events.publish(new DomainEvent(DomainEventType.FACULTY_UPDATED, facultyId));
         return true;
     }
     
@@ -91,7 +168,8 @@ public class FacultyService {
         
         Faculty removed = faculty.remove(facultyId);
         if (removed != null) {
-            saveFaculty();
+            version.incrementAndGet();
+            events.publish(new DomainEvent(DomainEventType.FACULTY_REMOVED, facultyId));
             return true;
         }
         
@@ -114,7 +192,7 @@ public class FacultyService {
      * @return List of all faculty members
      */
     public List<Faculty> getAllFaculty() {
-        return new ArrayList<>(faculty.values());
+        return new ArrayList<>(faculty.getAll());
     }
     
     /**
@@ -128,7 +206,8 @@ public class FacultyService {
         Faculty facultyMember = faculty.get(facultyId);
         if (facultyMember != null) {
             if (facultyMember.assignCourse(courseId)) {
-                saveFaculty();
+                saveFaculty(facultyMember);
+                events.publish(new DomainEvent(DomainEventType.FACULTY_UPDATED, facultyId, courseId));
                 return true;
             }
         }
@@ -146,7 +225,8 @@ public class FacultyService {
         Faculty facultyMember = faculty.get(facultyId);
         if (facultyMember != null) {
             if (facultyMember.removeCourseAssignment(courseId)) {
-                saveFaculty();
+                saveFaculty(facultyMember);
+                events.publish(new DomainEvent(DomainEventType.FACULTY_UPDATED, facultyId, courseId));
                 return true;
             }
         }
@@ -160,7 +240,7 @@ public class FacultyService {
      * @return List of faculty members in the specified department
      */
     public List<Faculty> getFacultyByDepartment(String department) {
-        return faculty.values().stream()
+        return faculty.getAll().stream()
                 .filter(f -> department.equalsIgnoreCase(f.getDepartment()))
                 .collect(Collectors.toList());
     }
@@ -172,8 +252,8 @@ public class FacultyService {
      * @return List of faculty members teaching the course
      */
     public List<Faculty> getFacultyTeachingCourse(String courseId) {
-        return faculty.values().stream()
-                .filter(f -> f.getCoursesTaught().contains(courseId))
+        return faculty.getAll().stream()
+                .filter(f -> f.teachesCourse(courseId))
                 .collect(Collectors.toList());
     }
     
@@ -189,7 +269,7 @@ public class FacultyService {
         }
         
         String searchTerm = name.toLowerCase().trim();
-        return faculty.values().stream()
+        return faculty.getAll().stream()
                 .filter(f -> f.getFullName().toLowerCase().contains(searchTerm))
                 .collect(Collectors.toList());
     }
@@ -203,6 +283,19 @@ public class FacultyService {
         return faculty.size();
     }
     
+    /**
+     * Computes faculty aggregates in a single pass
+     * 
+     * @return counts, course load and faculty per department
+     */
+    public FacultyStatistics getStatistics() {
+        FacultyStatistics statistics = new FacultyStatistics();
+        for (Faculty facultyMember : faculty.getAll()) {
+            statistics.add(facultyMember);
+        }
+        return statistics;
+    }
+    
     /**
      * Gets statistics about faculty by department
      * 
@@ -210,7 +303,7 @@ public class FacultyService {
      */
     public Map<String, Integer> getFacultyStatsByDepartment() {
         Map<String, Integer> stats = new HashMap<>();
-        for (Faculty f : faculty.values()) {
+        for (Faculty f : faculty.getAll()) {
             String dept = f.getDepartment();
             stats.put(dept, stats.getOrDefault(dept, 0) + 1);
         }
@@ -223,7 +316,7 @@ public class FacultyService {
      * @return average course load
      */
     public double getAverageCourseLoad() {
-        return faculty.values().stream()
+        return faculty.getAll().stream()
                 .mapToDouble(Faculty::getCourseLoad)
                 .average()
                 .orElse(0.0);
@@ -235,7 +328,7 @@ public class FacultyService {
      * @return total courses assigned
      */
     public int getTotalCoursesAssigned() {
-        return faculty.values().stream()
+        return faculty.getAll().stream()
                 .mapToInt(Faculty::getCourseLoad)
                 .sum();
     }
@@ -0,0 +1,48 @@
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * FacultyStatistics holds aggregates computed in one pass over all faculty
+ */
+public class FacultyStatistics {
+    private int totalFaculty;
+    private int totalCoursesAssigned;
+    private final Map<String, Integer> facultyByDepartment;
+
+    FacultyStatistics() {
+        this.facultyByDepartment = new TreeMap<>();
+    }
+
+    /**
+     * Adds one faculty member to the aggregates
+     *
+     * @param facultyMember - faculty member to count
+     */
+    void add(Faculty facultyMember) {
+        totalFaculty++;
+        totalCoursesAssigned += facultyMember.getCourseLoad();
+        facultyByDepartment.merge(String.valueOf(facultyMember.getDepartment()), 1, Integer::sum);
+    }
+
+    public int getTotalFaculty() {
+        return totalFaculty;
+    }
+
+    public int getTotalCoursesAssigned() {
+        return totalCoursesAssigned;
+    }
+
+    public double getAverageCourseLoad() {
+        return totalFaculty == 0 ? 0.0 : (double) totalCoursesAssigned / totalFaculty;
+    }
+
+    /**
+     * Gets faculty counts per department
+     *
+     * @return Map of departments to faculty counts, sorted by department
+     */
+    public Map<String, Integer> getFacultyByDepartment() {
+        return Collections.unmodifiableMap(facultyByDepartment);
+    }
+}
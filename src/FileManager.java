@@ -1,7 +1,9 @@
 import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 
 /**
  * FileManager handles file I/O operations for data persistence
@@ -33,6 +35,26 @@ public class FileManager<T> {
         }
     }
     
+    /**
+     * Saves an object to a temporary file and then moves it over the old one
+     * 
+     * A crash while writing leaves the previous file intact.
+     * 
+     * @param data - object to save
+     * @param filename - name of the file to replace
+     * @throws IOException if file operation fails
+     */
+    public void replaceFile(T data, String filename) throws IOException {
+        Path target = Paths.get(filename);
+        Path temporary = Paths.get(filename + ".tmp");
+        saveToFile(data, temporary.toString());
+        try {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+    
     /**
      * Loads an object from a file using deserialization
      * 
@@ -0,0 +1,140 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+
+/**
+ * FileRepository keeps entities in memory and serializes the whole map to a
+ * file
+ * 
+ * The file holds a HashMap of IDs to entities, the format the services have
+ * always written to data/*.dat. By default the file is rewritten after
+ * every change. Once writes are deferred, changed IDs are only marked dirty
+ * and the file is rewritten when flush is called, so many changes cost one
+ * write. Once saved copies are tracked, the file is written from the copies,
+ * so a flush on another thread sees each entity as it was last saved.
+ */
+public class FileRepository<T> extends InMemoryRepository<T> implements Checkpointable {
+    private final String filename;
+    private final String label;
+    private final FileManager<Map<String, T>> fileManager;
+    private final Set<String> dirtyIds = ConcurrentHashMap.newKeySet();
+    private final Object writeLock = new Object();
+    private volatile IntConsumer dirtyListener;
+    
+    /**
+     * Creates a repository, loading the file if it exists
+     * 
+     * @param filename - file to load from and save to
+     * @param label - what is stored, for error messages
+     * @param idOf - gets the ID of an entity
+     */
+    public FileRepository(String filename, String label, Function<T, String> idOf) {
+        this(filename, label, idOf, new FileManager<>());
+    }
+    
+    private FileRepository(String filename, String label, Function<T, String> idOf,
+                           FileManager<Map<String, T>> fileManager) {
+        // Concurrent, because deferred writes copy the map on the checkpoint thread
+        super(idOf, new ConcurrentHashMap<>(load(fileManager, filename, label)));
+        this.filename = filename;
+        this.label = label;
+        this.fileManager = fileManager;
+    }
+    
+    private static <T> Map<String, T> load(FileManager<Map<String, T>> fileManager, String filename, String label) {
+        try {
+            Map<String, T> loaded = fileManager.loadFromFile(filename);
+            return loaded != null ? loaded : new HashMap<>();
+        } catch (Exception e) {
+            System.err.println("Warning: Could not load " + label + " from file. Starting with empty "
+                               + label + " collection.");
+            return new HashMap<>();
+        }
+    }
+    
+    public String getFilename() {
+        return filename;
+    }
+    
+    @Override
+    public void save(T entity) {
+        super.save(entity);
+        changed(List.of(idOf.apply(entity)));
+    }
+    
+    @Override
+    public void saveAll(Collection<? extends T> newEntities) {
+        super.saveAll(newEntities);
+        List<String> ids = new ArrayList<>(newEntities.size());
+        for (T entity : newEntities) {
+            ids.add(idOf.apply(entity));
+        }
+        changed(ids);
+    }
+    
+    @Override
+    public T remove(String id) {
+        T removed = super.remove(id);
+        if (removed != null) {
+            changed(List.of(id));
+        }
+        return removed;
+    }
+    
+    @Override
+    public void deferWrites(IntConsumer listener) {
+        dirtyListener = listener;
+        if (listener == null) {
+            flush();
+        }
+    }
+    
+    @Override
+    public int getDirtyCount() {
+        return dirtyIds.size();
+    }
+    
+    @Override
+    public void flush() {
+        synchronized (writeLock) {
+            if (dirtyIds.isEmpty()) {
+                return;
+            }
+            List<String> flushed = new ArrayList<>(dirtyIds);
+            dirtyIds.removeAll(flushed);
+            if (!write()) {
+                // Keep them dirty so the next checkpoint tries again
+                dirtyIds.addAll(flushed);
+            }
+        }
+    }
+    
+    private void changed(Collection<String> ids) {
+        IntConsumer listener = dirtyListener;
+        if (listener == null) {
+            synchronized (writeLock) {
+                write();
+            }
+            return;
+        }
+        dirtyIds.addAll(ids);
+        listener.accept(dirtyIds.size());
+    }
+    
+    private boolean write() {
+        try {
+            Map<String, T> copies = getSavedCopies();
+            fileManager.replaceFile(new HashMap<>(copies != null ? copies : entities), filename);
+            return true;
+        } catch (Exception e) {
+            System.err.println("Error: Could not save " + label + " to file: " + e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * FileSnapshotTarget writes snapshots to the file backend's data files
+ *
+ * Snapshots go through the same kind of file repository as the file
+ * backend, so they use the configured layout, a single file or segments,
+ * and switching between the memory and file backends keeps one copy of the
+ * data. The repository is opened on first use and writes each snapshot in
+ * one flush; files are replaced through a temporary file, so a crash while
+ * writing leaves the previous snapshot intact.
+ */
+public class FileSnapshotTarget<T> implements SnapshotTarget<T> {
+    private final Supplier<Repository<T>> opener;
+    private final String label;
+    private final Function<T, String> idOf;
+    private Repository<T> files;
+
+    /**
+     * Creates a target
+     *
+     * @param opener - opens the file repository holding the snapshot; it must be Checkpointable
+     * @param label - what is stored, for error messages
+     * @param idOf - gets the ID of an entity
+     */
+    public FileSnapshotTarget(Supplier<Repository<T>> opener, String label, Function<T, String> idOf) {
+        this.opener = opener;
+        this.label = label;
+        this.idOf = idOf;
+    }
+
+    @Override
+    public synchronized Map<String, T> load() {
+        Map<String, T> loaded = new HashMap<>();
+        for (T entity : files().getAll()) {
+            loaded.put(idOf.apply(entity), entity);
+        }
+        return loaded;
+    }
+
+    @Override
+    public synchronized void write(Collection<T> entities) throws IOException {
+        Repository<T> repository = files();
+        Set<String> kept = new HashSet<>();
+        for (T entity : entities) {
+            kept.add(idOf.apply(entity));
+        }
+        List<String> removed = new ArrayList<>();
+        for (T entity : repository.getAll()) {
+            String id = idOf.apply(entity);
+            if (!kept.contains(id)) {
+                removed.add(id);
+            }
+        }
+
+        for (String id : removed) {
+            repository.remove(id);
+        }
+        repository.saveAll(entities);
+        repository.flush();
+        if (((Checkpointable) repository).getDirtyCount() > 0) {
+            throw new IOException("Not every " + label + " file could be written");
+        }
+    }
+
+    private Repository<T> files() {
+        if (files == null) {
+            files = opener.get();
+            // Changes are collected and written by the flush at the end of each snapshot
+            ((Checkpointable) files).deferWrites(dirtyCount -> { });
+        }
+        return files;
+    }
+}
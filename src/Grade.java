@@ -9,9 +9,9 @@ import java.io.Serializable;
 public class Grade implements Serializable {
     private static final long serialVersionUID = 1L;
     
-    private double percentage;
-    private String letterGrade;
-    private double gradePoints;
+    private final double percentage;
+    private final String letterGrade;
+    private final double gradePoints;
     
     /**
      * Constructor for creating a new grade
@@ -19,10 +19,21 @@ public class Grade implements Serializable {
      * @param percentage - percentage score (0-100)
      */
     public Grade(double percentage) {
+        this(percentage, GradingScale.DEFAULT);
+    }
+    
+    /**
+     * Constructor for creating a grade under a specific grading scale
+     * 
+     * @param percentage - percentage score (0-100)
+     * @param scale - grading scale used to derive the letter and points
+     */
+    public Grade(double percentage, GradingScale scale) {
         validatePercentage(percentage);
+        LetterGrade letter = scale.letterFor(percentage);
         this.percentage = percentage;
-        this.letterGrade = calculateLetterGrade(percentage);
-        this.gradePoints = calculateGradePoints(letterGrade);
+        this.letterGrade = letter.getSymbol();
+        this.gradePoints = scale.getGradePoints(letter);
     }
     
     /**
@@ -31,116 +42,80 @@ public class Grade implements Serializable {
      * @param letterGrade - letter grade (A, B, C, D, F)
      */
     public Grade(String letterGrade) {
-        validateLetterGrade(letterGrade);
-        this.letterGrade = letterGrade.toUpperCase();
-        this.gradePoints = calculateGradePoints(this.letterGrade);
-        this.percentage = calculatePercentageFromLetter(this.letterGrade);
+        this(LetterGrade.fromSymbol(letterGrade), GradingScale.DEFAULT);
     }
     
-    // Validation methods
-    private void validatePercentage(double percentage) {
-        if (percentage < 0 || percentage > 100) {
-            throw new IllegalArgumentException("Percentage must be between 0 and 100");
-        }
+    /**
+     * Constructor used by GradingScale to build its canonical letter grades
+     */
+    Grade(LetterGrade letter, GradingScale scale) {
+        this.letterGrade = letter.getSymbol();
+        this.gradePoints = scale.getGradePoints(letter);
+        this.percentage = scale.getRepresentativePercentage(letter);
     }
     
-    private void validateLetterGrade(String letterGrade) {
-        if (letterGrade == null || !letterGrade.matches("^[ABCDF][+-]?$")) {
-            throw new IllegalArgumentException("Invalid letter grade format");
-        }
+    /**
+     * Constructor used to restore a stored grade exactly as it was recorded
+     */
+    Grade(double percentage, String letterGrade, double gradePoints) {
+        this.percentage = percentage;
+        this.letterGrade = letterGrade;
+        this.gradePoints = gradePoints;
     }
     
     /**
-     * Calculates letter grade from percentage
+     * Gets the shared grade instance for a letter on the default scale
      * 
-     * @param percentage - percentage score
-     * @return corresponding letter grade
+     * @param letterGrade - letter grade (A, B, C, D, F)
+     * @return canonical grade for the letter
      */
-    private String calculateLetterGrade(double percentage) {
-        if (percentage >= 97) return "A+";
-        if (percentage >= 93) return "A";
-        if (percentage >= 90) return "A-";
-        if (percentage >= 87) return "B+";
-        if (percentage >= 83) return "B";
-        if (percentage >= 80) return "B-";
-        if (percentage >= 77) return "C+";
-        if (percentage >= 73) return "C";
-        if (percentage >= 70) return "C-";
-        if (percentage >= 67) return "D+";
-        if (percentage >= 63) return "D";
-        if (percentage >= 60) return "D-";
-        return "F";
+    public static Grade of(String letterGrade) {
+        return GradingScale.DEFAULT.gradeFor(LetterGrade.fromSymbol(letterGrade));
+    }
+    
+    // Validation methods
+    private void validatePercentage(double percentage) {
+        if (percentage < 0 || percentage > 100) {
+            throw new IllegalArgumentException("Percentage must be between 0 and 100");
+        }
     }
     
     /**
-     * Calculates grade points from letter grade
+     * Checks if this is a passing grade on the default scale
      * 
-     * @param letterGrade - letter grade
-     * @return corresponding grade points
+     * @return true if grade is D- or better
      */
-    private double calculateGradePoints(String letterGrade) {
-        switch (letterGrade) {
-            case "A+": case "A": return 4.0;
-            case "A-": return 3.7;
-            case "B+": return 3.3;
-            case "B": return 3.0;
-            case "B-": return 2.7;
-            case "C+": return 2.3;
-            case "C": return 2.0;
-            case "C-": return 1.7;
-            case "D+": return 1.3;
-            case "D": return 1.0;
-            case "D-": return 0.7;
-            case "F": return 0.0;
-            default: return 0.0;
-        }
+    public boolean isPassing() {
+        return isPassing(GradingScale.DEFAULT);
     }
     
     /**
-     * Calculates approximate percentage from letter grade
+     * Checks if this is a passing grade under a grading scale
      * 
-     * @param letterGrade - letter grade
-     * @return corresponding percentage
+     * @param scale - grading scale the grade was given under
+     * @return true if the scale passes this letter
      */
-    private double calculatePercentageFromLetter(String letterGrade) {
-        switch (letterGrade) {
-            case "A+": return 98.0;
-            case "A": return 95.0;
-            case "A-": return 91.5;
-            case "B+": return 88.5;
-            case "B": return 85.0;
-            case "B-": return 81.5;
-            case "C+": return 78.5;
-            case "C": return 75.0;
-            case "C-": return 71.5;
-            case "D+": return 68.5;
-            case "D": return 65.0;
-            case "D-": return 61.5;
-            case "F": return 50.0;
-            default: return 0.0;
-        }
+    public boolean isPassing(GradingScale scale) {
+        return scale.isPassing(getLetter());
     }
     
     /**
-     * Checks if this is a passing grade
+     * Gets the quality level of the grade on the default scale
      * 
-     * @return true if grade is D- or better
+     * @return quality description
      */
-    public boolean isPassing() {
-        return gradePoints >= 0.7;
+    public String getQualityLevel() {
+        return getQualityLevel(GradingScale.DEFAULT);
     }
     
     /**
-     * Gets the quality level of the grade
+     * Gets the quality level of the grade under a grading scale
      * 
+     * @param scale - grading scale the grade was given under
      * @return quality description
      */
-    public String getQualityLevel() {
-        if (gradePoints >= 3.7) return "Excellent";
-        if (gradePoints >= 3.0) return "Good";
-        if (gradePoints >= 2.0) return "Satisfactory";
-        if (gradePoints >= 1.0) return "Below Average";
-        return "Failing";
+    public String getQualityLevel(GradingScale scale) {
+        return scale.getQualityLevel(getLetter());
     }
     
     // Getters and Setters
@@ -152,6 +127,10 @@ public class Grade implements Serializable {
         return letterGrade;
     }
     
+    public LetterGrade getLetter() {
+        return LetterGrade.fromSymbol(letterGrade);
+    }
+    
     public double getGradePoints() {
         return gradePoints;
     }
@@ -0,0 +1,31 @@
+/**
+ * GradeRecord is a student's grade in one course, as moved by import/export
+ */
+public class GradeRecord {
+    private final String studentId;
+    private final String courseId;
+    private final Grade grade;
+
+    public GradeRecord(String studentId, String courseId, Grade grade) {
+        this.studentId = studentId;
+        this.courseId = courseId;
+        this.grade = grade;
+    }
+
+    public String getStudentId() {
+        return studentId;
+    }
+
+    public String getCourseId() {
+        return courseId;
+    }
+
+    public Grade getGrade() {
+        return grade;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GradeRecord{student='%s', course='%s', grade=%s}", studentId, courseId, grade);
+    }
+}
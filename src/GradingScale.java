@@ -0,0 +1,250 @@
+/**
+ * GradingScale maps percentage scores to letter grades and grade points
+ *
+ * Scales are immutable and precompute a percentage band table and one
+ * canonical Grade instance per letter, so converting a score or a letter
+ * does not parse strings or walk a chain of comparisons.
+ */
+public final class GradingScale {
+    // Band table resolution: one entry per tenth of a percent (0.0 - 100.0)
+    private static final int BANDS_PER_PERCENT = 10;
+    private static final LetterGrade[] LETTERS = LetterGrade.values();
+    private static final int LETTER_COUNT = LETTERS.length;
+
+    // Quality levels from best to worst; a grade below every band is "Failing"
+    private static final String[] QUALITY_LEVELS = {"Excellent", "Good", "Satisfactory", "Below Average"};
+    private static final String FAILING_QUALITY = "Failing";
+    private static final LetterGrade[] STANDARD_QUALITY_MINIMUMS = {
+        LetterGrade.A_MINUS, LetterGrade.B, LetterGrade.C, LetterGrade.D
+    };
+
+    /**
+     * The standard 4.0 scale used when no institution-specific scale is configured
+     */
+    public static final GradingScale DEFAULT = new GradingScale("Standard",
+        new double[]{97, 93, 90, 87, 83, 80, 77, 73, 70, 67, 63, 60, 0},
+        new double[]{4.0, 4.0, 3.7, 3.3, 3.0, 2.7, 2.3, 2.0, 1.7, 1.3, 1.0, 0.7, 0.0},
+        new double[]{98.0, 95.0, 91.5, 88.5, 85.0, 81.5, 78.5, 75.0, 71.5, 68.5, 65.0, 61.5, 50.0});
+
+    private final String name;
+    private final double[] minPercentages;
+    private final double[] gradePoints;
+    private final double[] representativePercentages;
+    private final LetterGrade lowestPassing;
+    private final String[] qualityLevels;
+    private final LetterGrade[] bands;
+    private final Grade[] canonicalGrades;
+
+    /**
+     * Constructor for creating a grading scale that passes D- and better
+     * and uses the standard quality bands (A-, B, C and D)
+     *
+     * All arrays are indexed by LetterGrade ordinal (A+ first, F last).
+     * A letter can be disabled by giving it a minimum above 100.
+     *
+     * @param name - display name of the scale
+     * @param minPercentages - minimum percentage required for each letter
+     * @param gradePoints - grade points awarded for each letter
+     * @param representativePercentages - percentage recorded when a grade is given as a letter
+     */
+    public GradingScale(String name, double[] minPercentages, double[] gradePoints,
+                        double[] representativePercentages) {
+        this(name, minPercentages, gradePoints, representativePercentages,
+             LetterGrade.D_MINUS, STANDARD_QUALITY_MINIMUMS);
+    }
+
+    /**
+     * Constructor for creating a grading scale with its own pass mark and quality bands
+     *
+     * @param name - display name of the scale
+     * @param minPercentages - minimum percentage required for each letter
+     * @param gradePoints - grade points awarded for each letter
+     * @param representativePercentages - percentage recorded when a grade is given as a letter
+     * @param lowestPassing - lowest letter that passes
+     * @param qualityMinimums - lowest letter for Excellent, Good, Satisfactory and Below Average
+     */
+    public GradingScale(String name, double[] minPercentages, double[] gradePoints,
+                        double[] representativePercentages, LetterGrade lowestPassing,
+                        LetterGrade[] qualityMinimums) {
+        validateName(name);
+        validateTable(minPercentages, "minimum percentages");
+        validateTable(gradePoints, "grade points");
+        validateTable(representativePercentages, "representative percentages");
+        validateCutoffs(minPercentages);
+        validateQuality(lowestPassing, qualityMinimums);
+
+        this.name = name;
+        this.minPercentages = minPercentages.clone();
+        this.gradePoints = gradePoints.clone();
+        this.representativePercentages = representativePercentages.clone();
+        this.lowestPassing = lowestPassing;
+        this.qualityLevels = buildQualityLevels(qualityMinimums);
+        this.bands = buildBands(this.minPercentages);
+        this.canonicalGrades = new Grade[LETTER_COUNT];
+        for (LetterGrade letter : LETTERS) {
+            canonicalGrades[letter.ordinal()] = new Grade(letter, this);
+        }
+    }
+
+    // Validation methods
+    private void validateName(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Grading scale name cannot be null or empty");
+        }
+    }
+
+    private void validateTable(double[] values, String description) {
+        if (values == null || values.length != LETTER_COUNT) {
+            throw new IllegalArgumentException("Grading scale must define " + description + " for all " + LETTER_COUNT + " letter grades");
+        }
+    }
+
+    private void validateCutoffs(double[] minPercentages) {
+        for (int i = 1; i < minPercentages.length; i++) {
+            if (minPercentages[i] > minPercentages[i - 1]) {
+                throw new IllegalArgumentException("Grading scale cutoffs must not increase from A+ to F");
+            }
+        }
+        if (minPercentages[LetterGrade.F.ordinal()] > 0) {
+            throw new IllegalArgumentException("Grading scale must accept 0% as an F");
+        }
+    }
+
+    private void validateQuality(LetterGrade lowestPassing, LetterGrade[] qualityMinimums) {
+        if (lowestPassing == null) {
+            throw new IllegalArgumentException("Grading scale must define its lowest passing letter");
+        }
+        if (qualityMinimums == null || qualityMinimums.length != QUALITY_LEVELS.length) {
+            throw new IllegalArgumentException("Grading scale must define the lowest letter for all "
+                                               + QUALITY_LEVELS.length + " quality levels");
+        }
+        for (int i = 0; i < qualityMinimums.length; i++) {
+            if (qualityMinimums[i] == null
+                    || (i > 0 && qualityMinimums[i].ordinal() < qualityMinimums[i - 1].ordinal())) {
+                throw new IllegalArgumentException("Grading scale quality levels must not rise from Excellent to Below Average");
+            }
+        }
+    }
+
+    /**
+     * Precomputes the quality level of every letter
+     */
+    private static String[] buildQualityLevels(LetterGrade[] qualityMinimums) {
+        String[] table = new String[LETTER_COUNT];
+        for (LetterGrade letter : LETTERS) {
+            table[letter.ordinal()] = FAILING_QUALITY;
+            for (int level = 0; level < qualityMinimums.length; level++) {
+                if (letter.ordinal() <= qualityMinimums[level].ordinal()) {
+                    table[letter.ordinal()] = QUALITY_LEVELS[level];
+                    break;
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Precomputes the letter for every tenth of a percent
+     */
+    private static LetterGrade[] buildBands(double[] minPercentages) {
+        LetterGrade[] letters = LETTERS;
+        LetterGrade[] table = new LetterGrade[100 * BANDS_PER_PERCENT + 1];
+        int letterIndex = 0;
+        for (int band = table.length - 1; band >= 0; band--) {
+            double percentage = (double) band / BANDS_PER_PERCENT;
+            while (letterIndex < letters.length - 1 && percentage < minPercentages[letterIndex]) {
+                letterIndex++;
+            }
+            table[band] = letters[letterIndex];
+        }
+        return table;
+    }
+
+    /**
+     * Looks up the letter grade for a percentage score
+     *
+     * @param percentage - percentage score (0-100)
+     * @return corresponding letter grade
+     */
+    public LetterGrade letterFor(double percentage) {
+        if (percentage < 0 || percentage > 100) {
+            throw new IllegalArgumentException("Percentage must be between 0 and 100");
+        }
+        LetterGrade letter = bands[(int) (percentage * BANDS_PER_PERCENT)];
+
+        // Cutoffs finer than the band resolution are settled with a direct comparison
+        int index = letter.ordinal();
+        while (index > 0 && percentage >= minPercentages[index - 1]) {
+            index--;
+        }
+        while (index < LETTER_COUNT - 1 && percentage < minPercentages[index]) {
+            index++;
+        }
+        return LETTERS[index];
+    }
+
+    /**
+     * Creates a grade for a percentage score using this scale
+     *
+     * @param percentage - percentage score (0-100)
+     * @return new grade
+     */
+    public Grade gradeFor(double percentage) {
+        return new Grade(percentage, this);
+    }
+
+    /**
+     * Gets the shared grade instance for a letter under this scale
+     *
+     * @param letter - letter grade
+     * @return canonical grade for the letter
+     */
+    public Grade gradeFor(LetterGrade letter) {
+        return canonicalGrades[letter.ordinal()];
+    }
+
+    /**
+     * Checks whether a letter passes under this scale
+     *
+     * @param letter - letter grade
+     * @return true if the letter is the lowest passing letter or better
+     */
+    public boolean isPassing(LetterGrade letter) {
+        return letter.ordinal() <= lowestPassing.ordinal();
+    }
+
+    /**
+     * Gets the quality level of a letter under this scale
+     *
+     * @param letter - letter grade
+     * @return quality description
+     */
+    public String getQualityLevel(LetterGrade letter) {
+        return qualityLevels[letter.ordinal()];
+    }
+
+    public LetterGrade getLowestPassing() {
+        return lowestPassing;
+    }
+
+    public double getGradePoints(LetterGrade letter) {
+        return gradePoints[letter.ordinal()];
+    }
+
+    public double getMinPercentage(LetterGrade letter) {
+        return minPercentages[letter.ordinal()];
+    }
+
+    public double getRepresentativePercentage(LetterGrade letter) {
+        return representativePercentages[letter.ordinal()];
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GradingScale{name='%s'}", name);
+    }
+}
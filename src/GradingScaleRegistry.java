@@ -0,0 +1,261 @@
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * GradingScaleRegistry holds the grading scales in use and their assignments
+ *
+ * Scales can be assigned to individual courses or to whole departments.
+ * A course assignment wins over its department's assignment, and anything
+ * unassigned falls back to GradingScale.DEFAULT. Assignments resolve straight
+ * to the scale object so lookups on the grading path are a single map probe.
+ */
+public class GradingScaleRegistry {
+    public static final String TARGET_COURSE = "course";
+    public static final String TARGET_DEPARTMENT = "department";
+
+    private final Map<String, GradingScale> scales;
+    private final Map<String, GradingScale> courseScales;
+    private final Map<String, GradingScale> departmentScales;
+
+    public GradingScaleRegistry() {
+        this.scales = new ConcurrentHashMap<>();
+        this.courseScales = new ConcurrentHashMap<>();
+        this.departmentScales = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Loads scales and assignments from a properties file
+     *
+     * Expected keys:
+     *   scale.&lt;id&gt;.name, scale.&lt;id&gt;.cutoffs, scale.&lt;id&gt;.points,
+     *   scale.&lt;id&gt;.percentages (optional), course.&lt;courseId&gt;=&lt;id&gt;,
+     *   department.&lt;department&gt;=&lt;id&gt;
+     * Lists are comma separated and ordered from A+ to F.
+     *
+     * @param filename - name of the file to load from
+     * @return registry with the loaded scales, or an empty registry if the file doesn't exist
+     * @throws IOException if the file cannot be read
+     */
+    public static GradingScaleRegistry loadFromFile(String filename) throws IOException {
+        GradingScaleRegistry registry = new GradingScaleRegistry();
+        if (!Files.exists(Paths.get(filename))) {
+            return registry;
+        }
+
+        Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(filename)) {
+            properties.load(in);
+        }
+
+        Map<String, String> assignments = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith("scale.") && key.endsWith(".cutoffs")) {
+                String scaleId = key.substring("scale.".length(), key.length() - ".cutoffs".length());
+                String prefix = "scale." + scaleId + ".";
+                String name = properties.getProperty(prefix + "name", scaleId);
+                registry.registerScale(scaleId, parseScale(name,
+                    properties.getProperty(key),
+                    properties.getProperty(prefix + "points"),
+                    properties.getProperty(prefix + "percentages")));
+            } else if (key.startsWith(TARGET_COURSE + ".") || key.startsWith(TARGET_DEPARTMENT + ".")) {
+                assignments.put(key, properties.getProperty(key).trim());
+            }
+        }
+
+        // Assignments are applied after all scales are known
+        for (Map.Entry<String, String> entry : assignments.entrySet()) {
+            String key = entry.getKey();
+            int dot = key.indexOf('.');
+            registry.assign(key.substring(0, dot), key.substring(dot + 1), entry.getValue());
+        }
+        return registry;
+    }
+
+    /**
+     * Loads scales and assignments from the grading scale tables
+     *
+     * @param dbHandler - database handler to read from
+     * @return registry with the loaded scales
+     */
+    public static GradingScaleRegistry loadFromDatabase(DatabaseHandler dbHandler) {
+        GradingScaleRegistry registry = new GradingScaleRegistry();
+        for (Map.Entry<String, GradingScale> entry : dbHandler.getAllGradingScales().entrySet()) {
+            registry.registerScale(entry.getKey(), entry.getValue());
+        }
+        for (String targetType : new String[]{TARGET_COURSE, TARGET_DEPARTMENT}) {
+            for (Map.Entry<String, String> entry : dbHandler.getGradingScaleAssignments(targetType).entrySet()) {
+                registry.assign(targetType, entry.getKey(), entry.getValue());
+            }
+        }
+        return registry;
+    }
+
+    /**
+     * Adds another registry's scales and assignments to this one
+     *
+     * Scales and assignments with the same identifier or target are replaced.
+     *
+     * @param other - registry whose entries take precedence
+     */
+    public void merge(GradingScaleRegistry other) {
+        scales.putAll(other.scales);
+        courseScales.putAll(other.courseScales);
+        departmentScales.putAll(other.departmentScales);
+    }
+
+    /**
+     * Builds a scale from comma separated cutoff, point and percentage lists
+     *
+     * @param name - display name of the scale
+     * @param cutoffs - minimum percentages from A+ to F
+     * @param points - grade points from A+ to F
+     * @param percentages - representative percentages from A+ to F, or null for the defaults
+     * @return parsed grading scale
+     */
+    public static GradingScale parseScale(String name, String cutoffs, String points, String percentages) {
+        double[] representative = new double[LetterGrade.values().length];
+        if (percentages == null || percentages.trim().isEmpty()) {
+            for (LetterGrade letter : LetterGrade.values()) {
+                representative[letter.ordinal()] = GradingScale.DEFAULT.getRepresentativePercentage(letter);
+            }
+        } else {
+            representative = parseList(percentages);
+        }
+        return new GradingScale(name, parseList(cutoffs), parseList(points), representative);
+    }
+
+    /**
+     * Formats one of a scale's tables as a comma separated list
+     *
+     * @param scale - scale to format
+     * @param table - "cutoffs", "points" or "percentages"
+     * @return comma separated values from A+ to F
+     */
+    public static String formatTable(GradingScale scale, String table) {
+        StringBuilder values = new StringBuilder();
+        for (LetterGrade letter : LetterGrade.values()) {
+            if (values.length() > 0) {
+                values.append(',');
+            }
+            switch (table) {
+                case "cutoffs": values.append(scale.getMinPercentage(letter)); break;
+                case "points": values.append(scale.getGradePoints(letter)); break;
+                default: values.append(scale.getRepresentativePercentage(letter)); break;
+            }
+        }
+        return values.toString();
+    }
+
+    private static double[] parseList(String list) {
+        if (list == null) {
+            throw new IllegalArgumentException("Grading scale table is missing");
+        }
+        String[] parts = list.split(",");
+        double[] values = new double[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = Double.parseDouble(parts[i].trim());
+        }
+        return values;
+    }
+
+    /**
+     * Registers a scale under an identifier
+     *
+     * @param scaleId - identifier used by assignments
+     * @param scale - grading scale
+     */
+    public void registerScale(String scaleId, GradingScale scale) {
+        if (scaleId == null || scale == null) {
+            throw new IllegalArgumentException("Scale ID and scale cannot be null");
+        }
+        scales.put(scaleId, scale);
+    }
+
+    /**
+     * Assigns a registered scale to a course or department
+     *
+     * @param targetType - TARGET_COURSE or TARGET_DEPARTMENT
+     * @param targetId - course ID or department name
+     * @param scaleId - identifier of a registered scale
+     * @return true if the assignment was made, false if the scale or target type is unknown
+     */
+    public boolean assign(String targetType, String targetId, String scaleId) {
+        GradingScale scale = scales.get(scaleId);
+        if (scale == null || targetId == null) {
+            return false;
+        }
+
+        if (TARGET_COURSE.equals(targetType)) {
+            courseScales.put(targetId, scale);
+            return true;
+        }
+        if (TARGET_DEPARTMENT.equals(targetType)) {
+            departmentScales.put(departmentKey(targetId), scale);
+            return true;
+        }
+        return false;
+    }
+
+    public boolean assignToCourse(String courseId, String scaleId) {
+        return assign(TARGET_COURSE, courseId, scaleId);
+    }
+
+    public boolean assignToDepartment(String department, String scaleId) {
+        return assign(TARGET_DEPARTMENT, department, scaleId);
+    }
+
+    /**
+     * Resolves the scale that applies to a course
+     *
+     * @param courseId - ID of the course
+     * @param department - department offering the course, may be null
+     * @return the course's scale, else the department's scale, else the default scale
+     */
+    public GradingScale resolve(String courseId, String department) {
+        if (courseId != null) {
+            GradingScale scale = courseScales.get(courseId);
+            if (scale != null) {
+                return scale;
+            }
+        }
+        if (department != null) {
+            GradingScale scale = departmentScales.get(departmentKey(department));
+            if (scale != null) {
+                return scale;
+            }
+        }
+        return GradingScale.DEFAULT;
+    }
+
+    /**
+     * Gets a scale by identifier
+     *
+     * @param scaleId - identifier of the scale
+     * @return scale or null if not registered
+     */
+    public GradingScale getScale(String scaleId) {
+        return scales.get(scaleId);
+    }
+
+    /**
+     * Gets all registered scales
+     *
+     * @return Map of scale identifiers to scales
+     */
+    public Map<String, GradingScale> getAllScales() {
+        return new HashMap<>(scales);
+    }
+
+    // Departments are matched case-insensitively, as elsewhere in the system
+    private static String departmentKey(String department) {
+        return department.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,113 @@
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * IdRegistry maps external string IDs to dense integer surrogates
+ *
+ * Relationships between students, courses and faculty are stored internally
+ * as surrogate ints, while the public API keeps using the string IDs. Each
+ * registry also interns the ID strings so every entity and relationship
+ * shares one String instance per ID.
+ *
+ * Surrogates are assigned in first-seen order and are only stable for the
+ * lifetime of the JVM; persisted data always uses the external IDs.
+ */
+public final class IdRegistry {
+    public static final IdRegistry STUDENTS = new IdRegistry("student");
+    public static final IdRegistry COURSES = new IdRegistry("course");
+    public static final IdRegistry FACULTY = new IdRegistry("faculty");
+
+    private final String kind;
+    private final Map<String, Integer> ids;
+    private volatile String[] externalIds;
+    private int size;
+
+    private IdRegistry(String kind) {
+        this.kind = kind;
+        this.ids = new ConcurrentHashMap<>();
+        this.externalIds = new String[64];
+    }
+
+    /**
+     * Gets the surrogate for an ID, assigning a new one if it is unknown
+     *
+     * @param externalId - external string ID
+     * @return surrogate int ID
+     */
+    public int intern(String externalId) {
+        if (externalId == null) {
+            throw new IllegalArgumentException("Cannot register a null " + kind + " ID");
+        }
+        Integer id = ids.get(externalId);
+        return id != null ? id : register(externalId);
+    }
+
+    private synchronized int register(String externalId) {
+        Integer id = ids.get(externalId);
+        if (id != null) {
+            return id;
+        }
+
+        String[] current = externalIds;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, size * 2);
+        }
+        current[size] = externalId;
+        externalIds = current;
+        ids.put(externalId, size);
+        return size++;
+    }
+
+    /**
+     * Gets the surrogate for an ID without registering it
+     *
+     * @param externalId - external string ID
+     * @return surrogate int ID, or -1 if the ID has never been registered
+     */
+    public int lookup(String externalId) {
+        if (externalId == null) {
+            return -1;
+        }
+        Integer id = ids.get(externalId);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Gets the external ID for a surrogate
+     *
+     * @param id - surrogate int ID
+     * @return the shared external ID string
+     */
+    public String externalId(int id) {
+        String[] current = externalIds;
+        if (id < 0 || id >= current.length || current[id] == null) {
+            throw new IllegalArgumentException("Unknown " + kind + " surrogate ID: " + id);
+        }
+        return current[id];
+    }
+
+    /**
+     * Gets the shared instance of an ID string, registering it if needed
+     *
+     * @param externalId - external string ID
+     * @return the interned external ID
+     */
+    public String canonical(String externalId) {
+        return externalId(intern(externalId));
+    }
+
+    /**
+     * Gets the number of IDs registered so far
+     *
+     * @return number of registered IDs
+     */
+    public int size() {
+        return ids.size();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("IdRegistry{kind='%s', size=%d}", kind, size());
+    }
+}
@@ -0,0 +1,53 @@
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * IdSetView exposes an IntSet of surrogates as a read-only set of external IDs
+ *
+ * The view is live: it reflects later changes to the underlying IntSet
+ * without copying it.
+ */
+public class IdSetView extends AbstractSet<String> {
+    private final IdRegistry registry;
+    private final IntSet ids;
+
+    public IdSetView(IdRegistry registry, IntSet ids) {
+        this.registry = registry;
+        this.ids = ids;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof String)) {
+            return false;
+        }
+        int id = registry.lookup((String) o);
+        return id >= 0 && ids.contains(id);
+    }
+
+    @Override
+    public int size() {
+        return ids.size();
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<String>() {
+            private int position;
+
+            @Override
+            public boolean hasNext() {
+                return position < ids.size();
+            }
+
+            @Override
+            public String next() {
+                if (position >= ids.size()) {
+                    throw new NoSuchElementException();
+                }
+                return registry.externalId(ids.get(position++));
+            }
+        };
+    }
+}
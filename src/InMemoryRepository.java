@@ -0,0 +1,124 @@
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * InMemoryRepository keeps entities in a map and never writes them anywhere
+ * 
+ * It is the memory backend on its own, and the cache the file and SQLite
+ * backends read from. Once saved copies are tracked, every save also keeps
+ * a private copy of the entity, which background writers read instead of
+ * the entities the services keep changing.
+ */
+public class InMemoryRepository<T> implements Repository<T> {
+    protected final Map<String, T> entities;
+    protected final Function<T, String> idOf;
+    private volatile Map<String, T> savedCopies;
+    
+    /**
+     * Creates an empty repository
+     * 
+     * @param idOf - gets the ID of an entity
+     */
+    public InMemoryRepository(Function<T, String> idOf) {
+        this(idOf, new HashMap<>());
+    }
+    
+    /**
+     * Creates a repository holding existing entities
+     * 
+     * @param idOf - gets the ID of an entity
+     * @param entities - map of IDs to entities, used directly
+     */
+    protected InMemoryRepository(Function<T, String> idOf, Map<String, T> entities) {
+        this.idOf = idOf;
+        this.entities = entities;
+    }
+    
+    /**
+     * Starts keeping a copy of each entity as it is saved
+     * 
+     * Call it on the thread that changes the entities, before another
+     * thread reads the copies.
+     */
+    public synchronized void trackSavedCopies() {
+        if (savedCopies == null) {
+            savedCopies = new ConcurrentHashMap<>(EntityCopier.copy(new HashMap<>(entities)));
+        }
+    }
+    
+    /**
+     * Gets the copies taken when the entities were saved
+     * 
+     * @return map of IDs to copies, or null if copies are not tracked
+     */
+    public Map<String, T> getSavedCopies() {
+        Map<String, T> copies = savedCopies;
+        return copies != null ? Collections.unmodifiableMap(copies) : null;
+    }
+    
+    /**
+     * {@inheritDoc}
+     * 
+     * The first snapshot copies every entity and starts tracking saved
+     * copies; later snapshots only copy references to those copies.
+     */
+    @Override
+    public Repository<T> snapshot() {
+        trackSavedCopies();
+        return new InMemoryRepository<>(idOf, new HashMap<>(savedCopies));
+    }
+    
+    @Override
+    public T get(String id) {
+        return entities.get(id);
+    }
+    
+    @Override
+    public boolean contains(String id) {
+        return entities.containsKey(id);
+    }
+    
+    @Override
+    public Collection<T> getAll() {
+        return Collections.unmodifiableCollection(entities.values());
+    }
+    
+    @Override
+    public int size() {
+        return entities.size();
+    }
+    
+    @Override
+    public void save(T entity) {
+        entities.put(idOf.apply(entity), entity);
+        copySaved(entity);
+    }
+    
+    @Override
+    public void saveAll(Collection<? extends T> newEntities) {
+        for (T entity : newEntities) {
+            entities.put(idOf.apply(entity), entity);
+            copySaved(entity);
+        }
+    }
+    
+    @Override
+    public T remove(String id) {
+        Map<String, T> copies = savedCopies;
+        if (copies != null) {
+            copies.remove(id);
+        }
+        return entities.remove(id);
+    }
+    
+    private void copySaved(T entity) {
+        Map<String, T> copies = savedCopies;
+        if (copies != null) {
+            copies.put(idOf.apply(entity), EntityCopier.copy(entity));
+        }
+    }
+}
@@ -0,0 +1,218 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+/**
+ * IntSet is a compact set of ints kept as a sorted primitive array
+ *
+ * Used for relationship storage keyed by IdRegistry surrogates. Membership
+ * is a binary search, and adds/removes shift a primitive array, which stays
+ * cheap even for large course rosters. Iteration is in ascending order.
+ */
+public class IntSet {
+    private static final int[] EMPTY = new int[0];
+
+    private int[] elements;
+    private int size;
+
+    public IntSet() {
+        this.elements = EMPTY;
+    }
+
+    public IntSet(int initialCapacity) {
+        this.elements = initialCapacity > 0 ? new int[initialCapacity] : EMPTY;
+    }
+
+    /**
+     * Adds a value to the set
+     *
+     * @param value - value to add
+     * @return true if the value was added, false if it was already present
+     */
+    public boolean add(int value) {
+        int index = Arrays.binarySearch(elements, 0, size, value);
+        if (index >= 0) {
+            return false;
+        }
+
+        index = -index - 1;
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(4, size * 2));
+        }
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = value;
+        size++;
+        return true;
+    }
+
+    /**
+     * Removes a value from the set
+     *
+     * @param value - value to remove
+     * @return true if the value was removed, false if it was not present
+     */
+    public boolean remove(int value) {
+        int index = Arrays.binarySearch(elements, 0, size, value);
+        if (index < 0) {
+            return false;
+        }
+
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+        return true;
+    }
+
+    public boolean contains(int value) {
+        return Arrays.binarySearch(elements, 0, size, value) >= 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the value at a position in ascending order
+     *
+     * @param index - position (0 to size - 1)
+     * @return value at the position
+     */
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return elements[index];
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(elements[i]);
+        }
+    }
+
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int position;
+
+            @Override
+            public boolean hasNext() {
+                return position < size;
+            }
+
+            @Override
+            public int nextInt() {
+                if (position >= size) {
+                    throw new NoSuchElementException();
+                }
+                return elements[position++];
+            }
+        };
+    }
+
+    /**
+     * Creates a set holding the values present in both sets
+     *
+     * @param a - first set
+     * @param b - second set
+     * @return new set with the intersection
+     */
+    public static IntSet intersection(IntSet a, IntSet b) {
+        IntSet result = new IntSet(Math.min(a.size, b.size));
+        int i = 0;
+        int j = 0;
+        while (i < a.size && j < b.size) {
+            int x = a.elements[i];
+            int y = b.elements[j];
+            if (x == y) {
+                result.elements[result.size++] = x;
+                i++;
+                j++;
+            } else if (x < y) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Creates a set holding the values present in either set
+     *
+     * @param a - first set
+     * @param b - second set
+     * @return new set with the union
+     */
+    public static IntSet union(IntSet a, IntSet b) {
+        IntSet result = new IntSet(a.size + b.size);
+        int i = 0;
+        int j = 0;
+        while (i < a.size || j < b.size) {
+            if (j >= b.size || (i < a.size && a.elements[i] < b.elements[j])) {
+                result.elements[result.size++] = a.elements[i++];
+            } else if (i >= a.size || b.elements[j] < a.elements[i]) {
+                result.elements[result.size++] = b.elements[j++];
+            } else {
+                result.elements[result.size++] = a.elements[i++];
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Counts the values present in both sets without building the intersection
+     *
+     * @param a - first set
+     * @param b - second set
+     * @return size of the intersection
+     */
+    public static int intersectionSize(IntSet a, IntSet b) {
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.size && j < b.size) {
+            int x = a.elements[i];
+            int y = b.elements[j];
+            if (x == y) {
+                count++;
+                i++;
+                j++;
+            } else if (x < y) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Creates an independent copy of the set
+     *
+     * @return copy of the set
+     */
+    public IntSet copy() {
+        IntSet copy = new IntSet(size);
+        System.arraycopy(elements, 0, copy.elements, 0, size);
+        copy.size = size;
+        return copy;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
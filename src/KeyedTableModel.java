@@ -0,0 +1,150 @@
+import javax.swing.table.DefaultTableModel;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Vector;
+
+/**
+ * KeyedTableModel is a read-only table model whose rows are identified by
+ * the value in their first column
+ *
+ * Rows can be replaced or removed by key, so a panel can update only the
+ * rows affected by a change instead of rebuilding the whole table. Rows
+ * must be changed through the keyed methods so the key index stays correct.
+ */
+public class KeyedTableModel extends DefaultTableModel {
+    private static final long serialVersionUID = 1L;
+
+    // Above this many changes, one full refresh is cheaper than row events
+    private static final int BULK_CHANGE_THRESHOLD = 200;
+
+    private final Map<Object, Integer> rowIndex = new HashMap<>();
+
+    public KeyedTableModel(String[] columns) {
+        super(columns, 0);
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    /**
+     * Replaces all rows
+     *
+     * @param rows - new rows; the first value of each row is its key
+     */
+    public void setRows(List<Object[]> rows) {
+        dataVector.clear();
+        for (Object[] row : rows) {
+            dataVector.add(toVector(row));
+        }
+        reindex(0);
+        fireTableDataChanged();
+    }
+
+    /**
+     * Gets the row holding a key
+     *
+     * @param key - value of the first column
+     * @return row index, or -1 if no row has the key
+     */
+    public int indexOf(Object key) {
+        Integer row = rowIndex.get(key);
+        return row != null ? row : -1;
+    }
+
+    public boolean containsKey(Object key) {
+        return rowIndex.containsKey(key);
+    }
+
+    /**
+     * Replaces the row with the same key, or appends the row if the key is new
+     *
+     * @param row - row values; the first value is the key
+     */
+    public void putRow(Object[] row) {
+        int index = indexOf(row[0]);
+        if (index >= 0) {
+            dataVector.set(index, toVector(row));
+            fireTableRowsUpdated(index, index);
+        } else {
+            index = dataVector.size();
+            dataVector.add(toVector(row));
+            rowIndex.put(row[0], index);
+            fireTableRowsInserted(index, index);
+        }
+    }
+
+    /**
+     * Removes the row with a key
+     *
+     * @param key - value of the first column
+     * @return true if a row was removed
+     */
+    public boolean removeKey(Object key) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return false;
+        }
+        dataVector.remove(index);
+        rowIndex.remove(key);
+        reindex(index);
+        fireTableRowsDeleted(index, index);
+        return true;
+    }
+
+    /**
+     * Applies a set of row changes
+     *
+     * Small change sets fire one event per row, so selection and scroll
+     * position are kept; large ones fire a single refresh of the table.
+     *
+     * @param rows - rows to put, replacing rows with the same key
+     * @param removedKeys - keys of rows to remove
+     */
+    public void applyChanges(Collection<Object[]> rows, Collection<?> removedKeys) {
+        if (rows.size() + removedKeys.size() <= BULK_CHANGE_THRESHOLD) {
+            for (Object key : removedKeys) {
+                removeKey(key);
+            }
+            for (Object[] row : rows) {
+                putRow(row);
+            }
+            return;
+        }
+
+        if (!removedKeys.isEmpty()) {
+            Set<Object> removed = new HashSet<>(removedKeys);
+            dataVector.removeIf(row -> removed.contains(row.get(0)));
+            reindex(0);
+        }
+        for (Object[] row : rows) {
+            int index = indexOf(row[0]);
+            if (index >= 0) {
+                dataVector.set(index, toVector(row));
+            } else {
+                rowIndex.put(row[0], dataVector.size());
+                dataVector.add(toVector(row));
+            }
+        }
+        fireTableDataChanged();
+    }
+
+    private void reindex(int from) {
+        if (from == 0) {
+            rowIndex.clear();
+        }
+        for (int i = from; i < dataVector.size(); i++) {
+            rowIndex.put(dataVector.get(i).get(0), i);
+        }
+    }
+
+    private static Vector<Object> toVector(Object[] row) {
+        return new Vector<>(Arrays.asList(row));
+    }
+}
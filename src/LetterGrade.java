@@ -0,0 +1,73 @@
+/**
+ * Enumeration defining the letter grades used in the university system
+ *
+ * Constants are ordered from highest to lowest so the ordinal can be used
+ * as an index into grading scale tables.
+ */
+public enum LetterGrade {
+    A_PLUS("A+"),
+    A("A"),
+    A_MINUS("A-"),
+    B_PLUS("B+"),
+    B("B"),
+    B_MINUS("B-"),
+    C_PLUS("C+"),
+    C("C"),
+    C_MINUS("C-"),
+    D_PLUS("D+"),
+    D("D"),
+    D_MINUS("D-"),
+    F("F");
+
+    private static final LetterGrade[] VALUES = values();
+
+    private final String symbol;
+
+    LetterGrade(String symbol) {
+        this.symbol = symbol;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    /**
+     * Parses a letter grade symbol such as "B+" without regex or string switches
+     *
+     * @param symbol - letter grade symbol (A, B, C, D with optional +/-, or F)
+     * @return corresponding letter grade
+     * @throws IllegalArgumentException if the symbol is not a valid letter grade
+     */
+    public static LetterGrade fromSymbol(String symbol) {
+        if (symbol == null || symbol.isEmpty() || symbol.length() > 2) {
+            throw new IllegalArgumentException("Invalid letter grade format");
+        }
+
+        char letter = symbol.charAt(0);
+        if (letter == 'F' && symbol.length() == 1) {
+            return F;
+        }
+        if (letter < 'A' || letter > 'D') {
+            throw new IllegalArgumentException("Invalid letter grade format");
+        }
+
+        // Each letter A-D occupies three consecutive ordinals: +, plain, -
+        int index = (letter - 'A') * 3 + 1;
+        if (symbol.length() == 2) {
+            char modifier = symbol.charAt(1);
+            if (modifier == '+') {
+                index--;
+            } else if (modifier == '-') {
+                index++;
+            } else {
+                throw new IllegalArgumentException("Invalid letter grade format");
+            }
+        }
+        return VALUES[index];
+    }
+
+    @Override
+    public String toString() {
+        return symbol;
+    }
+}
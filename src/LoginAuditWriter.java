@@ -0,0 +1,111 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LoginAuditWriter persists login events in the background
+ *
+ * The login path only enqueues an event. A daemon thread drains the queue
+ * and writes each batch (audit rows plus last_login updates) in a single
+ * transaction through its own DatabaseHandler. If the queue is full, new
+ * events are dropped and counted rather than slowing logins down.
+ */
+public class LoginAuditWriter {
+    private static final int DEFAULT_QUEUE_CAPACITY = 10_000;
+    private static final int MAX_BATCH_SIZE = 500;
+    private static final long FLUSH_INTERVAL_MILLIS = 1_000;
+
+    private final DatabaseHandler dbHandler;
+    private final BlockingQueue<LoginEvent> queue;
+    private final AtomicLong droppedEvents;
+    private final Thread writerThread;
+    private volatile boolean running;
+
+    public LoginAuditWriter(DatabaseHandler dbHandler) {
+        this(dbHandler, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Creates and starts a writer
+     *
+     * @param dbHandler - database handler used only by the writer thread
+     * @param queueCapacity - maximum number of events waiting to be written
+     */
+    public LoginAuditWriter(DatabaseHandler dbHandler, int queueCapacity) {
+        this.dbHandler = dbHandler;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.droppedEvents = new AtomicLong();
+        this.running = true;
+        this.writerThread = new Thread(this::run, "login-audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Queues a login event for writing
+     *
+     * @param event - event to record
+     * @return true if queued, false if the queue was full or the writer is stopped
+     */
+    public boolean record(LoginEvent event) {
+        if (!running || event == null) {
+            return false;
+        }
+        if (!queue.offer(event)) {
+            droppedEvents.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    public long getDroppedCount() {
+        return droppedEvents.get();
+    }
+
+    /**
+     * Stops the writer after flushing queued events
+     */
+    public void shutdown() {
+        running = false;
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        List<LoginEvent> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        while (running) {
+            try {
+                LoginEvent first = queue.poll(FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                break; // Shutting down; remaining events are flushed below
+            }
+        }
+
+        while (queue.drainTo(batch, MAX_BATCH_SIZE) > 0) {
+            flush(batch);
+        }
+    }
+
+    private void flush(List<LoginEvent> batch) {
+        if (!dbHandler.recordLoginEvents(batch)) {
+            System.err.println("Warning: Dropped " + batch.size() + " login audit event(s) after a write failure.");
+        }
+        batch.clear();
+    }
+}
@@ -0,0 +1,48 @@
+import java.time.LocalDateTime;
+
+/**
+ * LoginEvent records one login attempt for auditing
+ */
+public class LoginEvent {
+    private final String username;
+    private final boolean successful;
+    private final String client;
+    private final LocalDateTime occurredAt;
+
+    /**
+     * Constructor for a login event
+     *
+     * @param username - username that attempted to log in
+     * @param successful - whether the attempt succeeded
+     * @param client - identifier of the client, may be null
+     * @param occurredAt - time of the attempt
+     */
+    public LoginEvent(String username, boolean successful, String client, LocalDateTime occurredAt) {
+        this.username = username;
+        this.successful = successful;
+        this.client = client;
+        this.occurredAt = occurredAt;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public boolean isSuccessful() {
+        return successful;
+    }
+
+    public String getClient() {
+        return client;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LoginEvent{username='%s', successful=%s, client='%s', at=%s}",
+                           username, successful, client, occurredAt);
+    }
+}
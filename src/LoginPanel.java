@@ -170,6 +170,12 @@ public class LoginPanel extends JPanel {
             return;
         }
         
+        long retryAfter = authService.getLoginRetryAfterSeconds(username);
+        if (retryAfter > 0) {
+            showStatus("Too many login attempts. Try again in " + retryAfter + " seconds", Color.RED);
+            return;
+        }
+        
         // Disable login button during authentication
         loginButton.setEnabled(false);
         showStatus("Authenticating...", Color.BLUE);
@@ -181,7 +187,12 @@ public class LoginPanel extends JPanel {
                 User user = authService.getCurrentUser();
                 mainFrame.handleLogin(user);
             } else {
-                showStatus("Invalid username or password", Color.RED);
+                long lockout = authService.getLoginRetryAfterSeconds(username);
+                if (lockout > 0) {
+                    showStatus("Too many failed attempts. Try again in " + lockout + " seconds", Color.RED);
+                } else {
+                    showStatus("Invalid username or password", Color.RED);
+                }
                 passwordField.setText("");
                 passwordField.requestFocus();
             }
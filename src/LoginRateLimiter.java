@@ -0,0 +1,242 @@
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * LoginRateLimiter throttles login attempts per username and per client
+ *
+ * Each username and each client gets a token bucket; an attempt needs a
+ * token from both, and the client's is taken first so a throttled client
+ * cannot drain a username's tokens. Repeated failures against a username
+ * lock it out for a while; failures are forgotten once the bucket has
+ * refilled, since that takes a full refill time without attempts. Buckets
+ * are updated with compare-and-set on immutable state, so concurrent
+ * attempts never block each other, and buckets that have been idle long
+ * enough to be full again are evicted in periodic sweeps. Above the entry
+ * limit sweeps run at most once a second, so a flood of new usernames
+ * costs one pass per second rather than one per attempt.
+ */
+public class LoginRateLimiter {
+    private static final int USERNAME_CAPACITY = 5;
+    private static final long USERNAME_REFILL_NANOS = TimeUnit.SECONDS.toNanos(12);
+    private static final int CLIENT_CAPACITY = 30;
+    private static final long CLIENT_REFILL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final int MAX_CONSECUTIVE_FAILURES = 5;
+    private static final long LOCKOUT_NANOS = TimeUnit.MINUTES.toNanos(5);
+    private static final int SWEEP_INTERVAL = 1024;
+    private static final int MAX_ENTRIES = 100_000;
+    private static final long SWEEP_GAP_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Map<String, Bucket> usernameBuckets;
+    private final Map<String, Bucket> clientBuckets;
+    private final AtomicLong operations;
+    private final AtomicLong lastSweep;
+
+    public LoginRateLimiter() {
+        this.usernameBuckets = new ConcurrentHashMap<>();
+        this.clientBuckets = new ConcurrentHashMap<>();
+        this.operations = new AtomicLong();
+        this.lastSweep = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Takes a token for a login attempt
+     *
+     * @param username - username being logged in to
+     * @param client - identifier of the client, may be null
+     * @return true if the attempt may proceed
+     */
+    public boolean tryAcquire(String username, String client) {
+        maybeSweep();
+        long now = System.nanoTime();
+        if (client != null && !bucket(clientBuckets, client, CLIENT_CAPACITY, CLIENT_REFILL_NANOS).tryAcquire(now)) {
+            return false;
+        }
+        return bucket(usernameBuckets, username, USERNAME_CAPACITY, USERNAME_REFILL_NANOS).tryAcquire(now);
+    }
+
+    /**
+     * Records a failed attempt, locking the username out after repeated failures
+     *
+     * @param username - username that failed to log in
+     */
+    public void recordFailure(String username) {
+        bucket(usernameBuckets, username, USERNAME_CAPACITY, USERNAME_REFILL_NANOS)
+            .recordFailure(System.nanoTime());
+    }
+
+    /**
+     * Records a successful login, clearing the username's failure count
+     *
+     * @param username - username that logged in
+     */
+    public void recordSuccess(String username) {
+        Bucket userBucket = usernameBuckets.get(key(username));
+        if (userBucket != null) {
+            userBucket.recordSuccess();
+        }
+    }
+
+    /**
+     * Gets how long a username or client must wait before trying again
+     *
+     * @param username - username being logged in to
+     * @param client - identifier of the client, may be null
+     * @return wait time in milliseconds, 0 if an attempt is allowed now
+     */
+    public long getRetryAfterMillis(String username, String client) {
+        long now = System.nanoTime();
+        long waitNanos = 0;
+        Bucket userBucket = usernameBuckets.get(key(username));
+        if (userBucket != null) {
+            waitNanos = userBucket.nanosUntilAvailable(now);
+        }
+        Bucket clientBucket = client != null ? clientBuckets.get(key(client)) : null;
+        if (clientBucket != null) {
+            waitNanos = Math.max(waitNanos, clientBucket.nanosUntilAvailable(now));
+        }
+        return TimeUnit.NANOSECONDS.toMillis(waitNanos + TimeUnit.MILLISECONDS.toNanos(1) - 1);
+    }
+
+    public int getTrackedCount() {
+        return usernameBuckets.size() + clientBuckets.size();
+    }
+
+    private static String key(String value) {
+        return value == null ? "" : value.trim();
+    }
+
+    private static Bucket bucket(Map<String, Bucket> buckets, String id, int capacity, long refillNanos) {
+        return buckets.computeIfAbsent(key(id), k -> new Bucket(capacity, refillNanos, System.nanoTime()));
+    }
+
+    private void maybeSweep() {
+        long now = System.nanoTime();
+        if (operations.incrementAndGet() % SWEEP_INTERVAL != 0) {
+            long last = lastSweep.get();
+            if (usernameBuckets.size() + clientBuckets.size() < MAX_ENTRIES
+                    || now - last < SWEEP_GAP_NANOS || !lastSweep.compareAndSet(last, now)) {
+                return;
+            }
+        } else {
+            lastSweep.set(now);
+        }
+        sweep(usernameBuckets, now);
+        sweep(clientBuckets, now);
+    }
+
+    private static void sweep(Map<String, Bucket> buckets, long now) {
+        for (Map.Entry<String, Bucket> entry : buckets.entrySet()) {
+            if (entry.getValue().isIdle(now)) {
+                buckets.remove(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Token bucket whose state is replaced atomically on every change
+     */
+    private static final class Bucket {
+        private final int capacity;
+        private final long refillNanos;
+        private final AtomicReference<State> state;
+
+        Bucket(int capacity, long refillNanos, long now) {
+            this.capacity = capacity;
+            this.refillNanos = refillNanos;
+            this.state = new AtomicReference<>(new State(capacity, now, false, now, 0));
+        }
+
+        boolean tryAcquire(long now) {
+            while (true) {
+                State current = state.get();
+                if (current.isLocked(now)) {
+                    return false;
+                }
+                State refilled = refill(current, now);
+                if (refilled.tokens < 1) {
+                    return false;
+                }
+                State next = new State(refilled.tokens - 1, refilled.updatedAt, false, now, refilled.failures);
+                if (state.compareAndSet(current, next)) {
+                    return true;
+                }
+            }
+        }
+
+        void recordFailure(long now) {
+            while (true) {
+                State current = state.get();
+                State refilled = refill(current, now);
+                int failures = refilled.failures + 1;
+                State next = failures >= MAX_CONSECUTIVE_FAILURES
+                    ? new State(refilled.tokens, refilled.updatedAt, true, now + LOCKOUT_NANOS, 0)
+                    : new State(refilled.tokens, refilled.updatedAt, refilled.locked, refilled.lockedUntil, failures);
+                if (state.compareAndSet(current, next)) {
+                    return;
+                }
+            }
+        }
+
+        void recordSuccess() {
+            while (true) {
+                State current = state.get();
+                if (current.failures == 0) {
+                    return;
+                }
+                State next = new State(current.tokens, current.updatedAt, current.locked, current.lockedUntil, 0);
+                if (state.compareAndSet(current, next)) {
+                    return;
+                }
+            }
+        }
+
+        long nanosUntilAvailable(long now) {
+            State current = refill(state.get(), now);
+            long wait = current.isLocked(now) ? current.lockedUntil - now : 0;
+            if (current.tokens < 1) {
+                wait = Math.max(wait, (long) Math.ceil((1 - current.tokens) * refillNanos));
+            }
+            return wait;
+        }
+
+        boolean isIdle(long now) {
+            State current = refill(state.get(), now);
+            return current.tokens >= capacity && !current.isLocked(now);
+        }
+
+        private State refill(State current, long now) {
+            long elapsed = now - current.updatedAt;
+            if (elapsed <= 0) {
+                return current;
+            }
+            double tokens = Math.min(capacity, current.tokens + (double) elapsed / refillNanos);
+            // A full bucket means no attempts for a whole refill time, so older failures no longer count
+            int failures = tokens >= capacity ? 0 : current.failures;
+            return new State(tokens, now, current.locked, current.lockedUntil, failures);
+        }
+    }
+
+    private static final class State {
+        final double tokens;
+        final long updatedAt;
+        final boolean locked;
+        final long lockedUntil;
+        final int failures;
+
+        State(double tokens, long updatedAt, boolean locked, long lockedUntil, int failures) {
+            this.tokens = tokens;
+            this.updatedAt = updatedAt;
+            this.locked = locked;
+            this.lockedUntil = lockedUntil;
+            this.failures = failures;
+        }
+
+        // nanoTime values are only comparable by difference
+        boolean isLocked(long now) {
+            return locked && lockedUntil - now > 0;
+        }
+    }
+}
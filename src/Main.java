@@ -7,21 +7,51 @@ import javax.swing.UIManager;
  * This is the entry point of the application that initializes all services
  * and starts the GUI-based user interface.
  * 
+ * Storage can be chosen on the command line, e.g. for load testing:
+ * --persistence=memory --snapshot=file --snapshot-interval=30
+ * The file backend also accepts --checkpoint-interval,
+ * --checkpoint-threshold and --file-segments. Each option sets the
+ * matching university.* system property. Checkpoints are off unless
+ * --checkpoint-interval is given, so every change is written immediately.
+ * --file-segments above 1 moves data/*.dat into segment files and renames
+ * the originals to .migrated; --file-segments=1 moves them back.
+ * 
  * @author University Management System
  * @version 2.0
  */
 public class Main {
     
     public static void main(String[] args) {
+        applyOptions(args);
+        
         // Initialize services
-        AuthenticationService authService = new AuthenticationService();
-        StudentService studentService = new StudentService();
-        FacultyService facultyService = new FacultyService();
-        CourseService courseService = new CourseService();
+        EventBus events = new EventBus();
+        // The desktop GUI holds one local session, which stays open until logout
+        AuthenticationService authService = new AuthenticationService(
+            new SessionManager(SessionManager.NO_IDLE_TIMEOUT, SessionManager.DEFAULT_MAX_SESSIONS), events);
+        EnrollmentStore enrollments = new EnrollmentStore();
+        PersistenceBackend backend = PersistenceBackend.configured();
+        StudentService studentService = backend.studentService(enrollments, events);
+        FacultyService facultyService = backend.facultyService(events);
+        CourseService courseService = backend.courseService(enrollments, events);
         AdminService adminService = new AdminService();
+        SnapshotScheduler snapshots = backend.startSnapshots(studentService, courseService, facultyService);
+        CheckpointScheduler checkpoints = backend.startCheckpoints(studentService, courseService, facultyService);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            authService.shutdown();
+            events.shutdown();
+            if (snapshots != null) {
+                snapshots.shutdown();
+            }
+            if (checkpoints != null) {
+                checkpoints.shutdown();
+            }
+            PersistenceBackend.closeDatabase();
+        }, "shutdown"));
         
         // Initialize sample data
         initializeSampleData(authService, studentService, facultyService, courseService);
+        ServiceSnapshot.prepare(studentService, courseService, facultyService);
         
         // Start the GUI on the Event Dispatch Thread
         SwingUtilities.invokeLater(() -> {
@@ -31,6 +61,45 @@ public class Main {
         });
     }
     
+    /**
+     * Copies --persistence, --snapshot, --checkpoint and --file-segments
+     * options into the system properties read by PersistenceBackend
+     * 
+     * @param args - command line arguments
+     */
+    private static void applyOptions(String[] args) {
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                System.err.println("Warning: Ignoring argument '" + arg + "'.");
+                continue;
+            }
+            String value = arg.substring(separator + 1);
+            switch (arg.substring(2, separator)) {
+                case "persistence":
+                    System.setProperty(PersistenceBackend.PROPERTY, value);
+                    break;
+                case "snapshot":
+                    System.setProperty(PersistenceBackend.SNAPSHOT_PROPERTY, value);
+                    break;
+                case "snapshot-interval":
+                    System.setProperty(PersistenceBackend.SNAPSHOT_INTERVAL_PROPERTY, value);
+                    break;
+                case "checkpoint-interval":
+                    System.setProperty(PersistenceBackend.CHECKPOINT_INTERVAL_PROPERTY, value);
+                    break;
+                case "checkpoint-threshold":
+                    System.setProperty(PersistenceBackend.CHECKPOINT_THRESHOLD_PROPERTY, value);
+                    break;
+                case "file-segments":
+                    System.setProperty(PersistenceBackend.FILE_SEGMENTS_PROPERTY, value);
+                    break;
+                default:
+                    System.err.println("Warning: Ignoring unknown option '" + arg + "'.");
+            }
+        }
+    }
+    
     /**
      * Initializes sample data for testing purposes
      */
@@ -39,22 +108,14 @@ public class Main {
                                            FacultyService facultyService,
                                            CourseService courseService) {
         
-        // Create sample users
-        User adminUser = new User("admin", "admin123", UserRole.ADMIN_STAFF, "Admin User");
-        User sysAdminUser = new User("sysadmin", "sysadmin123", UserRole.SYSTEM_ADMIN, "System Administrator");
-        User faculty1User = new User("F2024001", "faculty123", UserRole.FACULTY, "Dr. John Smith");
-        User faculty2User = new User("F2024002", "faculty123", UserRole.FACULTY, "Prof. Jane Doe");
-        User student1User = new User("S2023001", "student123", UserRole.STUDENT, "Alice Johnson");
-        User student2User = new User("S2023002", "student123", UserRole.STUDENT, "Bob Wilson");
-        User student3User = new User("S2023003", "student123", UserRole.STUDENT, "Carol Brown");
-        
-        authService.registerUser(adminUser);
-        authService.registerUser(sysAdminUser);
-        authService.registerUser(faculty1User);
-        authService.registerUser(faculty2User);
-        authService.registerUser(student1User);
-        authService.registerUser(student2User);
-        authService.registerUser(student3User);
+        // Create sample users; existing ones are skipped before their passwords are hashed
+        authService.createUser("admin", "admin123", UserRole.ADMIN_STAFF, "Admin User");
+        authService.createUser("sysadmin", "sysadmin123", UserRole.SYSTEM_ADMIN, "System Administrator");
+        authService.createUser("F2024001", "faculty123", UserRole.FACULTY, "Dr. John Smith");
+        authService.createUser("F2024002", "faculty123", UserRole.FACULTY, "Prof. Jane Doe");
+        authService.createUser("S2023001", "student123", UserRole.STUDENT, "Alice Johnson");
+        authService.createUser("S2023002", "student123", UserRole.STUDENT, "Bob Wilson");
+        authService.createUser("S2023003", "student123", UserRole.STUDENT, "Carol Brown");
         
         // Create sample students
         Student student1 = new Student("S2023001", "Alice Johnson", "alice@university.edu", 
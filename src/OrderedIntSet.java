@@ -0,0 +1,68 @@
+import java.util.Arrays;
+
+/**
+ * OrderedIntSet is an IntSet that also remembers the order values were added in
+ *
+ * Membership checks and merges still use the sorted array; the insertion
+ * order is kept in a second array for callers that list the values, such as
+ * a student's enrolled courses in the order they were enrolled.
+ */
+public class OrderedIntSet extends IntSet {
+    private static final int[] EMPTY = new int[0];
+
+    private int[] order = EMPTY;
+    private int orderSize;
+
+    @Override
+    public boolean add(int value) {
+        if (!super.add(value)) {
+            return false;
+        }
+
+        if (orderSize == order.length) {
+            order = Arrays.copyOf(order, Math.max(4, orderSize * 2));
+        }
+        order[orderSize++] = value;
+        return true;
+    }
+
+    @Override
+    public boolean remove(int value) {
+        if (!super.remove(value)) {
+            return false;
+        }
+
+        for (int i = 0; i < orderSize; i++) {
+            if (order[i] == value) {
+                System.arraycopy(order, i + 1, order, i, orderSize - i - 1);
+                orderSize--;
+                break;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        orderSize = 0;
+    }
+
+    /**
+     * Gets the values in the order they were added
+     *
+     * @return copy of the values in insertion order
+     */
+    public int[] toInsertionOrderArray() {
+        return Arrays.copyOf(order, orderSize);
+    }
+
+    @Override
+    public OrderedIntSet copy() {
+        OrderedIntSet copy = new OrderedIntSet();
+        for (int i = 0; i < orderSize; i++) {
+            copy.add(order[i]);
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,129 @@
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.security.spec.InvalidKeySpecException;
+import java.util.Base64;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+/**
+ * PasswordHasher produces and checks salted PBKDF2 password hashes
+ *
+ * Hashes are stored as "pbkdf2$&lt;iterations&gt;$&lt;salt&gt;$&lt;hash&gt;" with Base64
+ * salt and hash, so the cost travels with each hash and can be raised later
+ * without invalidating existing ones. The default cost can be tuned with the
+ * ums.password.iterations system property.
+ */
+public final class PasswordHasher {
+    public static final String SCHEME = "pbkdf2";
+    public static final String UNSET = "!";
+    public static final int DEFAULT_ITERATIONS = Integer.getInteger("ums.password.iterations", 210_000);
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+    private static final PasswordHasher DEFAULT = new PasswordHasher(DEFAULT_ITERATIONS);
+
+    private final int iterations;
+    private final SecureRandom random;
+
+    public PasswordHasher(int iterations) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("Iteration count must be positive");
+        }
+        this.iterations = iterations;
+        this.random = new SecureRandom();
+    }
+
+    public static PasswordHasher getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Hashes a password with a fresh salt
+     *
+     * @param password - plaintext password
+     * @return encoded hash
+     */
+    public String hash(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        byte[] hash = derive(password, salt, iterations);
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+        return SCHEME + "$" + iterations + "$" + encoder.encodeToString(salt) + "$" + encoder.encodeToString(hash);
+    }
+
+    /**
+     * Checks a password against a stored credential
+     *
+     * Stored values that are not hashes are legacy plaintext passwords and
+     * are compared directly; callers should re-hash them after a match.
+     *
+     * @param password - plaintext password to check
+     * @param stored - stored hash or legacy plaintext password
+     * @return true if the password matches
+     */
+    public boolean verify(String password, String stored) {
+        if (password == null || stored == null || UNSET.equals(stored)) {
+            return false;
+        }
+        if (!isHashed(stored)) {
+            return MessageDigest.isEqual(password.getBytes(StandardCharsets.UTF_8),
+                                         stored.getBytes(StandardCharsets.UTF_8));
+        }
+
+        String[] parts = stored.split("\\$");
+        if (parts.length != 4) {
+            return false;
+        }
+        try {
+            int storedIterations = Integer.parseInt(parts[1]);
+            byte[] salt = Base64.getDecoder().decode(parts[2]);
+            byte[] expected = Base64.getDecoder().decode(parts[3]);
+            return MessageDigest.isEqual(expected, derive(password, salt, storedIterations));
+        } catch (IllegalArgumentException e) {
+            return false; // Malformed hash
+        }
+    }
+
+    /**
+     * Checks whether a stored credential should be replaced by a fresh hash
+     *
+     * @param stored - stored hash or legacy plaintext password
+     * @return true if the value is plaintext or was hashed with a lower cost
+     */
+    public boolean needsRehash(String stored) {
+        if (stored == null || UNSET.equals(stored)) {
+            return false;
+        }
+        if (!isHashed(stored)) {
+            return true;
+        }
+        String[] parts = stored.split("\\$");
+        try {
+            return parts.length != 4 || Integer.parseInt(parts[1]) < iterations;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    public static boolean isHashed(String stored) {
+        return stored != null && stored.startsWith(SCHEME + "$");
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    private static byte[] derive(String password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
+            throw new IllegalStateException("Password hashing is unavailable: " + e.getMessage(), e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
@@ -0,0 +1,386 @@
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * PersistenceBackend selects where the services keep students, courses and
+ * faculty
+ * 
+ * The backend is read from the system property university.persistence:
+ * "file" (the default) serializes each collection to data/*.dat, "sqlite"
+ * stores them in the university.db tables, and "memory" keeps them only for
+ * the lifetime of the process. Users are always stored in SQLite.
+ * 
+ * With SQLite, the services answer their filters with indexed queries. Set
+ * university.sqlite.cache to false to read every entity from the database
+ * instead of keeping them all in memory.
+ * 
+ * The memory backend does no I/O when data changes. If university.snapshot
+ * is "file" or "sqlite", it starts from the latest snapshot in data/*.dat or
+ * university.db, and Main writes a new one every
+ * university.snapshot.interval seconds and on exit.
+ * 
+ * The file backend writes every change immediately. Setting
+ * university.checkpoint.interval to a number of seconds writes changes in
+ * background checkpoints at that interval instead, or once
+ * university.checkpoint.threshold entities are dirty; up to one interval
+ * of changes can then be lost in a crash.
+ * 
+ * Each collection is one file by default. Setting university.file.segments
+ * above 1 splits it into that many segment files under data/students/,
+ * data/courses/ and data/faculty/, so a change rewrites only one segment;
+ * the single files are then migrated on start and renamed to .migrated.
+ */
+public enum PersistenceBackend {
+    FILE("file"),
+    SQLITE("sqlite"),
+    MEMORY("memory");
+    
+    public static final String PROPERTY = "university.persistence";
+    public static final String SQLITE_CACHE_PROPERTY = "university.sqlite.cache";
+    public static final String SNAPSHOT_PROPERTY = "university.snapshot";
+    public static final String SNAPSHOT_INTERVAL_PROPERTY = "university.snapshot.interval";
+    public static final String CHECKPOINT_INTERVAL_PROPERTY = "university.checkpoint.interval";
+    public static final String CHECKPOINT_THRESHOLD_PROPERTY = "university.checkpoint.threshold";
+    public static final String FILE_SEGMENTS_PROPERTY = "university.file.segments";
+    public static final String STUDENTS_FILE = "data/students.dat";
+    public static final String COURSES_FILE = "data/courses.dat";
+    public static final String FACULTY_FILE = "data/faculty.dat";
+    
+    // One connection is shared by every SQLite repository
+    private static DatabaseHandler database;
+    
+    private final String propertyValue;
+    
+    PersistenceBackend(String propertyValue) {
+        this.propertyValue = propertyValue;
+    }
+    
+    public String getPropertyValue() {
+        return propertyValue;
+    }
+    
+    /**
+     * Gets the backend chosen by the university.persistence property
+     * 
+     * @return configured backend, FILE if the property is missing or unknown
+     */
+    public static PersistenceBackend configured() {
+        String value = System.getProperty(PROPERTY, FILE.propertyValue).trim();
+        for (PersistenceBackend backend : values()) {
+            if (backend.propertyValue.equalsIgnoreCase(value)) {
+                return backend;
+            }
+        }
+        System.err.println("Warning: Unknown persistence backend '" + value + "'. Using " + FILE.propertyValue + ".");
+        return FILE;
+    }
+    
+    /**
+     * Gets where the memory backend takes its snapshots, from the
+     * university.snapshot property
+     * 
+     * @return FILE or SQLITE, or null if snapshots are off or the value is unknown
+     */
+    public static PersistenceBackend snapshotBackend() {
+        String value = System.getProperty(SNAPSHOT_PROPERTY, "none").trim();
+        if (value.equalsIgnoreCase("none")) {
+            return null;
+        }
+        if (value.equalsIgnoreCase(FILE.propertyValue)) {
+            return FILE;
+        }
+        if (value.equalsIgnoreCase(SQLITE.propertyValue)) {
+            return SQLITE;
+        }
+        System.err.println("Warning: Unknown snapshot target '" + value + "'. Snapshots are off.");
+        return null;
+    }
+    
+    /**
+     * Gets the time between snapshots, from the university.snapshot.interval property
+     * 
+     * @return interval in milliseconds
+     */
+    public static long snapshotIntervalMillis() {
+        return longProperty(SNAPSHOT_INTERVAL_PROPERTY, SnapshotScheduler.DEFAULT_INTERVAL_SECONDS, 1) * 1000;
+    }
+    
+    /**
+     * Gets the time between checkpoints, from the university.checkpoint.interval property
+     * 
+     * @return interval in milliseconds, 0 (the default) if every change is written immediately
+     */
+    public static long checkpointIntervalMillis() {
+        return longProperty(CHECKPOINT_INTERVAL_PROPERTY, 0, 0) * 1000;
+    }
+    
+    /**
+     * Gets the number of dirty entities that triggers an early checkpoint,
+     * from the university.checkpoint.threshold property
+     * 
+     * @return dirty entity threshold
+     */
+    public static int checkpointThreshold() {
+        return (int) longProperty(CHECKPOINT_THRESHOLD_PROPERTY, CheckpointScheduler.DEFAULT_DIRTY_THRESHOLD, 1);
+    }
+    
+    /**
+     * Gets the number of segment files per collection, from the
+     * university.file.segments property
+     * 
+     * @return segment count, 1 (the default) for the single-file layout
+     */
+    public static int fileSegments() {
+        return (int) longProperty(FILE_SEGMENTS_PROPERTY, 1, 1);
+    }
+    
+    private static <T> Repository<T> fileRepository(String filename, String label, Function<T, String> idOf) {
+        int segments = fileSegments();
+        // data/students.dat becomes data/students/segment-NNN.dat
+        String directory = filename.substring(0, filename.lastIndexOf('.'));
+        if (segments == 1) {
+            ShardedFileRepository.collapse(directory, filename, label);
+            return new FileRepository<>(filename, label, idOf);
+        }
+        return new ShardedFileRepository<>(directory, segments, filename, label, idOf);
+    }
+    
+    private static long longProperty(String property, long defaultValue, long minimum) {
+        String value = System.getProperty(property, String.valueOf(defaultValue)).trim();
+        try {
+            long parsed = Long.parseLong(value);
+            if (parsed >= minimum && parsed <= Integer.MAX_VALUE) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        System.err.println("Warning: Invalid value '" + value + "' for " + property + ". Using " + defaultValue + ".");
+        return defaultValue;
+    }
+    
+    /**
+     * Creates the student repository for this backend
+     * 
+     * @return repository holding the stored students
+     */
+    public Repository<Student> students() {
+        switch (this) {
+            case SQLITE:
+                return SqliteRepository.students(sharedDatabase(), sqliteCacheEnabled());
+            case MEMORY:
+                return memoryRepository(Student::getStudentId, PersistenceBackend::studentsSnapshots);
+            default:
+                return fileRepository(STUDENTS_FILE, "students", Student::getStudentId);
+        }
+    }
+    
+    /**
+     * Creates the course repository for this backend
+     * 
+     * @return repository holding the stored courses
+     */
+    public Repository<Course> courses() {
+        switch (this) {
+            case SQLITE:
+                return SqliteRepository.courses(sharedDatabase(), sqliteCacheEnabled());
+            case MEMORY:
+                return memoryRepository(Course::getCourseId, PersistenceBackend::coursesSnapshots);
+            default:
+                return fileRepository(COURSES_FILE, "courses", Course::getCourseId);
+        }
+    }
+    
+    /**
+     * Creates the faculty repository for this backend
+     * 
+     * @return repository holding the stored faculty
+     */
+    public Repository<Faculty> faculty() {
+        switch (this) {
+            case SQLITE:
+                return SqliteRepository.faculty(sharedDatabase(), sqliteCacheEnabled());
+            case MEMORY:
+                return memoryRepository(Faculty::getFacultyId, PersistenceBackend::facultySnapshots);
+            default:
+                return fileRepository(FACULTY_FILE, "faculty", Faculty::getFacultyId);
+        }
+    }
+    
+    /**
+     * Creates the snapshot target for students
+     * 
+     * @return target writing the student files for FILE, the students table for SQLITE
+     */
+    public SnapshotTarget<Student> studentsSnapshots() {
+        if (this == SQLITE) {
+            return SqliteSnapshotTarget.students(sharedDatabase());
+        }
+        return new FileSnapshotTarget<>(() -> fileRepository(STUDENTS_FILE, "students", Student::getStudentId),
+                                        "students", Student::getStudentId);
+    }
+    
+    /**
+     * Creates the snapshot target for courses
+     * 
+     * @return target writing the course files for FILE, the courses table for SQLITE
+     */
+    public SnapshotTarget<Course> coursesSnapshots() {
+        if (this == SQLITE) {
+            return SqliteSnapshotTarget.courses(sharedDatabase());
+        }
+        return new FileSnapshotTarget<>(() -> fileRepository(COURSES_FILE, "courses", Course::getCourseId),
+                                        "courses", Course::getCourseId);
+    }
+    
+    /**
+     * Creates the snapshot target for faculty
+     * 
+     * @return target writing the faculty files for FILE, the faculty table for SQLITE
+     */
+    public SnapshotTarget<Faculty> facultySnapshots() {
+        if (this == SQLITE) {
+            return SqliteSnapshotTarget.faculty(sharedDatabase());
+        }
+        return new FileSnapshotTarget<>(() -> fileRepository(FACULTY_FILE, "faculty", Faculty::getFacultyId),
+                                        "faculty", Faculty::getFacultyId);
+    }
+    
+    private static <T> Repository<T> memoryRepository(Function<T, String> idOf,
+                                                      Function<PersistenceBackend, SnapshotTarget<T>> snapshots) {
+        // Snapshots are read from another thread while the services change entities
+        Map<String, T> entities = new ConcurrentHashMap<>();
+        PersistenceBackend target = snapshotBackend();
+        if (target != null) {
+            entities.putAll(snapshots.apply(target).load());
+        }
+        return new InMemoryRepository<>(idOf, entities);
+    }
+    
+    /**
+     * Starts periodic snapshots of the memory backend's services
+     * 
+     * @param studentService - service holding students
+     * @param courseService - service holding courses
+     * @param facultyService - service holding faculty
+     * @return the running scheduler, or null unless this is MEMORY with a snapshot target
+     */
+    public SnapshotScheduler startSnapshots(StudentService studentService, CourseService courseService,
+                                            FacultyService facultyService) {
+        PersistenceBackend target = snapshotBackend();
+        if (this != MEMORY || target == null) {
+            return null;
+        }
+        SnapshotScheduler scheduler = new SnapshotScheduler(snapshotIntervalMillis());
+        registerSnapshots(scheduler, "students", studentService, studentService.getRepository(),
+                          target.studentsSnapshots());
+        registerSnapshots(scheduler, "courses", courseService, courseService.getRepository(),
+                          target.coursesSnapshots());
+        registerSnapshots(scheduler, "faculty", facultyService, facultyService.getRepository(),
+                          target.facultySnapshots());
+        scheduler.start();
+        return scheduler;
+    }
+    
+    private static <T> void registerSnapshots(SnapshotScheduler scheduler, String label, Versioned source,
+                                              Repository<T> repository, SnapshotTarget<T> target) {
+        if (repository instanceof InMemoryRepository) {
+            scheduler.register(label, source, (InMemoryRepository<T>) repository, target);
+        }
+    }
+    
+    /**
+     * Starts background checkpoints of the file backend's services
+     * 
+     * @param studentService - service holding students
+     * @param courseService - service holding courses
+     * @param facultyService - service holding faculty
+     * @return the running scheduler, or null unless this is FILE with a checkpoint interval
+     */
+    public CheckpointScheduler startCheckpoints(StudentService studentService, CourseService courseService,
+                                                FacultyService facultyService) {
+        long interval = checkpointIntervalMillis();
+        if (this != FILE || interval == 0) {
+            return null;
+        }
+        CheckpointScheduler scheduler = new CheckpointScheduler(interval, checkpointThreshold());
+        for (Repository<?> repository : List.of(studentService.getRepository(), courseService.getRepository(),
+                                                facultyService.getRepository())) {
+            if (repository instanceof Checkpointable) {
+                scheduler.register((Checkpointable) repository);
+            }
+        }
+        return scheduler;
+    }
+    
+    /**
+     * Creates the student service for this backend
+     * 
+     * @param enrollments - enrollment store shared with CourseService
+     * @param events - event bus shared with the other services
+     * @return the service
+     */
+    public StudentService studentService(EnrollmentStore enrollments, EventBus events) {
+        if (this == SQLITE) {
+            return new SqliteStudentService(sharedDatabase(), sqliteCacheEnabled(), enrollments, events);
+        }
+        return new StudentService(students(), enrollments, events);
+    }
+    
+    /**
+     * Creates the course service for this backend
+     * 
+     * @param enrollments - enrollment store shared with StudentService
+     * @param events - event bus shared with the other services
+     * @return the service
+     */
+    public CourseService courseService(EnrollmentStore enrollments, EventBus events) {
+        CourseService service = this == SQLITE
+            ? new SqliteCourseService(sharedDatabase(), sqliteCacheEnabled(), enrollments, events)
+            : new CourseService(courses(), enrollments, events);
+        // Grading scales live in the database whichever backend holds the courses
+        service.loadGradingScales(sharedDatabase());
+        return service;
+    }
+    
+    /**
+     * Creates the faculty service for this backend
+     * 
+     * @param events - event bus shared with the other services
+     * @return the service
+     */
+    public FacultyService facultyService(EventBus events) {
+        if (this == SQLITE) {
+            return new SqliteFacultyService(sharedDatabase(), sqliteCacheEnabled(), events);
+        }
+        return new FacultyService(faculty(), events);
+    }
+    
+    /**
+     * Checks whether SQLite repositories keep their entities in memory
+     * 
+     * @return false only if university.sqlite.cache is "false"
+     */
+    public static boolean sqliteCacheEnabled() {
+        return !"false".equalsIgnoreCase(System.getProperty(SQLITE_CACHE_PROPERTY, "true").trim());
+    }
+    
+    /**
+     * Closes the database connection shared by the SQLite repositories
+     */
+    public static synchronized void closeDatabase() {
+        if (database != null) {
+            database.closeConnection();
+            database = null;
+        }
+    }
+    
+    static synchronized DatabaseHandler sharedDatabase() {
+        if (database == null) {
+            database = new DatabaseHandler();
+        }
+        return database;
+    }
+}
@@ -0,0 +1,85 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ProvisioningResult summarizes a bulk account provisioning run
+ */
+public class ProvisioningResult {
+    private int totalRows;
+    private int createdAccounts;
+    private final List<String> errors;
+    private final Map<String, String> generatedPasswords;
+    private long elapsedMillis;
+
+    public ProvisioningResult() {
+        this.errors = new ArrayList<>();
+        this.generatedPasswords = new LinkedHashMap<>();
+    }
+
+    void setTotalRows(int totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    void addCreated(int count) {
+        this.createdAccounts += count;
+    }
+
+    void addError(int lineNumber, String message) {
+        errors.add("Line " + lineNumber + ": " + message);
+    }
+
+    void addGeneratedPassword(String username, String password) {
+        generatedPasswords.put(username, password);
+    }
+
+    void removeGeneratedPassword(String username) {
+        generatedPasswords.remove(username);
+    }
+
+    void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public int getTotalRows() {
+        return totalRows;
+    }
+
+    public int getCreatedAccounts() {
+        return createdAccounts;
+    }
+
+    public int getFailedRows() {
+        return errors.size();
+    }
+
+    /**
+     * Gets the per-row errors in input order
+     *
+     * @return list of "Line n: message" entries
+     */
+    public List<String> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    /**
+     * Gets the initial passwords generated for rows that did not supply one
+     *
+     * @return Map of usernames to generated passwords
+     */
+    public Map<String, String> getGeneratedPasswords() {
+        return Collections.unmodifiableMap(generatedPasswords);
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ProvisioningResult{rows=%d, created=%d, failed=%d, elapsed=%dms}",
+                           totalRows, createdAccounts, errors.size(), elapsedMillis);
+    }
+}
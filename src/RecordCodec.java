@@ -0,0 +1,38 @@
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RecordCodec converts one kind of entity to and from named text fields
+ *
+ * Codecs are format independent; RecordFormat turns the fields into CSV or
+ * JSON Lines text. Implementations must be thread-safe, since records are
+ * decoded on several threads at once.
+ *
+ * @param <T> - type of entity handled by the codec
+ */
+public interface RecordCodec<T> {
+
+    /**
+     * Gets the field names in output order
+     *
+     * @return list of field names
+     */
+    List<String> getColumns();
+
+    /**
+     * Converts an entity to field values
+     *
+     * @param record - entity to convert
+     * @return Map of field names to values (null for missing values)
+     */
+    Map<String, String> toFields(T record);
+
+    /**
+     * Builds an entity from field values
+     *
+     * @param fields - Map of field names to values
+     * @return the entity
+     * @throws IllegalArgumentException if a field is missing or invalid
+     */
+    T fromFields(Map<String, String> fields);
+}
@@ -0,0 +1,251 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * RecordCodecs holds the codecs for students, courses, faculty and grades
+ *
+ * Lists of IDs, such as a student's current enrollments, are written in one
+ * field separated by semicolons. Grades are written separately, so an export
+ * of students followed by an export of grades holds everything needed to
+ * restore them.
+ */
+public final class RecordCodecs {
+
+    public static final RecordCodec<Student> STUDENTS = new RecordCodec<>() {
+        private final List<String> columns =
+            List.of("student_id", "full_name", "email", "major", "enrollment_year", "status", "enrolled_courses");
+
+        @Override
+        public List<String> getColumns() {
+            return columns;
+        }
+
+        @Override
+        public Map<String, String> toFields(Student student) {
+            Map<String, String> fields = new LinkedHashMap<>();
+            fields.put("student_id", student.getStudentId());
+            fields.put("full_name", student.getFullName());
+            fields.put("email", student.getEmail());
+            fields.put("major", student.getMajor());
+            fields.put("enrollment_year", String.valueOf(student.getEnrollmentYear()));
+            fields.put("status", student.getStatus().name());
+            fields.put("enrolled_courses", joinList(student.getEnrolledCourses()));
+            return fields;
+        }
+
+        @Override
+        public Student fromFields(Map<String, String> fields) {
+            Student student = new Student(required(fields, "student_id"), required(fields, "full_name"),
+                                          required(fields, "email"), optional(fields, "major"),
+                                          parseInt(fields, "enrollment_year"));
+            String status = optional(fields, "status");
+            if (status != null) {
+                student.setStatus(StudentStatus.valueOf(status));
+            }
+            for (String courseId : splitList(fields, "enrolled_courses")) {
+                student.restoreEnrollment(courseId);
+            }
+            return student;
+        }
+    };
+
+    public static final RecordCodec<Course> COURSES = new RecordCodec<>() {
+        private final List<String> columns = List.of("course_id", "course_name", "description",
+            "credit_hours", "instructor_id", "max_capacity", "status", "semester", "year", "schedule",
+            "classroom", "prerequisites", "enrolled_students");
+
+        @Override
+        public List<String> getColumns() {
+            return columns;
+        }
+
+        @Override
+        public Map<String, String> toFields(Course course) {
+            Map<String, String> fields = new LinkedHashMap<>();
+            fields.put("course_id", course.getCourseId());
+            fields.put("course_name", course.getCourseName());
+            fields.put("description", course.getDescription());
+            fields.put("credit_hours", String.valueOf(course.getCreditHours()));
+            fields.put("instructor_id", course.getInstructorId());
+            fields.put("max_capacity", String.valueOf(course.getMaxCapacity()));
+            fields.put("status", course.getStatus().name());
+            fields.put("semester", course.getSemester());
+            fields.put("year", String.valueOf(course.getYear()));
+            fields.put("schedule", course.getSchedule());
+            fields.put("classroom", course.getClassroom());
+            fields.put("prerequisites", joinList(course.getPrerequisites()));
+            fields.put("enrolled_students", joinList(course.getEnrolledStudents()));
+            return fields;
+        }
+
+        @Override
+        public Course fromFields(Map<String, String> fields) {
+            Course course = new Course(required(fields, "course_id"), required(fields, "course_name"),
+                                       optional(fields, "description"), parseInt(fields, "credit_hours"),
+                                       optional(fields, "instructor_id"));
+            if (optional(fields, "max_capacity") != null) {
+                course.setMaxCapacity(parseInt(fields, "max_capacity"));
+            }
+            if (optional(fields, "status") != null) {
+                course.setStatus(CourseStatus.valueOf(optional(fields, "status")));
+            }
+            course.setSemester(optional(fields, "semester"));
+            if (optional(fields, "year") != null) {
+                course.setYear(parseInt(fields, "year"));
+            }
+            course.setSchedule(optional(fields, "schedule"));
+            course.setClassroom(optional(fields, "classroom"));
+            for (String prerequisite : splitList(fields, "prerequisites")) {
+                course.addPrerequisite(prerequisite);
+            }
+            for (String studentId : splitList(fields, "enrolled_students")) {
+                course.restoreEnrollment(studentId);
+            }
+            return course;
+        }
+    };
+
+    public static final RecordCodec<Faculty> FACULTY = new RecordCodec<>() {
+        private final List<String> columns = List.of("faculty_id", "full_name", "email", "department",
+            "position", "office_location", "phone_number", "courses_taught");
+
+        @Override
+        public List<String> getColumns() {
+            return columns;
+        }
+
+        @Override
+        public Map<String, String> toFields(Faculty faculty) {
+            Map<String, String> fields = new LinkedHashMap<>();
+            fields.put("faculty_id", faculty.getFacultyId());
+            fields.put("full_name", faculty.getFullName());
+            fields.put("email", faculty.getEmail());
+            fields.put("department", faculty.getDepartment());
+            fields.put("position", faculty.getPosition());
+            fields.put("office_location", faculty.getOfficeLocation());
+            fields.put("phone_number", faculty.getPhoneNumber());
+            fields.put("courses_taught", joinList(faculty.getCoursesTaught()));
+            return fields;
+        }
+
+        @Override
+        public Faculty fromFields(Map<String, String> fields) {
+            Faculty faculty = new Faculty(required(fields, "faculty_id"), required(fields, "full_name"),
+                                          required(fields, "email"), required(fields, "department"),
+                                          required(fields, "position"));
+            faculty.setOfficeLocation(optional(fields, "office_location"));
+            faculty.setPhoneNumber(optional(fields, "phone_number"));
+            for (String courseId : splitList(fields, "courses_taught")) {
+                faculty.assignCourse(courseId);
+            }
+            return faculty;
+        }
+    };
+
+    private static final List<String> GRADE_COLUMNS = List.of("student_id", "course_id", "percentage", "letter_grade");
+
+    private RecordCodecs() {
+    }
+
+    /**
+     * Creates the grade codec
+     *
+     * Imported grades are evaluated under the scale of their course, the
+     * same one used when grades are entered. Each course's scale is looked
+     * up once per codec.
+     *
+     * @param scaleOf - gets the grading scale of a course; called from several threads
+     * @return the codec
+     */
+    public static RecordCodec<GradeRecord> grades(Function<String, GradingScale> scaleOf) {
+        Map<String, GradingScale> scales = new ConcurrentHashMap<>();
+        return new RecordCodec<>() {
+            @Override
+            public List<String> getColumns() {
+                return GRADE_COLUMNS;
+            }
+
+            @Override
+            public Map<String, String> toFields(GradeRecord record) {
+                Map<String, String> fields = new LinkedHashMap<>();
+                fields.put("student_id", record.getStudentId());
+                fields.put("course_id", record.getCourseId());
+                fields.put("percentage", String.valueOf(record.getGrade().getPercentage()));
+                fields.put("letter_grade", record.getGrade().getLetterGrade());
+                return fields;
+            }
+
+            @Override
+            public GradeRecord fromFields(Map<String, String> fields) {
+                String courseId = required(fields, "course_id");
+                GradingScale scale = scales.computeIfAbsent(courseId, scaleOf);
+                String percentage = optional(fields, "percentage");
+                Grade grade;
+                try {
+                    grade = percentage != null
+                        ? new Grade(Double.parseDouble(percentage), scale)
+                        : scale.gradeFor(LetterGrade.fromSymbol(required(fields, "letter_grade")));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid number in field: percentage");
+                }
+                return new GradeRecord(required(fields, "student_id"), courseId, grade);
+            }
+        };
+    }
+
+    /**
+     * Lists the grades of students as grade records
+     * 
+     * @param students - students whose grades are listed
+     * @return lazily built records, one per recorded grade
+     */
+    public static Iterable<GradeRecord> gradeRecords(Collection<Student> students) {
+        return () -> students.stream()
+            .flatMap(student -> student.getGrades().entrySet().stream()
+                .map(entry -> new GradeRecord(student.getStudentId(), entry.getKey(), entry.getValue())))
+            .iterator();
+    }
+
+    private static String joinList(Collection<String> values) {
+        return String.join(";", values);
+    }
+
+    private static List<String> splitList(Map<String, String> fields, String name) {
+        List<String> values = new ArrayList<>();
+        String list = optional(fields, name);
+        if (list != null) {
+            for (String value : list.split(";")) {
+                if (!value.trim().isEmpty()) {
+                    values.add(value.trim());
+                }
+            }
+        }
+        return values;
+    }
+
+    private static String required(Map<String, String> fields, String name) {
+        String value = optional(fields, name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing field: " + name);
+        }
+        return value;
+    }
+
+    private static String optional(Map<String, String> fields, String name) {
+        String value = fields.get(name);
+        return value == null || value.trim().isEmpty() ? null : value.trim();
+    }
+
+    private static int parseInt(Map<String, String> fields, String name) {
+        try {
+            return Integer.parseInt(required(fields, name));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number in field: " + name);
+        }
+    }
+}
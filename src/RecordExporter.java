@@ -0,0 +1,79 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * RecordExporter streams records to a CSV or JSON Lines file
+ *
+ * Records are formatted into a small text buffer that is encoded and written
+ * to the file channel whenever it fills, so only one buffer's worth of output
+ * is held in memory regardless of how many records are written.
+ */
+public class RecordExporter {
+    private static final int FLUSH_THRESHOLD = 64 * 1024;
+
+    /**
+     * Exports records, picking the format from the file's extension
+     *
+     * @param file - file to write; it is replaced if it exists
+     * @param codec - codec that turns records into fields
+     * @param records - records to write, iterated once
+     * @return summary of the run
+     * @throws IOException if the file cannot be written
+     */
+    public <T> TransferResult exportFile(Path file, RecordCodec<T> codec, Iterable<? extends T> records)
+            throws IOException {
+        return exportFile(file, RecordFormat.fromFileName(file.getFileName().toString()), codec, records);
+    }
+
+    /**
+     * Exports records
+     *
+     * @param file - file to write; it is replaced if it exists
+     * @param format - format to write
+     * @param codec - codec that turns records into fields
+     * @param records - records to write, iterated once
+     * @return summary of the run
+     * @throws IOException if the file cannot be written
+     */
+    public <T> TransferResult exportFile(Path file, RecordFormat format, RecordCodec<T> codec,
+                                         Iterable<? extends T> records) throws IOException {
+        long start = System.currentTimeMillis();
+        TransferResult result = new TransferResult();
+        List<String> columns = codec.getColumns();
+        StringBuilder text = new StringBuilder(FLUSH_THRESHOLD + 1024);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            String header = format.formatHeader(columns);
+            if (header != null) {
+                text.append(header).append('\n');
+            }
+            for (T record : records) {
+                format.formatRecord(text, columns, codec.toFields(record));
+                text.append('\n');
+                result.addProcessed(1);
+                result.addAccepted(1);
+                if (text.length() >= FLUSH_THRESHOLD) {
+                    flush(channel, text);
+                }
+            }
+            flush(channel, text);
+        }
+
+        result.setElapsedMillis(System.currentTimeMillis() - start);
+        return result;
+    }
+
+    private static void flush(FileChannel channel, StringBuilder text) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.UTF_8));
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        text.setLength(0);
+    }
+}
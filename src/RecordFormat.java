@@ -0,0 +1,278 @@
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * RecordFormat is a line-oriented text format for import and export
+ *
+ * CSV files start with a header row naming the columns. JSON Lines files
+ * hold one flat JSON object per line whose members are the columns.
+ */
+public enum RecordFormat {
+    CSV(".csv") {
+        @Override
+        public String formatHeader(List<String> columns) {
+            return CsvFormat.formatLine(columns);
+        }
+
+        @Override
+        public Map<String, String> parseRecord(String line, List<String> columns) {
+            List<String> values = CsvFormat.parseLine(line);
+            Map<String, String> fields = new LinkedHashMap<>();
+            for (int i = 0; i < columns.size() && i < values.size(); i++) {
+                fields.put(columns.get(i), values.get(i));
+            }
+            return fields;
+        }
+
+        @Override
+        public void formatRecord(StringBuilder out, List<String> columns, Map<String, String> fields) {
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                CsvFormat.appendField(out, fields.get(columns.get(i)));
+            }
+        }
+    },
+
+    JSON_LINES(".jsonl") {
+        @Override
+        public String formatHeader(List<String> columns) {
+            return null;
+        }
+
+        @Override
+        public Map<String, String> parseRecord(String line, List<String> columns) {
+            return new JsonObjectParser(line).parse();
+        }
+
+        @Override
+        public void formatRecord(StringBuilder out, List<String> columns, Map<String, String> fields) {
+            out.append('{');
+            boolean first = true;
+            for (String column : columns) {
+                String value = fields.get(column);
+                if (value == null) {
+                    continue;
+                }
+                if (!first) {
+                    out.append(',');
+                }
+                appendJsonString(out, column);
+                out.append(':');
+                appendJsonString(out, value);
+                first = false;
+            }
+            out.append('}');
+        }
+    };
+
+    private final String extension;
+
+    RecordFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Formats the header row
+     *
+     * @param columns - column names
+     * @return header line without a terminator, or null if the format has no header
+     */
+    public abstract String formatHeader(List<String> columns);
+
+    /**
+     * Parses one line into named fields
+     *
+     * @param line - line without the terminator
+     * @param columns - column names from the header, unused by formats without one
+     * @return Map of field names to values
+     * @throws IllegalArgumentException if the line is malformed
+     */
+    public abstract Map<String, String> parseRecord(String line, List<String> columns);
+
+    /**
+     * Appends one record as a line without a terminator
+     *
+     * @param out - output being built
+     * @param columns - column names in output order
+     * @param fields - field values; null values are left empty or omitted
+     */
+    public abstract void formatRecord(StringBuilder out, List<String> columns, Map<String, String> fields);
+
+    public boolean hasHeader() {
+        return this == CSV;
+    }
+
+    /**
+     * Picks the format matching a file name's extension
+     *
+     * @param fileName - name of the file
+     * @return JSON_LINES for .jsonl or .json files, CSV otherwise
+     */
+    public static RecordFormat fromFileName(String fileName) {
+        String name = fileName.toLowerCase(Locale.ROOT);
+        return name.endsWith(".jsonl") || name.endsWith(".json") ? JSON_LINES : CSV;
+    }
+
+    private static void appendJsonString(StringBuilder out, String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': out.append("\\\""); break;
+                case '\\': out.append("\\\\"); break;
+                case '\n': out.append("\\n"); break;
+                case '\r': out.append("\\r"); break;
+                case '\t': out.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+        out.append('"');
+    }
+
+    /**
+     * Parses a flat JSON object whose values are strings, numbers, booleans or null
+     */
+    private static final class JsonObjectParser {
+        private final String text;
+        private int pos;
+
+        JsonObjectParser(String text) {
+            this.text = text;
+        }
+
+        Map<String, String> parse() {
+            Map<String, String> fields = new LinkedHashMap<>();
+            expect('{');
+            skipWhitespace();
+            if (peek() == '}') {
+                pos++;
+            } else {
+                while (true) {
+                    skipWhitespace();
+                    String name = readString();
+                    expect(':');
+                    skipWhitespace();
+                    fields.put(name, readValue());
+                    skipWhitespace();
+                    char c = next();
+                    if (c == '}') {
+                        break;
+                    }
+                    if (c != ',') {
+                        throw error("Expected ',' or '}'");
+                    }
+                }
+            }
+            skipWhitespace();
+            if (pos < text.length()) {
+                throw error("Unexpected text after object");
+            }
+            return fields;
+        }
+
+        private String readValue() {
+            char c = peek();
+            if (c == '"') {
+                return readString();
+            }
+            int start = pos;
+            while (pos < text.length() && ",}] \t".indexOf(text.charAt(pos)) < 0) {
+                pos++;
+            }
+            String literal = text.substring(start, pos);
+            if (literal.equals("null")) {
+                return null;
+            }
+            if (literal.equals("true") || literal.equals("false")) {
+                return literal;
+            }
+            if (literal.isEmpty() || c == '{' || c == '[') {
+                throw error("Expected a string, number, boolean or null");
+            }
+            try {
+                Double.parseDouble(literal);
+            } catch (NumberFormatException e) {
+                throw error("Invalid value '" + literal + "'");
+            }
+            return literal;
+        }
+
+        private String readString() {
+            expect('"');
+            StringBuilder value = new StringBuilder();
+            while (true) {
+                char c = next();
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+                char escaped = next();
+                switch (escaped) {
+                    case 'n': value.append('\n'); break;
+                    case 'r': value.append('\r'); break;
+                    case 't': value.append('\t'); break;
+                    case 'b': value.append('\b'); break;
+                    case 'f': value.append('\f'); break;
+                    case 'u':
+                        if (pos + 4 > text.length()) {
+                            throw error("Truncated unicode escape");
+                        }
+                        try {
+                            value.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw error("Invalid unicode escape");
+                        }
+                        pos += 4;
+                        break;
+                    default: value.append(escaped);
+                }
+            }
+        }
+
+        private void expect(char expected) {
+            skipWhitespace();
+            if (next() != expected) {
+                throw error("Expected '" + expected + "'");
+            }
+        }
+
+        private char peek() {
+            if (pos >= text.length()) {
+                throw error("Unexpected end of line");
+            }
+            return text.charAt(pos);
+        }
+
+        private char next() {
+            char c = peek();
+            pos++;
+            return c;
+        }
+
+        private void skipWhitespace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at column " + (pos + 1));
+        }
+    }
+}
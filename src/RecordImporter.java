@@ -0,0 +1,232 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * RecordImporter streams records from a CSV or JSON Lines file into a sink
+ *
+ * The file is read through a channel in fixed-size chunks cut at line
+ * boundaries. Chunks are decoded and parsed on worker threads while the
+ * next ones are read, and the parsed batches are handed to the sink in file
+ * order. Only a bounded number of chunks is in flight at once, so memory use
+ * does not grow with the size of the file. Records must fit on one line;
+ * CSV fields with embedded line breaks are not supported.
+ */
+public class RecordImporter {
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+    private static final AtomicInteger POOL_COUNTER = new AtomicInteger();
+
+    private final int parallelism;
+    private final int chunkSize;
+
+    public RecordImporter() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_CHUNK_SIZE);
+    }
+
+    public RecordImporter(int parallelism, int chunkSize) {
+        this.parallelism = Math.max(1, parallelism);
+        this.chunkSize = Math.max(1024, chunkSize);
+    }
+
+    /**
+     * Imports a file, picking the format from its extension
+     *
+     * @param file - file to read
+     * @param codec - codec that builds records from fields
+     * @param sink - destination of the records
+     * @return summary of the run
+     * @throws IOException if the file cannot be read
+     */
+    public <T> TransferResult importFile(Path file, RecordCodec<T> codec, RecordSink<T> sink)
+            throws IOException {
+        return importFile(file, RecordFormat.fromFileName(file.getFileName().toString()), codec, sink);
+    }
+
+    /**
+     * Imports a file
+     *
+     * @param file - file to read
+     * @param format - format of the file
+     * @param codec - codec that builds records from fields
+     * @param sink - destination of the records
+     * @return summary of the run; rows that cannot be parsed are reported as errors
+     * @throws IOException if the file cannot be read
+     */
+    public <T> TransferResult importFile(Path file, RecordFormat format, RecordCodec<T> codec,
+                                         RecordSink<T> sink) throws IOException {
+        long start = System.currentTimeMillis();
+        TransferResult result = new TransferResult();
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "record-import-" + POOL_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Deque<Future<ParsedChunk<T>>> inFlight = new ArrayDeque<>();
+        long[] nextLine = {1};
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(chunkSize);
+            List<String> columns = null;
+            boolean eof = false;
+            while (!eof) {
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer) < 0) {
+                        eof = true;
+                        break;
+                    }
+                }
+                buffer.flip();
+                int end = eof ? buffer.limit() : afterLastNewline(buffer);
+                if (end < 0) {
+                    // A single line is longer than the buffer
+                    buffer = ByteBuffer.allocate(buffer.capacity() * 2).put(buffer);
+                    continue;
+                }
+                byte[] bytes = new byte[end];
+                buffer.get(bytes);
+                buffer.compact();
+
+                int offset = 0;
+                if (columns == null) {
+                    offset = startsWithByteOrderMark(bytes) ? 3 : 0;
+                    columns = codec.getColumns();
+                    if (format.hasHeader()) {
+                        int lineEnd = indexOf(bytes, offset, (byte) '\n');
+                        String first = new String(bytes, offset, (lineEnd < 0 ? bytes.length : lineEnd) - offset,
+                                                  StandardCharsets.UTF_8).trim();
+                        if (first.toLowerCase(Locale.ROOT).startsWith(columns.get(0))) {
+                            columns = parseHeader(first);
+                            offset = lineEnd < 0 ? bytes.length : lineEnd + 1;
+                            nextLine[0] = 2;
+                        }
+                    }
+                }
+                if (offset < bytes.length) {
+                    byte[] chunk = offset == 0 ? bytes : Arrays.copyOfRange(bytes, offset, bytes.length);
+                    List<String> chunkColumns = columns;
+                    inFlight.add(workers.submit(() -> parse(chunk, format, chunkColumns, codec)));
+                }
+                while (inFlight.size() >= parallelism * 2 || (eof && !inFlight.isEmpty())) {
+                    deliver(inFlight.poll(), sink, result, nextLine);
+                }
+            }
+            sink.finish();
+        } finally {
+            for (Future<ParsedChunk<T>> pending : inFlight) {
+                pending.cancel(true);
+            }
+            workers.shutdownNow();
+        }
+
+        result.setElapsedMillis(System.currentTimeMillis() - start);
+        return result;
+    }
+
+    private static List<String> parseHeader(String header) {
+        List<String> columns = new ArrayList<>();
+        for (String name : CsvFormat.parseLine(header)) {
+            columns.add(name.trim().toLowerCase(Locale.ROOT));
+        }
+        return columns;
+    }
+
+    private static <T> void deliver(Future<ParsedChunk<T>> future, RecordSink<T> sink,
+                                    TransferResult result, long[] nextLine) throws IOException {
+        ParsedChunk<T> chunk;
+        try {
+            chunk = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Import was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Could not parse input: " + e.getCause().getMessage(), e.getCause());
+        }
+
+        for (int i = 0; i < chunk.errorLines.size(); i++) {
+            result.addError(nextLine[0] + chunk.errorLines.get(i), chunk.errorMessages.get(i));
+        }
+        result.addProcessed(chunk.records.size() + chunk.errorLines.size());
+        if (!chunk.records.isEmpty()) {
+            result.addAccepted(sink.accept(chunk.records));
+        }
+        nextLine[0] += chunk.lineCount;
+    }
+
+    private static <T> ParsedChunk<T> parse(byte[] bytes, RecordFormat format, List<String> columns,
+                                            RecordCodec<T> codec) {
+        ParsedChunk<T> chunk = new ParsedChunk<>();
+        String text = new String(bytes, StandardCharsets.UTF_8);
+        int lineStart = 0;
+        int lineIndex = 0;
+        while (lineStart < text.length()) {
+            int lineEnd = text.indexOf('\n', lineStart);
+            int next = lineEnd < 0 ? text.length() : lineEnd + 1;
+            if (lineEnd < 0) {
+                lineEnd = text.length();
+            }
+            if (lineEnd > lineStart && text.charAt(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+            String line = text.substring(lineStart, lineEnd);
+            if (!line.trim().isEmpty()) {
+                try {
+                    chunk.records.add(codec.fromFields(format.parseRecord(line, columns)));
+                } catch (IllegalArgumentException e) {
+                    chunk.errorLines.add(lineIndex);
+                    chunk.errorMessages.add(e.getMessage());
+                }
+            }
+            lineIndex++;
+            lineStart = next;
+        }
+        chunk.lineCount = lineIndex;
+        return chunk;
+    }
+
+    private static int afterLastNewline(ByteBuffer buffer) {
+        for (int i = buffer.limit() - 1; i >= buffer.position(); i--) {
+            if (buffer.get(i) == '\n') {
+                return i + 1 - buffer.position();
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOf(byte[] bytes, int from, byte value) {
+        for (int i = from; i < bytes.length; i++) {
+            if (bytes[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean startsWithByteOrderMark(byte[] bytes) {
+        return bytes.length >= 3 && bytes[0] == (byte) 0xEF && bytes[1] == (byte) 0xBB && bytes[2] == (byte) 0xBF;
+    }
+
+    /**
+     * Records and errors parsed from one chunk; error lines are relative to the chunk
+     */
+    private static final class ParsedChunk<T> {
+        final List<T> records = new ArrayList<>();
+        final List<Integer> errorLines = new ArrayList<>();
+        final List<String> errorMessages = new ArrayList<>();
+        int lineCount;
+    }
+}
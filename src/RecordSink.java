@@ -0,0 +1,26 @@
+import java.util.List;
+
+/**
+ * RecordSink receives imported records in batches
+ *
+ * Batches are delivered in input order from a single thread.
+ *
+ * @param <T> - type of record accepted
+ */
+@FunctionalInterface
+public interface RecordSink<T> {
+
+    /**
+     * Stores a batch of records
+     *
+     * @param batch - records parsed from one chunk of input
+     * @return number of records stored (duplicates or rejected records are not counted)
+     */
+    int accept(List<T> batch);
+
+    /**
+     * Called once after the last batch
+     */
+    default void finish() {
+    }
+}
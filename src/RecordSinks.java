@@ -0,0 +1,27 @@
+/**
+ * RecordSinks adapts the services to RecordSink
+ *
+ * Records go through the services, so they reach whichever persistence
+ * backend is configured and the open screens are told about them.
+ */
+public final class RecordSinks {
+
+    private RecordSinks() {
+    }
+
+    public static RecordSink<Student> students(StudentService studentService) {
+        return batch -> studentService.addStudents(batch).size();
+    }
+
+    public static RecordSink<Course> courses(CourseService courseService) {
+        return batch -> courseService.addCourses(batch).size();
+    }
+
+    public static RecordSink<Faculty> faculty(FacultyService facultyService) {
+        return batch -> facultyService.addFacultyMembers(batch).size();
+    }
+
+    public static RecordSink<GradeRecord> grades(StudentService studentService) {
+        return studentService::importGrades;
+    }
+}
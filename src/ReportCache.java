@@ -0,0 +1,208 @@
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * ReportCache keeps rendered report bodies and aggregates until their data changes
+ *
+ * Each entry records the versions of the services it was computed from. A
+ * lookup returns the cached value only if none of those services has changed
+ * since; otherwise the value is recomputed. Versions are read before
+ * computing, so a change that races with the computation forces another
+ * recomputation on the next lookup rather than being missed. The least
+ * recently used entries are dropped beyond a fixed size.
+ *
+ * Report bodies are written straight to their destination on a miss, and
+ * only bodies up to MAX_CACHED_CHARS are kept, so a large report is never
+ * held in memory as a whole.
+ */
+public class ReportCache {
+    public static final int MAX_CACHED_CHARS = 64 * 1024;
+    private static final int DEFAULT_MAX_ENTRIES = 128;
+
+    private final Map<String, Entry> entries;
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+
+    public ReportCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public ReportCache(int maxEntries) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.hits = new AtomicLong();
+        this.misses = new AtomicLong();
+    }
+
+    /**
+     * Gets a cached value, computing it if missing or out of date
+     *
+     * @param key - report type and parameters, e.g. "student:S2023001"
+     * @param dependencies - services the value is computed from
+     * @param compute - computes the value; called without holding the cache lock
+     * @return the current value
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, List<? extends Versioned> dependencies, Supplier<T> compute) {
+        long[] versions = versionsOf(dependencies);
+        Object cached = lookup(key, versions);
+        if (cached != null) {
+            return (T) cached;
+        }
+
+        T value = compute.get();
+        store(key, versions, value);
+        return value;
+    }
+
+    /**
+     * Writes a cached report body, rendering it to the destination if missing or out of date
+     *
+     * @param key - report type and parameters, e.g. "student:S2023001"
+     * @param dependencies - services the body is rendered from
+     * @param out - destination of the body
+     * @param render - renders the body; called without holding the cache lock
+     * @throws IOException if the destination cannot be written
+     */
+    public void write(String key, List<? extends Versioned> dependencies, Appendable out,
+                      ReportWriter render) throws IOException {
+        long[] versions = versionsOf(dependencies);
+        Object cached = lookup(key, versions);
+        if (cached != null) {
+            out.append((String) cached);
+            return;
+        }
+
+        CapturingAppendable capture = new CapturingAppendable(out);
+        render.write(capture);
+        if (capture.captured != null) {
+            store(key, versions, capture.captured.toString());
+        }
+    }
+
+    /**
+     * Drops every cached value
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    private static long[] versionsOf(List<? extends Versioned> dependencies) {
+        long[] versions = new long[dependencies.size()];
+        for (int i = 0; i < versions.length; i++) {
+            versions[i] = dependencies.get(i).getVersion();
+        }
+        return versions;
+    }
+
+    /**
+     * Gets a current value, counting a hit or a miss
+     */
+    private Object lookup(String key, long[] versions) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.isCurrent(versions)) {
+                hits.incrementAndGet();
+                return entry.value;
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    private void store(String key, long[] versions, Object value) {
+        synchronized (entries) {
+            entries.put(key, new Entry(versions, value));
+        }
+    }
+
+    /**
+     * Passes text through to a destination, keeping a copy until it grows past MAX_CACHED_CHARS
+     */
+    private static final class CapturingAppendable implements Appendable {
+        private final Appendable out;
+        private StringBuilder captured = new StringBuilder();
+
+        CapturingAppendable(Appendable out) {
+            this.out = out;
+        }
+
+        @Override
+        public Appendable append(CharSequence text) throws IOException {
+            CharSequence value = text != null ? text : "null";
+            out.append(value);
+            capture(value, 0, value.length());
+            return this;
+        }
+
+        @Override
+        public Appendable append(CharSequence text, int start, int end) throws IOException {
+            CharSequence value = text != null ? text : "null";
+            out.append(value, start, end);
+            capture(value, start, end);
+            return this;
+        }
+
+        @Override
+        public Appendable append(char c) throws IOException {
+            out.append(c);
+            if (captured != null) {
+                captured.append(c);
+                dropIfTooLong();
+            }
+            return this;
+        }
+
+        private void capture(CharSequence text, int start, int end) {
+            if (captured != null) {
+                captured.append(text, start, end);
+                dropIfTooLong();
+            }
+        }
+
+        private void dropIfTooLong() {
+            if (captured.length() > MAX_CACHED_CHARS) {
+                captured = null;
+            }
+        }
+    }
+
+    private static final class Entry {
+        final long[] versions;
+        final Object value;
+
+        Entry(long[] versions, Object value) {
+            this.versions = versions;
+            this.value = value;
+        }
+
+        boolean isCurrent(long[] currentVersions) {
+            return Arrays.equals(versions, currentVersions);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * ReportPager reads a rendered report file one page at a time
+ *
+ * The file is scanned once to record where each page starts; pages are then
+ * read directly from those offsets, so only the page being shown is held in
+ * memory however long the report is.
+ */
+public class ReportPager {
+    public static final int DEFAULT_PAGE_LINES = 500;
+
+    private final Path file;
+    private final long[] pageOffsets;
+    private final long fileSize;
+
+    /**
+     * Indexes a report file
+     *
+     * @param file - rendered report
+     * @param pageLines - number of lines per page
+     * @throws IOException if the file cannot be read
+     */
+    public ReportPager(Path file, int pageLines) throws IOException {
+        this.file = file;
+        long[] offsets = new long[16];
+        int pages = 1;
+        long size;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            size = channel.size();
+            ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+            long position = 0;
+            int lines = 0;
+            while (channel.read(buffer) > 0) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    position++;
+                    if (buffer.get() == '\n' && ++lines % pageLines == 0 && position < size) {
+                        if (pages == offsets.length) {
+                            offsets = Arrays.copyOf(offsets, pages * 2);
+                        }
+                        offsets[pages++] = position;
+                    }
+                }
+                buffer.clear();
+            }
+        }
+        this.pageOffsets = Arrays.copyOf(offsets, pages);
+        this.fileSize = size;
+    }
+
+    public int getPageCount() {
+        return pageOffsets.length;
+    }
+
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Reads one page
+     *
+     * @param page - page index starting at 0
+     * @return text of the page
+     * @throws IOException if the file cannot be read
+     * @throws IndexOutOfBoundsException if the page does not exist
+     */
+    public String readPage(int page) throws IOException {
+        long start = pageOffsets[page];
+        long end = page + 1 < pageOffsets.length ? pageOffsets[page + 1] : fileSize;
+        ByteBuffer buffer = ByteBuffer.allocate((int) (end - start));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (buffer.hasRemaining() && channel.read(buffer, start + buffer.position()) >= 0) {
+                // keep reading until the page is complete
+            }
+        }
+        return new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,258 @@
+import javax.swing.*;
+import java.awt.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * ReportPreviewPanel renders reports to a file and previews them page by page
+ *
+ * Reports are rendered to a temporary file in the background, and only the
+ * current page is loaded into the text area. The full report can be saved
+ * with "Save Report...". Reports read a ServiceSnapshot taken on the event
+ * thread, never the services the other panels are changing.
+ */
+public class ReportPreviewPanel extends JPanel {
+    private static final long serialVersionUID = 1L;
+
+    private final JTextArea textArea;
+    private final AdminService adminService;
+    private final StudentService studentService;
+    private final CourseService courseService;
+    private final FacultyService facultyService;
+    private final UniversityManagementGUI mainFrame;
+
+    private JButton previousButton;
+    private JButton nextButton;
+    private JButton saveButton;
+    private JLabel pageLabel;
+
+    private ReportPager pager;
+    private int currentPage;
+    private String reportName;
+    private SwingWorker<ReportPager, Void> renderWorker;
+    private ServiceSnapshot snapshot;
+
+    public ReportPreviewPanel(JTextArea textArea, AdminService adminService, StudentService studentService,
+                              CourseService courseService, FacultyService facultyService,
+                              UniversityManagementGUI mainFrame) {
+        super(new BorderLayout());
+        this.textArea = textArea;
+        this.adminService = adminService;
+        this.studentService = studentService;
+        this.courseService = courseService;
+        this.facultyService = facultyService;
+        this.mainFrame = mainFrame;
+
+        JScrollPane scrollPane = new JScrollPane(textArea);
+        scrollPane.setBorder(BorderFactory.createTitledBorder("Reports"));
+
+        previousButton = new JButton("< Previous");
+        nextButton = new JButton("Next >");
+        saveButton = new JButton("Save Report...");
+        pageLabel = new JLabel(" ");
+
+        previousButton.addActionListener(e -> showPage(currentPage - 1));
+        nextButton.addActionListener(e -> showPage(currentPage + 1));
+        saveButton.addActionListener(e -> saveReport());
+
+        JPanel navigationPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        navigationPanel.add(pageLabel);
+        navigationPanel.add(previousButton);
+        navigationPanel.add(nextButton);
+        navigationPanel.add(saveButton);
+
+        add(scrollPane, BorderLayout.CENTER);
+        add(navigationPanel, BorderLayout.SOUTH);
+        updateControls();
+    }
+
+    /**
+     * Renders a report in the background and shows its first page
+     *
+     * @param name - report name, used for the status line and default file name
+     * @param report - creates the report to render from a snapshot of the services
+     */
+    public void showReport(String name, Function<ServiceSnapshot, ReportWriter> report) {
+        if (renderWorker != null && !renderWorker.isDone()) {
+            renderWorker.cancel(true);
+        }
+        ReportWriter writer = report.apply(currentSnapshot());
+        textArea.setText("Generating " + name + "...");
+        pageLabel.setText(" ");
+        setNavigationEnabled(false);
+
+        renderWorker = new SwingWorker<>() {
+            @Override
+            protected ReportPager doInBackground() throws Exception {
+                Path file = Files.createTempFile("report-", ".txt");
+                file.toFile().deleteOnExit();
+                adminService.renderToFile(file, writer);
+                return new ReportPager(file, ReportPager.DEFAULT_PAGE_LINES);
+            }
+
+            @Override
+            protected void done() {
+                if (isCancelled()) {
+                    return;
+                }
+                try {
+                    replacePager(get(), name);
+                } catch (Exception ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    textArea.setText("");
+                    mainFrame.showError("Could not generate report: " + cause.getMessage());
+                    updateControls();
+                }
+            }
+        };
+        renderWorker.execute();
+    }
+
+    /**
+     * Writes every student's transcript in the background
+     *
+     * Choosing a name ending in .zip writes one archive; anything else is
+     * treated as a directory that receives one file per student. The
+     * transcripts are written from a snapshot of the services taken when the
+     * export starts.
+     */
+    public void exportTranscripts() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Export Transcripts (choose a folder or a .zip file)");
+        chooser.setFileSelectionMode(JFileChooser.FILES_AND_DIRECTORIES);
+        chooser.setSelectedFile(new File("transcripts.zip"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        Path target = chooser.getSelectedFile().toPath();
+        boolean archive = target.getFileName().toString().toLowerCase().endsWith(".zip");
+
+        JDialog progressDialog = new JDialog((Frame) SwingUtilities.getWindowAncestor(this), "Exporting Transcripts", false);
+        JProgressBar progressBar = new JProgressBar();
+        progressBar.setStringPainted(true);
+        progressBar.setString("Preparing transcripts");
+        progressBar.setIndeterminate(true);
+        progressDialog.add(progressBar);
+        progressDialog.setSize(400, 80);
+        progressDialog.setLocationRelativeTo(this);
+        progressDialog.setVisible(true);
+
+        ServiceSnapshot data = currentSnapshot();
+        SwingWorker<TranscriptBatchResult, int[]> worker = new SwingWorker<>() {
+            @Override
+            protected TranscriptBatchResult doInBackground() throws Exception {
+                TranscriptEngine engine = new TranscriptEngine(adminService, data.getStudentService(),
+                                                               data.getCourseService());
+                TranscriptEngine.ProgressListener listener = (completed, total) -> publish(new int[]{completed, total});
+                return archive ? engine.writeArchive(target, listener) : engine.writeTranscripts(target, listener);
+            }
+            
+            @Override
+            protected void process(List<int[]> updates) {
+                int[] latest = updates.get(updates.size() - 1);
+                progressBar.setIndeterminate(false);
+                progressBar.setMaximum(latest[1]);
+                progressBar.setValue(latest[0]);
+                progressBar.setString(latest[0] + " / " + latest[1]);
+            }
+            
+            @Override
+            protected void done() {
+                progressDialog.dispose();
+                try {
+                    TranscriptBatchResult result = get();
+                    String message = String.format("%d of %d transcripts written to %s in %.1f s (%.0f per second).",
+                        result.getTranscriptsWritten(), result.getTotalStudents(), target.getFileName(),
+                        result.getElapsedMillis() / 1000.0, result.getTranscriptsPerSecond());
+                    if (result.getFailureCount() > 0) {
+                        mainFrame.showError(message + "\n" + result.getFailureCount() + " failed, first: "
+                                            + result.getFailures().get(0));
+                    } else {
+                        mainFrame.showSuccess(message);
+                    }
+                } catch (Exception ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    mainFrame.showError("Transcript export failed: " + cause.getMessage());
+                }
+            }
+        };
+        worker.execute();
+    }
+
+    /**
+     * Gets a snapshot of the services, taking a new one only if they changed
+     */
+    private ServiceSnapshot currentSnapshot() {
+        if (snapshot == null || !snapshot.isCurrent(studentService, courseService, facultyService)) {
+            snapshot = ServiceSnapshot.take(studentService, courseService, facultyService);
+        }
+        return snapshot;
+    }
+
+    private void replacePager(ReportPager newPager, String name) {
+        if (pager != null) {
+            try {
+                Files.deleteIfExists(pager.getFile());
+            } catch (IOException e) {
+                System.err.println("Warning: Could not delete report file: " + e.getMessage());
+            }
+        }
+        pager = newPager;
+        reportName = name;
+        showPage(0);
+    }
+
+    private void showPage(int page) {
+        if (pager == null || page < 0 || page >= pager.getPageCount()) {
+            return;
+        }
+        try {
+            textArea.setText(pager.readPage(page));
+            textArea.setCaretPosition(0);
+            currentPage = page;
+        } catch (IOException ex) {
+            mainFrame.showError("Could not read report: " + ex.getMessage());
+        }
+        updateControls();
+    }
+
+    private void saveReport() {
+        if (pager == null) {
+            return;
+        }
+        JFileChooser chooser = new JFileChooser();
+        chooser.setSelectedFile(new File(reportName.toLowerCase().replaceAll("[^a-z0-9]+", "_") + ".txt"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        try {
+            Files.copy(pager.getFile(), chooser.getSelectedFile().toPath(), StandardCopyOption.REPLACE_EXISTING);
+            mainFrame.showSuccess("Report saved to " + chooser.getSelectedFile().getName());
+        } catch (IOException ex) {
+            mainFrame.showError("Could not save report: " + ex.getMessage());
+        }
+    }
+
+    private void updateControls() {
+        if (pager == null) {
+            setNavigationEnabled(false);
+            return;
+        }
+        pageLabel.setText(String.format("%s - page %d of %d (%,d KB)", reportName, currentPage + 1,
+                                        pager.getPageCount(), (pager.getFileSize() + 1023) / 1024));
+        previousButton.setEnabled(currentPage > 0);
+        nextButton.setEnabled(currentPage + 1 < pager.getPageCount());
+        saveButton.setEnabled(true);
+    }
+
+    private void setNavigationEnabled(boolean enabled) {
+        previousButton.setEnabled(enabled);
+        nextButton.setEnabled(enabled);
+        saveButton.setEnabled(enabled);
+    }
+}
@@ -0,0 +1,16 @@
+import java.io.IOException;
+
+/**
+ * ReportWriter writes a report incrementally to any text destination
+ */
+@FunctionalInterface
+public interface ReportWriter {
+
+    /**
+     * Writes the report
+     *
+     * @param out - destination of the report text
+     * @throws IOException if the destination cannot be written
+     */
+    void write(Appendable out) throws IOException;
+}
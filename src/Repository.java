@@ -0,0 +1,87 @@
+import java.util.Collection;
+
+/**
+ * Repository stores one kind of entity by its ID
+ * 
+ * Services keep their entities in a repository instead of talking to a
+ * storage mechanism directly, so files, SQLite or plain memory can be used
+ * interchangeably. Entities returned by a repository are the live objects;
+ * after changing one, pass it to save so the backend records the change.
+ */
+public interface Repository<T> {
+    
+    /**
+     * Gets an entity by ID
+     * 
+     * @param id - entity ID
+     * @return the entity, or null if none is stored under the ID
+     */
+    T get(String id);
+    
+    /**
+     * Checks whether an entity is stored under an ID
+     * 
+     * @param id - entity ID
+     * @return true if the ID is in use
+     */
+    boolean contains(String id);
+    
+    /**
+     * Gets every stored entity
+     * 
+     * @return read-only view of the entities
+     */
+    Collection<T> getAll();
+    
+    /**
+     * Gets the number of stored entities
+     * 
+     * @return number of entities
+     */
+    int size();
+    
+    /**
+     * Stores a new or changed entity
+     * 
+     * @param entity - entity to store, replacing any with the same ID
+     */
+    void save(T entity);
+    
+    /**
+     * Stores several new or changed entities at once
+     * 
+     * @param entities - entities to store
+     */
+    void saveAll(Collection<? extends T> entities);
+    
+    /**
+     * Removes an entity
+     * 
+     * @param id - entity ID
+     * @return the removed entity, or null if none was stored under the ID
+     */
+    T remove(String id);
+    
+    /**
+     * Gets the entities as they are now, unaffected by later changes
+     * 
+     * Call it on the thread that changes the entities; the snapshot can then
+     * be read on any thread. It is meant for reading only.
+     * 
+     * @return repository holding the current entities
+     */
+    Repository<T> snapshot();
+    
+    /**
+     * Writes out anything the backend has not stored yet
+     */
+    default void flush() {
+    }
+    
+    /**
+     * Flushes and releases the backend's resources
+     */
+    default void close() {
+        flush();
+    }
+}
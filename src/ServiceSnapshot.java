@@ -0,0 +1,107 @@
+/**
+ * ServiceSnapshot is a consistent copy of the student, course and faculty
+ * services for background work
+ *
+ * The services are not synchronized, so the snapshot is taken on the thread
+ * that changes them, the Swing event thread. Taking it only copies
+ * references to the copies the repositories keep as entities are saved; the
+ * read-only services over those copies are built on first use, on the
+ * background thread. A snapshot can be reused until one of the services it
+ * was taken from changes.
+ */
+public class ServiceSnapshot {
+    private final Repository<Student> students;
+    private final Repository<Course> courses;
+    private final Repository<Faculty> faculty;
+    private final GradingScaleRegistry gradingScales;
+    private final long studentVersion;
+    private final long courseVersion;
+    private final long facultyVersion;
+
+    private StudentService studentService;
+    private CourseService courseService;
+    private FacultyService facultyService;
+
+    private ServiceSnapshot(StudentService studentService, CourseService courseService,
+                            FacultyService facultyService) {
+        this.students = studentService.getRepository().snapshot();
+        this.courses = courseService.getRepository().snapshot();
+        this.faculty = facultyService.getRepository().snapshot();
+        this.gradingScales = courseService.getGradingScales();
+        this.studentVersion = studentService.getVersion();
+        this.courseVersion = courseService.getVersion();
+        this.facultyVersion = facultyService.getVersion();
+    }
+
+    /**
+     * Starts keeping the copies snapshots are taken from
+     *
+     * The first snapshot of a repository copies every entity, so call this
+     * at startup, before the GUI can change anything, to keep that cost off
+     * the event thread.
+     *
+     * @param studentService - student service to prepare
+     * @param courseService - course service to prepare
+     * @param facultyService - faculty service to prepare
+     */
+    public static void prepare(StudentService studentService, CourseService courseService,
+                               FacultyService facultyService) {
+        studentService.getRepository().snapshot();
+        courseService.getRepository().snapshot();
+        facultyService.getRepository().snapshot();
+    }
+
+    /**
+     * Takes a snapshot; call it on the thread that changes the services
+     *
+     * @param studentService - student service to copy
+     * @param courseService - course service to copy
+     * @param facultyService - faculty service to copy
+     * @return snapshot of the services
+     */
+    public static ServiceSnapshot take(StudentService studentService, CourseService courseService,
+                                       FacultyService facultyService) {
+        return new ServiceSnapshot(studentService, courseService, facultyService);
+    }
+
+    /**
+     * Checks whether the services still hold the data this snapshot copied
+     *
+     * @param studentService - student service the snapshot was taken from
+     * @param courseService - course service the snapshot was taken from
+     * @param facultyService - faculty service the snapshot was taken from
+     * @return true if none of the services changed since
+     */
+    public boolean isCurrent(StudentService studentService, CourseService courseService,
+                             FacultyService facultyService) {
+        return studentVersion == studentService.getVersion()
+            && courseVersion == courseService.getVersion()
+            && facultyVersion == facultyService.getVersion();
+    }
+
+    public synchronized StudentService getStudentService() {
+        build();
+        return studentService;
+    }
+
+    public synchronized CourseService getCourseService() {
+        build();
+        return courseService;
+    }
+
+    public synchronized FacultyService getFacultyService() {
+        build();
+        return facultyService;
+    }
+
+    private void build() {
+        if (studentService != null) {
+            return;
+        }
+        // The copies share their own enrollment store, indexed from the copied entities
+        EnrollmentStore enrollments = new EnrollmentStore();
+        studentService = StudentService.ofSnapshot(students, studentVersion, enrollments);
+        courseService = CourseService.ofSnapshot(courses, courseVersion, enrollments, gradingScales);
+        facultyService = FacultyService.ofSnapshot(faculty, facultyVersion);
+    }
+}
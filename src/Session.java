@@ -0,0 +1,77 @@
+/**
+ * Session represents one authenticated user of the system
+ *
+ * The user's role and the permission checks derived from it are captured
+ * when the session is created, so authorization checks on a request do not
+ * need to go back to the user record.
+ */
+public class Session {
+    private final String token;
+    private final User user;
+    private final UserRole role;
+    private final boolean admin;
+    private final boolean canManageUsers;
+    private final boolean canManageCourses;
+    private final long createdAt;
+    private volatile long lastAccess;
+
+    Session(String token, User user, long now) {
+        this.token = token;
+        this.user = user;
+        this.role = user.getRole();
+        this.admin = role.isAdmin();
+        this.canManageUsers = role.canManageUsers();
+        this.canManageCourses = role.canManageCourses();
+        this.createdAt = now;
+        this.lastAccess = now;
+    }
+
+    void touch(long now) {
+        lastAccess = now;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public String getUsername() {
+        return user.getUsername();
+    }
+
+    public UserRole getRole() {
+        return role;
+    }
+
+    public boolean hasRole(UserRole role) {
+        return this.role == role;
+    }
+
+    public boolean isAdmin() {
+        return admin;
+    }
+
+    public boolean canManageUsers() {
+        return canManageUsers;
+    }
+
+    public boolean canManageCourses() {
+        return canManageCourses;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public long getLastAccess() {
+        return lastAccess;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Session{user='%s', role=%s}", user.getUsername(), role);
+    }
+}
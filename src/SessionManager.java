@@ -0,0 +1,218 @@
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SessionManager keeps the sessions of all logged-in users
+ *
+ * Sessions are looked up by token in a concurrent map. Idle expiry uses a
+ * timer wheel: each session sits in the slot of the tick at which it may
+ * expire, and every tick only inspects that one slot. Sessions that were
+ * used since they were scheduled are moved forward instead of expired, so
+ * touching a session on each request stays O(1).
+ *
+ * The number of sessions is bounded; when the limit is reached the least
+ * recently used session is evicted to make room. A manager created with
+ * NO_IDLE_TIMEOUT never expires sessions, as suits the single local session
+ * of the desktop GUI.
+ */
+public class SessionManager {
+    public static final long NO_IDLE_TIMEOUT = 0;
+    public static final int DEFAULT_MAX_SESSIONS = 10_000;
+    private static final int TOKEN_BYTES = 32;
+    private static final int WHEEL_SLOTS = 64;
+    private static final long DEFAULT_IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+    private final Map<String, Session> sessions;
+    private final List<Set<Session>> wheel;
+    private final long idleTimeoutMillis;
+    private final long tickMillis;
+    private final int maxSessions;
+    private final SecureRandom random;
+    private final ScheduledExecutorService ticker;
+    private volatile long currentTick;
+
+    public SessionManager() {
+        this(DEFAULT_IDLE_TIMEOUT_MILLIS, DEFAULT_MAX_SESSIONS);
+    }
+
+    /**
+     * Creates a session manager with its own expiry timer
+     *
+     * @param idleTimeoutMillis - time without activity after which a session expires, or NO_IDLE_TIMEOUT
+     * @param maxSessions - maximum number of concurrent sessions
+     */
+    public SessionManager(long idleTimeoutMillis, int maxSessions) {
+        if (idleTimeoutMillis < 0 || maxSessions <= 0) {
+            throw new IllegalArgumentException("Idle timeout must not be negative and maximum sessions must be positive");
+        }
+        this.sessions = new ConcurrentHashMap<>();
+        this.wheel = new ArrayList<>(WHEEL_SLOTS);
+        for (int i = 0; i < WHEEL_SLOTS; i++) {
+            wheel.add(ConcurrentHashMap.newKeySet());
+        }
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.tickMillis = Math.max(1, idleTimeoutMillis / WHEEL_SLOTS);
+        this.maxSessions = maxSessions;
+        this.random = new SecureRandom();
+        this.currentTick = System.currentTimeMillis() / tickMillis;
+        if (idleTimeoutMillis == NO_IDLE_TIMEOUT) {
+            this.ticker = null;
+            return;
+        }
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::advance, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens a new session for an authenticated user
+     *
+     * @param user - authenticated user
+     * @return the new session
+     */
+    public Session createSession(User user) {
+        if (user == null) {
+            throw new IllegalArgumentException("Cannot create a session without a user");
+        }
+        if (sessions.size() >= maxSessions) {
+            evictLeastRecentlyUsed();
+        }
+
+        long now = System.currentTimeMillis();
+        Session session = new Session(newToken(), user, now);
+        sessions.put(session.getToken(), session);
+        schedule(session, now);
+        return session;
+    }
+
+    /**
+     * Gets a live session and records activity on it
+     *
+     * @param token - session token
+     * @return the session, or null if the token is unknown or the session has expired
+     */
+    public Session getSession(String token) {
+        if (token == null) {
+            return null;
+        }
+        Session session = sessions.get(token);
+        if (session == null) {
+            return null;
+        }
+
+        long now = System.currentTimeMillis();
+        if (isExpired(session, now)) {
+            invalidate(token);
+            return null;
+        }
+        session.touch(now);
+        return session;
+    }
+
+    /**
+     * Ends a session
+     *
+     * @param token - session token
+     * @return true if a session was removed
+     */
+    public boolean invalidate(String token) {
+        return token != null && sessions.remove(token) != null;
+    }
+
+    /**
+     * Ends every session of a user, e.g. after deactivation or a password reset
+     *
+     * @param username - username whose sessions are ended
+     * @return number of sessions removed
+     */
+    public int invalidateUser(String username) {
+        int removed = 0;
+        for (Session session : sessions.values()) {
+            if (session.getUsername().equals(username) && sessions.remove(session.getToken(), session)) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    public long getIdleTimeoutMillis() {
+        return idleTimeoutMillis;
+    }
+
+    /**
+     * Stops the expiry timer
+     */
+    public void shutdown() {
+        if (ticker != null) {
+            ticker.shutdown();
+        }
+    }
+
+    private boolean isExpired(Session session, long now) {
+        return ticker != null && now - session.getLastAccess() >= idleTimeoutMillis;
+    }
+
+    private void schedule(Session session, long now) {
+        if (ticker == null) {
+            return;
+        }
+        long expiryTick = (session.getLastAccess() + idleTimeoutMillis) / tickMillis;
+        long tick = Math.max(expiryTick, now / tickMillis + 1);
+        // Never schedule a full revolution ahead, or the slot being drained could be refilled
+        tick = Math.min(tick, currentTick + WHEEL_SLOTS - 1);
+        wheel.get((int) (tick % WHEEL_SLOTS)).add(session);
+    }
+
+    private synchronized void advance() {
+        long now = System.currentTimeMillis();
+        long targetTick = now / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            Set<Session> slot = wheel.get((int) (currentTick % WHEEL_SLOTS));
+            for (Session session : slot) {
+                slot.remove(session);
+                if (sessions.get(session.getToken()) != session) {
+                    continue; // Already invalidated
+                }
+                if (isExpired(session, now)) {
+                    sessions.remove(session.getToken(), session);
+                } else {
+                    schedule(session, now);
+                }
+            }
+        }
+    }
+
+    private void evictLeastRecentlyUsed() {
+        Session oldest = null;
+        for (Session session : sessions.values()) {
+            if (oldest == null || session.getLastAccess() < oldest.getLastAccess()) {
+                oldest = session;
+            }
+        }
+        if (oldest != null) {
+            sessions.remove(oldest.getToken(), oldest);
+        }
+    }
+
+    private String newToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
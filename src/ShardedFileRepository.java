@@ -0,0 +1,431 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * ShardedFileRepository spreads entities over a fixed number of segment
+ * files, chosen by the hash of the entity ID
+ *
+ * Each segment file holds a HashMap of IDs to entities, like the single
+ * data/*.dat files, so a change rewrites only its own segment. Segments are
+ * loaded and written in parallel. A segment that cannot be read is renamed
+ * to .corrupt and skipped, so the entities in the other segments are still
+ * available.
+ *
+ * On first use, entities from the single-file layout are moved into
+ * segments, and the old file is renamed to .migrated; collapse moves them
+ * back when the segment count is set to 1. Like FileRepository,
+ * every change is written immediately until a CheckpointScheduler defers
+ * the writes, and segments are written from copies taken on save once
+ * those are tracked.
+ */
+public class ShardedFileRepository<T> implements Repository<T>, Checkpointable {
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".dat";
+
+    private final Path directory;
+    private final String label;
+    private final Function<T, String> idOf;
+    private final List<Map<String, T>> segments;
+    private final Set<Integer> dirtySegments = ConcurrentHashMap.newKeySet();
+    private final Set<String> dirtyIds = ConcurrentHashMap.newKeySet();
+    private final Object writeLock = new Object();
+    private final Collection<T> allEntities;
+    private volatile List<Map<String, T>> segmentCopies;
+    private volatile IntConsumer dirtyListener;
+
+    /**
+     * Creates a repository, loading the segments in parallel
+     *
+     * @param directory - directory holding the segment files
+     * @param segmentCount - number of segments
+     * @param legacyFile - single file to migrate from if there are no segments yet, may be null
+     * @param label - what is stored, for error messages
+     * @param idOf - gets the ID of an entity
+     */
+    public ShardedFileRepository(String directory, int segmentCount, String legacyFile, String label,
+                                 Function<T, String> idOf) {
+        this.directory = Paths.get(directory);
+        this.label = label;
+        this.idOf = idOf;
+        this.segments = new ArrayList<>(Math.max(1, segmentCount));
+        for (int i = 0; i < Math.max(1, segmentCount); i++) {
+            segments.add(new ConcurrentHashMap<>());
+        }
+        this.allEntities = new AbstractCollection<>() {
+            @Override
+            public Iterator<T> iterator() {
+                return segments.stream().flatMap(segment -> segment.values().stream()).iterator();
+            }
+
+            @Override
+            public int size() {
+                return ShardedFileRepository.this.size();
+            }
+        };
+
+        load(legacyFile);
+    }
+
+    /**
+     * Moves the entities in segment files back into the single file, for
+     * when the segment count is set back to 1
+     * 
+     * The segment files are deleted once the single file is written, so the
+     * two layouts never both hold data. Nothing is moved if the single file
+     * already exists.
+     * 
+     * @param directory - directory holding the segment files
+     * @param singleFile - single file to write
+     * @param label - what is stored, for messages
+     */
+    public static <T> void collapse(String directory, String singleFile, String label) {
+        List<Path> files = listSegmentFiles(Paths.get(directory));
+        if (files.isEmpty()) {
+            return;
+        }
+        if (Files.exists(Paths.get(singleFile))) {
+            System.err.println("Warning: Both " + singleFile + " and " + label + " segments in " + directory
+                               + " exist. Using " + singleFile + ".");
+            return;
+        }
+
+        Map<String, T> merged = new HashMap<>();
+        for (Path file : files) {
+            merged.putAll(ShardedFileRepository.<T>readSegment(file, label));
+        }
+        try {
+            new FileManager<Map<String, T>>().replaceFile(merged, singleFile);
+        } catch (IOException e) {
+            System.err.println("Error: Could not move " + label + " segments into " + singleFile + ": "
+                               + e.getMessage());
+            return;
+        }
+        for (Path file : files) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                System.err.println("Warning: Could not delete " + file.getFileName() + ": " + e.getMessage());
+            }
+        }
+        System.out.println("Moved " + merged.size() + " " + label + " from " + files.size() + " segments into "
+                           + singleFile + ".");
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Gets the file holding a segment
+     *
+     * @param segment - segment number
+     * @return segment file
+     */
+    public Path getSegmentFile(int segment) {
+        return directory.resolve(String.format("%s%03d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX));
+    }
+
+    @Override
+    public T get(String id) {
+        return segmentFor(id).get(id);
+    }
+
+    @Override
+    public boolean contains(String id) {
+        return segmentFor(id).containsKey(id);
+    }
+
+    @Override
+    public Collection<T> getAll() {
+        return Collections.unmodifiableCollection(allEntities);
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Map<String, T> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    @Override
+    public void save(T entity) {
+        String id = idOf.apply(entity);
+        segmentFor(id).put(id, entity);
+        copySaved(id, entity);
+        changed(List.of(id));
+    }
+
+    @Override
+    public void saveAll(Collection<? extends T> newEntities) {
+        List<String> ids = new ArrayList<>(newEntities.size());
+        for (T entity : newEntities) {
+            String id = idOf.apply(entity);
+            segmentFor(id).put(id, entity);
+            copySaved(id, entity);
+            ids.add(id);
+        }
+        changed(ids);
+    }
+
+    @Override
+    public T remove(String id) {
+        T removed = segmentFor(id).remove(id);
+        if (removed != null) {
+            List<Map<String, T>> copies = segmentCopies;
+            if (copies != null) {
+                copies.get(segmentOf(id)).remove(id);
+            }
+            changed(List.of(id));
+        }
+        return removed;
+    }
+
+    @Override
+    public synchronized void trackSavedCopies() {
+        if (segmentCopies != null) {
+            return;
+        }
+        List<Map<String, T>> copies = new ArrayList<>(segments.size());
+        for (Map<String, T> segment : segments) {
+            copies.add(new ConcurrentHashMap<>(EntityCopier.copy(new HashMap<>(segment))));
+        }
+        segmentCopies = copies;
+    }
+
+    @Override
+    public Repository<T> snapshot() {
+        trackSavedCopies();
+        Map<String, T> copies = new HashMap<>();
+        for (Map<String, T> segment : segmentCopies) {
+            copies.putAll(segment);
+        }
+        return new InMemoryRepository<>(idOf, copies);
+    }
+
+    private void copySaved(String id, T entity) {
+        List<Map<String, T>> copies = segmentCopies;
+        if (copies != null) {
+            copies.get(segmentOf(id)).put(id, EntityCopier.copy(entity));
+        }
+    }
+
+    @Override
+    public void deferWrites(IntConsumer listener) {
+        dirtyListener = listener;
+        if (listener == null) {
+            flush();
+        }
+    }
+
+    @Override
+    public int getDirtyCount() {
+        return dirtyIds.size();
+    }
+
+    @Override
+    public void flush() {
+        synchronized (writeLock) {
+            if (dirtySegments.isEmpty()) {
+                dirtyIds.clear();
+                return;
+            }
+            List<String> flushedIds = new ArrayList<>(dirtyIds);
+            dirtyIds.removeAll(flushedIds);
+            List<Integer> flushed = new ArrayList<>(dirtySegments);
+            dirtySegments.removeAll(flushed);
+
+            List<Integer> failed = flushed.parallelStream()
+                .filter(segment -> !writeSegment(segment))
+                .collect(Collectors.toList());
+            if (!failed.isEmpty()) {
+                // Keep them dirty so the next checkpoint tries again
+                dirtySegments.addAll(failed);
+                for (String id : flushedIds) {
+                    if (failed.contains(segmentOf(id))) {
+                        dirtyIds.add(id);
+                    }
+                }
+            }
+        }
+    }
+
+    private void changed(Collection<String> ids) {
+        for (String id : ids) {
+            dirtySegments.add(segmentOf(id));
+        }
+        dirtyIds.addAll(ids);
+        IntConsumer listener = dirtyListener;
+        if (listener == null) {
+            flush();
+        } else {
+            listener.accept(dirtyIds.size());
+        }
+    }
+
+    private int segmentOf(String id) {
+        return Math.floorMod(id.hashCode(), segments.size());
+    }
+
+    private Map<String, T> segmentFor(String id) {
+        return segments.get(segmentOf(id));
+    }
+
+    private void load(String legacyFile) {
+        List<Path> files = listSegmentFiles(directory);
+        if (files.isEmpty()) {
+            migrate(legacyFile);
+            return;
+        }
+
+        List<Map<String, T>> loaded = files.parallelStream()
+            .map(file -> ShardedFileRepository.<T>readSegment(file, label))
+            .collect(Collectors.toList());
+        boolean misplaced = false;
+        for (int i = 0; i < files.size(); i++) {
+            int segment = segmentNumber(files.get(i));
+            for (Map.Entry<String, T> entry : loaded.get(i).entrySet()) {
+                // Entities land in another segment when the segment count changed
+                misplaced |= segmentOf(entry.getKey()) != segment;
+                segmentFor(entry.getKey()).put(entry.getKey(), entry.getValue());
+            }
+        }
+        if (misplaced) {
+            redistribute(files);
+        }
+    }
+
+    private static int segmentNumber(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static List<Path> listSegmentFiles(Path directory) {
+        File[] files = directory.toFile().listFiles((dir, name) ->
+            name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX));
+        if (files == null) {
+            return new ArrayList<>();
+        }
+        return Arrays.stream(files)
+            .map(File::toPath)
+            .sorted()
+            .collect(Collectors.toList());
+    }
+
+    private static <T> Map<String, T> readSegment(Path file, String label) {
+        try {
+            Map<String, T> segment = new FileManager<Map<String, T>>().loadFromFile(file.toString());
+            return segment != null ? segment : new HashMap<>();
+        } catch (Exception e) {
+            Path corrupt = Paths.get(file + ".corrupt");
+            System.err.println("Warning: Could not load " + label + " segment " + file.getFileName()
+                               + ". It was moved to " + corrupt.getFileName() + " and skipped.");
+            try {
+                Files.move(file, corrupt, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException moveError) {
+                System.err.println("Warning: Could not move " + file.getFileName() + ": " + moveError.getMessage());
+            }
+            return new HashMap<>();
+        }
+    }
+
+    private void migrate(String legacyFile) {
+        if (legacyFile == null || !new File(legacyFile).exists()) {
+            return;
+        }
+        Map<String, T> legacy = readLegacy(legacyFile);
+        if (legacy == null) {
+            return;
+        }
+        for (Map.Entry<String, T> entry : legacy.entrySet()) {
+            segmentFor(entry.getKey()).put(entry.getKey(), entry.getValue());
+        }
+        IntStream.range(0, segments.size()).forEach(dirtySegments::add);
+        flush();
+        if (dirtySegments.isEmpty()) {
+            try {
+                Files.move(Paths.get(legacyFile), Paths.get(legacyFile + ".migrated"),
+                           StandardCopyOption.REPLACE_EXISTING);
+                System.out.println("Moved " + legacy.size() + " " + label + " from " + legacyFile + " into "
+                                   + segments.size() + " segments.");
+            } catch (IOException e) {
+                System.err.println("Warning: Could not rename " + legacyFile + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private Map<String, T> readLegacy(String legacyFile) {
+        try {
+            Map<String, T> legacy = new FileManager<Map<String, T>>().loadFromFile(legacyFile);
+            return legacy != null ? legacy : new HashMap<>();
+        } catch (Exception e) {
+            System.err.println("Warning: Could not load " + label + " from " + legacyFile
+                               + ". It was left in place and not migrated.");
+            return null;
+        }
+    }
+
+    private void redistribute(List<Path> files) {
+        IntStream.range(0, segments.size()).forEach(dirtySegments::add);
+        flush();
+        if (!dirtySegments.isEmpty()) {
+            return;
+        }
+        for (Path file : files) {
+            if (!isCurrentSegmentFile(file)) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    System.err.println("Warning: Could not delete " + file.getFileName() + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private boolean isCurrentSegmentFile(Path file) {
+        for (int i = 0; i < segments.size(); i++) {
+            if (getSegmentFile(i).equals(file)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean writeSegment(int segment) {
+        Path target = getSegmentFile(segment);
+        try {
+            List<Map<String, T>> copies = segmentCopies;
+            Map<String, T> source = copies != null ? copies.get(segment) : segments.get(segment);
+            new FileManager<Map<String, T>>().replaceFile(new HashMap<>(source), target.toString());
+            return true;
+        } catch (Exception e) {
+            System.err.println("Error: Could not save " + label + " segment " + target.getFileName() + ": "
+                               + e.getMessage());
+            return false;
+        }
+    }
+}
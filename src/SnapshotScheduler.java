@@ -0,0 +1,132 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SnapshotScheduler copies in-memory repositories to a snapshot target at a
+ * fixed interval
+ *
+ * Changes only touch memory; a daemon thread checks each registered
+ * service's version and writes a full snapshot of the ones that changed.
+ * Snapshots are written from copies the repositories take as entities are
+ * saved, never from the entities the services are changing.
+ * A snapshot that fails, for example because a file could not be written,
+ * is retried at the next interval. Shutting down writes
+ * a final snapshot of everything that changed.
+ */
+public class SnapshotScheduler {
+    public static final long DEFAULT_INTERVAL_SECONDS = 60;
+
+    private final long intervalMillis;
+    private final List<Registration<?>> registrations = new ArrayList<>();
+    private ScheduledExecutorService executor;
+
+    /**
+     * Creates a scheduler; call start once every repository is registered
+     *
+     * @param intervalMillis - time between snapshots
+     */
+    public SnapshotScheduler(long intervalMillis) {
+        this.intervalMillis = Math.max(1, intervalMillis);
+    }
+
+    /**
+     * Registers a repository to snapshot
+     *
+     * Call it on the thread that changes the repository's entities.
+     *
+     * @param label - what is stored, for error messages
+     * @param source - service whose version tells whether the repository changed
+     * @param repository - repository to copy
+     * @param target - where snapshots are written
+     */
+    public synchronized <T> void register(String label, Versioned source, InMemoryRepository<T> repository,
+                                          SnapshotTarget<T> target) {
+        repository.trackSavedCopies();
+        registrations.add(new Registration<>(label, source, repository, target));
+    }
+
+    /**
+     * Starts taking snapshots in the background
+     */
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "snapshot-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::snapshotNow, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Writes a snapshot of every repository that changed since its last one
+     *
+     * @return number of snapshots written
+     */
+    public synchronized int snapshotNow() {
+        int written = 0;
+        for (Registration<?> registration : registrations) {
+            if (registration.snapshot()) {
+                written++;
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Stops the background thread and writes a final snapshot
+     */
+    public void shutdown() {
+        ScheduledExecutorService running;
+        synchronized (this) {
+            running = executor;
+            executor = null;
+        }
+        if (running != null) {
+            running.shutdown();
+            try {
+                running.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        snapshotNow();
+    }
+
+    private static final class Registration<T> {
+        final String label;
+        final Versioned source;
+        final InMemoryRepository<T> repository;
+        final SnapshotTarget<T> target;
+        long snapshotVersion;
+
+        Registration(String label, Versioned source, InMemoryRepository<T> repository, SnapshotTarget<T> target) {
+            this.label = label;
+            this.source = source;
+            this.repository = repository;
+            this.target = target;
+            // The repository starts out matching the snapshot it was loaded from
+            this.snapshotVersion = source.getVersion();
+        }
+
+        boolean snapshot() {
+            long version = source.getVersion();
+            if (version == snapshotVersion) {
+                return false;
+            }
+            try {
+                target.write(new ArrayList<>(repository.getSavedCopies().values()));
+                snapshotVersion = version;
+                return true;
+            } catch (Exception e) {
+                System.err.println("Error: Could not write " + label + " snapshot: " + e.getMessage());
+                return false;
+            }
+        }
+    }
+}
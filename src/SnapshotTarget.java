@@ -0,0 +1,25 @@
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * SnapshotTarget is where an in-memory repository's entities are copied to
+ * and read back from at startup
+ */
+public interface SnapshotTarget<T> {
+    
+    /**
+     * Reads the entities of the latest snapshot
+     * 
+     * @return map of IDs to entities, empty if there is no snapshot
+     */
+    Map<String, T> load();
+    
+    /**
+     * Replaces the snapshot with the given entities
+     * 
+     * @param entities - every entity to keep
+     * @throws IOException if the snapshot cannot be written
+     */
+    void write(Collection<T> entities) throws IOException;
+}
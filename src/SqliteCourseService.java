@@ -0,0 +1,83 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SqliteCourseService keeps courses in the SQLite database and answers its
+ * filters with indexed queries
+ * 
+ * Each change writes only the changed course's row. With caching, the
+ * courses stay in memory and queries only read matching IDs; without it,
+ * getCourses loads all the requested courses in one query per 500 IDs.
+ */
+public class SqliteCourseService extends CourseService {
+    private final SqliteRepository<Course> repository;
+    private final DatabaseHandler database;
+    
+    /**
+     * Creates the service
+     * 
+     * @param database - database holding the courses
+     * @param cached - true to keep every course in memory
+     * @param enrollments - enrollment store shared with StudentService
+     * @param events - event bus shared with the other services
+     */
+    public SqliteCourseService(DatabaseHandler database, boolean cached,
+                               EnrollmentStore enrollments, EventBus events) {
+        this(SqliteRepository.courses(database, cached), database, enrollments, events);
+    }
+    
+    private SqliteCourseService(SqliteRepository<Course> repository, DatabaseHandler database,
+                                EnrollmentStore enrollments, EventBus events) {
+        super(repository, enrollments, events);
+        this.repository = repository;
+        this.database = database;
+    }
+    
+    @Override
+    public Map<String, Course> getCourses(Collection<String> courseIds) {
+        if (repository.isCached()) {
+            return super.getCourses(courseIds);
+        }
+        Map<String, Course> loaded = database.findCoursesByIds(courseIds);
+        Map<String, Course> found = new LinkedHashMap<>();
+        for (String courseId : courseIds) {
+            Course course = loaded.get(courseId);
+            if (course != null) {
+                found.put(courseId, course);
+            }
+        }
+        return found;
+    }
+    
+    @Override
+    public List<Course> getAvailableCourses() {
+        return getCoursesByStatus(CourseStatus.OPEN);
+    }
+    
+    @Override
+    public List<Course> getCoursesByStatus(CourseStatus status) {
+        // Rows written by earlier versions hold the display name
+        return repository.query("c.status IN (?, ?)", status.name(), status.toString());
+    }
+    
+    @Override
+    public List<Course> getCoursesByInstructor(String instructorId) {
+        return repository.query("c.instructor_id = ?", instructorId);
+    }
+    
+    @Override
+    public List<Course> getCoursesByCreditHours(int creditHours) {
+        return repository.query("c.credit_hours = ?", creditHours);
+    }
+    
+    @Override
+    public List<Course> searchCoursesByName(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        return repository.query("lower(c.course_name) LIKE ? ESCAPE '\\'", SqliteRepository.containsPattern(name));
+    }
+}
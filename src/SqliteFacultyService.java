@@ -0,0 +1,48 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SqliteFacultyService keeps faculty in the SQLite database and answers its
+ * filters with indexed queries
+ * 
+ * Each change writes only the changed faculty member's rows. With caching,
+ * the faculty stay in memory and queries only read matching IDs.
+ */
+public class SqliteFacultyService extends FacultyService {
+    private final SqliteRepository<Faculty> repository;
+    
+    /**
+     * Creates the service
+     * 
+     * @param database - database holding the faculty
+     * @param cached - true to keep every faculty member in memory
+     * @param events - event bus shared with the other services
+     */
+    public SqliteFacultyService(DatabaseHandler database, boolean cached, EventBus events) {
+        this(SqliteRepository.faculty(database, cached), events);
+    }
+    
+    private SqliteFacultyService(SqliteRepository<Faculty> repository, EventBus events) {
+        super(repository, events);
+        this.repository = repository;
+    }
+    
+    @Override
+    public List<Faculty> getFacultyByDepartment(String department) {
+        return repository.query("f.department = ? COLLATE NOCASE", department);
+    }
+    
+    @Override
+    public List<Faculty> getFacultyTeachingCourse(String courseId) {
+        return repository.query("f.faculty_id IN (SELECT faculty_id FROM faculty_courses WHERE course_id = ?)",
+                                courseId);
+    }
+    
+    @Override
+    public List<Faculty> searchFacultyByName(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        return repository.query("lower(f.full_name) LIKE ? ESCAPE '\\'", SqliteRepository.containsPattern(name));
+    }
+}
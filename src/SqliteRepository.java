@@ -0,0 +1,214 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * SqliteRepository stores entities in the SQLite database
+ *
+ * A save writes only the saved entities' rows, in one transaction, instead
+ * of the whole collection. When caching, every entity is loaded once and
+ * reads are answered from memory; otherwise each read goes to the database
+ * and returns freshly loaded objects.
+ */
+public class SqliteRepository<T> extends InMemoryRepository<T> {
+
+    /**
+     * Loads the entities matching an SQL condition
+     */
+    public interface Finder<T> {
+        Map<String, T> find(String condition, Object... params);
+    }
+
+    private final DatabaseHandler database;
+    private final String table;
+    private final String idColumn;
+    private final Finder<T> finder;
+    private final Predicate<Collection<T>> writer;
+    private final Predicate<String> deleter;
+    private final boolean cached;
+
+    /**
+     * Creates a repository
+     *
+     * @param database - database holding the table
+     * @param table - table of the entities, aliased by its first letter in conditions
+     * @param idColumn - column holding the entity ID
+     * @param idOf - gets the ID of an entity
+     * @param finder - loads the entities matching a condition
+     * @param writer - inserts or replaces entities, returning false on failure
+     * @param deleter - deletes an entity by ID, returning false on failure
+     * @param cached - true to load every entity now and answer reads from memory
+     */
+    public SqliteRepository(DatabaseHandler database, String table, String idColumn, Function<T, String> idOf,
+                            Finder<T> finder, Predicate<Collection<T>> writer, Predicate<String> deleter,
+                            boolean cached) {
+        super(idOf, cached ? new HashMap<>(finder.find("1 = 1")) : new HashMap<>());
+        this.database = database;
+        this.table = table;
+        this.idColumn = idColumn;
+        this.finder = finder;
+        this.writer = writer;
+        this.deleter = deleter;
+        this.cached = cached;
+    }
+
+    /**
+     * Creates the student repository
+     *
+     * @param database - database to read and write
+     * @param cached - true to answer reads from memory
+     * @return the repository
+     */
+    public static SqliteRepository<Student> students(DatabaseHandler database, boolean cached) {
+        return new SqliteRepository<>(database, "students", "student_id", Student::getStudentId,
+                                      database::findStudents, database::saveStudents, database::deleteStudent,
+                                      cached);
+    }
+
+    /**
+     * Creates the course repository
+     *
+     * @param database - database to read and write
+     * @param cached - true to answer reads from memory
+     * @return the repository
+     */
+    public static SqliteRepository<Course> courses(DatabaseHandler database, boolean cached) {
+        return new SqliteRepository<>(database, "courses", "course_id", Course::getCourseId,
+                                      database::findCourses, database::saveCourses, database::deleteCourse,
+                                      cached);
+    }
+
+    /**
+     * Creates the faculty repository
+     *
+     * @param database - database to read and write
+     * @param cached - true to answer reads from memory
+     * @return the repository
+     */
+    public static SqliteRepository<Faculty> faculty(DatabaseHandler database, boolean cached) {
+        return new SqliteRepository<>(database, "faculty", "faculty_id", Faculty::getFacultyId,
+                                      database::findFaculty, database::saveFacultyMembers, database::deleteFaculty,
+                                      cached);
+    }
+
+    public boolean isCached() {
+        return cached;
+    }
+
+    /**
+     * Gets the entities matching an SQL condition, using the table's indexes
+     *
+     * When caching, only the matching IDs are read and the cached entities
+     * are returned.
+     *
+     * @param condition - SQL condition on the table, aliased by its first letter
+     * @param params - values for the condition's placeholders
+     * @return matching entities, ordered by ID
+     */
+    public List<T> query(String condition, Object... params) {
+        if (!cached) {
+            return new ArrayList<>(finder.find(condition, params).values());
+        }
+        List<String> ids = database.findIds(table, idColumn, condition, params);
+        List<T> result = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            T entity = entities.get(id);
+            if (entity != null) {
+                result.add(entity);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Builds a LIKE pattern matching values that contain a term, ignoring case
+     *
+     * Use with "lower(column) LIKE ? ESCAPE '\\'".
+     *
+     * @param term - text to look for
+     * @return pattern with LIKE wildcards in the term escaped
+     */
+    public static String containsPattern(String term) {
+        String escaped = term.toLowerCase().trim()
+            .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * Without the cache every read loads fresh objects from the database,
+     * which nothing else changes, so the repository serves as its own
+     * snapshot.
+     */
+    @Override
+    public Repository<T> snapshot() {
+        return cached ? super.snapshot() : this;
+    }
+
+    @Override
+    public T get(String id) {
+        if (cached) {
+            return super.get(id);
+        }
+        return finder.find(table.charAt(0) + "." + idColumn + " = ?", id).get(id);
+    }
+
+    @Override
+    public boolean contains(String id) {
+        if (cached) {
+            return super.contains(id);
+        }
+        return !database.findIds(table, idColumn, table.charAt(0) + "." + idColumn + " = ?", id).isEmpty();
+    }
+
+    @Override
+    public Collection<T> getAll() {
+        if (cached) {
+            return super.getAll();
+        }
+        return Collections.unmodifiableCollection(finder.find("1 = 1").values());
+    }
+
+    @Override
+    public int size() {
+        return cached ? super.size() : database.countRows(table);
+    }
+
+    @Override
+    public void save(T entity) {
+        if (cached) {
+            super.save(entity);
+        }
+        write(List.of(entity));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void saveAll(Collection<? extends T> newEntities) {
+        if (cached) {
+            super.saveAll(newEntities);
+        }
+        write((Collection<T>) newEntities);
+    }
+
+    @Override
+    public T remove(String id) {
+        T removed = cached ? super.remove(id) : get(id);
+        if (removed != null && !deleter.test(id)) {
+            System.err.println("Error: Could not delete " + id + " from the " + table + " table.");
+        }
+        return removed;
+    }
+
+    private void write(Collection<T> changed) {
+        if (!changed.isEmpty() && !writer.test(changed)) {
+            System.err.println("Error: Could not save " + table + " to the database.");
+        }
+    }
+}
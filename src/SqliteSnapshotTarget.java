@@ -0,0 +1,84 @@
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * SqliteSnapshotTarget writes snapshots to the university.db tables
+ * 
+ * Every entity is written in one transaction, then rows whose entity is no
+ * longer in memory are deleted.
+ */
+public class SqliteSnapshotTarget<T> implements SnapshotTarget<T> {
+    private final String label;
+    private final Function<T, String> idOf;
+    private final Supplier<Map<String, T>> loader;
+    private final Predicate<Collection<T>> writer;
+    private final Predicate<String> deleter;
+    private final Supplier<Collection<String>> storedIds;
+    
+    /**
+     * Creates a target
+     * 
+     * @param label - what is stored, for error messages
+     * @param idOf - gets the ID of an entity
+     * @param loader - reads every entity from the database
+     * @param writer - inserts or replaces entities, returning false on failure
+     * @param deleter - deletes an entity by ID, returning false on failure
+     * @param storedIds - reads the IDs currently in the database
+     */
+    public SqliteSnapshotTarget(String label, Function<T, String> idOf, Supplier<Map<String, T>> loader,
+                                Predicate<Collection<T>> writer, Predicate<String> deleter,
+                                Supplier<Collection<String>> storedIds) {
+        this.label = label;
+        this.idOf = idOf;
+        this.loader = loader;
+        this.writer = writer;
+        this.deleter = deleter;
+        this.storedIds = storedIds;
+    }
+    
+    public static SqliteSnapshotTarget<Student> students(DatabaseHandler database) {
+        return new SqliteSnapshotTarget<>("students", Student::getStudentId, database::loadStudents,
+                                          database::saveStudents, database::deleteStudent,
+                                          () -> database.findIds("students", "student_id", "1 = 1"));
+    }
+    
+    public static SqliteSnapshotTarget<Course> courses(DatabaseHandler database) {
+        return new SqliteSnapshotTarget<>("courses", Course::getCourseId, database::loadCourses,
+                                          database::saveCourses, database::deleteCourse,
+                                          () -> database.findIds("courses", "course_id", "1 = 1"));
+    }
+    
+    public static SqliteSnapshotTarget<Faculty> faculty(DatabaseHandler database) {
+        return new SqliteSnapshotTarget<>("faculty", Faculty::getFacultyId, database::loadFaculty,
+                                          database::saveFacultyMembers, database::deleteFaculty,
+                                          () -> database.findIds("faculty", "faculty_id", "1 = 1"));
+    }
+    
+    @Override
+    public Map<String, T> load() {
+        return loader.get();
+    }
+    
+    @Override
+    public void write(Collection<T> entities) throws IOException {
+        if (!writer.test(entities)) {
+            throw new IOException("Could not write " + label + " to the database");
+        }
+        
+        Set<String> written = new HashSet<>();
+        for (T entity : entities) {
+            written.add(idOf.apply(entity));
+        }
+        for (String id : storedIds.get()) {
+            if (!written.contains(id) && !deleter.test(id)) {
+                throw new IOException("Could not delete " + id + " from the " + label + " table");
+            }
+        }
+    }
+}
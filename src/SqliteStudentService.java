@@ -0,0 +1,86 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SqliteStudentService keeps students in the SQLite database and answers
+ * its filters with indexed queries
+ * 
+ * Each change writes only the changed student's rows. With caching, the
+ * students stay in memory and queries only read matching IDs; without it,
+ * each read loads fresh Student objects from the database. The enrollment
+ * index and the ID registry still hold every student's IDs in memory, so
+ * memory use still grows with the number of students, just more slowly.
+ */
+public class SqliteStudentService extends StudentService {
+    private final SqliteRepository<Student> repository;
+    
+    /**
+     * Creates the service
+     * 
+     * @param database - database holding the students
+     * @param cached - true to keep every student in memory
+     * @param enrollments - enrollment store shared with CourseService
+     * @param events - event bus shared with the other services
+     */
+    public SqliteStudentService(DatabaseHandler database, boolean cached,
+                                EnrollmentStore enrollments, EventBus events) {
+        this(SqliteRepository.students(database, cached), enrollments, events);
+    }
+    
+    private SqliteStudentService(SqliteRepository<Student> repository, EnrollmentStore enrollments, EventBus events) {
+        super(repository, enrollments, events);
+        this.repository = repository;
+    }
+    
+    @Override
+    public List<Student> getStudentsByMajor(String major) {
+        return repository.query("s.major = ? COLLATE NOCASE", major);
+    }
+    
+    @Override
+    public List<Student> getStudentsByEnrollmentYear(int year) {
+        return repository.query("s.enrollment_year = ?", year);
+    }
+    
+    @Override
+    public List<Student> getStudentsByStatus(StudentStatus status) {
+        // Rows written by earlier versions hold the display name
+        return repository.query("s.status IN (?, ?)", status.name(), status.toString());
+    }
+    
+    @Override
+    public List<Student> getStudentsInCourse(String courseId) {
+        return repository.query("s.student_id IN (SELECT student_id FROM student_enrollments WHERE course_id = ?)",
+                                courseId);
+    }
+    
+    @Override
+    public List<Student> getStudentsInBothCourses(String courseA, String courseB) {
+        return repository.query("s.student_id IN (SELECT student_id FROM student_enrollments WHERE course_id = ? "
+                                + "INTERSECT SELECT student_id FROM student_enrollments WHERE course_id = ?)",
+                                courseA, courseB);
+    }
+    
+    @Override
+    public List<Student> getStudentsWithGpaAbove(double gpaThreshold) {
+        return repository.query("s.gpa >= ?", gpaThreshold);
+    }
+    
+    @Override
+    public List<Student> getStudentsWithGpaBetween(double minGpa, double maxGpa) {
+        return repository.query("s.gpa BETWEEN ? AND ?", minGpa, maxGpa);
+    }
+    
+    @Override
+    public List<Student> searchStudentsByName(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        return repository.query("lower(s.full_name) LIKE ? ESCAPE '\\'", SqliteRepository.containsPattern(name));
+    }
+    
+    @Override
+    public int getActiveStudentCount() {
+        return getStudentsByStatus(StudentStatus.ACTIVE).size();
+    }
+}
@@ -1,8 +1,15 @@
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Student class representing a university student
@@ -13,14 +20,28 @@ import java.util.Map;
 public class Student implements Serializable {
     private static final long serialVersionUID = 1L;
     
+    // Serialized form uses external IDs and predates the surrogate-based fields; kept for existing data files
+    private static final ObjectStreamField[] serialPersistentFields = {
+        new ObjectStreamField("studentId", String.class),
+        new ObjectStreamField("fullName", String.class),
+        new ObjectStreamField("email", String.class),
+        new ObjectStreamField("major", String.class),
+        new ObjectStreamField("enrollmentYear", int.class),
+        new ObjectStreamField("status", StudentStatus.class),
+        new ObjectStreamField("enrolledCourses", List.class),
+        new ObjectStreamField("grades", Map.class),
+        new ObjectStreamField("gpa", double.class)
+    };
+    
     private String studentId;
     private String fullName;
     private String email;
     private String major;
     private int enrollmentYear;
     private StudentStatus status;
-    private List<String> enrolledCourses;
-    private Map<String, Grade> grades;
+    private int studentKey;
+    private OrderedIntSet enrolledCourses;
+    private IntObjectMap<Grade> grades;
     private double gpa;
     
     /**
@@ -36,14 +57,15 @@ public class Student implements Serializable {
         validateStudentId(studentId);
         validateEmail(email);
         
-        this.studentId = studentId;
+        this.studentKey = IdRegistry.STUDENTS.intern(studentId);
+        this.studentId = IdRegistry.STUDENTS.externalId(studentKey);
         this.fullName = fullName;
         this.email = email;
         this.major = major;
         this.enrollmentYear = enrollmentYear;
         this.status = StudentStatus.ACTIVE;
-        this.enrolledCourses = new ArrayList<>();
-        this.grades = new HashMap<>();
+        this.enrolledCourses = new OrderedIntSet();
+        this.grades = new IntObjectMap<>();
         this.gpa = 0.0;
     }
     
@@ -67,11 +89,7 @@ public class Student implements Serializable {
      * @return true if enrollment was successful
      */
     public boolean enrollInCourse(String courseId) {
-        if (courseId != null && !enrolledCourses.contains(courseId) && status.canEnroll()) {
-            enrolledCourses.add(courseId);
-            return true;
-        }
-        return false;
+        return courseId != null && status.canEnroll() && enrolledCourses.add(IdRegistry.COURSES.intern(courseId));
     }
     
     /**
@@ -81,7 +99,39 @@ public class Student implements Serializable {
      * @return true if drop was successful
      */
     public boolean dropCourse(String courseId) {
-        return enrolledCourses.remove(courseId);
+        int courseKey = IdRegistry.COURSES.lookup(courseId);
+        return courseKey >= 0 && enrolledCourses.remove(courseKey);
+    }
+    
+    /**
+     * Checks if the student is currently enrolled in a course
+     * 
+     * @param courseId - ID of the course
+     * @return true if the student is enrolled
+     */
+    public boolean isEnrolledIn(String courseId) {
+        int courseKey = IdRegistry.COURSES.lookup(courseId);
+        return courseKey >= 0 && enrolledCourses.contains(courseKey);
+    }
+    
+    /**
+     * Records a stored enrollment without the status check, used when loading saved data
+     * 
+     * @param courseId - ID of the course
+     */
+    void restoreEnrollment(String courseId) {
+        enrolledCourses.add(IdRegistry.COURSES.intern(courseId));
+    }
+    
+    /**
+     * Records a stored grade without the enrollment check, used when loading saved data
+     * 
+     * @param courseId - ID of the completed course
+     * @param grade - grade received
+     */
+    void restoreGrade(String courseId, Grade grade) {
+        grades.put(IdRegistry.COURSES.intern(courseId), grade);
+        calculateGPA();
     }
     
     /**
@@ -91,15 +141,32 @@ public class Student implements Serializable {
      * @param grade - grade received
      */
     public void addGrade(String courseId, Grade grade) {
-        if (enrolledCourses.contains(courseId)) {
-            grades.put(courseId, grade);
-            enrolledCourses.remove(courseId); // Move from enrolled to completed
+        int courseKey = IdRegistry.COURSES.lookup(courseId);
+        if (courseKey >= 0 && enrolledCourses.remove(courseKey)) { // Move from enrolled to completed
+            grades.put(courseKey, grade);
             calculateGPA();
         } else {
             throw new IllegalStateException("Student is not enrolled in course: " + courseId);
         }
     }
     
+    /**
+     * Replaces the grade recorded for a completed course
+     * 
+     * @param courseId - ID of the completed course
+     * @param grade - new grade for the course
+     * @return true if the grade was replaced, false if the course has no grade
+     */
+    public boolean updateGrade(String courseId, Grade grade) {
+        int courseKey = IdRegistry.COURSES.lookup(courseId);
+        if (grade == null || courseKey < 0 || !grades.containsKey(courseKey)) {
+            return false;
+        }
+        grades.put(courseKey, grade);
+        calculateGPA();
+        return true;
+    }
+    
     /**
      * Calculates the student's GPA based on completed courses
      */
@@ -109,9 +176,10 @@ public class Student implements Serializable {
             return;
         }
         
-        double totalGradePoints = grades.values().stream()
-                .mapToDouble(Grade::getGradePoints)
-                .sum();
+        double totalGradePoints = 0.0;
+        for (int i = 0; i < grades.size(); i++) {
+            totalGradePoints += grades.valueAt(i).getGradePoints();
+        }
         
         gpa = totalGradePoints / grades.size();
     }
@@ -143,6 +211,10 @@ public class Student implements Serializable {
         return studentId;
     }
     
+    public int getStudentKey() {
+        return studentKey;
+    }
+    
     public String getFullName() {
         return fullName;
     }
@@ -184,18 +256,101 @@ public class Student implements Serializable {
         this.status = status;
     }
     
-    public List<String> getEnrolledCourses() {
-        return new ArrayList<>(enrolledCourses);
+    /**
+     * Gets the enrolled courses in the order they were enrolled
+     * 
+     * @return read-only copy of the enrolled course IDs
+     */
+    public Set<String> getEnrolledCourses() {
+        Set<String> ids = new LinkedHashSet<>();
+        for (int key : enrolledCourses.toInsertionOrderArray()) {
+            ids.add(IdRegistry.COURSES.externalId(key));
+        }
+        return Collections.unmodifiableSet(ids);
+    }
+    
+    /**
+     * Gets the enrolled courses as course surrogate IDs
+     * 
+     * @return copy of the enrolled course surrogates in ascending order
+     */
+    public int[] getEnrolledCourseKeys() {
+        return enrolledCourses.toArray();
     }
     
     public Map<String, Grade> getGrades() {
-        return new HashMap<>(grades);
+        Map<String, Grade> gradesById = new HashMap<>();
+        for (int i = 0; i < grades.size(); i++) {
+            gradesById.put(IdRegistry.COURSES.externalId(grades.keyAt(i)), grades.valueAt(i));
+        }
+        return gradesById;
+    }
+    
+    public Grade getGrade(String courseId) {
+        int courseKey = IdRegistry.COURSES.lookup(courseId);
+        return courseKey >= 0 ? grades.get(courseKey) : null;
+    }
+    
+    /**
+     * Gets every course the student is enrolled in or has a grade for
+     * 
+     * Used to look up all course details a view needs in one call.
+     * 
+     * @return course IDs, enrolled courses first
+     */
+    public Set<String> getReferencedCourses() {
+        Set<String> courseIds = new LinkedHashSet<>(getEnrolledCourses());
+        for (int i = 0; i < grades.size(); i++) {
+            courseIds.add(IdRegistry.COURSES.externalId(grades.keyAt(i)));
+        }
+        return courseIds;
     }
     
     public double getGpa() {
         return gpa;
     }
     
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("studentId", studentId);
+        fields.put("fullName", fullName);
+        fields.put("email", email);
+        fields.put("major", major);
+        fields.put("enrollmentYear", enrollmentYear);
+        fields.put("status", status);
+        fields.put("enrolledCourses", new ArrayList<>(getEnrolledCourses()));
+        fields.put("grades", getGrades());
+        fields.put("gpa", gpa);
+        out.writeFields();
+    }
+    
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        studentKey = IdRegistry.STUDENTS.intern((String) fields.get("studentId", null));
+        studentId = IdRegistry.STUDENTS.externalId(studentKey);
+        fullName = (String) fields.get("fullName", null);
+        email = (String) fields.get("email", null);
+        major = (String) fields.get("major", null);
+        enrollmentYear = fields.get("enrollmentYear", 0);
+        status = (StudentStatus) fields.get("status", StudentStatus.ACTIVE);
+        enrolledCourses = new OrderedIntSet();
+        List<String> courses = (List<String>) fields.get("enrolledCourses", null);
+        if (courses != null) {
+            for (String courseId : courses) {
+                enrolledCourses.add(IdRegistry.COURSES.intern(courseId));
+            }
+        }
+        grades = new IntObjectMap<>();
+        Map<String, Grade> savedGrades = (Map<String, Grade>) fields.get("grades", null);
+        if (savedGrades != null) {
+            for (Map.Entry<String, Grade> entry : savedGrades.entrySet()) {
+                grades.put(IdRegistry.COURSES.intern(entry.getKey()), entry.getValue());
+            }
+        }
+        gpa = fields.get("gpa", 0.0);
+    }
+    
     @Override
     public String toString() {
         return String.format("Student{id='%s', name='%s', major='%s', status=%s, gpa=%.2f}", 
@@ -1,16 +1,19 @@
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * StudentPanel provides the student interface
  * 
  * This panel allows students to view their profile, courses, grades,
- * and manage their enrollment.
+ * and manage their enrollment. After the initial load, the tables follow
+ * the events published by the services and only affected rows change.
  */
 public class StudentPanel extends JPanel {
     private AuthenticationService authService;
@@ -24,6 +27,11 @@ public class StudentPanel extends JPanel {
     private JTable gradesTable;
     private JLabel studentInfoLabel;
     
+    private KeyedTableModel enrolledCoursesModel;
+    private KeyedTableModel availableCoursesModel;
+    private KeyedTableModel gradesModel;
+    private ChangeCoalescer changes;
+    
     public StudentPanel(AuthenticationService authService, StudentService studentService,
                        CourseService courseService, UniversityManagementGUI mainFrame) {
         this.authService = authService;
@@ -43,9 +51,12 @@ public class StudentPanel extends JPanel {
         tabbedPane = new JTabbedPane();
         
         // Initialize tables
-        enrolledCoursesTable = new JTable();
-        availableCoursesTable = new JTable();
-        gradesTable = new JTable();
+        enrolledCoursesModel = new KeyedTableModel(new String[]{"Course ID", "Course Name", "Credits", "Instructor", "Status"});
+        availableCoursesModel = new KeyedTableModel(new String[]{"Course ID", "Course Name", "Credits", "Instructor", "Available Spots"});
+        gradesModel = new KeyedTableModel(new String[]{"Course ID", "Course Name", "Letter Grade", "Percentage", "Grade Points"});
+        enrolledCoursesTable = new JTable(enrolledCoursesModel);
+        availableCoursesTable = new JTable(availableCoursesModel);
+        gradesTable = new JTable(gradesModel);
         
         studentInfoLabel = new JLabel();
         studentInfoLabel.setFont(new Font("Arial", Font.PLAIN, 14));
@@ -178,22 +189,122 @@ public class StudentPanel extends JPanel {
      * Sets up event listeners
      */
     private void setupEventListeners() {
-        // Tab change listener to refresh data
-        tabbedPane.addChangeListener(e -> {
-            int selectedIndex = tabbedPane.getSelectedIndex();
-            switch (selectedIndex) {
-                case 0: refreshProfileData(); break;
-                case 1: refreshEnrolledCoursesData(); break;
-                case 2: refreshAvailableCoursesData(); break;
-                case 3: refreshGradesData(); break;
+        // Keep the tables current from service changes instead of reloading on tab switches
+        changes = new ChangeCoalescer(ChangeCoalescer.DEFAULT_DELAY_MILLIS, this::applyChanges,
+            DomainEventType.STUDENT_UPDATED, DomainEventType.STUDENT_REMOVED,
+            DomainEventType.ENROLLED, DomainEventType.DROPPED,
+            DomainEventType.GRADE_ADDED, DomainEventType.GRADE_UPDATED,
+            DomainEventType.COURSE_ADDED, DomainEventType.COURSE_UPDATED,
+            DomainEventType.COURSE_STATUS_CHANGED, DomainEventType.COURSE_REMOVED);
+    }
+    
+    /**
+     * Stops following service changes until the panel is refreshed again, e.g. on logout
+     */
+    public void stopListening() {
+        changes.close();
+    }
+    
+    /**
+     * Updates the rows affected by a batch of service changes
+     */
+    private void applyChanges(List<DomainEvent> events) {
+        Student student = getCurrentStudent();
+        if (student == null) {
+            return;
+        }
+        
+        String studentId = student.getStudentId();
+        boolean profileChanged = false;
+        Set<String> enrollmentChanges = new LinkedHashSet<>();
+        Set<String> gradeChanges = new LinkedHashSet<>();
+        Set<String> courseChanges = new LinkedHashSet<>();
+        for (DomainEvent event : events) {
+            boolean mine = studentId.equals(event.getEntityId());
+            switch (event.getType()) {
+                case STUDENT_UPDATED:
+                case STUDENT_REMOVED:
+                    if (mine) {
+                        // The whole record may have been replaced
+                        refreshData();
+                        return;
+                    }
+                    break;
+                case ENROLLED:
+                case DROPPED:
+                    if (mine) {
+                        enrollmentChanges.add(event.getRelatedId());
+                        profileChanged = true;
+                    }
+                    break;
+                case GRADE_ADDED:
+                case GRADE_UPDATED:
+                    if (mine) {
+                        gradeChanges.add(event.getRelatedId());
+                        profileChanged = true;
+                    }
+                    break;
+                default:
+                    courseChanges.add(event.getEntityId());
             }
-        });
+        }
+        
+        if (profileChanged) {
+            refreshProfileData();
+        }
+        
+        List<Object[]> enrolledRows = new ArrayList<>();
+        List<String> enrolledRemoved = new ArrayList<>();
+        List<Object[]> availableRows = new ArrayList<>();
+        List<String> availableRemoved = new ArrayList<>();
+        enrollmentChanges.addAll(courseChanges);
+        Set<String> lookups = new LinkedHashSet<>(enrollmentChanges);
+        lookups.addAll(gradeChanges);
+        Map<String, Course> courses = courseService.getCourses(lookups);
+        for (String courseId : enrollmentChanges) {
+            Course course = courses.get(courseId);
+            if (course != null && student.isEnrolledIn(courseId)) {
+                enrolledRows.add(enrolledCourseRow(course));
+            } else {
+                enrolledRemoved.add(courseId);
+            }
+            if (course != null && course.getStatus() == CourseStatus.OPEN) {
+                availableRows.add(availableCourseRow(course));
+            } else {
+                availableRemoved.add(courseId);
+            }
+        }
+        enrolledCoursesModel.applyChanges(enrolledRows, enrolledRemoved);
+        availableCoursesModel.applyChanges(availableRows, availableRemoved);
+        
+        List<Object[]> gradeRows = new ArrayList<>();
+        List<String> gradesRemoved = new ArrayList<>();
+        gradeChanges.addAll(courseChanges);
+        for (String courseId : gradeChanges) {
+            Grade grade = student.getGrade(courseId);
+            if (grade != null) {
+                gradeRows.add(gradeRow(courseId, grade, courses.get(courseId)));
+            } else {
+                gradesRemoved.add(courseId);
+            }
+        }
+        gradesModel.applyChanges(gradeRows, gradesRemoved);
+    }
+    
+    /**
+     * Gets the student record of the logged-in user
+     */
+    private Student getCurrentStudent() {
+        User currentUser = authService.getCurrentUser();
+        return currentUser != null ? studentService.getStudent(currentUser.getUsername()) : null;
     }
     
     /**
      * Refreshes all data when panel becomes visible
      */
     public void refreshData() {
+        changes.listenTo(studentService.getEventBus());
+        changes.listenTo(courseService.getEventBus());
         refreshProfileData();
         refreshEnrolledCoursesData();
         refreshAvailableCoursesData();
@@ -241,25 +352,14 @@ public class StudentPanel extends JPanel {
         if (currentUser != null) {
             Student student = studentService.getStudent(currentUser.getUsername());
             if (student != null) {
-                List<String> enrolledCourses = student.getEnrolledCourses();
-                
-                String[] columns = {"Course ID", "Course Name", "Credits", "Instructor", "Status"};
-                DefaultTableModel model = new DefaultTableModel(columns, 0);
+                Set<String> enrolledCourses = student.getEnrolledCourses();
+                List<Object[]> rows = new ArrayList<>();
                 
-                for (String courseId : enrolledCourses) {
-                    Course course = courseService.getCourse(courseId);
-                    if (course != null) {
-                        model.addRow(new Object[]{
-                            course.getCourseId(),
-                            course.getCourseName(),
-                            course.getCreditHours(),
-                            course.getInstructorId(),
-                            course.getStatus()
-                        });
-                    }
+                for (Course course : courseService.getCourses(enrolledCourses).values()) {
+                    rows.add(enrolledCourseRow(course));
                 }
                 
-                enrolledCoursesTable.setModel(model);
+                enrolledCoursesModel.setRows(rows);
             }
         }
     }
@@ -269,21 +369,13 @@ public class StudentPanel extends JPanel {
      */
     private void refreshAvailableCoursesData() {
         List<Course> availableCourses = courseService.getAvailableCourses();
-        
-        String[] columns = {"Course ID", "Course Name", "Credits", "Instructor", "Available Spots"};
-        DefaultTableModel model = new DefaultTableModel(columns, 0);
+        List<Object[]> rows = new ArrayList<>();
         
         for (Course course : availableCourses) {
-            model.addRow(new Object[]{
-                course.getCourseId(),
-                course.getCourseName(),
-                course.getCreditHours(),
-                course.getInstructorId(),
-                course.getAvailableSpots()
-            });
+            rows.add(availableCourseRow(course));
         }
         
-        availableCoursesTable.setModel(model);
+        availableCoursesModel.setRows(rows);
     }
     
     /**
@@ -295,31 +387,50 @@ public class StudentPanel extends JPanel {
             Student student = studentService.getStudent(currentUser.getUsername());
             if (student != null) {
                 Map<String, Grade> grades = student.getGrades();
-                
-                String[] columns = {"Course ID", "Course Name", "Letter Grade", "Percentage", "Grade Points"};
-                DefaultTableModel model = new DefaultTableModel(columns, 0);
+                Map<String, Course> courses = courseService.getCourses(grades.keySet());
+                List<Object[]> rows = new ArrayList<>();
                 
                 for (Map.Entry<String, Grade> entry : grades.entrySet()) {
-                    String courseId = entry.getKey();
-                    Grade grade = entry.getValue();
-                    Course course = courseService.getCourse(courseId);
-                    
-                    String courseName = course != null ? course.getCourseName() : "Unknown";
-                    
-                    model.addRow(new Object[]{
-                        courseId,
-                        courseName,
-                        grade.getLetterGrade(),
-                        String.format("%.1f%%", grade.getPercentage()),
-                        String.format("%.1f", grade.getGradePoints())
-                    });
+                    rows.add(gradeRow(entry.getKey(), entry.getValue(), courses.get(entry.getKey())));
                 }
                 
-                gradesTable.setModel(model);
+                gradesModel.setRows(rows);
             }
         }
     }
     
+    private Object[] enrolledCourseRow(Course course) {
+        return new Object[]{
+            course.getCourseId(),
+            course.getCourseName(),
+            course.getCreditHours(),
+            course.getInstructorId(),
+            course.getStatus()
+        };
+    }
+    
+    private Object[] availableCourseRow(Course course) {
+        return new Object[]{
+            course.getCourseId(),
+            course.getCourseName(),
+            course.getCreditHours(),
+            course.getInstructorId(),
+            course.getAvailableSpots()
+        };
+    }
+    
+    private Object[] gradeRow(String courseId, Grade grade, Course course) {
+        String courseName = course != null ? course.getCourseName() : "Unknown";
+        
+        return new Object[]{
+            courseId,
+            courseName,
+            grade.getLetterGrade(),
+            String.format("%.1f%%", grade.getPercentage()),
+            String.format("%.1f", grade.getGradePoints())
+        };
+    }
+    
     /**
      * Enrolls student in selected course
      */
@@ -332,12 +443,14 @@ public class StudentPanel extends JPanel {
         
         String courseId = (String) availableCoursesTable.getValueAt(selectedRow, 0);
         User currentUser = authService.getCurrentUser();
+        if (currentUser == null) {
+            mainFrame.handleSessionExpired();
+            return;
+        }
         
         if (studentService.enrollStudentInCourse(currentUser.getUsername(), courseId) &&
             courseService.enrollStudent(courseId, currentUser.getUsername())) {
             mainFrame.showSuccess("Successfully enrolled in course: " + courseId);
-            refreshEnrolledCoursesData();
-            refreshAvailableCoursesData();
         } else {
             mainFrame.showError("Failed to enroll in course. Please check if you meet the requirements.");
         }
@@ -358,12 +471,14 @@ public class StudentPanel extends JPanel {
         
         if (mainFrame.showConfirmation("Are you sure you want to drop " + courseName + "?")) {
             User currentUser = authService.getCurrentUser();
+            if (currentUser == null) {
+                mainFrame.handleSessionExpired();
+                return;
+            }
             
             if (studentService.dropStudentFromCourse(currentUser.getUsername(), courseId) &&
                 courseService.dropStudent(courseId, currentUser.getUsername())) {
                 mainFrame.showSuccess("Successfully dropped course: " + courseName);
-                refreshEnrolledCoursesData();
-                refreshAvailableCoursesData();
             } else {
                 mainFrame.showError("Failed to drop course.");
             }
@@ -408,6 +523,11 @@ public class StudentPanel extends JPanel {
         JButton cancelButton = new JButton("Cancel");
         
         changeButton.addActionListener(e -> {
+            if (authService.getCurrentUser() == null) {
+                dialog.dispose();
+                mainFrame.handleSessionExpired();
+                return;
+            }
             String oldPassword = new String(oldPasswordField.getPassword());
             String newPassword = new String(newPasswordField.getPassword());
             String confirmPassword = new String(confirmPasswordField.getPassword());
@@ -1,8 +1,11 @@
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * StudentService handles all student-related operations
@@ -10,39 +13,111 @@ import java.util.stream.Collectors;
  * This service provides functionality for student management,
  * enrollment, grades, and academic records.
  */
-public class StudentService {
-    private Map<String, Student> students;
-    private FileManager<Map<String, Student>> fileManager;
-    private static final String STUDENTS_FILE = "data/students.dat";
+public class StudentService implements Versioned {
+    public static final double PROBATION_GPA = 2.0;
+    
+    private final Repository<Student> students;
+    private EnrollmentStore enrollments;
+    private final EventBus events;
+    private final AtomicLong version = new AtomicLong();
     
     public StudentService() {
-        this.fileManager = new FileManager<>();
-        this.students = loadStudents();
+        this(new EnrollmentStore());
     }
     
     /**
-     * Loads students from file or creates empty collection
+     * Creates the service recording enrollments into a shared store
+     * 
+     * @param enrollments - enrollment store shared with CourseService
      */
-    @SuppressWarnings("unchecked")
-    private Map<String, Student> loadStudents() {
-        try {
-            Map<String, Student> loadedStudents = fileManager.loadFromFile(STUDENTS_FILE);
-            return loadedStudents != null ? loadedStudents : new HashMap<>();
-        } catch (Exception e) {
-            System.err.println("Warning: Could not load students from file. Starting with empty student collection.");
-            return new HashMap<>();
-        }
+    public StudentService(EnrollmentStore enrollments) {
+        this(enrollments, new EventBus());
     }
     
     /**
-     * Saves students to file
+     * Creates the service publishing its changes on an event bus
+     * 
+     * @param enrollments - enrollment store shared with CourseService
+     * @param events - event bus shared with the other services
      */
-    private void saveStudents() {
-        try {
-            fileManager.saveToFile(students, STUDENTS_FILE);
-        } catch (Exception e) {
-            System.err.println("Error: Could not save students to file: " + e.getMessage());
-        }
+    public StudentService(EnrollmentStore enrollments, EventBus events) {
+        this(PersistenceBackend.configured().students(), enrollments, events);
+    }
+    
+    /**
+     * Creates the service storing students in a repository
+     * 
+     * @param students - repository holding the students
+     * @param enrollments - enrollment store shared with CourseService
+     * @param events - event bus shared with the other services
+     */
+    public StudentService(Repository<Student> students, EnrollmentStore enrollments, EventBus events) {
+        this.students = students;
+        this.enrollments = enrollments;
+        this.events = events;
+        enrollments.indexStudents(students.getAll());
+    }
+    
+    /**
+     * Stores a changed student
+     */
+    private void saveStudent(Student student) {
+        version.incrementAndGet();
+        students.save(student);
+    }
+    
+    /**
+     * Stores several changed students at once
+     */
+    private void saveStudents(Collection<Student> changed) {
+        version.incrementAndGet();
+        students.saveAll(changed);
+    }
+    
+    /**
+     * Gets the repository the students are stored in
+     * 
+     * @return student repository
+     */
+    public Repository<Student> getRepository() {
+        return students;
+    }
+    
+    /**
+     * Creates a read-only service over a snapshot of a student repository
+     * 
+     * The service reports the version the snapshot was taken at, so cached
+     * reports stay valid for it and for the service it was taken from.
+     * 
+     * @param snapshot - snapshot of a student repository
+     * @param version - version of the snapshot's service when it was taken
+     * @param enrollments - enrollment store for the copy, shared with its CourseService
+     * @return service reading the snapshot
+     */
+    public static StudentService ofSnapshot(Repository<Student> snapshot, long version,
+                                            EnrollmentStore enrollments) {
+        StudentService copy = new StudentService(snapshot, enrollments, new EventBus());
+        copy.version.set(version);
+        return copy;
+    }
+    
+    /**
+     * Gets the data version, increased by every change to students
+     * 
+     * @return version number
+     */
+    @Override
+    public long getVersion() {
+        return version.get();
+    }
+    
+    /**
+     * Gets the event bus this service publishes student changes on
+     * 
+     * @return event bus
+     */
+    public EventBus getEventBus() {
+        return events;
     }
     
     /**
@@ -52,15 +127,43 @@ public class StudentService {
      * @return true if student was added successfully, false if student ID already exists
      */
     public boolean addStudent(Student student) {
-        if (student == null || students.containsKey(student.getStudentId())) {
+        if (student == null || students.contains(student.getStudentId())) {
             return false;
         }
         
-        students.put(student.getStudentId(), student);
-        saveStudents();
+        enrollments.indexStudents(List.of(student));
+        saveStudent(student);
+        events.publish(new DomainEvent(DomainEventType.STUDENT_ADDED, student.getStudentId()));
         return true;
     }
     
+    /**
+     * Adds many students and saves once
+     * 
+     * @param newStudents - students to add
+     * @return students that were added (existing IDs are skipped)
+     */
+    public List<Student> addStudents(Collection<Student> newStudents) {
+        Map<String, Student> batch = new LinkedHashMap<>();
+        for (Student student : newStudents) {
+            if (student != null && !students.contains(student.getStudentId())) {
+                batch.putIfAbsent(student.getStudentId(), student);
+            }
+        }
+        
+        List<Student> added = new ArrayList<>(batch.values());
+        if (!added.isEmpty()) {
+            enrollments.indexStudents(added);
+            saveStudents(added);
+            if (events.hasSubscribers()) {
+                events.publishAll(added.stream()
+                    .map(student -> new DomainEvent(DomainEventType.STUDENT_ADDED, student.getStudentId()))
+                    .collect(Collectors.toList()));
+            }
+        }
+        return added;
+    }
+    
     /**
      * Updates an existing student's information
      * 
@@ -69,12 +172,14 @@ public class StudentService {
      * @return true if update was successful, false if student not found
      */
     public boolean updateStudent(String studentId, Student updatedStudent) {
-        if (studentId == null || updatedStudent == null || !students.containsKey(studentId)) {
+        if (studentId == null || updatedStudent == null || !students.contains(studentId)
+                || !studentId.equals(updatedStudent.getStudentId())) {
             return false;
         }
         
-        students.put(studentId, updatedStudent);
-        saveStudents();
+        enrollments.indexStudents(List.of(updatedStudent));
+        saveStudent(updatedStudent);
+        events.publish(new DomainEvent(DomainEventType.STUDENT_UPDATED, studentId));
         return true;
     }
     
@@ -91,7 +196,9 @@ public class StudentService {
         
         Student removed = students.remove(studentId);
         if (removed != null) {
-            saveStudents();
+            enrollments.removeStudent(studentId);
+            version.incrementAndGet();
+            events.publish(new DomainEvent(DomainEventType.STUDENT_REMOVED, studentId));
             return true;
         }
         
@@ -114,7 +221,7 @@ public class StudentService {
      * @return List of all students
      */
     public List<Student> getAllStudents() {
-        return new ArrayList<>(students.values());
+        return new ArrayList<>(students.getAll());
     }
     
     /**
@@ -128,7 +235,9 @@ public class StudentService {
         Student student = students.get(studentId);
         if (student != null && student.getStatus().canEnroll()) {
             if (student.enrollInCourse(courseId)) {
-                saveStudents();
+                enrollments.enroll(studentId, courseId);
+                saveStudent(student);
+                events.publish(new DomainEvent(DomainEventType.ENROLLED, studentId, courseId));
                 return true;
             }
         }
@@ -146,7 +255,9 @@ public class StudentService {
         Student student = students.get(studentId);
         if (student != null) {
             if (student.dropCourse(courseId)) {
-                saveStudents();
+                enrollments.drop(studentId, courseId);
+                saveStudent(student);
+                events.publish(new DomainEvent(DomainEventType.DROPPED, studentId, courseId));
                 return true;
             }
         }
@@ -166,7 +277,11 @@ public class StudentService {
         if (student != null) {
             try {
                 student.addGrade(courseId, grade);
-                saveStudents();
+                // A graded course is completed, no longer a current enrollment
+                enrollments.drop(studentId, courseId);
+                saveStudent(student);
+                events.publish(new DomainEvent(DomainEventType.GRADE_ADDED, studentId, courseId,
+                                               grade.getLetterGrade()));
                 return true;
             } catch (IllegalStateException e) {
                 return false; // Student not enrolled in course
@@ -175,6 +290,87 @@ public class StudentService {
         return false;
     }
     
+    /**
+     * Records many grades and saves once
+     * 
+     * A grade for a current enrollment completes the course, a grade for a
+     * course that already has one replaces it, and any other grade is
+     * recorded as a completed course, as found in an exported transcript.
+     * 
+     * @param records - grades to record
+     * @return number of grades recorded (unknown students are skipped)
+     */
+    public int importGrades(Collection<GradeRecord> records) {
+        List<DomainEvent> changes = new ArrayList<>();
+        Map<String, Student> changed = new LinkedHashMap<>();
+        boolean publishing = events.hasSubscribers();
+        int recorded = 0;
+        for (GradeRecord record : records) {
+            Student student = students.get(record.getStudentId());
+            if (student == null) {
+                continue;
+            }
+            DomainEventType type = DomainEventType.GRADE_ADDED;
+            if (student.isEnrolledIn(record.getCourseId())) {
+                student.addGrade(record.getCourseId(), record.getGrade());
+                enrollments.drop(record.getStudentId(), record.getCourseId());
+            } else if (student.updateGrade(record.getCourseId(), record.getGrade())) {
+                type = DomainEventType.GRADE_UPDATED;
+            } else {
+                student.restoreGrade(record.getCourseId(), record.getGrade());
+            }
+            changed.put(student.getStudentId(), student);
+            recorded++;
+            if (publishing) {
+                changes.add(new DomainEvent(type, record.getStudentId(),
+                                            record.getCourseId(), record.getGrade().getLetterGrade()));
+            }
+        }
+        
+        if (recorded > 0) {
+            saveStudents(changed.values());
+            events.publishAll(changes);
+        }
+        return recorded;
+    }
+    
+    /**
+     * Re-evaluates every grade recorded for a course under a grading scale
+     * 
+     * All students are visited in a single pass and the result is saved once.
+     * 
+     * @param courseId - ID of course
+     * @param scale - grading scale to apply
+     * @return number of grades that were re-evaluated
+     */
+    public int regradeCourse(String courseId, GradingScale scale) {
+        if (courseId == null || scale == null) {
+            return 0;
+        }
+        
+        List<DomainEvent> changes = new ArrayList<>();
+        List<Student> changed = new ArrayList<>();
+        boolean publishing = events.hasSubscribers();
+        int regraded = 0;
+        for (Student student : students.getAll()) {
+            Grade grade = student.getGrade(courseId);
+            if (grade != null && student.updateGrade(courseId, scale.gradeFor(grade.getPercentage()))) {
+                changed.add(student);
+                regraded++;
+                if (publishing) {
+                    changes.add(new DomainEvent(DomainEventType.GRADE_UPDATED, student.getStudentId(), courseId,
+                                                student.getGrade(courseId).getLetterGrade()));
+                }
+            }
+        }
+        
+        if (regraded > 0) {
+            saveStudents(changed);
+            events.publishAll(changes);
+        }
+        return regraded;
+    }
+    
     /**
      * Gets students by major
      * 
@@ -182,7 +378,7 @@ public class StudentService {
      * @return List of students in the specified major
      */
     public List<Student> getStudentsByMajor(String major) {
-        return students.values().stream()
+        return students.getAll().stream()
                 .filter(student -> major.equalsIgnoreCase(student.getMajor()))
                 .collect(Collectors.toList());
     }
@@ -194,7 +390,7 @@ public class StudentService {
      * @return List of students enrolled in the specified year
      */
     public List<Student> getStudentsByEnrollmentYear(int year) {
-        return students.values().stream()
+        return students.getAll().stream()
                 .filter(student -> student.getEnrollmentYear() == year)
                 .collect(Collectors.toList());
     }
@@ -206,7 +402,7 @@ public class StudentService {
      * @return List of students with the specified status
      */
     public List<Student> getStudentsByStatus(StudentStatus status) {
-        return students.values().stream()
+        return students.getAll().stream()
                 .filter(student -> student.getStatus() == status)
                 .collect(Collectors.toList());
     }
@@ -218,9 +414,33 @@ public class StudentService {
      * @return List of students enrolled in the course
      */
     public List<Student> getStudentsInCourse(String courseId) {
-        return students.values().stream()
-                .filter(student -> student.getEnrolledCourses().contains(courseId))
-                .collect(Collectors.toList());
+        return toStudents(enrollments.getStudentsInCourse(courseId));
+    }
+    
+    /**
+     * Gets students enrolled in both of two courses
+     * 
+     * @param courseA - ID of first course
+     * @param courseB - ID of second course
+     * @return List of students enrolled in both courses
+     */
+    public List<Student> getStudentsInBothCourses(String courseA, String courseB) {
+        return toStudents(enrollments.getStudentsInBoth(courseA, courseB));
+    }
+    
+    private List<Student> toStudents(Set<String> studentIds) {
+        List<Student> result = new ArrayList<>(studentIds.size());
+        for (String studentId : studentIds) {
+            Student student = students.get(studentId);
+            if (student != null) {
+                result.add(student);
+            }
+        }
+        return result;
+    }
+    
+    public EnrollmentStore getEnrollmentStore() {
+        return enrollments;
     }
     
     /**
@@ -230,18 +450,31 @@ public class StudentService {
      * @return List of students with GPA above threshold
      */
     public List<Student> getStudentsWithGpaAbove(double gpaThreshold) {
-        return students.values().stream()
+        return students.getAll().stream()
                 .filter(student -> student.getGpa() >= gpaThreshold)
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Computes student aggregates in a single pass
+     * 
+     * @return counts, average GPA, probation count and students per major
+     */
+    public StudentStatistics getStatistics() {
+        StudentStatistics statistics = new StudentStatistics();
+        for (Student student : students.getAll()) {
+            statistics.add(student);
+        }
+        return statistics;
+    }
+    
     /**
      * Gets students on academic probation (GPA below 2.0)
      * 
      * @return List of students on probation
      */
     public List<Student> getStudentsOnProbation() {
-        return getStudentsWithGpaBetween(0.0, 2.0);
+        return getStudentsWithGpaBetween(0.0, PROBATION_GPA);
     }
     
     /**
@@ -252,7 +485,7 @@ public class StudentService {
      * @return List of students within GPA range
      */
     public List<Student> getStudentsWithGpaBetween(double minGpa, double maxGpa) {
-        return students.values().stream()
+        return students.getAll().stream()
                 .filter(student -> student.getGpa() >= minGpa && student.getGpa() <= maxGpa)
                 .collect(Collectors.toList());
     }
@@ -268,7 +501,8 @@ public class StudentService {
         Student student = students.get(studentId);
         if (student != null) {
             student.setStatus(status);
-            saveStudents();
+            saveStudent(student);
+            events.publish(new DomainEvent(DomainEventType.STUDENT_UPDATED, studentId, null, status.name()));
             return true;
         }
         return false;
@@ -286,7 +520,7 @@ public class StudentService {
         }
         
         String searchTerm = name.toLowerCase().trim();
-        return students.values().stream()
+        return students.getAll().stream()
                 .filter(student -> student.getFullName().toLowerCase().contains(searchTerm))
                 .collect(Collectors.toList());
     }
@@ -306,7 +540,7 @@ public class StudentService {
      * @return number of active students
      */
     public int getActiveStudentCount() {
-        return (int) students.values().stream()
+        return (int) students.getAll().stream()
                 .filter(student -> student.getStatus() == StudentStatus.ACTIVE)
                 .count();
     }
@@ -317,7 +551,7 @@ public class StudentService {
      * @return average GPA
      */
     public double getAverageGpa() {
-        return students.values().stream()
+        return students.getAll().stream()
                 .mapToDouble(Student::getGpa)
                 .average()
                 .orElse(0.0);
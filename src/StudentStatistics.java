@@ -0,0 +1,61 @@
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * StudentStatistics holds aggregates computed in one pass over all students
+ */
+public class StudentStatistics {
+    private int totalStudents;
+    private int activeStudents;
+    private int probationStudents;
+    private double gpaSum;
+    private final Map<String, Integer> studentsByMajor;
+
+    StudentStatistics() {
+        this.studentsByMajor = new TreeMap<>();
+    }
+
+    /**
+     * Adds one student to the aggregates
+     *
+     * @param student - student to count
+     */
+    void add(Student student) {
+        double gpa = student.getGpa();
+        totalStudents++;
+        gpaSum += gpa;
+        if (student.getStatus() == StudentStatus.ACTIVE) {
+            activeStudents++;
+        }
+        if (gpa >= 0.0 && gpa <= StudentService.PROBATION_GPA) {
+            probationStudents++;
+        }
+        studentsByMajor.merge(String.valueOf(student.getMajor()), 1, Integer::sum);
+    }
+
+    public int getTotalStudents() {
+        return totalStudents;
+    }
+
+    public int getActiveStudents() {
+        return activeStudents;
+    }
+
+    public int getProbationStudents() {
+        return probationStudents;
+    }
+
+    public double getAverageGpa() {
+        return totalStudents == 0 ? 0.0 : gpaSum / totalStudents;
+    }
+
+    /**
+     * Gets student counts per major
+     *
+     * @return Map of majors to student counts, sorted by major
+     */
+    public Map<String, Integer> getStudentsByMajor() {
+        return Collections.unmodifiableMap(studentsByMajor);
+    }
+}
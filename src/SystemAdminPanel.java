@@ -3,7 +3,15 @@ import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 /**
@@ -26,6 +34,7 @@ public class SystemAdminPanel extends JPanel {
     private JTable facultyTable;
     private JTable coursesTable;
     private JTextArea reportsTextArea;
+    private ReportPreviewPanel reportPreview;
     private JTextArea statisticsTextArea;
     
     public SystemAdminPanel(AuthenticationService authService, StudentService studentService,
@@ -59,6 +68,8 @@ public class SystemAdminPanel extends JPanel {
         reportsTextArea = new JTextArea();
         reportsTextArea.setFont(new Font("Monospaced", Font.PLAIN, 12));
         reportsTextArea.setEditable(false);
+        reportPreview = new ReportPreviewPanel(reportsTextArea, adminService, studentService, courseService,
+                                               facultyService, mainFrame);
         
         statisticsTextArea = new JTextArea();
         statisticsTextArea.setFont(new Font("Monospaced", Font.PLAIN, 12));
@@ -131,9 +142,11 @@ public class SystemAdminPanel extends JPanel {
         JButton activateButton = new JButton("Activate Selected");
         JButton deactivateButton = new JButton("Deactivate Selected");
         JButton resetPasswordButton = new JButton("Reset Password");
+        JButton importButton = new JButton("Import Students...");
         JButton refreshButton = new JButton("Refresh");
         
         addButton.addActionListener(e -> showAddUserDialog());
+        importButton.addActionListener(e -> importStudentAccounts());
         activateButton.addActionListener(e -> activateSelectedUser());
         deactivateButton.addActionListener(e -> deactivateSelectedUser());
         resetPasswordButton.addActionListener(e -> resetSelectedUserPassword());
@@ -143,6 +156,7 @@ public class SystemAdminPanel extends JPanel {
         buttonPanel.add(activateButton);
         buttonPanel.add(deactivateButton);
         buttonPanel.add(resetPasswordButton);
+        buttonPanel.add(importButton);
         buttonPanel.add(refreshButton);
         
         panel.add(scrollPane, BorderLayout.CENTER);
@@ -254,23 +268,32 @@ public class SystemAdminPanel extends JPanel {
         JPanel panel = new JPanel(new BorderLayout());
         panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
         
-        JScrollPane scrollPane = new JScrollPane(reportsTextArea);
-        scrollPane.setBorder(BorderFactory.createTitledBorder("Reports"));
-        
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
         JButton systemReportButton = new JButton("Generate System Report");
         JButton studentReportButton = new JButton("Generate Student Report");
         JButton facultyReportButton = new JButton("Generate Faculty Report");
+        JButton allStudentsReportButton = new JButton("All Student Reports");
+        JButton exportTranscriptsButton = new JButton("Export Transcripts...");
+        JButton importRecordsButton = new JButton("Import Records...");
+        JButton exportRecordsButton = new JButton("Export Records...");
         
         systemReportButton.addActionListener(e -> generateSystemReport());
         studentReportButton.addActionListener(e -> showStudentReportDialog());
         facultyReportButton.addActionListener(e -> showFacultyReportDialog());
+        allStudentsReportButton.addActionListener(e -> generateAllStudentReports());
+        exportTranscriptsButton.addActionListener(e -> reportPreview.exportTranscripts());
+        importRecordsButton.addActionListener(e -> transferRecords(true));
+        exportRecordsButton.addActionListener(e -> transferRecords(false));
         
         buttonPanel.add(systemReportButton);
         buttonPanel.add(studentReportButton);
         buttonPanel.add(facultyReportButton);
+        buttonPanel.add(allStudentsReportButton);
+        buttonPanel.add(exportTranscriptsButton);
+        buttonPanel.add(importRecordsButton);
+        buttonPanel.add(exportRecordsButton);
         
-        panel.add(scrollPane, BorderLayout.CENTER);
+        panel.add(reportPreview, BorderLayout.CENTER);
         panel.add(buttonPanel, BorderLayout.SOUTH);
         
         return panel;
@@ -521,8 +544,7 @@ public class SystemAdminPanel extends JPanel {
             }
             
             try {
-                User newUser = new User(username, password, role, fullName);
-                if (authService.registerUser(newUser)) {
+                if (authService.createUser(username, password, role, fullName)) {
                     mainFrame.showSuccess("User created successfully.");
                     dialog.dispose();
                     refreshUsersData();
@@ -548,6 +570,231 @@ public class SystemAdminPanel extends JPanel {
         dialog.setVisible(true);
     }
     
+    /**
+     * Provisions student accounts from a CSV file in the background
+     * 
+     * The progress dialog is modal, so nothing else in the UI changes users
+     * or students while the import writes them.
+     */
+    private void importStudentAccounts() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Import Students (" + String.join(", ", AccountProvisioner.COLUMNS) + ")");
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File file = chooser.getSelectedFile();
+        
+        JDialog progressDialog = new JDialog((Frame) SwingUtilities.getWindowAncestor(this), "Importing Students", true);
+        progressDialog.setDefaultCloseOperation(JDialog.DO_NOTHING_ON_CLOSE);
+        JProgressBar progressBar = new JProgressBar();
+        progressBar.setStringPainted(true);
+        progressBar.setString("Reading " + file.getName());
+        progressBar.setIndeterminate(true);
+        progressDialog.add(progressBar);
+        progressDialog.setSize(400, 80);
+        progressDialog.setLocationRelativeTo(this);
+        
+        SwingWorker<ProvisioningResult, Object[]> worker = new SwingWorker<>() {
+            @Override
+            protected ProvisioningResult doInBackground() throws Exception {
+                AccountProvisioner provisioner = new AccountProvisioner(authService, studentService);
+                try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+                    return provisioner.provisionStudents(reader,
+                        (stage, processed, total) -> publish(new Object[]{stage, processed, total}));
+                }
+            }
+            
+            @Override
+            protected void process(List<Object[]> updates) {
+                Object[] latest = updates.get(updates.size() - 1);
+                progressBar.setIndeterminate(false);
+                progressBar.setMaximum((Integer) latest[2]);
+                progressBar.setValue((Integer) latest[1]);
+                progressBar.setString(latest[0] + ": " + latest[1] + " / " + latest[2]);
+            }
+            
+            @Override
+            protected void done() {
+                progressDialog.dispose();
+                try {
+                    showProvisioningResult(get());
+                } catch (Exception ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    mainFrame.showError("Import failed: " + cause.getMessage());
+                }
+                refreshUsersData();
+                refreshStudentsData();
+            }
+        };
+        worker.execute();
+        // Blocks input to the rest of the UI until done() disposes the dialog
+        progressDialog.setVisible(true);
+    }
+    
+    /**
+     * Imports or exports students, courses, faculty or grades as CSV or JSON Lines
+     * 
+     * The transfer runs in the background behind a modal dialog, so the
+     * records cannot be changed from the UI while they are read or written.
+     * The format is picked from the file's extension.
+     * 
+     * @param importing - true to import from a file, false to export to one
+     */
+    private void transferRecords(boolean importing) {
+        String[] kinds = {"Students", "Courses", "Faculty", "Grades"};
+        String title = importing ? "Import Records" : "Export Records";
+        String kind = (String) JOptionPane.showInputDialog(this, "Records to " + (importing ? "import:" : "export:"),
+            title, JOptionPane.QUESTION_MESSAGE, null, kinds, kinds[0]);
+        if (kind == null) {
+            return;
+        }
+        
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle(title + " (.csv or .jsonl)");
+        if (!importing) {
+            chooser.setSelectedFile(new File(kind.toLowerCase(Locale.ROOT) + ".csv"));
+        }
+        int choice = importing ? chooser.showOpenDialog(this) : chooser.showSaveDialog(this);
+        if (choice != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        Path file = chooser.getSelectedFile().toPath();
+        
+        JDialog progressDialog = new JDialog((Frame) SwingUtilities.getWindowAncestor(this), title, true);
+        progressDialog.setDefaultCloseOperation(JDialog.DO_NOTHING_ON_CLOSE);
+        JProgressBar progressBar = new JProgressBar();
+        progressBar.setStringPainted(true);
+        progressBar.setString((importing ? "Importing " : "Exporting ") + kind.toLowerCase(Locale.ROOT));
+        progressBar.setIndeterminate(true);
+        progressDialog.add(progressBar);
+        progressDialog.setSize(400, 80);
+        progressDialog.setLocationRelativeTo(this);
+        
+        SwingWorker<TransferResult, Void> worker = new SwingWorker<>() {
+            @Override
+            protected TransferResult doInBackground() throws Exception {
+                return importing ? importRecords(kind, file) : exportRecords(kind, file);
+            }
+            
+            @Override
+            protected void done() {
+                progressDialog.dispose();
+                try {
+                    showTransferResult(title, get());
+                } catch (Exception ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    mainFrame.showError(title + " failed: " + cause.getMessage());
+                }
+                if (importing) {
+                    refreshData();
+                }
+            }
+        };
+        worker.execute();
+        // Blocks input to the rest of the UI until done() disposes the dialog
+        progressDialog.setVisible(true);
+    }
+    
+    private TransferResult importRecords(String kind, Path file) throws IOException {
+        RecordImporter importer = new RecordImporter();
+        switch (kind) {
+            case "Students":
+                return importer.importFile(file, RecordCodecs.STUDENTS, RecordSinks.students(studentService));
+            case "Courses":
+                return importer.importFile(file, RecordCodecs.COURSES, RecordSinks.courses(courseService));
+            case "Faculty":
+                return importer.importFile(file, RecordCodecs.FACULTY, RecordSinks.faculty(facultyService));
+            default:
+                return importer.importFile(file, gradeCodec(), RecordSinks.grades(studentService));
+        }
+    }
+    
+    private TransferResult exportRecords(String kind, Path file) throws IOException {
+        RecordExporter exporter = new RecordExporter();
+        switch (kind) {
+            case "Students":
+                return exporter.exportFile(file, RecordCodecs.STUDENTS, studentService.getAllStudents());
+            case "Courses":
+                return exporter.exportFile(file, RecordCodecs.COURSES, courseService.getAllCourses());
+            case "Faculty":
+                return exporter.exportFile(file, RecordCodecs.FACULTY, facultyService.getAllFaculty());
+            default:
+                return exporter.exportFile(file, gradeCodec(),
+                                           RecordCodecs.gradeRecords(studentService.getAllStudents()));
+        }
+    }
+    
+    /**
+     * Grades are evaluated under their course's scale, as when they are entered
+     */
+    private RecordCodec<GradeRecord> gradeCodec() {
+        return RecordCodecs.grades(courseId -> courseService.getGradingScale(courseId, facultyService));
+    }
+    
+    private void showTransferResult(String title, TransferResult result) {
+        StringBuilder summary = new StringBuilder();
+        summary.append("Records processed: ").append(result.getProcessedRecords()).append("\n");
+        summary.append("Records accepted: ").append(result.getAcceptedRecords()).append("\n");
+        summary.append("Errors: ").append(result.getErrorCount()).append("\n");
+        summary.append("Time: ").append(result.getElapsedMillis()).append(" ms\n");
+        if (!result.getErrors().isEmpty()) {
+            summary.append("\nErrors:\n");
+            for (String error : result.getErrors()) {
+                summary.append("- ").append(error).append("\n");
+            }
+        }
+        
+        JTextArea summaryArea = new JTextArea(summary.toString(), 15, 50);
+        summaryArea.setEditable(false);
+        JOptionPane.showMessageDialog(this, new JScrollPane(summaryArea), title, JOptionPane.INFORMATION_MESSAGE);
+    }
+    
+    /**
+     * Shows the outcome of an import and offers to save generated passwords
+     */
+    private void showProvisioningResult(ProvisioningResult result) {
+        StringBuilder summary = new StringBuilder();
+        summary.append("Rows read: ").append(result.getTotalRows()).append("\n");
+        summary.append("Accounts created: ").append(result.getCreatedAccounts()).append("\n");
+        summary.append("Rows with errors: ").append(result.getFailedRows()).append("\n");
+        summary.append("Time: ").append(result.getElapsedMillis()).append(" ms\n");
+        if (!result.getErrors().isEmpty()) {
+            summary.append("\nErrors:\n");
+            for (String error : result.getErrors()) {
+                summary.append("- ").append(error).append("\n");
+            }
+        }
+        
+        JTextArea summaryArea = new JTextArea(summary.toString(), 15, 50);
+        summaryArea.setEditable(false);
+        JOptionPane.showMessageDialog(this, new JScrollPane(summaryArea), "Import Results", JOptionPane.INFORMATION_MESSAGE);
+        
+        if (!result.getGeneratedPasswords().isEmpty()) {
+            JOptionPane.showMessageDialog(this,
+                result.getGeneratedPasswords().size() + " accounts received generated passwords. Choose where to save them.",
+                "Generated Passwords", JOptionPane.WARNING_MESSAGE);
+            JFileChooser chooser = new JFileChooser();
+            chooser.setSelectedFile(new File("initial_passwords.csv"));
+            if (chooser.showSaveDialog(this) == JFileChooser.APPROVE_OPTION) {
+                saveGeneratedPasswords(result, chooser.getSelectedFile());
+            }
+        }
+    }
+    
+    private void saveGeneratedPasswords(ProvisioningResult result, File file) {
+        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            writer.write("username,password");
+            writer.newLine();
+            for (Map.Entry<String, String> entry : result.getGeneratedPasswords().entrySet()) {
+                writer.write(CsvFormat.formatLine(List.of(entry.getKey(), entry.getValue())));
+                writer.newLine();
+            }
+            mainFrame.showSuccess("Generated passwords saved to " + file.getName());
+        } catch (IOException ex) {
+            mainFrame.showError("Could not save generated passwords: " + ex.getMessage());
+        }
+    }
+    
     /**
      * Activates selected user
      */
@@ -941,9 +1188,17 @@ public class SystemAdminPanel extends JPanel {
      * Generates system report
      */
     private void generateSystemReport() {
-        String report = adminService.generateSystemReport(studentService, facultyService, courseService, authService);
-        reportsTextArea.setText(report);
-        reportsTextArea.setCaretPosition(0);
+        reportPreview.showReport("System Report",
+            data -> out -> adminService.writeSystemReport(out, data.getStudentService(), data.getFacultyService(),
+                                                          data.getCourseService(), authService));
+    }
+    
+    /**
+     * Generates the academic report of every student
+     */
+    private void generateAllStudentReports() {
+        reportPreview.showReport("All Student Reports",
+            data -> out -> adminService.writeAllStudentReports(out, data.getStudentService(), data.getCourseService()));
     }
     
     /**
@@ -952,9 +1207,10 @@ public class SystemAdminPanel extends JPanel {
     private void showStudentReportDialog() {
         String studentId = JOptionPane.showInputDialog(this, "Enter Student ID:", "Generate Student Report", JOptionPane.QUESTION_MESSAGE);
         if (studentId != null && !studentId.trim().isEmpty()) {
-            String report = adminService.generateStudentReport(studentService, courseService, studentId.trim());
-            reportsTextArea.setText(report);
-            reportsTextArea.setCaretPosition(0);
+            String id = studentId.trim();
+            reportPreview.showReport("Student Report " + id,
+                data -> out -> adminService.writeStudentReport(out, data.getStudentService(),
+                                                               data.getCourseService(), id));
         }
     }
     
@@ -964,9 +1220,10 @@ public class SystemAdminPanel extends JPanel {
     private void showFacultyReportDialog() {
         String facultyId = JOptionPane.showInputDialog(this, "Enter Faculty ID:", "Generate Faculty Report", JOptionPane.QUESTION_MESSAGE);
         if (facultyId != null && !facultyId.trim().isEmpty()) {
-            String report = adminService.generateFacultyReport(facultyService, courseService, facultyId.trim());
-            reportsTextArea.setText(report);
-            reportsTextArea.setCaretPosition(0);
+            String id = facultyId.trim();
+            reportPreview.showReport("Faculty Report " + id,
+                data -> out -> adminService.writeFacultyReport(out, data.getFacultyService(),
+                                                               data.getCourseService(), id));
         }
     }
     
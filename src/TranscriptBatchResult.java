@@ -0,0 +1,83 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * TranscriptBatchResult summarizes a batch transcript run
+ */
+public class TranscriptBatchResult {
+    private static final int MAX_REPORTED_FAILURES = 100;
+
+    private final int totalStudents;
+    private int transcriptsWritten;
+    private int failureCount;
+    private long bytesWritten;
+    private final List<String> failures;
+    private long elapsedMillis;
+
+    TranscriptBatchResult(int totalStudents) {
+        this.totalStudents = totalStudents;
+        this.failures = new ArrayList<>();
+    }
+
+    synchronized void addWritten(long bytes) {
+        transcriptsWritten++;
+        bytesWritten += bytes;
+    }
+
+    synchronized void addFailure(String studentId, String message) {
+        failureCount++;
+        if (failures.size() < MAX_REPORTED_FAILURES) {
+            failures.add(studentId + ": " + message);
+        }
+    }
+
+    void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public int getTotalStudents() {
+        return totalStudents;
+    }
+
+    public synchronized int getTranscriptsWritten() {
+        return transcriptsWritten;
+    }
+
+    public synchronized int getFailureCount() {
+        return failureCount;
+    }
+
+    public synchronized long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * Gets the first failures
+     *
+     * @return list of "studentId: message" entries, at most 100
+     */
+    public synchronized List<String> getFailures() {
+        return Collections.unmodifiableList(new ArrayList<>(failures));
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Gets the throughput of the run
+     *
+     * @return transcripts written per second
+     */
+    public double getTranscriptsPerSecond() {
+        return getTranscriptsWritten() * 1000.0 / Math.max(1, elapsedMillis);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TranscriptBatchResult{students=%d, written=%d, failed=%d, bytes=%d, elapsed=%dms, rate=%.1f/s}",
+                           totalStudents, getTranscriptsWritten(), getFailureCount(), getBytesWritten(),
+                           elapsedMillis, getTranscriptsPerSecond());
+    }
+}
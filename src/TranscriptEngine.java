@@ -0,0 +1,283 @@
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * TranscriptEngine writes the academic report of every student in bulk
+ *
+ * Students are split into small ranges that are rendered in parallel on a
+ * ForkJoinPool. Course details are copied once into a read-only lookup shared
+ * by all workers, so rendering never goes back to CourseService. Each worker
+ * holds a single transcript at a time; when writing an archive, finished
+ * transcripts wait in a bounded queue for the archive writer, so memory use
+ * does not grow with the number of students. Workers read students without
+ * locking, so the services must not change during a run; the GUI passes the
+ * services of a ServiceSnapshot.
+ */
+public class TranscriptEngine {
+    private static final int LEAF_SIZE = 64;
+    private static final int PROGRESS_STEP = 100;
+    private static final long QUEUE_WAIT_MILLIS = 100;
+
+    /**
+     * Receives progress updates; called from worker threads
+     */
+    public interface ProgressListener {
+        void onProgress(int completed, int total);
+    }
+
+    private final AdminService adminService;
+    private final StudentService studentService;
+    private final CourseService courseService;
+    private final int parallelism;
+
+    public TranscriptEngine(AdminService adminService, StudentService studentService, CourseService courseService) {
+        this(adminService, studentService, courseService, Runtime.getRuntime().availableProcessors());
+    }
+
+    public TranscriptEngine(AdminService adminService, StudentService studentService,
+                            CourseService courseService, int parallelism) {
+        this.adminService = adminService;
+        this.studentService = studentService;
+        this.courseService = courseService;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Writes one transcript file per student into a directory
+     *
+     * @param directory - output directory, created if missing; files are named after student IDs,
+     *                    with a numeric suffix when two IDs map to the same name
+     * @param listener - progress listener, may be null
+     * @return summary of the run with throughput
+     * @throws IOException if the directory cannot be created
+     */
+    public TranscriptBatchResult writeTranscripts(Path directory, ProgressListener listener) throws IOException {
+        Files.createDirectories(directory);
+        long start = System.currentTimeMillis();
+        List<Student> students = studentService.getAllStudents();
+        TranscriptBatchResult result = new TranscriptBatchResult(students.size());
+        Function<String, Course> courses = buildCourseLookup();
+        String[] names = fileNames(students);
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new TranscriptTask(students, names, 0, students.size(), courses, result,
+                new Progress(listener, students.size()), (name, text) -> {
+                    byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+                    Files.write(directory.resolve(name), bytes);
+                    result.addWritten(bytes.length);
+                }));
+        } finally {
+            pool.shutdown();
+        }
+
+        result.setElapsedMillis(System.currentTimeMillis() - start);
+        return result;
+    }
+
+    /**
+     * Writes every transcript into a single zip archive
+     *
+     * @param archive - zip file to write; it is replaced if it exists
+     * @param listener - progress listener, may be null
+     * @return summary of the run with throughput
+     * @throws IOException if the archive cannot be written
+     */
+    public TranscriptBatchResult writeArchive(Path archive, ProgressListener listener) throws IOException {
+        long start = System.currentTimeMillis();
+        List<Student> students = studentService.getAllStudents();
+        TranscriptBatchResult result = new TranscriptBatchResult(students.size());
+        Function<String, Course> courses = buildCourseLookup();
+        String[] names = fileNames(students);
+        BlockingQueue<Rendered> queue = new ArrayBlockingQueue<>(parallelism * 4);
+        AtomicBoolean aborted = new AtomicBoolean();
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(archive));
+             ZipOutputStream zip = new ZipOutputStream(file, StandardCharsets.UTF_8)) {
+            ForkJoinTask<Void> task = pool.submit(new TranscriptTask(students, names, 0, students.size(), courses,
+                result, new Progress(listener, students.size()), (name, text) -> {
+                    Rendered rendered = new Rendered(name, text.getBytes(StandardCharsets.UTF_8));
+                    boolean queued = false;
+                    while (!queued && !aborted.get()) {
+                        queued = queue.offer(rendered, QUEUE_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+                    }
+                    if (!queued) {
+                        // Stop rendering once the archive writer has given up
+                        throw new InterruptedException("Archive writer stopped");
+                    }
+                }));
+
+            try {
+                while (true) {
+                    Rendered rendered = queue.poll(QUEUE_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+                    if (rendered != null) {
+                        zip.putNextEntry(new ZipEntry(rendered.name));
+                        zip.write(rendered.bytes);
+                        zip.closeEntry();
+                        result.addWritten(rendered.bytes.length);
+                    } else if (task.isDone() && queue.isEmpty()) {
+                        break;
+                    }
+                }
+                task.join();
+            } catch (InterruptedException e) {
+                aborted.set(true);
+                Thread.currentThread().interrupt();
+                throw new IOException("Transcript export was interrupted", e);
+            } catch (IOException | RuntimeException e) {
+                aborted.set(true);
+                throw e;
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        result.setElapsedMillis(System.currentTimeMillis() - start);
+        return result;
+    }
+
+    private Function<String, Course> buildCourseLookup() {
+        Map<String, Course> courses = new HashMap<>();
+        for (Course course : courseService.getAllCourses()) {
+            courses.put(course.getCourseId(), course);
+        }
+        return Map.copyOf(courses)::get;
+    }
+
+    /**
+     * Names the transcript file of every student
+     *
+     * IDs are reduced to characters that are safe in file names, so two IDs
+     * such as "S/1" and "S_1" can end up with the same name; later students
+     * then get "-2", "-3" and so on. Names are compared ignoring case, since
+     * some file systems do.
+     *
+     * @param students - students in export order
+     * @return file names, indexed like the students
+     */
+    private static String[] fileNames(List<Student> students) {
+        String[] names = new String[students.size()];
+        Set<String> used = new HashSet<>();
+        for (int i = 0; i < names.length; i++) {
+            String base = students.get(i).getStudentId().replaceAll("[^A-Za-z0-9._-]", "_");
+            String name = base + ".txt";
+            for (int suffix = 2; !used.add(name.toLowerCase(Locale.ROOT)); suffix++) {
+                name = base + "-" + suffix + ".txt";
+            }
+            names[i] = name;
+        }
+        return names;
+    }
+
+    /**
+     * Handles one rendered transcript
+     */
+    private interface TranscriptHandler {
+        void handle(String fileName, String text) throws IOException, InterruptedException;
+    }
+
+    private static final class Rendered {
+        final String name;
+        final byte[] bytes;
+
+        Rendered(String name, byte[] bytes) {
+            this.name = name;
+            this.bytes = bytes;
+        }
+    }
+
+    private static final class Progress {
+        private final ProgressListener listener;
+        private final int total;
+        private final AtomicInteger completed = new AtomicInteger();
+
+        Progress(ProgressListener listener, int total) {
+            this.listener = listener;
+            this.total = total;
+        }
+
+        void increment() {
+            int done = completed.incrementAndGet();
+            if (listener != null && (done % PROGRESS_STEP == 0 || done == total)) {
+                listener.onProgress(done, total);
+            }
+        }
+    }
+
+    /**
+     * Renders a range of students, splitting it until ranges are small
+     */
+    private final class TranscriptTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Student> students;
+        private final String[] fileNames;
+        private final int from;
+        private final int to;
+        private final Function<String, Course> courses;
+        private final TranscriptBatchResult result;
+        private final Progress progress;
+        private final TranscriptHandler handler;
+
+        TranscriptTask(List<Student> students, String[] fileNames, int from, int to,
+                       Function<String, Course> courses, TranscriptBatchResult result, Progress progress,
+                       TranscriptHandler handler) {
+            this.students = students;
+            this.fileNames = fileNames;
+            this.from = from;
+            this.to = to;
+            this.courses = courses;
+            this.result = result;
+            this.progress = progress;
+            this.handler = handler;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > LEAF_SIZE) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new TranscriptTask(students, fileNames, from, middle, courses, result, progress, handler),
+                          new TranscriptTask(students, fileNames, middle, to, courses, result, progress, handler));
+                return;
+            }
+
+            StringBuilder text = new StringBuilder(4096);
+            for (int i = from; i < to; i++) {
+                Student student = students.get(i);
+                try {
+                    text.setLength(0);
+                    adminService.writeStudentReport(text, student, courses);
+                    handler.handle(fileNames[i], text.toString());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (IOException | RuntimeException e) {
+                    result.addFailure(student.getStudentId(), e.getMessage());
+                }
+                progress.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * TransferResult summarizes an import or export run
+ */
+public class TransferResult {
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private long processedRecords;
+    private long acceptedRecords;
+    private long errorCount;
+    private final List<String> errors;
+    private long elapsedMillis;
+
+    public TransferResult() {
+        this.errors = new ArrayList<>();
+    }
+
+    void addProcessed(long count) {
+        this.processedRecords += count;
+    }
+
+    void addAccepted(long count) {
+        this.acceptedRecords += count;
+    }
+
+    void addError(long lineNumber, String message) {
+        errorCount++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add("Line " + lineNumber + ": " + message);
+        }
+    }
+
+    void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Gets the number of records read or written, including rejected ones
+     *
+     * @return record count
+     */
+    public long getProcessedRecords() {
+        return processedRecords;
+    }
+
+    /**
+     * Gets the number of records the sink stored, or that were written on export
+     *
+     * @return record count
+     */
+    public long getAcceptedRecords() {
+        return acceptedRecords;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * Gets the first errors in input order
+     *
+     * @return list of "Line n: message" entries, at most 100
+     */
+    public List<String> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TransferResult{processed=%d, accepted=%d, errors=%d, elapsed=%dms}",
+                           processedRecords, acceptedRecords, errorCount, elapsedMillis);
+    }
+}
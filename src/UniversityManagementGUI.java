@@ -150,11 +150,22 @@ public class UniversityManagementGUI extends JFrame {
      */
     public void handleLogout() {
         authService.logout();
+        // The role panels follow service changes only while someone is logged in
+        studentPanel.stopListening();
+        facultyPanel.stopListening();
         cardLayout.show(mainPanel, "LOGIN");
         setTitle("Alamein International University Management System");
         loginPanel.clearFields();
     }
     
+    /**
+     * Returns to the login panel when an action finds no logged-in user
+     */
+    public void handleSessionExpired() {
+        showError("Your session has ended. Please log in again.");
+        handleLogout();
+    }
+    
     /**
      * Shows an error message
      */
@@ -5,60 +5,68 @@ import java.time.LocalDateTime;
  * User class representing a system user with authentication capabilities
  * 
  * This class implements proper encapsulation and includes validation
- * for user data according to system requirements.
+ * for user data according to system requirements. Users only hold password
+ * hashes; hashing is expensive, so it is done by CredentialService on its
+ * own pool rather than on whatever thread builds or changes a user.
  */
 public class User implements Serializable {
     private static final long serialVersionUID = 1L;
     
     private String username;
-    private String password;
+    private String passwordHash;
     private UserRole role;
     private String fullName;
     private LocalDateTime createdAt;
     private LocalDateTime lastLogin;
     private boolean isActive;
     
-    /**
-     * Constructor for creating a new user
-     * 
-     * @param username - unique username (minimum 3 characters)
-     * @param password - password (minimum 6 characters)
-     * @param role - user role in the system
-     * @param fullName - full name of the user
-     */
-    public User(String username, String password, UserRole role, String fullName) {
+    private User(String username, UserRole role, String fullName, String passwordHash) {
         validateUsername(username);
-        validatePassword(password);
         
         this.username = username;
-        this.password = password;
+        this.passwordHash = passwordHash;
         this.role = role;
         this.fullName = fullName;
         this.createdAt = LocalDateTime.now();
         this.isActive = true;
     }
     
+    /**
+     * Creates a user from an already computed credential without re-hashing it
+     * 
+     * @param username - unique username (minimum 3 characters)
+     * @param passwordHash - password hash, e.g. from CredentialService.hash
+     * @param role - user role in the system
+     * @param fullName - full name of the user
+     * @return user with the stored credential
+     */
+    public static User fromStoredCredential(String username, String passwordHash, UserRole role, String fullName) {
+        return new User(username, role, fullName, passwordHash);
+    }
+    
     // Input validation methods
-    private void validateUsername(String username) {
+    /**
+     * Checks that a username meets the minimum requirements
+     * 
+     * @param username - username to check
+     * @throws IllegalArgumentException if the username is too short
+     */
+    public static void validateUsername(String username) {
         if (username == null || username.trim().length() < 3) {
             throw new IllegalArgumentException("Username must be at least 3 characters long");
         }
     }
     
-    private void validatePassword(String password) {
-        if (password == null || password.length() < 6) {
-            throw new IllegalArgumentException("Password must be at least 6 characters long");
-        }
-    }
-    
     /**
-     * Verifies if the provided password matches the user's password
+     * Checks that a password meets the minimum requirements, before it is hashed
      * 
-     * @param password - password to verify
-     * @return true if password matches, false otherwise
+     * @param password - plaintext password to check
+     * @throws IllegalArgumentException if the password is too short
      */
-    public boolean verifyPassword(String password) {
-        return this.password != null && this.password.equals(password);
+    public static void validatePassword(String password) {
+        if (password == null || password.length() < 6) {
+            throw new IllegalArgumentException("Password must be at least 6 characters long");
+        }
     }
     
     /**
@@ -68,32 +76,24 @@ public class User implements Serializable {
         this.lastLogin = LocalDateTime.now();
     }
     
-    /**
-     * Changes the user's password with validation
-     * 
-     * @param oldPassword - current password for verification
-     * @param newPassword - new password to set
-     * @return true if password was changed successfully, false otherwise
-     */
-    public boolean changePassword(String oldPassword, String newPassword) {
-        if (!verifyPassword(oldPassword)) {
-            return false;
-        }
-        
-        try {
-            validatePassword(newPassword);
-            this.password = newPassword;
-            return true;
-        } catch (IllegalArgumentException e) {
-            return false;
-        }
-    }
-    
     // Getters and Setters
     public String getUsername() {
         return username;
     }
     
+    public String getPasswordHash() {
+        return passwordHash;
+    }
+    
+    /**
+     * Replaces the stored credential with a new hash
+     * 
+     * @param passwordHash - encoded password hash
+     */
+    public void setPasswordHash(String passwordHash) {
+        this.passwordHash = passwordHash;
+    }
+    
     public UserRole getRole() {
         return role;
     }
@@ -114,10 +114,18 @@ public class User implements Serializable {
         return createdAt;
     }
     
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
     public LocalDateTime getLastLogin() {
         return lastLogin;
     }
     
+    public void setLastLogin(LocalDateTime lastLogin) {
+        this.lastLogin = lastLogin;
+    }
+    
     public boolean isActive() {
         return isActive;
     }
@@ -0,0 +1,50 @@
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * UserStatistics holds aggregates computed in one pass over all users
+ */
+public class UserStatistics {
+    private int totalUsers;
+    private int activeUsers;
+    private final boolean includeRoles;
+    private final Map<UserRole, Integer> usersByRole;
+
+    UserStatistics(boolean includeRoles) {
+        this.includeRoles = includeRoles;
+        this.usersByRole = new EnumMap<>(UserRole.class);
+    }
+
+    /**
+     * Adds one user to the aggregates
+     *
+     * @param user - user to count
+     */
+    void add(User user) {
+        totalUsers++;
+        if (user.isActive()) {
+            activeUsers++;
+        }
+        if (includeRoles) {
+            usersByRole.merge(user.getRole(), 1, Integer::sum);
+        }
+    }
+
+    public int getTotalUsers() {
+        return totalUsers;
+    }
+
+    public int getActiveUsers() {
+        return activeUsers;
+    }
+
+    /**
+     * Gets user counts per role
+     *
+     * @return Map of roles to user counts, empty if roles were not collected
+     */
+    public Map<UserRole, Integer> getUsersByRole() {
+        return Collections.unmodifiableMap(usersByRole);
+    }
+}
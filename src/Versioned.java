@@ -0,0 +1,15 @@
+/**
+ * Versioned is implemented by services whose data can change
+ *
+ * The version increases on every change, so anything derived from the data
+ * can tell whether it is still current by comparing versions.
+ */
+public interface Versioned {
+
+    /**
+     * Gets the current data version
+     *
+     * @return version number, increased by every change
+     */
+    long getVersion();
+}